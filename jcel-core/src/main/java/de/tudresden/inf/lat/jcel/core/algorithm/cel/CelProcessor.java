@@ -66,6 +66,7 @@ import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraphImpl;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerRelationMapImpl;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerGraph;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerGraphImpl;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerTransitiveClosure;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
@@ -426,22 +427,13 @@ public class CelProcessor implements Processor {
 	}
 
 	private void makeTransitiveClosure(IntegerSubsumerGraphImpl graph) {
-		boolean hasChanged = true;
-		while (hasChanged) {
-			hasChanged = false;
-			for (Integer elem : graph.getElements()) {
-				Collection<Integer> subsumerSet = graph.getSubsumers(elem);
-				Set<Integer> allSubsumers = new HashSet<>();
-				allSubsumers.add(elem);
-				for (Integer otherElem : subsumerSet) {
-					allSubsumers.addAll(graph.getSubsumers(otherElem));
-				}
-				allSubsumers.removeAll(subsumerSet);
-				if (!allSubsumers.isEmpty()) {
-					hasChanged = true;
-					for (Integer subsumer : allSubsumers) {
-						graph.addAncestor(elem, subsumer);
-					}
+		IntegerTransitiveClosure closure = new IntegerTransitiveClosure(graph);
+		Set<Integer> elements = new HashSet<>();
+		elements.addAll(graph.getElements());
+		for (Integer elem : elements) {
+			for (Integer subsumer : closure.getSubsumers(elem)) {
+				if (!graph.containsPair(elem, subsumer)) {
+					graph.addAncestor(elem, subsumer);
 				}
 			}
 		}
@@ -576,16 +568,29 @@ public class CelProcessor implements Processor {
 		}
 	}
 
+	/**
+	 * Propagates bottom from a class to all the classes that reach it by any
+	 * relation. The predecessors are taken from the relations that have the
+	 * class as second component, and they are visited with a worklist.
+	 *
+	 * @param className
+	 *            class that is made equivalent to bottom
+	 */
 	private void processBottom(Integer className) {
 		this.classGraph.addAncestor(className, bottomClassId);
-
-		this.relationSet.getElements().forEach(relation -> {
-			this.relationSet.getBySecond(relation, className).forEach(firstComponent -> {
-				if (!this.classGraph.containsPair(firstComponent, bottomClassId)) {
-					processBottom(firstComponent);
-				}
+		Deque<Integer> toVisit = new ArrayDeque<>();
+		toVisit.push(className);
+		while (!toVisit.isEmpty()) {
+			Integer cB = toVisit.pop();
+			this.relationSet.getRelationsBySecond(cB).forEach(relation -> {
+				this.relationSet.getBySecond(relation, cB).forEach(firstComponent -> {
+					if (!this.classGraph.containsPair(firstComponent, bottomClassId)) {
+						this.classGraph.addAncestor(firstComponent, bottomClassId);
+						toVisit.push(firstComponent);
+					}
+				});
 			});
-		});
+		}
 	}
 
 	private void processExistential(Integer cA, ExistentialEntry eX) {
@@ -638,51 +643,77 @@ public class CelProcessor implements Processor {
 		}
 	}
 
+	/**
+	 * Adds a new edge and all the edges that follow from it by the role
+	 * inclusions and the role chains. The pending edges are kept in a
+	 * worklist, and an edge is skipped if it was already added when it is
+	 * taken from the worklist.
+	 *
+	 * @param cA
+	 *            first component
+	 * @param r
+	 *            relation
+	 * @param cB
+	 *            second component
+	 */
 	private void processNewEdge(Integer cA, Integer r, Integer cB) {
-		Optional<Set<Integer>> optSet = this.transitiveSubsumed.get(r);
-		assert optSet.isPresent();
-		optSet.get().forEach(s -> {
-
-			this.relationSet.add(s, cA, cB);
-			getPropertyUsedByClass(cB).add(s);
-
-			this.classGraph.getSubsumers(cB)
-					.forEach(cBprime -> addToQueue(cA, getExtendedOntology().getExistentialEntries(s, cBprime)));
-
-			getExtendedOntology().getSubPropertyAxiomSetByRight(s).forEach(axiom -> {
-
-				Integer t = axiom.getLeftSubProperty();
-				Integer u = axiom.getSuperProperty();
-
-				Collection<Integer> classSet = this.relationSet.getBySecond(t, cA);
-
-				classSet.forEach(cAprime -> {
-
-					if (!this.relationSet.contains(u, cAprime, cB)) {
-						processNewEdge(cAprime, u, cB);
-					}
+		Deque<Integer> firstComponents = new ArrayDeque<>();
+		Deque<Integer> relations = new ArrayDeque<>();
+		Deque<Integer> secondComponents = new ArrayDeque<>();
+		firstComponents.push(cA);
+		relations.push(r);
+		secondComponents.push(cB);
+		while (!relations.isEmpty()) {
+			Integer first = firstComponents.pop();
+			Integer relation = relations.pop();
+			Integer second = secondComponents.pop();
+			if (!this.relationSet.contains(relation, first, second)) {
+				Optional<Set<Integer>> optSet = this.transitiveSubsumed.get(relation);
+				assert optSet.isPresent();
+				optSet.get().forEach(s -> {
+
+					this.relationSet.add(s, first, second);
+					getPropertyUsedByClass(second).add(s);
+
+					this.classGraph.getSubsumers(second).forEach(
+							cBprime -> addToQueue(first, getExtendedOntology().getExistentialEntries(s, cBprime)));
+
+					getExtendedOntology().getSubPropertyAxiomSetByRight(s).forEach(axiom -> {
+
+						Integer t = axiom.getLeftSubProperty();
+						Integer u = axiom.getSuperProperty();
+
+						this.relationSet.getBySecond(t, first).forEach(cAprime -> {
+
+							if (!this.relationSet.contains(u, cAprime, second)) {
+								firstComponents.push(cAprime);
+								relations.push(u);
+								secondComponents.push(second);
+							}
 
-				});
+						});
 
-			});
+					});
 
-			getExtendedOntology().getSubPropertyAxiomSetByLeft(s).forEach(axiom -> {
+					getExtendedOntology().getSubPropertyAxiomSetByLeft(s).forEach(axiom -> {
 
-				Integer t = axiom.getRightSubProperty();
-				Integer u = axiom.getSuperProperty();
+						Integer t = axiom.getRightSubProperty();
+						Integer u = axiom.getSuperProperty();
 
-				Collection<Integer> classSet = this.relationSet.getByFirst(t, cB);
+						this.relationSet.getByFirst(t, second).forEach(cBprime -> {
 
-				classSet.forEach(cBprime -> {
+							if (!this.relationSet.contains(u, first, cBprime)) {
+								firstComponents.push(first);
+								relations.push(u);
+								secondComponents.push(cBprime);
+							}
 
-					if (!this.relationSet.contains(u, cA, cBprime)) {
-						processNewEdge(cA, u, cBprime);
-					}
+						});
 
+					});
 				});
-
-			});
-		});
+			}
+		}
 	}
 
 	/**
@@ -0,0 +1,196 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.module;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class is a module extractor that indexes a set of
+ * normalized axioms once, and then extracts modules for many queries without
+ * scanning the axioms again. <br>
+ * Unlike {@link DefaultModuleExtractor}, it also follows the object
+ * properties. An axiom is in the module if any class or object property on its
+ * left side is reachable from the given classes. The classes and object
+ * properties on the right side of an axiom in the module become reachable.
+ * Axioms without entities on the left side are in every module.
+ * 
+ * @author Julian Mendez
+ */
+public class IndexedModuleExtractor {
+
+	private final Set<NormalizedIntegerAxiom> axiomsWithoutEntitiesOnTheLeft = new HashSet<>();
+	private final OptMap<Integer, Set<DefaultIdentifierCollector>> classToAxioms = new OptMapImpl<>(
+			new HashMap<>());
+	private final OptMap<Integer, Set<DefaultIdentifierCollector>> objectPropertyToAxioms = new OptMapImpl<>(
+			new HashMap<>());
+
+	/**
+	 * Constructs a new module extractor and indexes the given axioms.
+	 * 
+	 * @param setOfAxioms
+	 *            set of axioms
+	 */
+	public IndexedModuleExtractor(Collection<NormalizedIntegerAxiom> setOfAxioms) {
+		Objects.requireNonNull(setOfAxioms);
+		addAxioms(setOfAxioms);
+	}
+
+	/**
+	 * Adds axioms to the index.
+	 * 
+	 * @param setOfAxioms
+	 *            set of axioms
+	 */
+	public void addAxioms(Collection<NormalizedIntegerAxiom> setOfAxioms) {
+		Objects.requireNonNull(setOfAxioms);
+		setOfAxioms.forEach(axiom -> {
+			DefaultIdentifierCollector collector = new DefaultIdentifierCollector(axiom);
+			if (collector.getClassesOnTheLeft().isEmpty() && collector.getObjectPropertiesOnTheLeft().isEmpty()) {
+				this.axiomsWithoutEntitiesOnTheLeft.add(axiom);
+			} else {
+				collector.getClassesOnTheLeft().forEach(classId -> index(this.classToAxioms, classId, collector));
+				collector.getObjectPropertiesOnTheLeft()
+						.forEach(propertyId -> index(this.objectPropertyToAxioms, propertyId, collector));
+			}
+		});
+	}
+
+	/**
+	 * Returns a module, i.e. a subset of axioms relevant to answer a query
+	 * about the given classes.
+	 * 
+	 * @param setOfClasses
+	 *            set of classes
+	 * @return a module, i.e. a subset of axioms relevant to answer a query
+	 *         about the given classes
+	 */
+	public Module extractModule(Set<Integer> setOfClasses) {
+		Objects.requireNonNull(setOfClasses);
+		Set<NormalizedIntegerAxiom> newAxioms = new HashSet<>();
+		newAxioms.addAll(this.axiomsWithoutEntitiesOnTheLeft);
+
+		Set<Integer> visitedClasses = new TreeSet<>();
+		Set<Integer> visitedObjectProperties = new TreeSet<>();
+		Deque<Integer> classesToVisit = new ArrayDeque<>();
+		Deque<Integer> objectPropertiesToVisit = new ArrayDeque<>();
+
+		setOfClasses.forEach(classId -> visit(classId, visitedClasses, classesToVisit));
+		newAxioms.forEach(axiom -> {
+			DefaultIdentifierCollector collector = new DefaultIdentifierCollector(axiom);
+			collector.getClassesOnTheRight().forEach(classId -> visit(classId, visitedClasses, classesToVisit));
+			collector.getObjectPropertiesOnTheRight()
+					.forEach(propertyId -> visit(propertyId, visitedObjectProperties, objectPropertiesToVisit));
+		});
+
+		while (!classesToVisit.isEmpty() || !objectPropertiesToVisit.isEmpty()) {
+			Set<DefaultIdentifierCollector> axiomsToVisit = Collections.emptySet();
+			if (!classesToVisit.isEmpty()) {
+				axiomsToVisit = get(this.classToAxioms, classesToVisit.pop());
+			} else {
+				axiomsToVisit = get(this.objectPropertyToAxioms, objectPropertiesToVisit.pop());
+			}
+			axiomsToVisit.forEach(collector -> {
+				if (newAxioms.add(collector.getAxiom())) {
+					collector.getClassesOnTheRight().forEach(classId -> visit(classId, visitedClasses, classesToVisit));
+					collector.getObjectPropertiesOnTheRight()
+							.forEach(propertyId -> visit(propertyId, visitedObjectProperties, objectPropertiesToVisit));
+				}
+			});
+		}
+
+		Set<Integer> entities = new TreeSet<>();
+		entities.addAll(visitedClasses);
+		entities.addAll(visitedObjectProperties);
+		newAxioms.forEach(axiom -> {
+			entities.addAll(axiom.getClassesInSignature());
+			entities.addAll(axiom.getObjectPropertiesInSignature());
+			entities.addAll(axiom.getIndividualsInSignature());
+			entities.addAll(axiom.getDataPropertiesInSignature());
+			entities.addAll(axiom.getDatatypesInSignature());
+		});
+		return new Module(entities, newAxioms);
+	}
+
+	private Set<DefaultIdentifierCollector> get(OptMap<Integer, Set<DefaultIdentifierCollector>> map, Integer key) {
+		Optional<Set<DefaultIdentifierCollector>> optValue = map.get(key);
+		Set<DefaultIdentifierCollector> ret = Collections.emptySet();
+		if (optValue.isPresent()) {
+			ret = optValue.get();
+		}
+		return ret;
+	}
+
+	private void index(OptMap<Integer, Set<DefaultIdentifierCollector>> map, Integer key,
+			DefaultIdentifierCollector collector) {
+		Optional<Set<DefaultIdentifierCollector>> optValue = map.get(key);
+		if (!optValue.isPresent()) {
+			optValue = Optional.of(new HashSet<>());
+			map.put(key, optValue.get());
+		}
+		optValue.get().add(collector);
+	}
+
+	private void visit(Integer entity, Set<Integer> visited, Deque<Integer> toVisit) {
+		if (visited.add(entity)) {
+			toVisit.push(entity);
+		}
+	}
+
+}
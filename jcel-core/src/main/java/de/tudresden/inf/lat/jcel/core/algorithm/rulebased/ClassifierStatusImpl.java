@@ -60,13 +60,17 @@ import java.util.Set;
 import java.util.TreeSet;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
+import de.tudresden.inf.lat.jcel.core.completion.common.PropertyChainIndex;
 import de.tudresden.inf.lat.jcel.core.completion.common.REntry;
 import de.tudresden.inf.lat.jcel.core.completion.common.SEntry;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerRelationMapImpl;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerBidirectionalGraphImpl;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerSubsumerGraphImpl;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerTransitiveClosure;
 import de.tudresden.inf.lat.jcel.core.graph.VNode;
 import de.tudresden.inf.lat.jcel.core.graph.VNodeImpl;
+import de.tudresden.inf.lat.jcel.core.graph.VNodeTable;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactExtendedOntology;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
@@ -90,18 +94,20 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 
 	private IntegerSubsumerGraphImpl classGraph = null;
 	private final OptMap<Integer, Set<Integer>> cognateFunctPropMap = new OptMapImpl<>(new HashMap<>());
+	private final CompactExtendedOntology compactOntology;
 	private final ExtendedOntology extendedOntology;
 	private IntegerEntityManager entityManager = null;
-	private final OptMap<VNodeImpl, Integer> invNodeSet = new OptMapImpl<>(new HashMap<>());
 	private final Object monitorClassGraph = new Object();
 	private final Object monitorRelationSet = new Object();
 	private final Object monitorSetQsubR = new Object();
 	private final Object monitorSetQsubS = new Object();
 	private final OptMap<Integer, VNodeImpl> nodeSet = new OptMapImpl<>(new HashMap<>());
+	private final VNodeTable nodeTable = new VNodeTable();
 	private IntegerSubsumerBidirectionalGraphImpl objectPropertyGraph = null;
+	private final PropertyChainIndex propertyChainIndex;
 	private IntegerRelationMapImpl relationSet = null;
-	private final Set<REntry> setQsubR = new TreeSet<>();
-	private final Set<SEntry> setQsubS = new TreeSet<>();
+	private final IntegerTupleQueue setQsubR = new IntegerTupleQueue(3);
+	private final IntegerTupleQueue setQsubS = new IntegerTupleQueue(2);
 
 	/**
 	 * Constructs a new classifier status.
@@ -116,6 +122,8 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 		Objects.requireNonNull(ontology);
 		this.entityManager = generator;
 		this.extendedOntology = ontology;
+		this.compactOntology = new CompactExtendedOntology(ontology);
+		this.propertyChainIndex = new PropertyChainIndex(ontology);
 
 		createClassGraph();
 		createObjectPropertyGraph();
@@ -127,8 +135,15 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 	@Override
 	public boolean addNewREntry(int propertyId, int leftClassId, int rightClassId) {
 		boolean ret = false;
-		synchronized (this.monitorSetQsubR) {
-			ret = this.setQsubR.add(new REntryImpl(propertyId, leftClassId, rightClassId));
+		boolean found = false;
+		synchronized (this.monitorRelationSet) {
+			found = this.relationSet.contains(propertyId, leftClassId, rightClassId);
+		}
+		if (!found) {
+			synchronized (this.monitorSetQsubR) {
+				this.setQsubR.add(propertyId, leftClassId, rightClassId);
+			}
+			ret = true;
 		}
 		return ret;
 	}
@@ -136,8 +151,15 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 	@Override
 	public boolean addNewSEntry(int subClassId, int superClassId) {
 		boolean ret = false;
-		synchronized (this.monitorSetQsubS) {
-			ret = this.setQsubS.add(new SEntryImpl(subClassId, superClassId));
+		boolean found = false;
+		synchronized (this.monitorClassGraph) {
+			found = this.classGraph.containsPair(subClassId, superClassId);
+		}
+		if (!found) {
+			synchronized (this.monitorSetQsubS) {
+				this.setQsubS.add(subClassId, superClassId);
+			}
+			ret = true;
 		}
 		return ret;
 	}
@@ -159,6 +181,9 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 		synchronized (this.monitorRelationSet) {
 			ret = this.relationSet.add(property, leftClass, rightClass);
 		}
+		if (ret) {
+			this.propertyChainIndex.add(property, leftClass, rightClass);
+		}
 		return ret;
 	}
 
@@ -183,11 +208,13 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 	@Override
 	public boolean contains(VNode node) {
 		Objects.requireNonNull(node);
-		boolean ret = false;
-		if (node instanceof VNodeImpl) {
-			ret = this.invNodeSet.get((VNodeImpl) node).isPresent();
-		}
-		return ret;
+		return this.nodeTable.get(node) != VNodeTable.notFound;
+	}
+
+	@Override
+	public boolean containsNodeWithExistential(int nodeId, int propertyId, int classId) {
+		VNode node = getNodeOrFail(nodeId);
+		return this.nodeTable.getWithExistential(node, propertyId, classId) != VNodeTable.notFound;
 	}
 
 	private void createClassGraph() {
@@ -195,11 +222,10 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 			this.classGraph = new IntegerSubsumerGraphImpl(bottomClassId, topClassId);
 		}
 		this.nodeSet.clear();
-		this.invNodeSet.clear();
 		getExtendedOntology().getClassSet().forEach(elem -> {
 			VNodeImpl node = new VNodeImpl(elem);
 			this.nodeSet.put(elem, node);
-			this.invNodeSet.put(node, elem);
+			this.nodeTable.add(node, elem);
 		});
 	}
 
@@ -217,6 +243,25 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 		});
 	}
 
+	/**
+	 * Returns the identifier of a node that is not in the set V. If the node
+	 * has existential pairs, it is added to V with a new identifier. Otherwise,
+	 * its identifier is the identifier of its class.
+	 * 
+	 * @param newNode
+	 *            node that is not in the set V
+	 * @return the identifier of the node
+	 */
+	private int createNodeId(VNodeImpl newNode) {
+		int ret = newNode.getClassId();
+		if (!newNode.isEmpty()) {
+			ret = getIdGenerator().createAnonymousEntity(IntegerEntityType.CLASS, true);
+			this.nodeSet.put(ret, newNode);
+			this.nodeTable.add(newNode, ret);
+		}
+		return ret;
+	}
+
 	private void createObjectPropertyGraph() {
 		this.objectPropertyGraph = new IntegerSubsumerBidirectionalGraphImpl(bottomObjectPropertyId,
 				topObjectPropertyId);
@@ -239,21 +284,49 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 	@Override
 	public int createOrGetNodeId(VNode node) {
 		Objects.requireNonNull(node);
-		Optional<Integer> optNodeId = Optional.empty();
-		if (node instanceof VNodeImpl) {
-			optNodeId = this.invNodeSet.get((VNodeImpl) node);
-		}
-		if (!optNodeId.isPresent()) {
-			optNodeId = Optional.of(node.getClassId());
-			if (!node.isEmpty()) {
-				optNodeId = Optional.of(getIdGenerator().createAnonymousEntity(IntegerEntityType.CLASS, true));
+		int ret = VNodeTable.notFound;
+		synchronized (this.nodeTable) {
+			ret = this.nodeTable.get(node);
+			if (ret == VNodeTable.notFound) {
+				VNodeImpl newNode = new VNodeImpl(node.getClassId());
+				newNode.addExistentialsOf(node);
+				ret = createNodeId(newNode);
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public int createOrGetNodeIdOfUnion(int classId, int firstNodeId, int secondNodeId) {
+		VNode firstNode = getNodeOrFail(firstNodeId);
+		VNode secondNode = getNodeOrFail(secondNodeId);
+		int ret = VNodeTable.notFound;
+		synchronized (this.nodeTable) {
+			ret = this.nodeTable.getUnion(classId, firstNode, secondNode);
+			if (ret == VNodeTable.notFound) {
+				VNodeImpl newNode = new VNodeImpl(classId);
+				newNode.addExistentialsOf(firstNode);
+				newNode.addExistentialsOf(secondNode);
+				ret = createNodeId(newNode);
+			}
+		}
+		return ret;
+	}
+
+	@Override
+	public int createOrGetNodeIdWithExistential(int nodeId, int propertyId, int classId) {
+		VNode node = getNodeOrFail(nodeId);
+		int ret = VNodeTable.notFound;
+		synchronized (this.nodeTable) {
+			ret = this.nodeTable.getWithExistential(node, propertyId, classId);
+			if (ret == VNodeTable.notFound) {
 				VNodeImpl newNode = new VNodeImpl(node.getClassId());
 				newNode.addExistentialsOf(node);
-				this.nodeSet.put(optNodeId.get(), newNode);
-				this.invNodeSet.put(newNode, optNodeId.get());
+				newNode.addExistential(propertyId, classId);
+				ret = createNodeId(newNode);
 			}
 		}
-		return optNodeId.get();
+		return ret;
 	}
 
 	private void createRelationSet() {
@@ -298,6 +371,11 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 		return this.monitorClassGraph;
 	}
 
+	@Override
+	public CompactExtendedOntology getCompactExtendedOntology() {
+		return this.compactOntology;
+	}
+
 	/**
 	 * Returns the number of nodes in the relation set.
 	 * 
@@ -372,6 +450,14 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 		return ret;
 	}
 
+	private VNode getNodeOrFail(int nodeId) {
+		Optional<VNodeImpl> optNode = this.nodeSet.get(nodeId);
+		if (!optNode.isPresent()) {
+			throw new IllegalStateException("Node not found in internal structure '" + nodeId + "'.");
+		}
+		return optNode.get();
+	}
+
 	/**
 	 * Returns the number of R-entries to be processed.
 	 * 
@@ -437,6 +523,11 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 		return this.objectPropertyGraph;
 	}
 
+	@Override
+	public PropertyChainIndex getPropertyChainIndex() {
+		return this.propertyChainIndex;
+	}
+
 	/**
 	 * Returns the set of relations.
 	 * 
@@ -489,25 +580,52 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 	}
 
 	private void makeTransitiveClosure(IntegerSubsumerBidirectionalGraphImpl graph) {
-		boolean hasChanged = true;
-		while (hasChanged) {
-			hasChanged = false;
-			for (int elem : graph.getElements()) {
-				Collection<Integer> subsumerSet = graph.getSubsumers(elem);
-				Set<Integer> allSubsumers = new HashSet<>();
-				allSubsumers.add(elem);
-				subsumerSet.forEach(otherElem -> {
-					allSubsumers.addAll(graph.getSubsumers(otherElem));
-				});
-				allSubsumers.removeAll(subsumerSet);
-				if (!allSubsumers.isEmpty()) {
-					hasChanged = true;
-					allSubsumers.forEach(subsumer -> {
-						graph.addAncestor(elem, subsumer);
-					});
-				}
+		IntegerTransitiveClosure closure = new IntegerTransitiveClosure(graph);
+		Set<Integer> elements = new HashSet<>();
+		elements.addAll(graph.getElements());
+		elements.forEach(elem -> closure.getSubsumers(elem).forEach(subsumer -> {
+			if (!graph.containsPair(elem, subsumer)) {
+				graph.addAncestor(elem, subsumer);
 			}
+		}));
+	}
+
+	/**
+	 * Removes the next R-entry from the set to be processed, and copies its
+	 * property, left class and right class to the given array. This method does
+	 * not allocate any object.
+	 * 
+	 * @param entry
+	 *            array of at least 3 elements that receives the entry
+	 * @return <code>true</code> if and only if an entry was removed, i.e. if
+	 *         the set of R-entries was not empty
+	 */
+	public boolean pollREntry(int[] entry) {
+		Objects.requireNonNull(entry);
+		boolean ret = false;
+		synchronized (this.monitorSetQsubR) {
+			ret = this.setQsubR.poll(entry);
 		}
+		return ret;
+	}
+
+	/**
+	 * Removes the next S-entry from the set to be processed, and copies its
+	 * subclass and superclass to the given array. This method does not allocate
+	 * any object.
+	 * 
+	 * @param entry
+	 *            array of at least 2 elements that receives the entry
+	 * @return <code>true</code> if and only if an entry was removed, i.e. if
+	 *         the set of S-entries was not empty
+	 */
+	public boolean pollSEntry(int[] entry) {
+		Objects.requireNonNull(entry);
+		boolean ret = false;
+		synchronized (this.monitorSetQsubS) {
+			ret = this.setQsubS.poll(entry);
+		}
+		return ret;
 	}
 
 	/**
@@ -517,18 +635,16 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 	 * 
 	 * @throws NoSuchElementException
 	 *             if the set of R-entries is empty
+	 * @deprecated use {@link #pollREntry(int[])}, which does not allocate an
+	 *             object for each entry
 	 */
+	@Deprecated
 	public REntry removeNextREntry() {
-		REntry ret = null;
-		synchronized (this.monitorSetQsubR) {
-			if (this.setQsubR.isEmpty()) {
-				throw new NoSuchElementException();
-			}
-
-			ret = this.setQsubR.iterator().next();
-			this.setQsubR.remove(ret);
+		int[] entry = new int[3];
+		if (!pollREntry(entry)) {
+			throw new NoSuchElementException();
 		}
-		return ret;
+		return new REntryImpl(entry[0], entry[1], entry[2]);
 	}
 
 	/**
@@ -537,18 +653,16 @@ public class ClassifierStatusImpl implements ClassifierStatus {
 	 * @return the next S-entry and removes it from the set to be processed
 	 * @throws NoSuchElementException
 	 *             if the set of S-entries is empty
+	 * @deprecated use {@link #pollSEntry(int[])}, which does not allocate an
+	 *             object for each entry
 	 */
+	@Deprecated
 	public SEntry removeNextSEntry() {
-		SEntry ret = null;
-		synchronized (this.monitorSetQsubS) {
-			if (this.setQsubS.isEmpty()) {
-				throw new NoSuchElementException();
-			}
-
-			ret = this.setQsubS.iterator().next();
-			this.setQsubS.remove(ret);
+		int[] entry = new int[2];
+		if (!pollSEntry(entry)) {
+			throw new NoSuchElementException();
 		}
-		return ret;
+		return new SEntryImpl(entry[0], entry[1]);
 	}
 
 	public void outputSetS(Writer output) throws IOException {
@@ -72,6 +72,7 @@ import de.tudresden.inf.lat.jcel.core.completion.ext.CR7RExtRule;
 import de.tudresden.inf.lat.jcel.core.completion.ext.CR8RExtRule;
 import de.tudresden.inf.lat.jcel.core.completion.ext.CR8SExtRule;
 import de.tudresden.inf.lat.jcel.core.completion.ext.CR9RExtRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.OntologyExpressivity;
 
 /**
@@ -192,6 +193,34 @@ public class CompletionRuleChainSelector {
 		this.chainR = new RChain(listR);
 	}
 
+	/**
+	 * Returns a dispatcher of the completion rule chain for the set of
+	 * relations, specialized for the given ontology.
+	 * 
+	 * @param ontology
+	 *            ontology used by the classifier status
+	 * @return a dispatcher of the completion rule chain for the set of
+	 *         relations
+	 */
+	public RDispatcher createRDispatcher(ExtendedOntology ontology) {
+		Objects.requireNonNull(ontology);
+		return new RDispatcher(this.chainR, ontology);
+	}
+
+	/**
+	 * Returns a dispatcher of the completion rule chain for the set of
+	 * subsumers, specialized for the given ontology.
+	 * 
+	 * @param ontology
+	 *            ontology used by the classifier status
+	 * @return a dispatcher of the completion rule chain for the set of
+	 *         subsumers
+	 */
+	public SDispatcher createSDispatcher(ExtendedOntology ontology) {
+		Objects.requireNonNull(ontology);
+		return new SDispatcher(this.chainS, ontology);
+	}
+
 	/**
 	 * Returns the ontology expressivity.
 	 * 
@@ -0,0 +1,183 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.util.Objects;
+
+/**
+ * An object of this class is a first-in first-out queue of tuples of integers,
+ * all of them having the same arity. The tuples are stored one after the other
+ * in a circular array of primitive integers, which only grows when it is full.
+ * Therefore, adding and removing tuples does not allocate any object in the
+ * steady state.
+ * 
+ * @author Julian Mendez
+ */
+class IntegerTupleQueue {
+
+	private static final int initialCapacity = 0x100;
+
+	private final int arity;
+	private int[] elements;
+	private int head = 0;
+	private int size = 0;
+
+	/**
+	 * Constructs a new empty queue.
+	 * 
+	 * @param arity
+	 *            number of integers of each tuple
+	 */
+	IntegerTupleQueue(int arity) {
+		if (arity < 1) {
+			throw new IllegalArgumentException("Invalid arity: '" + arity + "'.");
+		}
+		this.arity = arity;
+		this.elements = new int[arity * initialCapacity];
+	}
+
+	/**
+	 * Adds a pair at the end of the queue. The arity of the queue must be 2.
+	 * 
+	 * @param first
+	 *            first component
+	 * @param second
+	 *            second component
+	 */
+	void add(int first, int second) {
+		int position = reserve(2);
+		this.elements[position] = first;
+		this.elements[position + 1] = second;
+	}
+
+	/**
+	 * Adds a triple at the end of the queue. The arity of the queue must be 3.
+	 * 
+	 * @param first
+	 *            first component
+	 * @param second
+	 *            second component
+	 * @param third
+	 *            third component
+	 */
+	void add(int first, int second, int third) {
+		int position = reserve(3);
+		this.elements[position] = first;
+		this.elements[position + 1] = second;
+		this.elements[position + 2] = third;
+	}
+
+	private void grow() {
+		int[] newElements = new int[2 * this.elements.length];
+		int length = this.size * this.arity;
+		int firstPart = Math.min(length, this.elements.length - this.head);
+		System.arraycopy(this.elements, this.head, newElements, 0, firstPart);
+		System.arraycopy(this.elements, 0, newElements, firstPart, length - firstPart);
+		this.elements = newElements;
+		this.head = 0;
+	}
+
+	/**
+	 * Tells whether this queue is empty.
+	 * 
+	 * @return <code>true</code> if and only if this queue is empty
+	 */
+	boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Removes the first tuple of the queue and copies it to the given array.
+	 * 
+	 * @param tuple
+	 *            array that receives the components of the first tuple
+	 * @return <code>true</code> if and only if a tuple was removed, i.e. if
+	 *         the queue was not empty
+	 */
+	boolean poll(int[] tuple) {
+		Objects.requireNonNull(tuple);
+		boolean ret = false;
+		if (this.size > 0) {
+			System.arraycopy(this.elements, this.head, tuple, 0, this.arity);
+			this.head = (this.head + this.arity) % this.elements.length;
+			this.size--;
+			ret = true;
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the position of a new tuple at the end of the queue, growing the
+	 * array if it is full.
+	 */
+	private int reserve(int tupleArity) {
+		if (tupleArity != this.arity) {
+			throw new IllegalArgumentException(
+					"Expected a tuple of arity " + this.arity + " but found one of arity " + tupleArity + ".");
+		}
+		if ((this.size + 1) * this.arity > this.elements.length) {
+			grow();
+		}
+		int ret = (this.head + this.size * this.arity) % this.elements.length;
+		this.size++;
+		return ret;
+	}
+
+	/**
+	 * Returns the number of tuples in the queue.
+	 * 
+	 * @return the number of tuples in the queue
+	 */
+	int size() {
+		return this.size;
+	}
+
+	@Override
+	public String toString() {
+		return "[arity: " + this.arity + ", size: " + this.size + "]";
+	}
+
+}
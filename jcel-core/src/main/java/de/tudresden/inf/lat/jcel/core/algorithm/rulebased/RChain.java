@@ -51,7 +51,6 @@ import java.util.List;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
 
 /**
@@ -63,6 +62,7 @@ import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
 public class RChain implements RObserverRule {
 
 	private final List<RObserverRule> chain;
+	private final RObserverRule[] rules;
 
 	/**
 	 * Constructs a new chain for the set of relations.
@@ -73,16 +73,17 @@ public class RChain implements RObserverRule {
 	public RChain(List<RObserverRule> ch) {
 		Objects.requireNonNull(ch);
 		this.chain = ch;
+		this.rules = ch.toArray(new RObserverRule[ch.size()]);
 	}
 
 	@Override
 	public boolean apply(ClassifierStatus status, int property, int leftClass, int rightClass) {
 		Objects.requireNonNull(status);
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		this.chain.forEach(elem -> {
-			ret.or(elem.apply(status, property, leftClass, rightClass));
-		});
-		return ret.get();
+		boolean ret = false;
+		for (RObserverRule rule : this.rules) {
+			ret |= rule.apply(status, property, leftClass, rightClass);
+		}
+		return ret;
 	}
 
 	/**
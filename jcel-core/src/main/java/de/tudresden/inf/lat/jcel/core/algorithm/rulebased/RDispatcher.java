@@ -0,0 +1,146 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
+import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
+
+/**
+ * An object of this class dispatches relation entries to the completion rules
+ * of a chain. For each object property in the ontology, only the rules that
+ * can be applied to an entry with that object property are tried. Entries with
+ * any other object property are dispatched to all the rules of the chain.
+ * 
+ * @author Julian Mendez
+ */
+public class RDispatcher implements RObserverRule {
+
+	private static final int maxNumberOfRules = Long.SIZE;
+
+	private final RObserverRule[] rules;
+	private final RuleMaskTable table;
+
+	/**
+	 * Constructs a new dispatcher for the given chain and ontology.
+	 * 
+	 * @param chain
+	 *            completion rule chain
+	 * @param ontology
+	 *            ontology used by the classifier status
+	 */
+	public RDispatcher(RChain chain, ExtendedOntology ontology) {
+		Objects.requireNonNull(chain);
+		Objects.requireNonNull(ontology);
+		List<RObserverRule> list = chain.getList();
+		if (list.size() > maxNumberOfRules) {
+			throw new IllegalArgumentException("Too many completion rules: '" + list.size() + "'.");
+		}
+		this.rules = list.toArray(new RObserverRule[list.size()]);
+		long allRules = (this.rules.length == maxNumberOfRules) ? -1L : ((1L << this.rules.length) - 1);
+		this.table = new RuleMaskTable(ontology.getObjectPropertySet(), allRules, property -> {
+			long mask = 0;
+			for (int index = 0; index < this.rules.length; index++) {
+				if (this.rules[index].isApplicableToProperty(ontology, property)) {
+					mask |= (1L << index);
+				}
+			}
+			return mask;
+		});
+	}
+
+	@Override
+	public boolean apply(ClassifierStatus status, int property, int leftClass, int rightClass) {
+		Objects.requireNonNull(status);
+		boolean ret = false;
+		long mask = this.table.getMask(property);
+		for (int index = 0; mask != 0; index++, mask >>>= 1) {
+			if ((mask & 1L) != 0) {
+				ret |= this.rules[index].apply(status, property, leftClass, rightClass);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the completion rules that are tried for an entry with the given
+	 * object property.
+	 * 
+	 * @param property
+	 *            object property
+	 * @return the completion rules that are tried for an entry with the given
+	 *         object property
+	 */
+	public List<RObserverRule> getRules(int property) {
+		List<RObserverRule> ret = new ArrayList<>();
+		long mask = this.table.getMask(property);
+		for (int index = 0; index < this.rules.length; index++) {
+			if ((mask & (1L << index)) != 0) {
+				ret.add(this.rules[index]);
+			}
+		}
+		return Collections.unmodifiableList(ret);
+	}
+
+	@Override
+	public String toString() {
+		StringBuffer sbuf = new StringBuffer();
+		sbuf.append("(");
+		for (RObserverRule rule : this.rules) {
+			sbuf.append(rule.toString());
+			sbuf.append(" ");
+		}
+		sbuf.append(")");
+		return sbuf.toString();
+	}
+
+}
@@ -49,23 +49,26 @@ package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.AbstractMap;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
 import de.tudresden.inf.lat.jcel.core.algorithm.common.UnclassifiedOntologyException;
-import de.tudresden.inf.lat.jcel.core.completion.common.REntry;
-import de.tudresden.inf.lat.jcel.core.completion.common.SEntry;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerBinaryRelation;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraphImpl;
@@ -90,11 +93,14 @@ import de.tudresden.inf.lat.util.map.OptMapImpl;
 public class RuleBasedProcessor implements Processor {
 
 	private class WorkerThreadR extends Thread {
+
+		private final int[] nextREntry = new int[3];
+
 		@Override
 		public void run() {
 			while (RuleBasedProcessor.this.status.getNumberOfREntries() > 0) {
 				while (RuleBasedProcessor.this.status.getNumberOfREntries() > 0) {
-					processREntries();
+					processREntries(this.nextREntry);
 				}
 				try {
 					Thread.sleep(threadWaitingTime);
@@ -106,11 +112,14 @@ public class RuleBasedProcessor implements Processor {
 	}
 
 	private class WorkerThreadS extends Thread {
+
+		private final int[] nextSEntry = new int[2];
+
 		@Override
 		public void run() {
 			while (RuleBasedProcessor.this.status.getNumberOfSEntries() > 0) {
 				while (RuleBasedProcessor.this.status.getNumberOfSEntries() > 0) {
-					processSEntries();
+					processSEntries(this.nextSEntry);
 				}
 				try {
 					Thread.sleep(threadWaitingTime);
@@ -123,21 +132,26 @@ public class RuleBasedProcessor implements Processor {
 
 	private static final Logger logger = Logger.getLogger(RuleBasedProcessor.class.getName());
 
+	private static final int bottomClassId = IntegerEntityManager.bottomClassId;
 	private static final long loggingFrequency = 0x1000000;
 	private static final long threadWaitingTime = 0x20;
 	private static final Integer topClassId = IntegerEntityManager.topClassId;
 
-	private RChain chainR = null;
-	private SChain chainS = null;
+	private final CompletionRuleChainSelector chainSelector;
 	private IntegerHierarchicalGraph classHierarchy = null;
 	private IntegerHierarchicalGraph dataPropertyHierarchy = null;
+	private OptMap<Integer, Set<Integer>> directInstances = null;
 	private OptMap<Integer, Set<Integer>> directTypes = null;
+	private RDispatcher dispatcherR = null;
+	private SDispatcher dispatcherS = null;
 	private final IntegerEntityManager entityManager;
 	private final NormalizedIntegerAxiomFactory factory;
 	private boolean isReady = false;
 	private long iteration = 0;
 	private long loggingCount = loggingFrequency;
 	private final boolean multiThreadedMode = false;
+	private final int[] nextREntry = new int[3];
+	private final int[] nextSEntry = new int[2];
 	private IntegerHierarchicalGraph objectPropertyHierarchy = null;
 	private OptMap<Integer, Set<Integer>> sameIndividualMap = null;
 	private ClassifierStatusImpl status = null;
@@ -174,10 +188,10 @@ public class RuleBasedProcessor implements Processor {
 		this.factory = factory;
 		this.entityManager = entityManager;
 
-		CompletionRuleChainSelector selector = new CompletionRuleChainSelector(expressivity);
-		selector.activateProfiler();
-		this.chainR = selector.getRChain();
-		this.chainS = selector.getSChain();
+		this.chainSelector = new CompletionRuleChainSelector(expressivity);
+		if (logger.isLoggable(Level.FINE)) {
+			this.chainSelector.activateProfiler();
+		}
 
 		preProcess(createExtendedOntology(originalObjectProperties, originalClasses, normalizedAxiomSet));
 	}
@@ -190,18 +204,46 @@ public class RuleBasedProcessor implements Processor {
 		logger.fine("processor reset.");
 	}
 
+	/**
+	 * Computes the inverse of the map of direct types. This is the realization
+	 * index used to retrieve the instances of a class without iterating over
+	 * all the individuals.
+	 * 
+	 * @param directTypesMap
+	 *            map with all the direct types for each individual
+	 * @return a map with all the individuals for each direct type
+	 */
+	private OptMap<Integer, Set<Integer>> computeDirectInstances(OptMap<Integer, Set<Integer>> directTypesMap) {
+		OptMap<Integer, Set<Integer>> ret = new OptMapImpl<>(new HashMap<>());
+		directTypesMap.keySet().forEach(indiv -> {
+			directTypesMap.get(indiv).get().forEach(type -> {
+				Optional<Set<Integer>> optInstances = ret.get(type);
+				if (!optInstances.isPresent()) {
+					optInstances = Optional.of(new HashSet<>());
+					ret.put(type, optInstances.get());
+				}
+				optInstances.get().add(indiv);
+			});
+		});
+		ret.keySet().forEach(type -> ret.put(type, Collections.unmodifiableSet(ret.get(type).get())));
+		return ret;
+	}
+
 	/**
 	 * @param hierarchicalGraph
 	 *            graph containing direct subsumers
+	 * @param nominals
+	 *            auxiliary nominals of this ontology
 	 * @return a map with all the direct types for each individual.
 	 */
-	private OptMap<Integer, Set<Integer>> computeDirectTypes(IntegerHierarchicalGraph hierarchicalGraph) {
+	private OptMap<Integer, Set<Integer>> computeDirectTypes(IntegerHierarchicalGraph hierarchicalGraph,
+			Set<Integer> nominals) {
 		OptMap<Integer, Set<Integer>> ret = new OptMapImpl<>(new HashMap<>());
-		Set<Integer> individuals = getEntityManager().getIndividuals();
-		individuals.forEach(indiv -> {
-			Set<Integer> subsumers = hierarchicalGraph.getParents(getEntityManager().getAuxiliaryNominal(indiv).get());
+		nominals.forEach(nominal -> {
+			Integer indiv = getEntityManager().getIndividual(nominal).get();
+			Set<Integer> subsumers = hierarchicalGraph.getParents(nominal);
 			subsumers.forEach(elem -> {
-				if (getEntityManager().getAuxiliaryNominals().contains(elem)) {
+				if (nominals.contains(elem)) {
 					throw new IllegalStateException("An individual has another individual as direct subsumer.");
 				}
 			});
@@ -212,28 +254,31 @@ public class RuleBasedProcessor implements Processor {
 
 	/**
 	 * This is a graph reachability algorithm that returns all elements d
-	 * reachable from an element c using a path where each segment is from any
-	 * of the properties in R.
+	 * reachable from any of the elements c in the origins using a path where
+	 * each segment is from any of the properties in R.
 	 * 
-	 * @param c
-	 *            first element in the path
-	 * @return the set of all nodes reachable from c using any possible segment
+	 * @param origins
+	 *            first elements in the paths
+	 * @return the set of all nodes reachable from the origins using any
+	 *         possible segment
 	 */
-	private Set<Integer> computeReachability(Integer c) {
+	private Set<Integer> computeReachability(Collection<Integer> origins) {
 		Set<Integer> ret = new HashSet<>();
-		Set<Integer> toVisit = new HashSet<>();
-		toVisit.add(c);
+		Deque<Integer> toVisit = new ArrayDeque<>();
+		origins.forEach(elem -> {
+			if (ret.add(elem)) {
+				toVisit.add(elem);
+			}
+		});
 		while (!toVisit.isEmpty()) {
-			Integer elem = toVisit.iterator().next();
-			toVisit.remove(elem);
-			ret.add(elem);
-			Set<Integer> newToVisit = new HashSet<>();
-			this.status.getObjectPropertiesByFirst(elem).forEach(r -> {
-				IntegerBinaryRelation relation = this.status.getRelationSet().get(r);
-				newToVisit.addAll(relation.getByFirst(elem));
-			});
-			newToVisit.removeAll(ret);
-			toVisit.addAll(newToVisit);
+			Integer elem = toVisit.poll();
+			for (Integer r : this.status.getObjectPropertiesByFirst(elem)) {
+				for (Integer next : this.status.getRelationSet().get(r).getByFirst(elem)) {
+					if (ret.add(next)) {
+						toVisit.add(next);
+					}
+				}
+			}
 		}
 		return ret;
 	}
@@ -241,21 +286,21 @@ public class RuleBasedProcessor implements Processor {
 	private Set<Integer> computeReachability(Integer c, OptMap<Integer, Set<Integer>> reachableNodeCache) {
 		Optional<Set<Integer>> optReachableNodes = reachableNodeCache.get(c);
 		if (!optReachableNodes.isPresent()) {
-			optReachableNodes = Optional.of(computeReachability(c));
+			optReachableNodes = Optional.of(computeReachability(Collections.singleton(c)));
 			reachableNodeCache.put(c, optReachableNodes.get());
 		}
 		return optReachableNodes.get();
 	}
 
-	private OptMap<Integer, Set<Integer>> computeSameIndividualMap(IntegerHierarchicalGraph hierarchicalGraph) {
+	private OptMap<Integer, Set<Integer>> computeSameIndividualMap(IntegerHierarchicalGraph hierarchicalGraph,
+			Set<Integer> nominals) {
 		OptMap<Integer, Set<Integer>> ret = new OptMapImpl<>(new HashMap<>());
-		Set<Integer> individuals = getEntityManager().getIndividuals();
-		individuals.forEach(indiv -> {
-			Set<Integer> equivalentClasses = hierarchicalGraph
-					.getEquivalents(getEntityManager().getAuxiliaryNominal(indiv).get());
+		nominals.forEach(nominal -> {
+			Integer indiv = getEntityManager().getIndividual(nominal).get();
+			Set<Integer> equivalentClasses = hierarchicalGraph.getEquivalents(nominal);
 			Set<Integer> equivalents = new HashSet<>();
 			equivalentClasses.forEach(elem -> {
-				if (getEntityManager().getAuxiliaryNominals().contains(elem)) {
+				if (nominals.contains(elem)) {
 					equivalents.add(getEntityManager().getIndividual(elem).get());
 				}
 			});
@@ -325,8 +370,8 @@ public class RuleBasedProcessor implements Processor {
 		ret.add(createEntry("auxiliary classes created for nominals", "" + getEntityManager().getIndividuals().size()));
 		ret.add(createEntry("auxiliary object properties created",
 				"" + getEntityManager().getEntities(IntegerEntityType.OBJECT_PROPERTY, true).size()));
-		ret.add(createEntry("chain S", this.chainS.toString()));
-		ret.add(createEntry("chain R", this.chainR.toString()));
+		ret.add(createEntry("chain S", this.chainSelector.getSChain().toString()));
+		ret.add(createEntry("chain R", this.chainSelector.getRChain().toString()));
 		return ret;
 	}
 
@@ -363,6 +408,21 @@ public class RuleBasedProcessor implements Processor {
 		return visited;
 	}
 
+	/**
+	 * Returns the map of direct instances for every class. The individuals of
+	 * a class are those individuals that have the class as direct type.
+	 * 
+	 * @return the map of direct instances if the classification has finished
+	 * @throws UnclassifiedOntologyException
+	 *             if the classification has not finished yet
+	 */
+	public Map<Integer, Set<Integer>> getDirectInstances() {
+		if (!isReady()) {
+			throw new UnclassifiedOntologyException();
+		}
+		return Collections.unmodifiableMap(this.directInstances.asMap());
+	}
+
 	@Override
 	public Map<Integer, Set<Integer>> getDirectTypes() {
 		if (!isReady()) {
@@ -379,6 +439,23 @@ public class RuleBasedProcessor implements Processor {
 		return this.status.getObjectPropertyGraph();
 	}
 
+	/**
+	 * Returns the auxiliary nominals that are in the class graph. The entity
+	 * manager can be shared with other processors, so it can contain nominals
+	 * that do not belong to this ontology.
+	 * 
+	 * @return the auxiliary nominals that are in the class graph
+	 */
+	private Set<Integer> getNominals() {
+		Set<Integer> ret = new HashSet<>();
+		getClassGraph().getElements().forEach(elem -> {
+			if (getEntityManager().getIndividual(elem).isPresent()) {
+				ret.add(elem);
+			}
+		});
+		return ret;
+	}
+
 	@Override
 	public IntegerHierarchicalGraph getObjectPropertyHierarchy() {
 		if (!isReady()) {
@@ -449,6 +526,35 @@ public class RuleBasedProcessor implements Processor {
 		return this.isReady;
 	}
 
+	/**
+	 * Adds the subsumers of one class to another class, unless the first
+	 * class already has all the subsumers of the second one. Only the classes
+	 * accepted by the filter are considered as subsumers.
+	 * 
+	 * @param c
+	 *            class that receives the subsumers
+	 * @param d
+	 *            class that provides the subsumers
+	 * @param filter
+	 *            filter for the subsumers
+	 * @return <code>true</code> if and only if the subsumers of c have changed
+	 */
+	private boolean mergeSubsumers(Integer c, Integer d, IntPredicate filter) {
+		boolean ret = false;
+		Collection<Integer> sC = getClassGraph().getSubsumers(c);
+		Collection<Integer> sD = getClassGraph().getSubsumers(d);
+		if (!sC.stream().allMatch(elem -> !filter.test(elem) || sD.contains(elem))) {
+			List<Integer> newSubsumers = new ArrayList<>();
+			for (Integer elem : sD) {
+				if (filter.test(elem)) {
+					newSubsumers.add(elem);
+				}
+			}
+			ret = this.status.getClassGraph().addAncestors(c, newSubsumers);
+		}
+		return ret;
+	}
+
 	/**
 	 * Post processes the data after the classification phase.
 	 */
@@ -456,14 +562,36 @@ public class RuleBasedProcessor implements Processor {
 		removeAuxiliaryObjectProperties();
 		this.objectPropertyHierarchy = new IntegerHierarchicalGraphImpl(getObjectPropertyGraph());
 
-		removeAuxiliaryClassesExceptNominals();
-		IntegerHierarchicalGraph hierarchicalGraph = new IntegerHierarchicalGraphImpl(this.status.getClassGraph());
-		processNominals(hierarchicalGraph);
-		this.directTypes = computeDirectTypes(hierarchicalGraph);
-		this.sameIndividualMap = computeSameIndividualMap(hierarchicalGraph);
-
-		removeAuxiliaryNominals();
-		this.classHierarchy = new IntegerHierarchicalGraphImpl(this.status.getClassGraph());
+		Set<Integer> nominals = getNominals();
+		BitSet requiredClasses = new BitSet();
+		BitSet requiredClassesOrNominals = new BitSet();
+		getClassGraph().getElements().forEach(elem -> {
+			if (!getEntityManager().isAuxiliary(elem)) {
+				requiredClasses.set(elem);
+				requiredClassesOrNominals.set(elem);
+			}
+		});
+		nominals.forEach(nominal -> requiredClassesOrNominals.set(nominal));
+		IntPredicate isRequiredClass = requiredClasses::get;
+		IntPredicate isRequiredClassOrNominal = requiredClassesOrNominals::get;
+		IntegerHierarchicalGraphImpl hierarchicalGraph = new IntegerHierarchicalGraphImpl(getClassGraph(),
+				isRequiredClassOrNominal, false);
+		boolean changed = processNominals(hierarchicalGraph, nominals, isRequiredClassOrNominal);
+		this.directTypes = computeDirectTypes(hierarchicalGraph, nominals);
+		this.directInstances = computeDirectInstances(this.directTypes);
+		this.sameIndividualMap = computeSameIndividualMap(hierarchicalGraph, nominals);
+
+		Optional<IntegerHierarchicalGraphImpl> optClassHierarchy = Optional.empty();
+		if (nominals.isEmpty()) {
+			optClassHierarchy = Optional.of(hierarchicalGraph);
+		} else if (!changed) {
+			optClassHierarchy = hierarchicalGraph.restrict(elem -> !nominals.contains(elem));
+		}
+		if (!optClassHierarchy.isPresent()) {
+			optClassHierarchy = Optional.of(new IntegerHierarchicalGraphImpl(getClassGraph(),
+					isRequiredClass, false));
+		}
+		this.classHierarchy = optClassHierarchy.get();
 	};
 
 	/**
@@ -481,6 +609,8 @@ public class RuleBasedProcessor implements Processor {
 
 		this.isReady = false;
 		this.status = new ClassifierStatusImpl(getEntityManager(), ontology);
+		this.dispatcherR = this.chainSelector.createRDispatcher(ontology);
+		this.dispatcherS = this.chainSelector.createSDispatcher(ontology);
 		this.dataPropertyHierarchy = new IntegerHierarchicalGraphImpl(new IntegerSubsumerGraphImpl(
 				IntegerEntityManager.bottomDataPropertyId, IntegerEntityManager.topDataPropertyId));
 		Set<Integer> classNameSet = new HashSet<>();
@@ -591,50 +721,61 @@ public class RuleBasedProcessor implements Processor {
 
 	/**
 	 * Processes the nominals after the execution of the classification
-	 * algorithm. It requires a hierarchical graph to get the descendants.
+	 * algorithm. It requires a hierarchical graph to get the descendants. Only
+	 * the classes accepted by the filter are considered as subsumers. The
+	 * subsumers of a descendant d of a nominal are added to another descendant
+	 * c of the same nominal if d is reachable from any nominal or from c. The
+	 * elements reachable from the nominals are computed once, and the
+	 * reachability from c is only computed when neither c nor d are reachable
+	 * from a nominal. Unsatisfiable classes are skipped, since they already
+	 * have all the subsumers, and merging an unsatisfiable class only adds
+	 * bottom.
 	 * 
 	 * @param hierarchicalGraph
 	 *            the hierarchical graph
+	 * @param nominals
+	 *            auxiliary nominals of this ontology
+	 * @param filter
+	 *            filter for the classes of the hierarchical graph
+	 * @return <code>true</code> if and only if the subsumers of a class
+	 *         accepted by the filter have changed
 	 */
-	private void processNominals(IntegerHierarchicalGraph hierarchicalGraph) {
+	private boolean processNominals(IntegerHierarchicalGraph hierarchicalGraph, Set<Integer> nominals,
+			IntPredicate filter) {
+		boolean ret = false;
+		Set<Integer> reachableFromNominals = computeReachability(nominals);
 		OptMap<Integer, Set<Integer>> reachabilityCache = new OptMapImpl<>(new HashMap<>());
-		Set<Integer> nominals = getEntityManager().getAuxiliaryNominals();
-		nominals.forEach(indiv -> {
+		for (Integer indiv : nominals) {
 			Set<Integer> descendants = getDescendants(hierarchicalGraph, indiv);
-			descendants.forEach(c -> {
-				descendants.forEach(d -> {
-					Collection<Integer> sC = getClassGraph().getSubsumers(c);
-					Collection<Integer> sD = getClassGraph().getSubsumers(d);
-					if (!(sD.containsAll(sC))) {
-						if (computeReachability(c, reachabilityCache).contains(d)) {
-							sD.forEach(elem -> this.status.getClassGraph().addAncestor(c, elem));
+			for (Integer c : descendants) {
+				boolean cIsReachable = reachableFromNominals.contains(c);
+				Iterator<Integer> it = descendants.iterator();
+				while (it.hasNext() && !getClassGraph().containsPair(c, bottomClassId)) {
+					Integer d = it.next();
+					boolean reachable = reachableFromNominals.contains(d)
+							|| (!cIsReachable && computeReachability(c, reachabilityCache).contains(d));
+					if (reachable) {
+						if (getClassGraph().containsPair(d, bottomClassId)) {
+							ret |= this.status.getClassGraph().addAncestor(c, bottomClassId);
+						} else {
+							ret |= mergeSubsumers(c, d, filter);
 						}
-						nominals.forEach(nominal -> {
-							if (computeReachability(nominal, reachabilityCache).contains(d)) {
-								sD.forEach(elem -> this.status.getClassGraph().addAncestor(c, elem));
-							}
-						});
 					}
-				});
-			});
-		});
+				}
+			}
+		}
+		return ret;
 	}
 
-	private boolean processREntries() {
-		boolean ret = false;
-		REntry entry = null;
-		try {
-			entry = this.status.removeNextREntry();
-		} catch (NoSuchElementException e) {
-		}
-		if (Objects.nonNull(entry)) {
-			ret = true;
-			int property = entry.getProperty();
-			int leftClass = entry.getLeftClass();
-			int rightClass = entry.getRightClass();
+	private boolean processREntries(int[] entry) {
+		boolean ret = this.status.pollREntry(entry);
+		if (ret) {
+			int property = entry[0];
+			int leftClass = entry[1];
+			int rightClass = entry[2];
 			boolean applied = this.status.addToR(property, leftClass, rightClass);
 			if (applied) {
-				this.chainR.apply(this.status, property, leftClass, rightClass);
+				this.dispatcherR.apply(this.status, property, leftClass, rightClass);
 				this.loggingCount--;
 				this.iteration++;
 			}
@@ -642,20 +783,14 @@ public class RuleBasedProcessor implements Processor {
 		return ret;
 	}
 
-	private boolean processSEntries() {
-		boolean ret = false;
-		SEntry entry = null;
-		try {
-			entry = this.status.removeNextSEntry();
-		} catch (NoSuchElementException e) {
-		}
-		if (Objects.nonNull(entry)) {
-			ret = true;
-			int subClass = entry.getSubClass();
-			int superClass = entry.getSuperClass();
+	private boolean processSEntries(int[] entry) {
+		boolean ret = this.status.pollSEntry(entry);
+		if (ret) {
+			int subClass = entry[0];
+			int superClass = entry[1];
 			boolean applied = this.status.addToS(subClass, superClass);
 			if (applied) {
-				this.chainS.apply(this.status, subClass, superClass);
+				this.dispatcherS.apply(this.status, subClass, superClass);
 				this.loggingCount--;
 				this.iteration++;
 			}
@@ -672,33 +807,15 @@ public class RuleBasedProcessor implements Processor {
 				this.isReady = true;
 			} else {
 				if (this.status.getNumberOfSEntries() > this.status.getNumberOfREntries()) {
-					processSEntries();
+					processSEntries(this.nextSEntry);
 				} else {
-					processREntries();
+					processREntries(this.nextREntry);
 				}
 			}
 		}
 		return !this.isReady;
 	}
 
-	private void removeAuxiliaryClassesExceptNominals() {
-		Set<Integer> reqClasses = new HashSet<>();
-		getClassGraph().getElements().forEach(elem -> {
-			if (!getEntityManager().isAuxiliary(elem)) {
-				reqClasses.add(elem);
-			}
-		});
-		reqClasses.addAll(getEntityManager().getAuxiliaryNominals());
-		this.status.getClassGraph().retainAll(reqClasses);
-	}
-
-	private void removeAuxiliaryNominals() {
-		Set<Integer> reqClasses = new HashSet<>();
-		reqClasses.addAll(getClassGraph().getElements());
-		reqClasses.removeAll(getEntityManager().getAuxiliaryNominals());
-		this.status.getClassGraph().retainAll(reqClasses);
-	}
-
 	/**
 	 * This method removes the auxiliary object properties that were not
 	 * generated as inverse of another one.
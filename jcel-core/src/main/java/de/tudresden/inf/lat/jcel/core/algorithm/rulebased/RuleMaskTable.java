@@ -0,0 +1,136 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.IntToLongFunction;
+
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class maps identifiers to bit masks that select completion
+ * rules of a chain. Identifiers in a compact range are stored in an array, and
+ * other identifiers are stored in a map. Identifiers that were not given when
+ * the table was built are mapped to a default mask.
+ * 
+ * @author Julian Mendez
+ */
+class RuleMaskTable {
+
+	/**
+	 * Maximum number of array positions per identifier. If the range of
+	 * identifiers is larger, the masks are stored in a map.
+	 */
+	private static final int maxPositionsPerIdentifier = 4;
+
+	private final long defaultMask;
+	private final long[] masks;
+	private final OptMap<Integer, Long> maskMap = new OptMapImpl<>(new HashMap<>());
+	private final int offset;
+
+	/**
+	 * Constructs a new table of masks.
+	 * 
+	 * @param identifiers
+	 *            identifiers
+	 * @param defaultMask
+	 *            mask for identifiers not included in the table
+	 * @param maskFunction
+	 *            function that computes the mask of an identifier
+	 */
+	RuleMaskTable(Set<Integer> identifiers, long defaultMask, IntToLongFunction maskFunction) {
+		Objects.requireNonNull(identifiers);
+		Objects.requireNonNull(maskFunction);
+		this.defaultMask = defaultMask;
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		for (int id : identifiers) {
+			min = Math.min(min, id);
+			max = Math.max(max, id);
+		}
+		long range = identifiers.isEmpty() ? 0 : ((long) max - min + 1);
+		if (range <= ((long) maxPositionsPerIdentifier * identifiers.size())) {
+			this.offset = identifiers.isEmpty() ? 0 : min;
+			this.masks = new long[(int) range];
+			for (int index = 0; index < this.masks.length; index++) {
+				this.masks[index] = maskFunction.applyAsLong(this.offset + index);
+			}
+		} else {
+			this.offset = 0;
+			this.masks = new long[0];
+			for (int id : identifiers) {
+				this.maskMap.put(id, maskFunction.applyAsLong(id));
+			}
+		}
+	}
+
+	/**
+	 * Returns the mask of the given identifier.
+	 * 
+	 * @param id
+	 *            identifier
+	 * @return the mask of the given identifier
+	 */
+	long getMask(int id) {
+		long ret = this.defaultMask;
+		int index = id - this.offset;
+		if ((index >= 0) && (index < this.masks.length)) {
+			ret = this.masks[index];
+		} else if (!this.maskMap.isEmpty()) {
+			Optional<Long> optMask = this.maskMap.get(id);
+			if (optMask.isPresent()) {
+				ret = optMask.get();
+			}
+		}
+		return ret;
+	}
+
+}
@@ -53,6 +53,7 @@ import java.util.Objects;
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
 import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
  * An object implementing this class is a profiler for completion rules.
@@ -147,6 +148,18 @@ public class RuleProfiler implements RObserverRule, SObserverRule {
 		return this.totalTime;
 	}
 
+	@Override
+	public boolean isApplicableToProperty(ExtendedOntology ontology, int property) {
+		Objects.requireNonNull(ontology);
+		return this.rListener.isApplicableToProperty(ontology, property);
+	}
+
+	@Override
+	public boolean isApplicableToSuperClass(ExtendedOntology ontology, int superClass) {
+		Objects.requireNonNull(ontology);
+		return this.sListener.isApplicableToSuperClass(ontology, superClass);
+	}
+
 	@Override
 	public String toString() {
 		StringBuffer sbuf = new StringBuffer();
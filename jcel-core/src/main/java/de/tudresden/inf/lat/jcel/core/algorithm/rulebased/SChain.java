@@ -51,7 +51,6 @@ import java.util.List;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
 
 /**
@@ -63,6 +62,7 @@ import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
 public class SChain implements SObserverRule {
 
 	private final List<SObserverRule> chain;
+	private final SObserverRule[] rules;
 
 	/**
 	 * Constructs a new chain for the set of subsumers.
@@ -73,16 +73,17 @@ public class SChain implements SObserverRule {
 	public SChain(List<SObserverRule> ch) {
 		Objects.requireNonNull(ch);
 		this.chain = ch;
+		this.rules = ch.toArray(new SObserverRule[ch.size()]);
 	}
 
 	@Override
 	public boolean apply(ClassifierStatus status, int subClass, int superClass) {
 		Objects.requireNonNull(status);
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		this.chain.forEach(elem -> {
-			ret.or(elem.apply(status, subClass, superClass));
-		});
-		return ret.get();
+		boolean ret = false;
+		for (SObserverRule rule : this.rules) {
+			ret |= rule.apply(status, subClass, superClass);
+		}
+		return ret;
 	}
 
 	/**
@@ -0,0 +1,146 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
+import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
+
+/**
+ * An object of this class dispatches subsumption entries to the completion
+ * rules of a chain. For each class in the ontology, only the rules that can be
+ * applied to an entry having that class as super class are tried. Entries with
+ * any other super class are dispatched to all the rules of the chain.
+ * 
+ * @author Julian Mendez
+ */
+public class SDispatcher implements SObserverRule {
+
+	private static final int maxNumberOfRules = Long.SIZE;
+
+	private final SObserverRule[] rules;
+	private final RuleMaskTable table;
+
+	/**
+	 * Constructs a new dispatcher for the given chain and ontology.
+	 * 
+	 * @param chain
+	 *            completion rule chain
+	 * @param ontology
+	 *            ontology used by the classifier status
+	 */
+	public SDispatcher(SChain chain, ExtendedOntology ontology) {
+		Objects.requireNonNull(chain);
+		Objects.requireNonNull(ontology);
+		List<SObserverRule> list = chain.getList();
+		if (list.size() > maxNumberOfRules) {
+			throw new IllegalArgumentException("Too many completion rules: '" + list.size() + "'.");
+		}
+		this.rules = list.toArray(new SObserverRule[list.size()]);
+		long allRules = (this.rules.length == maxNumberOfRules) ? -1L : ((1L << this.rules.length) - 1);
+		this.table = new RuleMaskTable(ontology.getClassSet(), allRules, superClass -> {
+			long mask = 0;
+			for (int index = 0; index < this.rules.length; index++) {
+				if (this.rules[index].isApplicableToSuperClass(ontology, superClass)) {
+					mask |= (1L << index);
+				}
+			}
+			return mask;
+		});
+	}
+
+	@Override
+	public boolean apply(ClassifierStatus status, int subClass, int superClass) {
+		Objects.requireNonNull(status);
+		boolean ret = false;
+		long mask = this.table.getMask(superClass);
+		for (int index = 0; mask != 0; index++, mask >>>= 1) {
+			if ((mask & 1L) != 0) {
+				ret |= this.rules[index].apply(status, subClass, superClass);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the completion rules that are tried for an entry with the given
+	 * super class.
+	 * 
+	 * @param superClass
+	 *            super class
+	 * @return the completion rules that are tried for an entry with the given
+	 *         super class
+	 */
+	public List<SObserverRule> getRules(int superClass) {
+		List<SObserverRule> ret = new ArrayList<>();
+		long mask = this.table.getMask(superClass);
+		for (int index = 0; index < this.rules.length; index++) {
+			if ((mask & (1L << index)) != 0) {
+				ret.add(this.rules[index]);
+			}
+		}
+		return Collections.unmodifiableList(ret);
+	}
+
+	@Override
+	public String toString() {
+		StringBuffer sbuf = new StringBuffer();
+		sbuf.append("(");
+		for (SObserverRule rule : this.rules) {
+			sbuf.append(rule.toString());
+			sbuf.append(" ");
+		}
+		sbuf.append(")");
+		return sbuf.toString();
+	}
+
+}
@@ -47,11 +47,10 @@
 package de.tudresden.inf.lat.jcel.core.completion.basic;
 
 import java.util.Objects;
-import java.util.function.Function;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
@@ -87,19 +86,14 @@ public class CR1SRule implements SObserverRule {
 		return applyRule(status, subClass, superClass);
 	}
 
-	private boolean applyRule(ClassifierStatus status, int subClass, int superClass) {
-		return applyRule(status.getExtendedOntology(), (Integer x) -> (Integer b) -> status.addNewSEntry(x, b),
-				subClass, superClass);
-	}
-
-	private boolean applyRule(ExtendedOntology ontology, Function<Integer, Function<Integer, Boolean>> queue, int x,
-			int a) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		ontology.getGCI0Axioms(a).forEach(axiom -> {
-			int b = axiom.getSuperClass();
-			ret.or(queue.apply(x).apply(b));
-		});
-		return ret.get();
+	private boolean applyRule(ClassifierStatus status, int x, int a) {
+		boolean ret = false;
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI0Index();
+		for (int i = index.getStart(a), end = index.getEnd(a); i < end; i++) {
+			int b = index.getFirst(i);
+			ret |= status.addNewSEntry(x, b);
+		}
+		return ret;
 	}
 
 	@Override
@@ -112,6 +106,12 @@ public class CR1SRule implements SObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToSuperClass(ExtendedOntology ontology, int superClass) {
+		Objects.requireNonNull(ontology);
+		return !ontology.getGCI0Axioms(superClass).isEmpty();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
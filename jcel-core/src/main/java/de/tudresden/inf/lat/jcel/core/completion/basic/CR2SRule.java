@@ -50,8 +50,9 @@ import java.util.Collection;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
  * 
@@ -97,24 +98,17 @@ public class CR2SRule implements SObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int x, int a) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
+		boolean ret = false;
 		Collection<Integer> subsumersOfX = status.getSubsumers(x);
-		status.getExtendedOntology().getGCI1Axioms(a).forEach(axiom -> {
-			boolean valid = true;
-
-			if (a == axiom.getRightSubClass()) {
-				valid = valid && subsumersOfX.contains(axiom.getLeftSubClass());
-			} else {
-				valid = valid && subsumersOfX.contains(axiom.getRightSubClass());
-			}
-
-			if (valid) {
-				int b = axiom.getSuperClass();
-				ret.or(status.addNewSEntry(x, b));
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI1Index();
+		for (int i = index.getStart(a), end = index.getEnd(a); i < end; i++) {
+			int otherOperand = index.getFirst(i);
+			if (subsumersOfX.contains(otherOperand)) {
+				int b = index.getSecond(i);
+				ret |= status.addNewSEntry(x, b);
 			}
-
-		});
-		return ret.get();
+		}
+		return ret;
 	}
 
 	@Override
@@ -127,6 +121,12 @@ public class CR2SRule implements SObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToSuperClass(ExtendedOntology ontology, int superClass) {
+		Objects.requireNonNull(ontology);
+		return !ontology.getGCI1Axioms(superClass).isEmpty();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
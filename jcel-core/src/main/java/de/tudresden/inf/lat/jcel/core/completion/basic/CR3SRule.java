@@ -47,11 +47,10 @@
 package de.tudresden.inf.lat.jcel.core.completion.basic;
 
 import java.util.Objects;
-import java.util.function.Function;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
@@ -86,20 +85,15 @@ public class CR3SRule implements SObserverRule {
 		return applyRule(status, subClass, superClass);
 	}
 
-	private boolean applyRule(ClassifierStatus status, int subClass, int superClass) {
-		return applyRule(status.getExtendedOntology(),
-				(Integer r) -> (Integer x) -> (Integer b) -> status.addNewREntry(r, x, b), subClass, superClass);
-	}
-
-	private boolean applyRule(ExtendedOntology ontology,
-			Function<Integer, Function<Integer, Function<Integer, Boolean>>> queue, int x, int a) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		ontology.getGCI2Axioms(a).forEach(axiom -> {
-			int r = axiom.getPropertyInSuperClass();
-			int b = axiom.getClassInSuperClass();
-			ret.or(queue.apply(r).apply(x).apply(b));
-		});
-		return ret.get();
+	private boolean applyRule(ClassifierStatus status, int x, int a) {
+		boolean ret = false;
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI2Index();
+		for (int i = index.getStart(a), end = index.getEnd(a); i < end; i++) {
+			int r = index.getFirst(i);
+			int b = index.getSecond(i);
+			ret |= status.addNewREntry(r, x, b);
+		}
+		return ret;
 	}
 
 	@Override
@@ -112,6 +106,12 @@ public class CR3SRule implements SObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToSuperClass(ExtendedOntology ontology, int superClass) {
+		Objects.requireNonNull(ontology);
+		return !ontology.getGCI2Axioms(superClass).isEmpty();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
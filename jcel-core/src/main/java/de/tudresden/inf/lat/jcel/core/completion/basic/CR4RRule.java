@@ -49,8 +49,9 @@ package de.tudresden.inf.lat.jcel.core.completion.basic;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
  * 
@@ -85,14 +86,17 @@ public class CR4RRule implements RObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int r, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getSubsumers(y).forEach(a -> {
-			status.getExtendedOntology().getGCI3rAAxioms(r, a).forEach(axiom -> {
-				int b = axiom.getSuperClass();
-				ret.or(status.addNewSEntry(x, b));
-			});
-		});
-		return ret.get();
+		boolean ret = false;
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI3rAIndex();
+		if (!index.isEmpty(r)) {
+			for (int a : status.getSubsumers(y)) {
+				for (int i = index.getStart(r, a), end = index.getEnd(r, a); i < end; i++) {
+					int b = index.getSecond(i);
+					ret |= status.addNewSEntry(x, b);
+				}
+			}
+		}
+		return ret;
 	}
 
 	@Override
@@ -105,6 +109,12 @@ public class CR4RRule implements RObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToProperty(ExtendedOntology ontology, int property) {
+		Objects.requireNonNull(ontology);
+		return !ontology.getGCI3rAxioms(property).isEmpty();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
@@ -49,8 +49,9 @@ package de.tudresden.inf.lat.jcel.core.completion.basic;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
  * 
@@ -85,16 +86,17 @@ public class CR4SRule implements SObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int y, int a) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getObjectPropertiesBySecond(y).forEach(r -> {
-			status.getExtendedOntology().getGCI3rAAxioms(r, a).forEach(axiom -> {
-				status.getFirstBySecond(r, y).forEach(x -> {
-					int b = axiom.getSuperClass();
-					ret.or(status.addNewSEntry(x, b));
-				});
-			});
-		});
-		return ret.get();
+		boolean ret = false;
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI3rAIndex();
+		for (int r : status.getObjectPropertiesBySecond(y)) {
+			for (int i = index.getStart(r, a), end = index.getEnd(r, a); i < end; i++) {
+				int b = index.getSecond(i);
+				for (int x : status.getFirstBySecond(r, y)) {
+					ret |= status.addNewSEntry(x, b);
+				}
+			}
+		}
+		return ret;
 	}
 
 	@Override
@@ -107,6 +109,12 @@ public class CR4SRule implements SObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToSuperClass(ExtendedOntology ontology, int superClass) {
+		Objects.requireNonNull(ontology);
+		return !ontology.getGCI3AAxioms(superClass).isEmpty();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
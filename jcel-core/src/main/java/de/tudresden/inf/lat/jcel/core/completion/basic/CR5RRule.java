@@ -47,11 +47,10 @@
 package de.tudresden.inf.lat.jcel.core.completion.basic;
 
 import java.util.Objects;
-import java.util.function.Function;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
@@ -86,20 +85,14 @@ public class CR5RRule implements RObserverRule {
 		return applyRule(status, property, leftClass, rightClass);
 	}
 
-	private boolean applyRule(ClassifierStatus status, int property, int leftClass, int rightClass) {
-		return applyRule(status.getExtendedOntology(),
-				(Integer s) -> (Integer x) -> (Integer y) -> status.addNewREntry(s, x, y), property, leftClass,
-				rightClass);
-	}
-
-	private boolean applyRule(ExtendedOntology ontology,
-			Function<Integer, Function<Integer, Function<Integer, Boolean>>> queue, int r, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		ontology.getRI2rAxioms(r).forEach(axiom -> {
-			int s = axiom.getSuperProperty();
-			ret.or(queue.apply(s).apply(x).apply(y));
-		});
-		return ret.get();
+	private boolean applyRule(ClassifierStatus status, int r, int x, int y) {
+		boolean ret = false;
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getRI2rIndex();
+		for (int i = index.getStart(r), end = index.getEnd(r); i < end; i++) {
+			int s = index.getFirst(i);
+			ret |= status.addNewREntry(s, x, y);
+		}
+		return ret;
 	}
 
 	@Override
@@ -112,6 +105,12 @@ public class CR5RRule implements RObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToProperty(ExtendedOntology ontology, int property) {
+		Objects.requireNonNull(ontology);
+		return !ontology.getRI2rAxioms(property).isEmpty();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
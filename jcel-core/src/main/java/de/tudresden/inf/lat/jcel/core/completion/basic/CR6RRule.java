@@ -49,8 +49,8 @@ package de.tudresden.inf.lat.jcel.core.completion.basic;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
  * 
@@ -88,27 +88,11 @@ public class CR6RRule implements RObserverRule {
 	}
 
 	private boolean apply1(ClassifierStatus status, int r, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getExtendedOntology().getRI3AxiomsByLeft(r).forEach(axiom -> {
-			int s = axiom.getRightSubProperty();
-			int t = axiom.getSuperProperty();
-			status.getSecondByFirst(s, y).forEach(z -> {
-				ret.or(status.addNewREntry(t, x, z));
-			});
-		});
-		return ret.get();
+		return status.getPropertyChainIndex().composeAsLeft(status, r, x, y);
 	}
 
 	private boolean apply2(ClassifierStatus status, int s, int y, int z) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getExtendedOntology().getRI3AxiomsByRight(s).forEach(axiom -> {
-			int r = axiom.getLeftSubProperty();
-			int t = axiom.getSuperProperty();
-			status.getFirstBySecond(r, y).forEach(x -> {
-				ret.or(status.addNewREntry(t, x, z));
-			});
-		});
-		return ret.get();
+		return status.getPropertyChainIndex().composeAsRight(status, s, y, z);
 	}
 
 	@Override
@@ -121,6 +105,12 @@ public class CR6RRule implements RObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToProperty(ExtendedOntology ontology, int property) {
+		Objects.requireNonNull(ontology);
+		return !ontology.getRI3AxiomsByLeft(property).isEmpty() || !ontology.getRI3AxiomsByRight(property).isEmpty();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
@@ -49,8 +49,8 @@ package de.tudresden.inf.lat.jcel.core.completion.basic;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
  * 
@@ -96,23 +96,19 @@ public class CR6RTrRule implements RObserverRule {
 	}
 
 	private boolean apply1(ClassifierStatus status, int r, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		if (status.getExtendedOntology().getTransitiveObjectProperties().contains(r)) {
-			status.getSecondByFirst(r, y).forEach(z -> {
-				ret.or(status.addNewREntry(r, x, z));
-			});
+		boolean ret = false;
+		if (status.getCompactExtendedOntology().isTransitiveObjectProperty(r)) {
+			ret |= status.getPropertyChainIndex().composeAsLeft(status, r, x, y);
 		}
-		return ret.get();
+		return ret;
 	}
 
 	private boolean apply2(ClassifierStatus status, int r, int y, int z) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		if (status.getExtendedOntology().getTransitiveObjectProperties().contains(r)) {
-			status.getFirstBySecond(r, y).forEach(x -> {
-				ret.or(status.addNewREntry(r, x, z));
-			});
+		boolean ret = false;
+		if (status.getCompactExtendedOntology().isTransitiveObjectProperty(r)) {
+			ret |= status.getPropertyChainIndex().composeAsRight(status, r, y, z);
 		}
-		return ret.get();
+		return ret;
 	}
 
 	@Override
@@ -125,6 +121,12 @@ public class CR6RTrRule implements RObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToProperty(ExtendedOntology ontology, int property) {
+		Objects.requireNonNull(ontology);
+		return ontology.getTransitiveObjectProperties().contains(property);
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
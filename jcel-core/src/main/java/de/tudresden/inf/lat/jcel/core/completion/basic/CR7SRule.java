@@ -49,8 +49,8 @@ package de.tudresden.inf.lat.jcel.core.completion.basic;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
 
 /**
@@ -85,15 +85,15 @@ public class CR7SRule implements SObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int y, int a) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
+		boolean ret = false;
 		if (a == IntegerEntityManager.bottomClassId) {
-			status.getObjectPropertiesBySecond(y).forEach(r -> {
-				status.getFirstBySecond(r, y).forEach(x -> {
-					ret.or(status.addNewSEntry(x, IntegerEntityManager.bottomClassId));
-				});
-			});
+			for (int r : status.getObjectPropertiesBySecond(y)) {
+				for (int x : status.getFirstBySecond(r, y)) {
+					ret |= status.addNewSEntry(x, IntegerEntityManager.bottomClassId);
+				}
+			}
 		}
-		return ret.get();
+		return ret;
 	}
 
 	@Override
@@ -106,6 +106,12 @@ public class CR7SRule implements SObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToSuperClass(ExtendedOntology ontology, int superClass) {
+		Objects.requireNonNull(ontology);
+		return superClass == IntegerEntityManager.bottomClassId;
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
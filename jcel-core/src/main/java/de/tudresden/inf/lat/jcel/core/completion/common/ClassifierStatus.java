@@ -51,39 +51,18 @@ import java.util.Optional;
 import java.util.Set;
 
 import de.tudresden.inf.lat.jcel.core.graph.VNode;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactExtendedOntology;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
  * An class implementing this interface contains the axioms of the ontology and
  * the main sets used in the classification process. These set are S, R and V.
+ * The entries derived by the completion rules are added through the methods of
+ * {@link EntrySink}.
  * 
  * @author Julian Mendez
  */
-public interface ClassifierStatus {
-
-	/**
-	 * Adds a new R-entry to the set of entries to be processed.
-	 * 
-	 * @param propertyId
-	 *            property id
-	 * @param leftClassId
-	 *            left class id
-	 * @param rightClassId
-	 *            right class id
-	 * @return <code>true</code> if and only if the entry was added
-	 */
-	boolean addNewREntry(int propertyId, int leftClassId, int rightClassId);
-
-	/**
-	 * Adds a new S-entry to the set of entries to be processed.
-	 * 
-	 * @param subClassId
-	 *            subclass id
-	 * @param superClassId
-	 *            superclass id
-	 * @return <code>true</code> if and only if the entry was added
-	 */
-	boolean addNewSEntry(int subClassId, int superClassId);
+public interface ClassifierStatus extends EntrySink {
 
 	/**
 	 * Returns whether a particular node belongs to the set V.
@@ -94,6 +73,21 @@ public interface ClassifierStatus {
 	 */
 	boolean contains(VNode node);
 
+	/**
+	 * Returns whether the set V contains the node that has the class and
+	 * existential pairs of a given node, and a given existential pair.
+	 * 
+	 * @param nodeId
+	 *            identifier of a node
+	 * @param propertyId
+	 *            object property identifier in the pair
+	 * @param classId
+	 *            class identifier in the pair
+	 * @return <code>true</code> if and only if the set V contains the node
+	 *         extended with the given pair
+	 */
+	boolean containsNodeWithExistential(int nodeId, int propertyId, int classId);
+
 	/**
 	 * Gets the identifier of a node, or creates a new one.
 	 * 
@@ -103,6 +97,35 @@ public interface ClassifierStatus {
 	 */
 	int createOrGetNodeId(VNode node);
 
+	/**
+	 * Gets the identifier of the node that has the given class and the
+	 * existential pairs of two given nodes, or creates a new one.
+	 * 
+	 * @param classId
+	 *            class identifier of the node
+	 * @param firstNodeId
+	 *            identifier of the first node
+	 * @param secondNodeId
+	 *            identifier of the second node
+	 * @return the identifier of the node that has the given class and the
+	 *         existential pairs of the given nodes
+	 */
+	int createOrGetNodeIdOfUnion(int classId, int firstNodeId, int secondNodeId);
+
+	/**
+	 * Gets the identifier of the node that has the class and existential pairs
+	 * of a given node, and a given existential pair, or creates a new one.
+	 * 
+	 * @param nodeId
+	 *            identifier of a node
+	 * @param propertyId
+	 *            object property identifier in the pair
+	 * @param classId
+	 *            class identifier in the pair
+	 * @return the identifier of the given node extended with the given pair
+	 */
+	int createOrGetNodeIdWithExistential(int nodeId, int propertyId, int classId);
+
 	/**
 	 * Returns the monitor of set S.
 	 * 
@@ -110,6 +133,14 @@ public interface ClassifierStatus {
 	 */
 	Object getClassGraphMonitor();
 
+	/**
+	 * Returns a frozen copy of the extended ontology, with its axioms stored in
+	 * arrays of primitive integers.
+	 * 
+	 * @return a frozen copy of the extended ontology
+	 */
+	CompactExtendedOntology getCompactExtendedOntology();
+
 	/**
 	 * Return an ontology with convenience methods to get its axioms.
 	 * 
@@ -181,6 +212,13 @@ public interface ClassifierStatus {
 	 */
 	Set<Integer> getObjectPropertiesWithFunctionalAncestor(int objectProperty);
 
+	/**
+	 * Returns the index to join relation entries using property chains.
+	 * 
+	 * @return the index to join relation entries using property chains
+	 */
+	PropertyChainIndex getPropertyChainIndex();
+
 	/**
 	 * Returns the monitor of set R.
 	 * 
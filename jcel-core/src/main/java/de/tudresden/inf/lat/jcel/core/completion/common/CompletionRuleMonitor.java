@@ -51,8 +51,14 @@ package de.tudresden.inf.lat.jcel.core.completion.common;
  * applied.
  * 
  * @author Julian Mendez
- *
+ * 
+ * @deprecated The completion rules accumulate whether they have been applied
+ *             in a local <code>boolean</code> variable and report the derived
+ *             entries through {@link EntrySink}, so no monitor object is
+ *             created for each rule application. This class is no longer
+ *             used and will be removed.
  */
+@Deprecated
 public class CompletionRuleMonitor {
 
 	private Object monitor = new Object();
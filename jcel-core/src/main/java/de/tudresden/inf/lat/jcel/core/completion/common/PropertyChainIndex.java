@@ -0,0 +1,277 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.completion.common;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI3Axiom;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class is an index to join relation entries using the
+ * property chains (axioms RI3) of an ontology. For each axiom r \u2218 s
+ * \u2291 t, it keeps the pairs (x, y) of r grouped by y, and the pairs (y, z)
+ * of s grouped by y. The index is updated incrementally when a relation entry
+ * is added, and it is used to enumerate the chain partners of a new relation
+ * entry without copying the relation set.
+ * 
+ * @author Julian Mendez
+ */
+public class PropertyChainIndex {
+
+	/**
+	 * An object of this class groups the property chains that have a given
+	 * object property on one side. For each partner on the other side, it
+	 * keeps the super properties of the chains.
+	 */
+	private static class Compositions {
+
+		private final int[] partners;
+		private final int[][] superProperties;
+
+		Compositions(Map<Integer, Set<Integer>> map) {
+			this.partners = new int[map.size()];
+			this.superProperties = new int[map.size()][];
+			int index = 0;
+			for (Map.Entry<Integer, Set<Integer>> entry : map.entrySet()) {
+				this.partners[index] = entry.getKey();
+				this.superProperties[index] = entry.getValue().stream().mapToInt(elem -> elem).toArray();
+				index++;
+			}
+		}
+
+		boolean isEmpty() {
+			return this.partners.length == 0;
+		}
+
+	}
+
+	/**
+	 * An object of this class is a list of integers that only grows.
+	 */
+	private static class IntegerList {
+
+		private static final int initialCapacity = 4;
+
+		private int[] elements = new int[initialCapacity];
+		private int size = 0;
+
+		void add(int elem) {
+			if (this.size == this.elements.length) {
+				this.elements = Arrays.copyOf(this.elements, 2 * this.elements.length);
+			}
+			this.elements[this.size] = elem;
+			this.size++;
+		}
+
+	}
+
+	private final OptMap<Integer, Compositions> compositionsByLeft = new OptMapImpl<>(new HashMap<>());
+	private final OptMap<Integer, Compositions> compositionsByRight = new OptMapImpl<>(new HashMap<>());
+	private final ExtendedOntology ontology;
+	private final OptMap<Integer, OptMap<Integer, IntegerList>> predecessors = new OptMapImpl<>(new HashMap<>());
+	private final OptMap<Integer, OptMap<Integer, IntegerList>> successors = new OptMapImpl<>(new HashMap<>());
+
+	/**
+	 * Constructs a new property chain index.
+	 * 
+	 * @param ontology
+	 *            ontology containing the property chains
+	 */
+	public PropertyChainIndex(ExtendedOntology ontology) {
+		Objects.requireNonNull(ontology);
+		this.ontology = ontology;
+	}
+
+	/**
+	 * Adds a relation entry to the index. Only the relation entries of object
+	 * properties occurring in property chains are kept.
+	 * 
+	 * @param property
+	 *            object property
+	 * @param leftClass
+	 *            left class
+	 * @param rightClass
+	 *            right class
+	 */
+	public synchronized void add(int property, int leftClass, int rightClass) {
+		if (!getCompositionsByLeft(property).isEmpty()) {
+			getList(this.predecessors, property, rightClass).add(leftClass);
+		}
+		if (!getCompositionsByRight(property).isEmpty()) {
+			getList(this.successors, property, leftClass).add(rightClass);
+		}
+	}
+
+	/**
+	 * Adds to the classifier status the relation entries obtained by composing
+	 * a relation entry (r, x, y) with the relation entries (s, y, z), for each
+	 * property chain r \u2218 s \u2291 t.
+	 * 
+	 * @param status
+	 *            classifier status
+	 * @param property
+	 *            object property r
+	 * @param leftClass
+	 *            left class x
+	 * @param rightClass
+	 *            right class y
+	 * @return <code>true</code> if and only if a new relation entry was added
+	 */
+	public synchronized boolean composeAsLeft(ClassifierStatus status, int property, int leftClass,
+			int rightClass) {
+		Objects.requireNonNull(status);
+		boolean ret = false;
+		Compositions compositions = getCompositionsByLeft(property);
+		for (int index = 0; index < compositions.partners.length; index++) {
+			Optional<IntegerList> optList = findList(this.successors, compositions.partners[index], rightClass);
+			if (optList.isPresent()) {
+				IntegerList list = optList.get();
+				for (int superProperty : compositions.superProperties[index]) {
+					for (int position = 0; position < list.size; position++) {
+						ret |= status.addNewREntry(superProperty, leftClass, list.elements[position]);
+					}
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Adds to the classifier status the relation entries obtained by composing
+	 * the relation entries (r, x, y) with a relation entry (s, y, z), for each
+	 * property chain r \u2218 s \u2291 t.
+	 * 
+	 * @param status
+	 *            classifier status
+	 * @param property
+	 *            object property s
+	 * @param leftClass
+	 *            left class y
+	 * @param rightClass
+	 *            right class z
+	 * @return <code>true</code> if and only if a new relation entry was added
+	 */
+	public synchronized boolean composeAsRight(ClassifierStatus status, int property, int leftClass,
+			int rightClass) {
+		Objects.requireNonNull(status);
+		boolean ret = false;
+		Compositions compositions = getCompositionsByRight(property);
+		for (int index = 0; index < compositions.partners.length; index++) {
+			Optional<IntegerList> optList = findList(this.predecessors, compositions.partners[index], leftClass);
+			if (optList.isPresent()) {
+				IntegerList list = optList.get();
+				for (int superProperty : compositions.superProperties[index]) {
+					for (int position = 0; position < list.size; position++) {
+						ret |= status.addNewREntry(superProperty, list.elements[position], rightClass);
+					}
+				}
+			}
+		}
+		return ret;
+	}
+
+	private Optional<IntegerList> findList(OptMap<Integer, OptMap<Integer, IntegerList>> map, int property,
+			int elem) {
+		Optional<IntegerList> ret = Optional.empty();
+		Optional<OptMap<Integer, IntegerList>> optMap = map.get(property);
+		if (optMap.isPresent()) {
+			ret = optMap.get().get(elem);
+		}
+		return ret;
+	}
+
+	private Compositions getCompositionsByLeft(int property) {
+		Optional<Compositions> ret = this.compositionsByLeft.get(property);
+		if (!ret.isPresent()) {
+			Map<Integer, Set<Integer>> map = new TreeMap<>();
+			for (RI3Axiom axiom : this.ontology.getRI3AxiomsByLeft(property)) {
+				map.computeIfAbsent(axiom.getRightSubProperty(), key -> new TreeSet<>()).add(axiom.getSuperProperty());
+			}
+			ret = Optional.of(new Compositions(map));
+			this.compositionsByLeft.put(property, ret.get());
+		}
+		return ret.get();
+	}
+
+	private Compositions getCompositionsByRight(int property) {
+		Optional<Compositions> ret = this.compositionsByRight.get(property);
+		if (!ret.isPresent()) {
+			Map<Integer, Set<Integer>> map = new TreeMap<>();
+			for (RI3Axiom axiom : this.ontology.getRI3AxiomsByRight(property)) {
+				map.computeIfAbsent(axiom.getLeftSubProperty(), key -> new TreeSet<>()).add(axiom.getSuperProperty());
+			}
+			ret = Optional.of(new Compositions(map));
+			this.compositionsByRight.put(property, ret.get());
+		}
+		return ret.get();
+	}
+
+	private IntegerList getList(OptMap<Integer, OptMap<Integer, IntegerList>> map, int property, int elem) {
+		Optional<OptMap<Integer, IntegerList>> optMap = map.get(property);
+		if (!optMap.isPresent()) {
+			optMap = Optional.of(new OptMapImpl<>(new HashMap<>()));
+			map.put(property, optMap.get());
+		}
+		Optional<IntegerList> ret = optMap.get().get(elem);
+		if (!ret.isPresent()) {
+			ret = Optional.of(new IntegerList());
+			optMap.get().put(elem, ret.get());
+		}
+		return ret.get();
+	}
+
+}
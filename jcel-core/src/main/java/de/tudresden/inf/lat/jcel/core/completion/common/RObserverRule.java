@@ -46,11 +46,15 @@
 
 package de.tudresden.inf.lat.jcel.core.completion.common;
 
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
+
 /**
  * This is the interface of a relation observer. A relation observer is a
  * completion rule that triggers only when a new relation is added to the
  * classifier status. Applying this rule may trigger other completion rules for
- * a given classifier status.
+ * a given classifier status. The derived entries are reported to the methods of
+ * {@link EntrySink} as primitive integers, so that applying a rule does not
+ * allocate an object for each derived entry.
  * 
  * @author Julian Mendez
  */
@@ -72,4 +76,22 @@ public interface RObserverRule {
 	 */
 	boolean apply(ClassifierStatus status, int property, int leftClass, int rightClass);
 
+	/**
+	 * Tells whether this completion rule can be applied to a relation entry
+	 * having the given object property. If this method returns
+	 * <code>false</code>, applying the rule to any entry with that object
+	 * property does not change the classifier status. The default
+	 * implementation returns <code>true</code>.
+	 * 
+	 * @param ontology
+	 *            ontology used by the classifier status
+	 * @param property
+	 *            object property of the relation entry
+	 * @return <code>true</code> if this completion rule can be applied to a
+	 *         relation entry having the given object property
+	 */
+	default boolean isApplicableToProperty(ExtendedOntology ontology, int property) {
+		return true;
+	}
+
 }
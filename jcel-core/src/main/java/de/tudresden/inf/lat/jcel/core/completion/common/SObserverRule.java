@@ -46,11 +46,15 @@
 
 package de.tudresden.inf.lat.jcel.core.completion.common;
 
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
+
 /**
  * This is the interface of a subsumption observer. A subsumption observer is a
  * completion rule that triggers only when a new subsumption is added to the
  * classifier status. Applying this rule may trigger other completion rules for
- * a given classifier status.
+ * a given classifier status. The derived entries are reported to the methods of
+ * {@link EntrySink} as primitive integers, so that applying a rule does not
+ * allocate an object for each derived entry.
  * 
  * @author Julian Mendez
  */
@@ -70,4 +74,21 @@ public interface SObserverRule {
 	 */
 	boolean apply(ClassifierStatus status, int subClass, int superClass);
 
+	/**
+	 * Tells whether this completion rule can be applied to a subsumption entry
+	 * having the given super class. If this method returns <code>false</code>,
+	 * applying the rule to any entry with that super class does not change the
+	 * classifier status. The default implementation returns <code>true</code>.
+	 * 
+	 * @param ontology
+	 *            ontology used by the classifier status
+	 * @param superClass
+	 *            super class of the subsumption entry
+	 * @return <code>true</code> if this completion rule can be applied to a
+	 *         subsumption entry having the given super class
+	 */
+	default boolean isApplicableToSuperClass(ExtendedOntology ontology, int superClass) {
+		return true;
+	}
+
 }
@@ -49,9 +49,10 @@ package de.tudresden.inf.lat.jcel.core.completion.ext;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
 import de.tudresden.inf.lat.jcel.core.graph.VNodeImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
 
 /**
@@ -91,24 +92,25 @@ public class CR3SExtRule implements SObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int x, int a) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getExtendedOntology().getGCI2Axioms(a).forEach(axiom -> {
-			int r = axiom.getPropertyInSuperClass();
-			int b = axiom.getClassInSuperClass();
-			if (status.getExtendedOntology().getFunctionalObjectProperties().contains(r)) {
+		boolean ret = false;
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI2Index();
+		for (int i = index.getStart(a), end = index.getEnd(a); i < end; i++) {
+			int r = index.getFirst(i);
+			int b = index.getSecond(i);
+			if (status.getCompactExtendedOntology().isFunctionalObjectProperty(r)) {
 				VNodeImpl newNode = new VNodeImpl(IntegerEntityManager.topClassId);
 				int rMinus = status.getInverseObjectPropertyOf(r);
 				newNode.addExistential(rMinus, a);
 				int v = status.createOrGetNodeId(newNode);
-				ret.or(status.addNewSEntry(v, b));
-				ret.or(status.addNewSEntry(v, IntegerEntityManager.topClassId));
-				ret.or(status.addNewREntry(r, x, v));
+				ret |= status.addNewSEntry(v, b);
+				ret |= status.addNewSEntry(v, IntegerEntityManager.topClassId);
+				ret |= status.addNewREntry(r, x, v);
 			} else {
 				int y = status.createOrGetNodeId(new VNodeImpl(b));
-				ret.or(status.addNewREntry(r, x, y));
+				ret |= status.addNewREntry(r, x, y);
 			}
-		});
-		return ret.get();
+		}
+		return ret;
 	}
 
 	@Override
@@ -121,6 +123,12 @@ public class CR3SExtRule implements SObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToSuperClass(ExtendedOntology ontology, int superClass) {
+		Objects.requireNonNull(ontology);
+		return !ontology.getGCI2Axioms(superClass).isEmpty();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
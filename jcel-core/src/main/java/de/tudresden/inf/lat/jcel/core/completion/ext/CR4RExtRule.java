@@ -49,8 +49,8 @@ package de.tudresden.inf.lat.jcel.core.completion.ext;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
 
 /**
  * 
@@ -85,18 +85,21 @@ public class CR4RExtRule implements RObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int r, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getSuperObjectProperties(r).forEach(s -> {
+		boolean ret = false;
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI3rAIndex();
+		for (int s : status.getSuperObjectProperties(r)) {
+			if (!index.isEmpty(s)) {
 
-			status.getSubsumers(y).forEach(a -> {
-				status.getExtendedOntology().getGCI3rAAxioms(s, a).forEach(axiom -> {
-					int b = axiom.getSuperClass();
-					ret.or(status.addNewSEntry(x, b));
-				});
-			});
+				for (int a : status.getSubsumers(y)) {
+					for (int i = index.getStart(s, a), end = index.getEnd(s, a); i < end; i++) {
+						int b = index.getSecond(i);
+						ret |= status.addNewSEntry(x, b);
+					}
+				}
 
-		});
-		return ret.get();
+			}
+		}
+		return ret;
 	}
 
 	@Override
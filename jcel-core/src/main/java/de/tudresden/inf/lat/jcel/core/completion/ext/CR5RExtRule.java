@@ -49,7 +49,6 @@ package de.tudresden.inf.lat.jcel.core.completion.ext;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
 
 /**
@@ -82,31 +81,31 @@ public class CR5RExtRule implements RObserverRule {
 	}
 
 	private boolean apply1(ClassifierStatus status, int r1, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getSuperObjectProperties(r1).forEach(s -> {
-			if (status.getExtendedOntology().getTransitiveObjectProperties().contains(s)) {
-				status.getSubObjectProperties(s).forEach(r2 -> {
-					status.getSecondByFirst(r2, y).forEach(z -> {
-						ret.or(status.addNewREntry(s, x, z));
-					});
-				});
+		boolean ret = false;
+		for (int s : status.getSuperObjectProperties(r1)) {
+			if (status.getCompactExtendedOntology().isTransitiveObjectProperty(s)) {
+				for (int r2 : status.getSubObjectProperties(s)) {
+					for (int z : status.getSecondByFirst(r2, y)) {
+						ret |= status.addNewREntry(s, x, z);
+					}
+				}
 			}
-		});
-		return ret.get();
+		}
+		return ret;
 	}
 
 	private boolean apply2(ClassifierStatus status, int r2, int y, int z) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getSuperObjectProperties(r2).forEach(s -> {
-			if (status.getExtendedOntology().getTransitiveObjectProperties().contains(s)) {
-				status.getSubObjectProperties(s).forEach(r1 -> {
-					status.getFirstBySecond(r1, y).forEach(x -> {
-						ret.or(status.addNewREntry(s, x, z));
-					});
-				});
+		boolean ret = false;
+		for (int s : status.getSuperObjectProperties(r2)) {
+			if (status.getCompactExtendedOntology().isTransitiveObjectProperty(s)) {
+				for (int r1 : status.getSubObjectProperties(s)) {
+					for (int x : status.getFirstBySecond(r1, y)) {
+						ret |= status.addNewREntry(s, x, z);
+					}
+				}
 			}
-		});
-		return ret.get();
+		}
+		return ret;
 	}
 
 	@Override
@@ -47,13 +47,10 @@
 package de.tudresden.inf.lat.jcel.core.completion.ext;
 
 import java.util.Objects;
-import java.util.Optional;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
-import de.tudresden.inf.lat.jcel.core.graph.VNode;
-import de.tudresden.inf.lat.jcel.core.graph.VNodeImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
 
 /**
  * 
@@ -86,37 +83,31 @@ public class CR6RExtRule implements RObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int r, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
+		boolean ret = false;
 		int rMinus = status.getInverseObjectPropertyOf(r);
-		status.getSuperObjectProperties(r).forEach(s -> {
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI3rAIndex();
+		for (int s : status.getSuperObjectProperties(r)) {
 			int sMinus = status.getInverseObjectPropertyOf(s);
 
-			status.getSubsumers(x).forEach(a -> {
-				status.getExtendedOntology().getGCI3rAAxioms(sMinus, a).forEach(axiom -> {
-					int b = axiom.getSuperClass();
+			for (int a : status.getSubsumers(x)) {
+				for (int i = index.getStart(sMinus, a), end = index.getEnd(sMinus, a); i < end; i++) {
+					int b = index.getSecond(i);
 					if (!status.getSubsumers(y).contains(b)) {
-						Optional<VNode> optPsiNode = status.getNode(y);
-						if (!optPsiNode.isPresent()) {
-							throw new IllegalStateException("Node not found in internal structure '" + y + "'.");
-						}
-						VNodeImpl newNode = new VNodeImpl(optPsiNode.get().getClassId());
-						newNode.addExistentialsOf(optPsiNode.get());
-						newNode.addExistential(rMinus, a);
-						boolean inV = status.contains(newNode);
-						int v = status.createOrGetNodeId(newNode);
+						boolean inV = status.containsNodeWithExistential(y, rMinus, a);
+						int v = status.createOrGetNodeIdWithExistential(y, rMinus, a);
 						if (!inV) {
-							status.getSubsumers(y).forEach(p -> {
-								ret.or(status.addNewSEntry(v, p));
-							});
+							for (int p : status.getSubsumers(y)) {
+								ret |= status.addNewSEntry(v, p);
+							}
 						}
-						ret.or(status.addNewSEntry(v, b));
-						ret.or(status.addNewREntry(r, x, v));
+						ret |= status.addNewSEntry(v, b);
+						ret |= status.addNewREntry(r, x, v);
 					}
-				});
-			});
+				}
+			}
 
-		});
-		return ret.get();
+		}
+		return ret;
 	}
 
 	@Override
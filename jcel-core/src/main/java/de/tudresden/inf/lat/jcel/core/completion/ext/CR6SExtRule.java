@@ -47,13 +47,11 @@
 package de.tudresden.inf.lat.jcel.core.completion.ext;
 
 import java.util.Objects;
-import java.util.Optional;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
-import de.tudresden.inf.lat.jcel.core.graph.VNode;
-import de.tudresden.inf.lat.jcel.core.graph.VNodeImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
  * 
@@ -86,36 +84,30 @@ public class CR6SExtRule implements SObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int x, int a) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getExtendedOntology().getGCI3AAxioms(a).forEach(axiom -> {
-			int sMinus = axiom.getPropertyInSubClass();
+		boolean ret = false;
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI3AIndex();
+		for (int i = index.getStart(a), end = index.getEnd(a); i < end; i++) {
+			int sMinus = index.getFirst(i);
 			int s = status.getInverseObjectPropertyOf(sMinus);
-			status.getSubObjectProperties(s).forEach(r -> {
+			for (int r : status.getSubObjectProperties(s)) {
 				int rMinus = status.getInverseObjectPropertyOf(r);
-				int b = axiom.getSuperClass();
-				status.getSecondByFirst(r, x).forEach(y -> {
+				int b = index.getSecond(i);
+				for (int y : status.getSecondByFirst(r, x)) {
 					if (!status.getSubsumers(y).contains(b)) {
-						Optional<VNode> optPsiNode = status.getNode(y);
-						if (!optPsiNode.isPresent()) {
-							throw new IllegalStateException("Node not found in internal structure '" + y + "'.");
-						}
-						VNodeImpl newNode = new VNodeImpl(optPsiNode.get().getClassId());
-						newNode.addExistentialsOf(optPsiNode.get());
-						newNode.addExistential(rMinus, a);
-						boolean inV = status.contains(newNode);
-						int v = status.createOrGetNodeId(newNode);
+						boolean inV = status.containsNodeWithExistential(y, rMinus, a);
+						int v = status.createOrGetNodeIdWithExistential(y, rMinus, a);
 						if (!inV) {
-							status.getSubsumers(y).forEach(p -> {
-								ret.or(status.addNewSEntry(v, p));
-							});
+							for (int p : status.getSubsumers(y)) {
+								ret |= status.addNewSEntry(v, p);
+							}
 						}
-						ret.or(status.addNewSEntry(v, b));
-						ret.or(status.addNewREntry(r, x, v));
+						ret |= status.addNewSEntry(v, b);
+						ret |= status.addNewREntry(r, x, v);
 					}
-				});
-			});
-		});
-		return ret.get();
+				}
+			}
+		}
+		return ret;
 	}
 
 	@Override
@@ -128,6 +120,12 @@ public class CR6SExtRule implements SObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToSuperClass(ExtendedOntology ontology, int superClass) {
+		Objects.requireNonNull(ontology);
+		return !ontology.getGCI3AAxioms(superClass).isEmpty();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
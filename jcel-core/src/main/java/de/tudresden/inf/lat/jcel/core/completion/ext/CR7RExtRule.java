@@ -50,10 +50,9 @@ import java.util.Objects;
 import java.util.Optional;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
 import de.tudresden.inf.lat.jcel.core.graph.VNode;
-import de.tudresden.inf.lat.jcel.core.graph.VNodeImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
 
 /**
  * 
@@ -89,45 +88,39 @@ public class CR7RExtRule implements RObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int r2, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
+		boolean ret = false;
 		Optional<VNode> optPhiNode = status.getNode(x);
 		if (!optPhiNode.isPresent()) {
 			throw new IllegalStateException("Node not found in internal structure '" + x + "'.");
 		}
-		Optional<VNode> optPsiNode = status.getNode(y);
-		if (!optPsiNode.isPresent()) {
-			throw new IllegalStateException("Node not found in internal structure '" + y + "'.");
-		}
-		status.getSuperObjectProperties(r2).forEach(r -> {
-			if (status.getExtendedOntology().getTransitiveObjectProperties().contains(r)) {
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI3rAIndex();
+		for (int r : status.getSuperObjectProperties(r2)) {
+			if (status.getCompactExtendedOntology().isTransitiveObjectProperty(r)) {
 				int rMinus = status.getInverseObjectPropertyOf(r);
-				status.getSuperObjectProperties(r).forEach(s -> {
+				for (int s : status.getSuperObjectProperties(r)) {
 					int sMinus = status.getInverseObjectPropertyOf(s);
-					status.getExtendedOntology().getGCI3rAxioms(sMinus).forEach(axiom -> {
-						int a = axiom.getClassInSubClass();
-						int b = axiom.getSuperClass();
-						status.getSubObjectProperties(r).forEach(r1 -> {
+					for (int i = index.getStart(sMinus), end = index.getEnd(sMinus); i < end; i++) {
+						int a = index.getFirst(i);
+						int b = index.getSecond(i);
+						for (int r1 : status.getSubObjectProperties(r)) {
 							int r1Minus = status.getInverseObjectPropertyOf(r1);
 							if (optPhiNode.get().containsExistential(r1Minus, a)) {
-								VNodeImpl newNode = new VNodeImpl(optPsiNode.get().getClassId());
-								newNode.addExistentialsOf(optPsiNode.get());
-								newNode.addExistential(rMinus, a);
-								boolean inV = status.contains(newNode);
-								int v = status.createOrGetNodeId(newNode);
+								boolean inV = status.containsNodeWithExistential(y, rMinus, a);
+								int v = status.createOrGetNodeIdWithExistential(y, rMinus, a);
 								if (!inV) {
-									status.getSubsumers(y).forEach(p -> {
-										ret.or(status.addNewSEntry(v, p));
-									});
+									for (int p : status.getSubsumers(y)) {
+										ret |= status.addNewSEntry(v, p);
+									}
 								}
-								ret.or(status.addNewSEntry(v, b));
-								ret.or(status.addNewREntry(r2, x, v));
+								ret |= status.addNewSEntry(v, b);
+								ret |= status.addNewREntry(r2, x, v);
 							}
-						});
-					});
-				});
+						}
+					}
+				}
 			}
-		});
-		return ret.get();
+		}
+		return ret;
 	}
 
 	@Override
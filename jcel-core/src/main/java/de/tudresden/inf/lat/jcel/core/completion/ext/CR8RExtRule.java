@@ -49,8 +49,8 @@ package de.tudresden.inf.lat.jcel.core.completion.ext;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
 
 /**
  * 
@@ -80,25 +80,26 @@ public class CR8RExtRule implements RObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int r1, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getSuperObjectProperties(r1).forEach(s -> {
+		boolean ret = false;
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI2Index();
+		for (int s : status.getSuperObjectProperties(r1)) {
 			int sMinus = status.getInverseObjectPropertyOf(s);
-			if (status.getExtendedOntology().getFunctionalObjectProperties().contains(sMinus)) {
+			if (status.getCompactExtendedOntology().isFunctionalObjectProperty(sMinus)) {
 
-				status.getSubsumers(y).forEach(a -> {
-					status.getExtendedOntology().getGCI2Axioms(a).forEach(axiom -> {
-						int r2Minus = axiom.getPropertyInSuperClass();
+				for (int a : status.getSubsumers(y)) {
+					for (int i = index.getStart(a), end = index.getEnd(a); i < end; i++) {
+						int r2Minus = index.getFirst(i);
 						int r2 = status.getInverseObjectPropertyOf(r2Minus);
 						if (status.getSubObjectProperties(s).contains(r2)) {
-							int b = axiom.getClassInSuperClass();
-							ret.or(status.addNewSEntry(x, b));
+							int b = index.getSecond(i);
+							ret |= status.addNewSEntry(x, b);
 						}
-					});
-				});
+					}
+				}
 
 			}
-		});
-		return ret.get();
+		}
+		return ret;
 	}
 
 	@Override
@@ -49,8 +49,9 @@ package de.tudresden.inf.lat.jcel.core.completion.ext;
 import java.util.Objects;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.CompactAxiomIndex;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
 
 /**
  * 
@@ -80,23 +81,24 @@ public class CR8SExtRule implements SObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int y, int a) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
-		status.getExtendedOntology().getGCI2Axioms(a).forEach(axiom -> {
-			int r2Minus = axiom.getPropertyInSuperClass();
+		boolean ret = false;
+		CompactAxiomIndex index = status.getCompactExtendedOntology().getGCI2Index();
+		for (int i = index.getStart(a), end = index.getEnd(a); i < end; i++) {
+			int r2Minus = index.getFirst(i);
 			int r2 = status.getInverseObjectPropertyOf(r2Minus);
-			status.getSuperObjectProperties(r2).forEach(s -> {
+			for (int s : status.getSuperObjectProperties(r2)) {
 				int sMinus = status.getInverseObjectPropertyOf(s);
-				if (status.getExtendedOntology().getFunctionalObjectProperties().contains(sMinus)) {
-					int b = axiom.getClassInSuperClass();
-					status.getSubObjectProperties(s).forEach(r1 -> {
-						status.getFirstBySecond(r1, y).forEach(x -> {
-							ret.or(status.addNewSEntry(x, b));
-						});
-					});
+				if (status.getCompactExtendedOntology().isFunctionalObjectProperty(sMinus)) {
+					int b = index.getSecond(i);
+					for (int r1 : status.getSubObjectProperties(s)) {
+						for (int x : status.getFirstBySecond(r1, y)) {
+							ret |= status.addNewSEntry(x, b);
+						}
+					}
 				}
-			});
-		});
-		return ret.get();
+			}
+		}
+		return ret;
 	}
 
 	@Override
@@ -109,6 +111,12 @@ public class CR8SExtRule implements SObserverRule {
 		return getClass().hashCode();
 	}
 
+	@Override
+	public boolean isApplicableToSuperClass(ExtendedOntology ontology, int superClass) {
+		Objects.requireNonNull(ontology);
+		return !ontology.getGCI2Axioms(superClass).isEmpty();
+	}
+
 	@Override
 	public String toString() {
 		return getClass().getSimpleName();
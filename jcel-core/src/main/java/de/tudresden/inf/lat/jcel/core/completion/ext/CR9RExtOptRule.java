@@ -52,7 +52,6 @@ import java.util.Optional;
 import java.util.Set;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
 import de.tudresden.inf.lat.jcel.core.graph.VNode;
 import de.tudresden.inf.lat.jcel.core.graph.VNodeImpl;
@@ -95,7 +94,7 @@ public class CR9RExtOptRule implements RObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int r1, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
+		boolean ret = false;
 		Optional<VNode> optPsiNode = status.getNode(y);
 		if (!optPsiNode.isPresent()) {
 			throw new IllegalStateException("Node not found in internal structure '" + y + "'.");
@@ -104,8 +103,8 @@ public class CR9RExtOptRule implements RObserverRule {
 
 			Set<Integer> valid = new HashSet<>();
 			valid.add(y);
-			status.getObjectPropertiesWithFunctionalAncestor(r1).forEach(r2 -> {
-				status.getSecondByFirst(r2, x).forEach(yi -> {
+			for (int r2 : status.getObjectPropertiesWithFunctionalAncestor(r1)) {
+				for (int yi : status.getSecondByFirst(r2, x)) {
 					Optional<VNode> optPhiNode = status.getNode(yi);
 					if (!optPhiNode.isPresent()) {
 						throw new IllegalStateException("Node not found in internal structure '" + yi + "'.");
@@ -113,31 +112,31 @@ public class CR9RExtOptRule implements RObserverRule {
 					if (optPhiNode.get().getClassId() == IntegerEntityManager.topClassId) {
 						valid.add(yi);
 					}
-				});
-			});
+				}
+			}
 
 			if (valid.size() > 1) {
 				VNodeImpl newNode = new VNodeImpl(IntegerEntityManager.topClassId);
-				valid.forEach(yi -> {
+				for (int yi : valid) {
 					Optional<VNode> optPhiNode = status.getNode(yi);
 					if (!optPsiNode.isPresent()) {
 						throw new IllegalStateException("Node not found in internal structure '" + yi + "'.");
 					}
 					newNode.addExistentialsOf(optPhiNode.get());
-				});
+				}
 				int v = status.createOrGetNodeId(newNode);
-				valid.forEach(yi -> {
+				for (int yi : valid) {
 
-					status.getSubsumers(yi).forEach(p -> {
-						ret.or(status.addNewSEntry(v, p));
-					});
+					for (int p : status.getSubsumers(yi)) {
+						ret |= status.addNewSEntry(v, p);
+					}
 
-					ret.or(status.addNewREntry(r1, x, v));
-				});
+					ret |= status.addNewREntry(r1, x, v);
+				}
 			}
 
 		}
-		return ret.get();
+		return ret;
 	}
 
 	@Override
@@ -50,10 +50,8 @@ import java.util.Objects;
 import java.util.Optional;
 
 import de.tudresden.inf.lat.jcel.core.completion.common.ClassifierStatus;
-import de.tudresden.inf.lat.jcel.core.completion.common.CompletionRuleMonitor;
 import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
 import de.tudresden.inf.lat.jcel.core.graph.VNode;
-import de.tudresden.inf.lat.jcel.core.graph.VNodeImpl;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
 
 /**
@@ -89,40 +87,37 @@ public class CR9RExtRule implements RObserverRule {
 	}
 
 	private boolean applyRule(ClassifierStatus status, int r1, int x, int y) {
-		CompletionRuleMonitor ret = new CompletionRuleMonitor();
+		boolean ret = false;
 		Optional<VNode> optPsiNode = status.getNode(y);
 		if (!optPsiNode.isPresent()) {
 			throw new IllegalStateException("Node not found in internal structure '" + y + "'.");
 		}
 		if (optPsiNode.get().getClassId() == IntegerEntityManager.topClassId) {
-			status.getObjectPropertiesWithFunctionalAncestor(r1).forEach(r2 -> {
-				status.getSecondByFirst(r2, x).forEach(z -> {
+			for (int r2 : status.getObjectPropertiesWithFunctionalAncestor(r1)) {
+				for (int z : status.getSecondByFirst(r2, x)) {
 					Optional<VNode> optPhiNode = status.getNode(z);
 					if (!optPsiNode.isPresent()) {
 						throw new IllegalStateException("Node not found in internal structure '" + z + "'.");
 					}
 					if (optPhiNode.get().getClassId() == IntegerEntityManager.topClassId) {
 						if (y != z) {
-							VNodeImpl newNode = new VNodeImpl(IntegerEntityManager.topClassId);
-							newNode.addExistentialsOf(optPsiNode.get());
-							newNode.addExistentialsOf(optPhiNode.get());
-							int v = status.createOrGetNodeId(newNode);
+							int v = status.createOrGetNodeIdOfUnion(IntegerEntityManager.topClassId, y, z);
 
-							status.getSubsumers(y).forEach(p -> {
-								ret.or(status.addNewSEntry(v, p));
-							});
+							for (int p : status.getSubsumers(y)) {
+								ret |= status.addNewSEntry(v, p);
+							}
 
-							status.getSubsumers(z).forEach(p -> {
-								ret.or(status.addNewSEntry(v, p));
-							});
+							for (int p : status.getSubsumers(z)) {
+								ret |= status.addNewSEntry(v, p);
+							}
 
-							ret.or(status.addNewREntry(r1, x, v));
+							ret |= status.addNewREntry(r1, x, v);
 						}
 					}
-				});
-			});
+				}
+			}
 		}
-		return ret.get();
+		return ret;
 	}
 
 	@Override
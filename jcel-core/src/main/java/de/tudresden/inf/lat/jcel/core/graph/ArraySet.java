@@ -98,12 +98,51 @@ public class ArraySet implements Set<Integer> {
 		return ret;
 	}
 
+	/**
+	 * Adds all the elements of a collection. The elements are sorted and
+	 * merged with the elements of this set in one pass, instead of being
+	 * inserted one by one.
+	 * 
+	 * @param collection
+	 *            collection of elements to add
+	 * @return <code>true</code> if and only if this set changed
+	 */
 	@Override
 	public synchronized boolean addAll(Collection<? extends Integer> collection) {
 		Objects.requireNonNull(collection);
-		boolean ret = false;
-		for (Integer elem : collection) {
-			ret |= add(elem);
+		int[] other = collection.stream().mapToInt(elem -> elem).sorted().distinct().toArray();
+		int[] newArray = new int[this.size + other.length];
+		int index = 0;
+		int otherIndex = 0;
+		int newSize = 0;
+		while ((index < this.size) && (otherIndex < other.length)) {
+			if (this.array[index] < other[otherIndex]) {
+				newArray[newSize] = this.array[index];
+				index++;
+			} else if (this.array[index] > other[otherIndex]) {
+				newArray[newSize] = other[otherIndex];
+				otherIndex++;
+			} else {
+				newArray[newSize] = this.array[index];
+				index++;
+				otherIndex++;
+			}
+			newSize++;
+		}
+		while (index < this.size) {
+			newArray[newSize] = this.array[index];
+			index++;
+			newSize++;
+		}
+		while (otherIndex < other.length) {
+			newArray[newSize] = other[otherIndex];
+			otherIndex++;
+			newSize++;
+		}
+		boolean ret = (newSize > this.size);
+		if (ret) {
+			this.array = newArray;
+			this.size = newSize;
 		}
 		return ret;
 	}
@@ -46,32 +46,42 @@
 
 package de.tudresden.inf.lat.jcel.core.graph;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
 
 import de.tudresden.inf.lat.util.map.OptMap;
 import de.tudresden.inf.lat.util.map.OptMapImpl;
 
 /**
  * This class implements the algorithm that computes the class hierarchy from
- * the subsumer set. This implementation starts finding direct subsumees from
- * top, marks them, and then looks for their direct subsumees. In this way, it
- * builds the new graph in levels according to the distance to top.
+ * the subsumer set. This implementation first groups the elements that subsume
+ * each other, and then computes a transitive reduction without recursion: the
+ * subsumers of each class are visited in topological order, and a subsumer is
+ * a direct parent unless it is already a subsumer of a more specific direct
+ * parent.
  * 
  * @author Julian Mendez
  */
 public class IntegerHierarchicalGraphImpl implements IntegerHierarchicalGraph {
 
+	private static final int undefined = -1;
+
 	private final Integer bottomElement;
 	private final OptMap<Integer, Set<Integer>> children = new OptMapImpl<>(new TreeMap<>());
+	private final OptMap<Integer, int[]> directParentsOfClass = new OptMapImpl<>(new HashMap<>());
 	private final OptMap<Integer, Set<Integer>> equivalents = new OptMapImpl<>(new TreeMap<>());
 	private final OptMap<Integer, Set<Integer>> parents = new OptMapImpl<>(new TreeMap<>());
+	private boolean reduced = false;
 	private final OptMap<Integer, Integer> representative = new OptMapImpl<>(new TreeMap<>());
 	private final Integer topElement;
 
@@ -105,82 +115,219 @@ public class IntegerHierarchicalGraphImpl implements IntegerHierarchicalGraph {
 	 *            a subsumer graph
 	 */
 	public IntegerHierarchicalGraphImpl(IntegerSubsumerGraph origGraph) {
+		this(origGraph, false);
+	}
+
+	/**
+	 * Constructs a hierarchical graph using another graph, optionally
+	 * computing the direct parents of the classes in parallel.
+	 * 
+	 * @param origGraph
+	 *            a subsumer graph
+	 * @param parallel
+	 *            <code>true</code> if the direct parents are computed in
+	 *            parallel
+	 */
+	public IntegerHierarchicalGraphImpl(IntegerSubsumerGraph origGraph, boolean parallel) {
+		this(origGraph, elem -> true, parallel);
+	}
+
+	/**
+	 * Constructs a hierarchical graph using only the elements of another graph
+	 * that satisfy a filter. The result is the same as removing the other
+	 * elements from the subsumer graph, but the subsumer graph is not
+	 * modified.
+	 * 
+	 * @param origGraph
+	 *            a subsumer graph
+	 * @param filter
+	 *            filter for the elements to keep, it must accept bottom and
+	 *            top
+	 * @param parallel
+	 *            <code>true</code> if the direct parents are computed in
+	 *            parallel
+	 */
+	public IntegerHierarchicalGraphImpl(IntegerSubsumerGraph origGraph, IntPredicate filter, boolean parallel) {
 		Objects.requireNonNull(origGraph);
+		Objects.requireNonNull(filter);
 		this.bottomElement = origGraph.getBottomElement();
 		this.topElement = origGraph.getTopElement();
 
+		int[] element = origGraph.getElements().stream().mapToInt(elem -> elem).filter(filter).sorted().toArray();
 		if (origGraph.containsPair(getTopElement(), getBottomElement())) {
-			computeInconsistentDag(origGraph);
+			computeInconsistentDag(element);
 		} else {
-			computeDag(origGraph);
+			computeDag(origGraph, element, parallel);
 			updateParents();
 			updateChildren();
 			updateBottom();
 		}
 	}
 
-	private void computeDag(IntegerSubsumerGraph setS) {
-		reset(setS.getElements());
-		Set<Integer> sCN = new TreeSet<>();
-		sCN.addAll(setS.getElements());
-		sCN.remove(getBottomElement());
-		sCN.remove(getTopElement());
+	private void addDirectParents() {
+		this.directParentsOfClass.keySet().forEach(cls -> {
+			Set<Integer> parentSet = get(this.parents, cls);
+			for (int parent : this.directParentsOfClass.get(cls).get()) {
+				parentSet.add(parent);
+				get(this.children, parent).add(cls);
+			}
+		});
+	}
 
-		Set<Integer> equivToTop = new TreeSet<>();
-		equivToTop.addAll(setS.getSubsumers(getTopElement()));
-		equivToTop.forEach(elem -> makeEquivalent(getTopElement(), elem));
+	private void computeDag(IntegerSubsumerGraph setS, int[] element, boolean parallel) {
+		reset(element);
+		int numberOfVertices = element.length;
+		int[][] subsumers = new int[numberOfVertices][];
+		for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+			subsumers[vertex] = getSubsumerVertices(element, vertex, setS.getSubsumers(element[vertex]));
+		}
 
-		Set<Integer> classified = new TreeSet<>();
-		classified.addAll(equivToTop);
+		int[] classOf = computeEquivalenceClasses(element, subsumers);
+		for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+			if (classOf[vertex] != vertex) {
+				makeEquivalent(element[classOf[vertex]], element[vertex]);
+			}
+		}
+
+		int topVertex = Arrays.binarySearch(element, getTopElement());
+		int topClass = (topVertex < 0) ? undefined : classOf[topVertex];
+		int[] memberOfClass = Arrays.copyOf(classOf, numberOfVertices);
+		boolean[] classified = new boolean[numberOfVertices];
+		for (int vertex = numberOfVertices - 1; vertex >= 0; vertex--) {
+			int cls = classOf[vertex];
+			if (cls != topClass && element[vertex] != getBottomElement() && element[vertex] != getTopElement()) {
+				memberOfClass[cls] = vertex;
+				classified[cls] = true;
+			}
+		}
+		int[] sizeOfClass = new int[numberOfVertices];
+		for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+			sizeOfClass[vertex] = subsumers[memberOfClass[vertex]].length;
+		}
 
-		sCN.forEach(cA -> {
-			if (!classified.contains(cA)) {
-				dagClassify(cA, classified, setS);
+		int[] classes = IntStream.range(0, numberOfVertices).filter(cls -> classified[cls]).toArray();
+		int[][] directParents = new int[numberOfVertices][];
+		int numberOfChunks = parallel ? Math.min(classes.length, 4 * Runtime.getRuntime().availableProcessors()) : 1;
+		IntStream chunks = IntStream.range(0, numberOfChunks);
+		(parallel ? chunks.parallel() : chunks).forEach(chunk -> {
+			int[] seen = new int[numberOfVertices];
+			int[] covered = new int[numberOfVertices];
+			for (int index = chunk; index < classes.length; index += numberOfChunks) {
+				int cls = classes[index];
+				directParents[cls] = computeDirectParents(cls, subsumers[memberOfClass[cls]], classOf, topClass,
+						sizeOfClass, memberOfClass, subsumers, seen, covered);
 			}
 		});
+
+		for (int cls : classes) {
+			int[] parentElements = new int[directParents[cls].length];
+			for (int index = 0; index < parentElements.length; index++) {
+				parentElements[index] = element[directParents[cls][index]];
+			}
+			this.directParentsOfClass.put(element[cls], parentElements);
+		}
+		addDirectParents();
+		this.reduced = true;
 	}
 
-	private void computeInconsistentDag(IntegerSubsumerGraph setS) {
-		Collection<Integer> elements = setS.getElements();
-		reset(elements);
-		elements.forEach(elem -> makeEquivalent(getBottomElement(), elem));
-	}
-
-	private void dagClassify(Integer cA, Set<Integer> classified, IntegerSubsumerGraph setS) {
-		Set<Integer> candidates = new TreeSet<>();
-		candidates.add(getTopElement());
-		Set<Integer> subsumersA = new TreeSet<>();
-		subsumersA.addAll(setS.getSubsumers(cA));
-		subsumersA.remove(cA);
-		subsumersA.remove(getTopElement());
-		subsumersA.forEach(cB -> {
-			Set<Integer> subsumersB = new TreeSet<>();
-			subsumersB.addAll(setS.getSubsumers(cB));
-			if (subsumersB.contains(cA)) {
-				classified.add(cB);
-				makeEquivalent(cA, cB);
-			} else {
-				if (!classified.contains(cB)) {
-					dagClassify(cB, classified, setS);
+	/**
+	 * Computes the direct parents of an equivalence class. The candidates are
+	 * visited from the most specific to the most general one, which is a
+	 * topological order because a strict subsumer of a class has strictly
+	 * fewer subsumers. A candidate is a direct parent if and only if it is not
+	 * a subsumer of a direct parent found before.
+	 * 
+	 * @param cls
+	 *            equivalence class
+	 * @param subsumersOfClass
+	 *            subsumers of the class
+	 * @param classOf
+	 *            equivalence class of each vertex
+	 * @param topClass
+	 *            equivalence class of top, or <code>undefined</code>
+	 * @param sizeOfClass
+	 *            number of subsumers of each equivalence class
+	 * @param memberOfClass
+	 *            the vertex whose subsumers represent each equivalence class
+	 * @param subsumers
+	 *            subsumers of each vertex
+	 * @param seen
+	 *            array to mark the candidates of the class
+	 * @param covered
+	 *            array to mark the subsumers of the direct parents
+	 * @return the direct parents of the given equivalence class
+	 */
+	private int[] computeDirectParents(int cls, int[] subsumersOfClass, int[] classOf, int topClass,
+			int[] sizeOfClass, int[] memberOfClass, int[][] subsumers, int[] seen, int[] covered) {
+		int stamp = cls + 1;
+		long[] candidates = new long[subsumersOfClass.length + 1];
+		int numberOfCandidates = 0;
+		for (int subsumer : subsumersOfClass) {
+			int candidate = classOf[subsumer];
+			if (candidate != cls && seen[candidate] != stamp) {
+				seen[candidate] = stamp;
+				candidates[numberOfCandidates] = getSortKey(candidate, topClass, sizeOfClass);
+				numberOfCandidates++;
+			}
+		}
+		if (topClass != undefined && topClass != cls && seen[topClass] != stamp) {
+			candidates[numberOfCandidates] = getSortKey(topClass, topClass, sizeOfClass);
+			numberOfCandidates++;
+		}
+		Arrays.sort(candidates, 0, numberOfCandidates);
+
+		int[] ret = new int[numberOfCandidates];
+		int numberOfParents = 0;
+		for (int index = 0; index < numberOfCandidates; index++) {
+			int candidate = (int) candidates[index];
+			if (covered[candidate] != stamp) {
+				ret[numberOfParents] = candidate;
+				numberOfParents++;
+				if (candidate != topClass) {
+					for (int subsumer : subsumers[memberOfClass[candidate]]) {
+						covered[classOf[subsumer]] = stamp;
+					}
 				}
-				candidates.add(cB);
 			}
-		});
-		dagInsert(cA, candidates);
-		classified.add(cA);
+		}
+		return Arrays.copyOf(ret, numberOfParents);
 	}
 
-	private void dagInsert(Integer cA, Set<Integer> candidates) {
-		Set<Integer> marked = new TreeSet<>();
-		candidates.forEach(cB -> {
-			Set<Integer> parentSet = get(this.parents, cB);
-			parentSet.forEach(cX -> marked.add(cX));
-		});
-		Set<Integer> notMarkedCandidates = new TreeSet<>();
-		notMarkedCandidates.addAll(candidates);
-		notMarkedCandidates.removeAll(marked);
-		this.parents.put(cA, notMarkedCandidates);
-		notMarkedCandidates.forEach(cB -> get(this.children, cB).add(cA));
+	/**
+	 * Groups the vertices that subsume each other. Each vertex is mapped to
+	 * the smallest vertex of its equivalence class. The subsumers of top are
+	 * considered equivalent to top.
+	 * 
+	 * @param element
+	 *            sorted elements of the graph
+	 * @param subsumers
+	 *            sorted subsumers of each vertex
+	 * @return the equivalence class of each vertex
+	 */
+	private int[] computeEquivalenceClasses(int[] element, int[][] subsumers) {
+		int[] ret = IntStream.range(0, element.length).toArray();
+		for (int vertex = 0; vertex < element.length; vertex++) {
+			for (int subsumer : subsumers[vertex]) {
+				if (subsumer > vertex && Arrays.binarySearch(subsumers[subsumer], vertex) >= 0) {
+					union(ret, vertex, subsumer);
+				}
+			}
+		}
+		int topVertex = Arrays.binarySearch(element, getTopElement());
+		if (topVertex >= 0) {
+			for (int subsumer : subsumers[topVertex]) {
+				union(ret, topVertex, subsumer);
+			}
+		}
+		for (int vertex = 0; vertex < element.length; vertex++) {
+			ret[vertex] = find(ret, vertex);
+		}
+		return ret;
+	}
+
+	private void computeInconsistentDag(int[] element) {
+		reset(element);
+		Arrays.stream(element).forEach(elem -> makeEquivalent(getBottomElement(), elem));
 	}
 
 	/**
@@ -203,6 +350,7 @@ public class IntegerHierarchicalGraphImpl implements IntegerHierarchicalGraph {
 			if (!set.isEmpty()) {
 				throw new IllegalArgumentException("Graphs are not disjoint.");
 			}
+			this.reduced = false;
 
 			Set<Integer> otherSet = new HashSet<>();
 			otherSet.addAll(otherGraph.getElements());
@@ -218,16 +366,18 @@ public class IntegerHierarchicalGraphImpl implements IntegerHierarchicalGraph {
 				}
 				get(this.parents, elem).addAll(otherGraph.getParents(elem));
 
-				if (!this.equivalents.get(elem).isPresent()) {
-					this.equivalents.put(elem, new HashSet<>());
-				}
 				if (!this.representative.get(elem).isPresent()) {
+					Set<Integer> equiv = new TreeSet<>();
+					equiv.add(elem);
+					this.equivalents.put(elem, equiv);
 					this.representative.put(elem, elem);
 				}
-				otherGraph.getEquivalents(elem).forEach(otherElem -> makeEquivalent(elem, otherElem));
 
 			});
 
+			otherSet.forEach(
+					elem -> otherGraph.getEquivalents(elem).forEach(otherElem -> makeEquivalent(elem, otherElem)));
+
 		} else {
 			throw new IllegalArgumentException("Both graphs have different bottom element or different top element.");
 		}
@@ -249,6 +399,20 @@ public class IntegerHierarchicalGraphImpl implements IntegerHierarchicalGraph {
 		return ret;
 	}
 
+	private int find(int[] parent, int vertex) {
+		int ret = vertex;
+		while (parent[ret] != ret) {
+			ret = parent[ret];
+		}
+		int current = vertex;
+		while (parent[current] != ret) {
+			int next = parent[current];
+			parent[current] = ret;
+			current = next;
+		}
+		return ret;
+	}
+
 	@Override
 	public Set<Integer> getAncestors(Integer orig) {
 		Objects.requireNonNull(orig);
@@ -325,11 +489,46 @@ public class IntegerHierarchicalGraphImpl implements IntegerHierarchicalGraph {
 		return Collections.unmodifiableSet(get(this.parents, elem));
 	}
 
+	private long getSortKey(int cls, int topClass, int[] sizeOfClass) {
+		int size = (cls == topClass) ? 0 : sizeOfClass[cls];
+		return (((long) (Integer.MAX_VALUE - size)) << 32) | cls;
+	}
+
 	@Override
 	public Integer getTopElement() {
 		return this.topElement;
 	}
 
+	/**
+	 * Returns the sorted vertices of the subsumers of a vertex. The vertex
+	 * itself is always included, since the subsumer sets computed by some
+	 * processors are not reflexive, and the topological order of the
+	 * candidates relies on a strict subsumer having fewer subsumers.
+	 * 
+	 * @param element
+	 *            sorted elements of the graph
+	 * @param vertex
+	 *            vertex
+	 * @param subsumers
+	 *            subsumers of the element of the vertex
+	 * @return the sorted vertices of the subsumers, including the vertex
+	 */
+	private int[] getSubsumerVertices(int[] element, int vertex, Collection<Integer> subsumers) {
+		int[] ret = new int[subsumers.size() + 1];
+		ret[0] = vertex;
+		int size = 1;
+		for (Integer elem : subsumers) {
+			int subsumer = Arrays.binarySearch(element, elem);
+			if (subsumer >= 0 && subsumer != vertex) {
+				ret[size] = subsumer;
+				size++;
+			}
+		}
+		ret = Arrays.copyOf(ret, size);
+		Arrays.sort(ret);
+		return ret;
+	}
+
 	@Override
 	public int hashCode() {
 		return this.parents.hashCode();
@@ -355,13 +554,15 @@ public class IntegerHierarchicalGraphImpl implements IntegerHierarchicalGraph {
 		}
 	}
 
-	private void reset(Collection<Integer> elements) {
+	private void reset(int[] element) {
 		this.children.clear();
 		this.parents.clear();
 		this.equivalents.clear();
 		this.representative.clear();
+		this.directParentsOfClass.clear();
+		this.reduced = false;
 
-		elements.forEach(elem -> {
+		Arrays.stream(element).forEach(elem -> {
 			this.children.put(elem, new TreeSet<>());
 			this.parents.put(elem, new TreeSet<>());
 			Set<Integer> equiv = new TreeSet<>();
@@ -371,6 +572,56 @@ public class IntegerHierarchicalGraphImpl implements IntegerHierarchicalGraph {
 		});
 	}
 
+	/**
+	 * Returns the hierarchical graph restricted to the elements that satisfy
+	 * a filter, if it can be derived without computing the transitive
+	 * reduction again. This is possible if no equivalence class that keeps an
+	 * element has a direct parent that loses all its elements, and the
+	 * equivalence classes of bottom and top keep all their elements. This is
+	 * the usual case when the removed elements are leaves, like nominals in an
+	 * ABox. The graph must have been computed from a subsumer graph that is
+	 * transitively closed.
+	 * 
+	 * @param filter
+	 *            filter for the elements to keep
+	 * @return the restricted hierarchical graph, or an empty optional if it
+	 *         cannot be derived from this graph
+	 */
+	public Optional<IntegerHierarchicalGraphImpl> restrict(IntPredicate filter) {
+		Objects.requireNonNull(filter);
+		OptMap<Integer, Integer> newRepresentative = new OptMapImpl<>(new HashMap<>());
+		this.equivalents.keySet().forEach(cls -> get(this.equivalents, cls).stream()
+				.filter(elem -> filter.test(elem)).findFirst().ifPresent(elem -> newRepresentative.put(cls, elem)));
+
+		boolean derivable = this.reduced && getEquivalents(getBottomElement()).stream().allMatch(elem -> filter.test(elem))
+				&& getEquivalents(getTopElement()).stream().allMatch(elem -> filter.test(elem));
+		derivable = derivable && this.directParentsOfClass.keySet().stream()
+				.allMatch(cls -> !newRepresentative.containsKey(cls) || Arrays
+						.stream(this.directParentsOfClass.get(cls).get())
+						.allMatch(parent -> newRepresentative.containsKey(parent)));
+
+		Optional<IntegerHierarchicalGraphImpl> ret = Optional.empty();
+		if (derivable) {
+			IntegerHierarchicalGraphImpl graph = new IntegerHierarchicalGraphImpl(getBottomElement(),
+					getTopElement());
+			graph.reset(getElements().stream().mapToInt(elem -> elem).filter(filter).toArray());
+			newRepresentative.keySet().forEach(cls -> {
+				Integer rep = newRepresentative.get(cls).get();
+				get(this.equivalents, cls).stream().filter(elem -> filter.test(elem))
+						.forEach(elem -> graph.makeEquivalent(rep, elem));
+				this.directParentsOfClass.get(cls).ifPresent(parents -> graph.directParentsOfClass.put(rep,
+						Arrays.stream(parents).map(parent -> newRepresentative.get(parent).get()).toArray()));
+			});
+			graph.addDirectParents();
+			graph.reduced = true;
+			graph.updateParents();
+			graph.updateChildren();
+			graph.updateBottom();
+			ret = Optional.of(graph);
+		}
+		return ret;
+	}
+
 	@Override
 	public String toString() {
 		StringBuffer ret = new StringBuffer();
@@ -386,6 +637,16 @@ public class IntegerHierarchicalGraphImpl implements IntegerHierarchicalGraph {
 		return ret.toString();
 	}
 
+	private void union(int[] parent, int first, int second) {
+		int firstRoot = find(parent, first);
+		int secondRoot = find(parent, second);
+		if (firstRoot < secondRoot) {
+			parent[secondRoot] = firstRoot;
+		} else {
+			parent[firstRoot] = secondRoot;
+		}
+	}
+
 	private void updateBottom() {
 		Set<Integer> parentsOfBottom = new HashSet<>();
 		getElements().forEach(elem -> {
@@ -0,0 +1,440 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * An object of this class is a reachability index of a hierarchical graph. It
+ * is built once from a finished graph and answers ancestor and descendant
+ * queries without traversing the graph. <br>
+ * Each equivalence class of vertices gets a post-order number in a depth-first
+ * traversal of the graph, and is labeled with a short list of intervals of
+ * those numbers that cover all the equivalence classes reachable from it. Tree
+ * shaped hierarchies need a single interval per vertex. Ancestor checks are
+ * binary searches on these intervals, and the descendants of a vertex are
+ * contiguous ranges of a flat array. Since ancestors are indexed in the same
+ * way on the inverted graph, both directions are answered symmetrically. <br>
+ * The index does not observe the graph, so it has to be created again if the
+ * graph changes.
+ *
+ * @author Julian Mendez
+ */
+public class IntegerReachabilityIndex {
+
+	/**
+	 * Interval labeling of the equivalence classes in one direction of the
+	 * graph.
+	 */
+	private static class Labeling {
+
+		/**
+		 * Sorted and disjoint intervals of post-order numbers for each
+		 * equivalence class, stored as consecutive pairs of lower and upper
+		 * bound.
+		 */
+		final int[][] intervals;
+
+		/**
+		 * Vertices ordered by the post-order number of their equivalence
+		 * class.
+		 */
+		final int[] members;
+
+		/**
+		 * Offset in <code>members</code> of the first vertex of each
+		 * post-order number. It has one more element than the number of
+		 * equivalence classes.
+		 */
+		final int[] memberOffset;
+
+		/**
+		 * Post-order number of each equivalence class.
+		 */
+		final int[] position;
+
+		Labeling(int[][] intervals, int[] position, int[] memberOffset, int[] members) {
+			this.intervals = intervals;
+			this.position = position;
+			this.memberOffset = memberOffset;
+			this.members = members;
+		}
+
+		boolean reaches(int source, int target) {
+			int[] current = this.intervals[source];
+			int pos = this.position[target];
+			int low = 0;
+			int high = (current.length / 2) - 1;
+			boolean ret = false;
+			while (!ret && (low <= high)) {
+				int middle = (low + high) >>> 1;
+				if (pos < current[2 * middle]) {
+					high = middle - 1;
+				} else if (pos > current[(2 * middle) + 1]) {
+					low = middle + 1;
+				} else {
+					ret = true;
+				}
+			}
+			return ret;
+		}
+
+	}
+
+	/**
+	 * Unmodifiable view of the vertices reachable from a given vertex, excluding
+	 * its own equivalence class.
+	 */
+	private class ReachableSet extends AbstractSet<Integer> {
+
+		private final Labeling labeling;
+		private final int[] ranges;
+		private final int size;
+		private final int source;
+
+		ReachableSet(Labeling labeling, int source) {
+			this.labeling = labeling;
+			this.source = source;
+			int[] current = labeling.intervals[source];
+			int excluded = labeling.position[source];
+			int[] offset = labeling.memberOffset;
+			int[] newRanges = new int[current.length + 2];
+			int length = 0;
+			int count = 0;
+			for (int index = 0; index < current.length; index += 2) {
+				int low = current[index];
+				int high = current[index + 1];
+				if ((low <= excluded) && (excluded <= high)) {
+					newRanges[length] = offset[low];
+					newRanges[length + 1] = offset[excluded];
+					newRanges[length + 2] = offset[excluded + 1];
+					newRanges[length + 3] = offset[high + 1];
+					length += 4;
+				} else {
+					newRanges[length] = offset[low];
+					newRanges[length + 1] = offset[high + 1];
+					length += 2;
+				}
+				count += offset[high + 1] - offset[low];
+			}
+			this.ranges = Arrays.copyOf(newRanges, length);
+			this.size = count - (offset[excluded + 1] - offset[excluded]);
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			boolean ret = false;
+			if (o instanceof Integer) {
+				int target = getEquivalenceClass((Integer) o);
+				ret = (target != NOT_FOUND) && (target != this.source) && this.labeling.reaches(this.source, target);
+			}
+			return ret;
+		}
+
+		@Override
+		public Iterator<Integer> iterator() {
+			return new Iterator<Integer>() {
+
+				private int end = 0;
+				private int next = 0;
+				private int range = 0;
+
+				@Override
+				public boolean hasNext() {
+					while ((this.next >= this.end) && (this.range < ReachableSet.this.ranges.length)) {
+						this.next = ReachableSet.this.ranges[this.range];
+						this.end = ReachableSet.this.ranges[this.range + 1];
+						this.range += 2;
+					}
+					return this.next < this.end;
+				}
+
+				@Override
+				public Integer next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					Integer ret = ReachableSet.this.labeling.members[this.next];
+					this.next++;
+					return ret;
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return this.size;
+		}
+
+	}
+
+	private static final int NOT_FOUND = -1;
+
+	private final Labeling ancestorLabeling;
+	private final int[] classOf;
+	private final Labeling descendantLabeling;
+	private final IntegerHierarchicalGraph graph;
+
+	/**
+	 * Constructs a new reachability index for a hierarchical graph.
+	 *
+	 * @param graph
+	 *            hierarchical graph
+	 */
+	public IntegerReachabilityIndex(IntegerHierarchicalGraph graph) {
+		Objects.requireNonNull(graph);
+		this.graph = graph;
+		Set<Integer> elements = graph.getElements();
+		int maxElement = elements.stream().mapToInt(elem -> elem).max().orElse(NOT_FOUND);
+		this.classOf = new int[maxElement + 1];
+		Arrays.fill(this.classOf, NOT_FOUND);
+
+		int numberOfClasses = 0;
+		for (Integer elem : elements) {
+			if (this.classOf[elem] == NOT_FOUND) {
+				for (Integer equivalent : graph.getEquivalents(elem)) {
+					this.classOf[equivalent] = numberOfClasses;
+				}
+				numberOfClasses++;
+			}
+		}
+
+		int[] representative = new int[numberOfClasses];
+		for (Integer elem : elements) {
+			representative[this.classOf[elem]] = elem;
+		}
+
+		this.descendantLabeling = createLabeling(representative, graph::getChildren);
+		this.ancestorLabeling = createLabeling(representative, graph::getParents);
+	}
+
+	private Labeling createLabeling(int[] representative, Function<Integer, Set<Integer>> successorFunction) {
+		int numberOfClasses = representative.length;
+		int[][] successors = new int[numberOfClasses][];
+		boolean[] hasPredecessor = new boolean[numberOfClasses];
+		for (int current = 0; current < numberOfClasses; current++) {
+			int self = current;
+			successors[current] = successorFunction.apply(representative[current]).stream()
+					.mapToInt(elem -> getEquivalenceClass(elem)).filter(elem -> (elem != NOT_FOUND) && (elem != self))
+					.distinct().toArray();
+			for (int successor : successors[current]) {
+				hasPredecessor[successor] = true;
+			}
+		}
+
+		int[] position = new int[numberOfClasses];
+		Arrays.fill(position, NOT_FOUND);
+		int[][] intervals = new int[numberOfClasses][];
+		int[] low = new int[numberOfClasses];
+		int[] nextSuccessor = new int[numberOfClasses];
+		Deque<Integer> stack = new ArrayDeque<>();
+		int counter = 0;
+
+		// vertices without predecessors are visited first, so that the depth-first
+		// trees, and hence the tree intervals, are as large as possible
+		for (int pass = 0; pass < 2; pass++) {
+			for (int root = 0; root < numberOfClasses; root++) {
+				boolean isStart = (pass > 0) || !hasPredecessor[root];
+				if (isStart && (position[root] == NOT_FOUND)) {
+					position[root] = Integer.MAX_VALUE;
+					low[root] = counter;
+					stack.push(root);
+					while (!stack.isEmpty()) {
+						int current = stack.peek();
+						if (nextSuccessor[current] < successors[current].length) {
+							int successor = successors[current][nextSuccessor[current]];
+							nextSuccessor[current]++;
+							if (position[successor] == NOT_FOUND) {
+								position[successor] = Integer.MAX_VALUE;
+								low[successor] = counter;
+								stack.push(successor);
+							}
+						} else {
+							stack.pop();
+							position[current] = counter;
+							intervals[current] = mergeIntervals(low[current], counter, successors[current], intervals);
+							counter++;
+						}
+					}
+				}
+			}
+		}
+
+		int[] classAt = new int[numberOfClasses];
+		for (int current = 0; current < numberOfClasses; current++) {
+			classAt[position[current]] = current;
+		}
+		int[] memberOffset = new int[numberOfClasses + 1];
+		int[] members = new int[this.graph.getElements().size()];
+		int offset = 0;
+		for (int pos = 0; pos < numberOfClasses; pos++) {
+			memberOffset[pos] = offset;
+			for (Integer elem : this.graph.getEquivalents(representative[classAt[pos]])) {
+				members[offset] = elem;
+				offset++;
+			}
+		}
+		memberOffset[numberOfClasses] = offset;
+
+		return new Labeling(intervals, position, memberOffset, members);
+	}
+
+	private int getEquivalenceClass(int vertex) {
+		int ret = NOT_FOUND;
+		if ((vertex >= 0) && (vertex < this.classOf.length)) {
+			ret = this.classOf[vertex];
+		}
+		return ret;
+	}
+
+	private int getEquivalenceClassOrFail(int vertex) {
+		int ret = getEquivalenceClass(vertex);
+		if (ret == NOT_FOUND) {
+			throw new IllegalStateException("Representative not found: '" + vertex + "'.");
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns all predecessors of a particular given vertex. This is the same
+	 * set as the one returned by the graph, but it is computed without
+	 * traversing the graph.
+	 *
+	 * @param vertex
+	 *            starting vertex
+	 * @return all predecessors of the given vertex
+	 */
+	public Set<Integer> getAncestors(int vertex) {
+		return new ReachableSet(this.ancestorLabeling, getEquivalenceClassOrFail(vertex));
+	}
+
+	/**
+	 * Returns all successors of a particular given vertex. This is the same set
+	 * as the one returned by the graph, but it is computed without traversing
+	 * the graph.
+	 *
+	 * @param vertex
+	 *            starting vertex
+	 * @return all successors of the given vertex
+	 */
+	public Set<Integer> getDescendants(int vertex) {
+		return new ReachableSet(this.descendantLabeling, getEquivalenceClassOrFail(vertex));
+	}
+
+	/**
+	 * Returns the hierarchical graph used to build this index.
+	 *
+	 * @return the hierarchical graph used to build this index
+	 */
+	public IntegerHierarchicalGraph getGraph() {
+		return this.graph;
+	}
+
+	/**
+	 * Tells whether a vertex is a predecessor of another vertex. Equivalent
+	 * vertices are not predecessors of each other.
+	 *
+	 * @param ancestor
+	 *            possible ancestor
+	 * @param descendant
+	 *            possible descendant
+	 * @return <code>true</code> if and only if the first vertex is a predecessor
+	 *         of the second vertex
+	 */
+	public boolean isAncestor(int ancestor, int descendant) {
+		int source = getEquivalenceClassOrFail(ancestor);
+		int target = getEquivalenceClassOrFail(descendant);
+		return (source != target) && this.descendantLabeling.reaches(source, target);
+	}
+
+	/**
+	 * Merges the tree interval of a vertex with the intervals of its
+	 * successors, which are already computed.
+	 */
+	private int[] mergeIntervals(int low, int high, int[] successors, int[][] intervals) {
+		int length = 1;
+		for (int successor : successors) {
+			length += intervals[successor].length / 2;
+		}
+		long[] pairs = new long[length];
+		pairs[0] = (((long) low) << 32) | high;
+		int index = 1;
+		for (int successor : successors) {
+			int[] current = intervals[successor];
+			for (int k = 0; k < current.length; k += 2) {
+				pairs[index] = (((long) current[k]) << 32) | current[k + 1];
+				index++;
+			}
+		}
+		Arrays.sort(pairs);
+
+		int[] merged = new int[2 * length];
+		int size = 0;
+		for (long pair : pairs) {
+			int currentLow = (int) (pair >>> 32);
+			int currentHigh = (int) pair;
+			if ((size > 0) && (currentLow <= merged[size - 1] + 1)) {
+				merged[size - 1] = Math.max(merged[size - 1], currentHigh);
+			} else {
+				merged[size] = currentLow;
+				merged[size + 1] = currentHigh;
+				size += 2;
+			}
+		}
+		return Arrays.copyOf(merged, size);
+	}
+
+}
@@ -135,6 +135,38 @@ public class IntegerSubsumerGraphImpl implements IntegerSubsumerGraph {
 		return ret;
 	}
 
+	/**
+	 * Defines that one vertex is a subsumee of all the vertices in a
+	 * collection. The result is the same as adding each pair, but the
+	 * subsumers are merged in one pass.
+	 *
+	 * @param subId
+	 *            the subsumee
+	 * @param superIds
+	 *            the subsumers
+	 * @return <code>true</code> if and only if a relation was added
+	 */
+	public boolean addAncestors(int subId, Collection<Integer> superIds) {
+		Objects.requireNonNull(superIds);
+		boolean ret = false;
+		if (!this.equivToBottom.contains(subId)) {
+			if (superIds.contains(this.bottomElement)) {
+				ret = addAncestor(subId, this.bottomElement);
+			} else {
+				ret |= add(subId);
+				for (Integer superId : superIds) {
+					ret |= add(superId);
+				}
+				Optional<Collection<Integer>> optSet = this.setS.get(subId);
+				if (!optSet.isPresent()) {
+					throw new IllegalStateException("Element was not added: '" + subId + "'.");
+				}
+				ret |= optSet.get().addAll(superIds);
+			}
+		}
+		return ret;
+	}
+
 	@Override
 	public boolean containsPair(int subsumee, int subsumer) {
 		return getSubsumers(subsumee).contains(subsumer);
@@ -0,0 +1,262 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
+
+/**
+ * An object of this class is the reflexive transitive closure of an
+ * {@link IntegerSubsumerGraph}. It is computed in one pass. The strongly
+ * connected components of the graph are collapsed, and the resulting acyclic
+ * graph is closed in topological order. Each component keeps its subsumers in
+ * a bit set, so the closure of a component is the union of the bit sets of its
+ * direct successors.
+ * 
+ * @author Julian Mendez
+ */
+public class IntegerTransitiveClosure {
+
+	private static final int undefined = -1;
+
+	private final BitSet[] closureOfComponent;
+	private final int[] componentOfVertex;
+	private final int[] elementOfVertex;
+	private final OptMap<Integer, Integer> vertexOfElement = new OptMapImpl<>(new HashMap<>());
+
+	/**
+	 * Computes the reflexive transitive closure of the given graph.
+	 * 
+	 * @param graph
+	 *            graph
+	 */
+	public IntegerTransitiveClosure(IntegerSubsumerGraph graph) {
+		Objects.requireNonNull(graph);
+
+		List<Integer> elements = new ArrayList<>();
+		graph.getElements().forEach(elem -> addVertex(elem, elements));
+		int numberOfElements = elements.size();
+		int[][] successors = new int[numberOfElements][];
+		for (int vertex = 0; vertex < numberOfElements; vertex++) {
+			Collection<Integer> subsumers = graph.getSubsumers(elements.get(vertex));
+			successors[vertex] = new int[subsumers.size()];
+			int index = 0;
+			for (Integer subsumer : subsumers) {
+				successors[vertex][index] = addVertex(subsumer, elements);
+				index++;
+			}
+		}
+
+		int numberOfVertices = elements.size();
+		this.elementOfVertex = elements.stream().mapToInt(elem -> elem).toArray();
+		int[][] edges = new int[numberOfVertices][];
+		for (int vertex = 0; vertex < numberOfVertices; vertex++) {
+			edges[vertex] = (vertex < numberOfElements) ? successors[vertex] : new int[0];
+		}
+
+		this.componentOfVertex = new int[numberOfVertices];
+		List<int[]> components = computeComponents(edges, this.componentOfVertex);
+		this.closureOfComponent = new BitSet[components.size()];
+		for (int component = 0; component < components.size(); component++) {
+			BitSet closure = new BitSet(numberOfVertices);
+			for (int vertex : components.get(component)) {
+				closure.set(vertex);
+				for (int successor : edges[vertex]) {
+					int successorComponent = this.componentOfVertex[successor];
+					if (successorComponent != component) {
+						closure.or(this.closureOfComponent[successorComponent]);
+					}
+				}
+			}
+			this.closureOfComponent[component] = closure;
+		}
+	}
+
+	private int addVertex(Integer elem, List<Integer> elements) {
+		Optional<Integer> optVertex = this.vertexOfElement.get(elem);
+		if (!optVertex.isPresent()) {
+			optVertex = Optional.of(elements.size());
+			this.vertexOfElement.put(elem, optVertex.get());
+			elements.add(elem);
+		}
+		return optVertex.get();
+	}
+
+	/**
+	 * Computes the strongly connected components with an iterative version of
+	 * Tarjan's algorithm. The components are numbered in the order they are
+	 * completed, so the successors of a component always have smaller numbers.
+	 * 
+	 * @param edges
+	 *            successors of each vertex
+	 * @param componentOfVertex
+	 *            array where the component of each vertex is stored
+	 * @return the vertices of each component
+	 */
+	private List<int[]> computeComponents(int[][] edges, int[] componentOfVertex) {
+		int numberOfVertices = edges.length;
+		List<int[]> ret = new ArrayList<>();
+		int[] index = new int[numberOfVertices];
+		int[] lowLink = new int[numberOfVertices];
+		int[] nextEdge = new int[numberOfVertices];
+		boolean[] onStack = new boolean[numberOfVertices];
+		int[] stack = new int[numberOfVertices];
+		int[] callStack = new int[numberOfVertices];
+		Arrays.fill(index, undefined);
+		int stackSize = 0;
+		int counter = 0;
+
+		for (int root = 0; root < numberOfVertices; root++) {
+			if (index[root] == undefined) {
+				int callStackSize = 0;
+				callStack[callStackSize++] = root;
+				index[root] = counter;
+				lowLink[root] = counter;
+				counter++;
+				stack[stackSize++] = root;
+				onStack[root] = true;
+
+				while (callStackSize > 0) {
+					int vertex = callStack[callStackSize - 1];
+					if (nextEdge[vertex] < edges[vertex].length) {
+						int successor = edges[vertex][nextEdge[vertex]];
+						nextEdge[vertex]++;
+						if (index[successor] == undefined) {
+							index[successor] = counter;
+							lowLink[successor] = counter;
+							counter++;
+							stack[stackSize++] = successor;
+							onStack[successor] = true;
+							callStack[callStackSize++] = successor;
+						} else if (onStack[successor]) {
+							lowLink[vertex] = Math.min(lowLink[vertex], index[successor]);
+						}
+					} else {
+						callStackSize--;
+						if (callStackSize > 0) {
+							int parent = callStack[callStackSize - 1];
+							lowLink[parent] = Math.min(lowLink[parent], lowLink[vertex]);
+						}
+						if (lowLink[vertex] == index[vertex]) {
+							int start = stackSize;
+							do {
+								start--;
+								onStack[stack[start]] = false;
+								componentOfVertex[stack[start]] = ret.size();
+							} while (stack[start] != vertex);
+							ret.add(Arrays.copyOfRange(stack, start, stackSize));
+							stackSize = start;
+						}
+					}
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Tells whether an element is subsumed by another one in the closure.
+	 * 
+	 * @param subsumee
+	 *            subsumee
+	 * @param subsumer
+	 *            subsumer
+	 * @return <code>true</code> if and only if the subsumer is in the closure
+	 *         of the subsumee
+	 */
+	public boolean containsPair(int subsumee, int subsumer) {
+		Optional<Integer> optSubsumee = this.vertexOfElement.get(subsumee);
+		Optional<Integer> optSubsumer = this.vertexOfElement.get(subsumer);
+		boolean ret = (subsumee == subsumer);
+		if (!ret && optSubsumee.isPresent() && optSubsumer.isPresent()) {
+			ret = this.closureOfComponent[this.componentOfVertex[optSubsumee.get()]].get(optSubsumer.get());
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the elements of the closure. These are the elements of the graph
+	 * and all their subsumers.
+	 * 
+	 * @return the elements of the closure
+	 */
+	public Set<Integer> getElements() {
+		return Collections.unmodifiableSet(this.vertexOfElement.keySet());
+	}
+
+	/**
+	 * Returns all the subsumers of an element, including the element itself.
+	 * 
+	 * @param elem
+	 *            element
+	 * @return all the subsumers of an element, including the element itself
+	 */
+	public Set<Integer> getSubsumers(int elem) {
+		Optional<Integer> optVertex = this.vertexOfElement.get(elem);
+		Set<Integer> ret = new HashSet<>();
+		if (optVertex.isPresent()) {
+			BitSet closure = this.closureOfComponent[this.componentOfVertex[optVertex.get()]];
+			closure.stream().forEach(vertex -> ret.add(this.elementOfVertex[vertex]));
+		} else {
+			ret.add(elem);
+		}
+		return Collections.unmodifiableSet(ret);
+	}
+
+}
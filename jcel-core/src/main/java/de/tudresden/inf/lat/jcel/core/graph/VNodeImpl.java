@@ -46,15 +46,18 @@
 
 package de.tudresden.inf.lat.jcel.core.graph;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 
 /**
  * This class implements a node which is a pair of a class and a set of
- * existential expressions.
+ * existential expressions. The existential expressions are kept in canonical
+ * form, as a sorted array of object property and class identifiers packed in
+ * <code>long</code> values.
  * 
  * @author Julian Mendez
  * 
@@ -62,8 +65,13 @@ import java.util.Set;
  */
 public class VNodeImpl implements VNode {
 
+	private static final long[] emptyArray = new long[0];
+	private static final long lowerBitsMask = 0xFFFFFFFFL;
+	private static final int shift = Integer.SIZE;
+
 	private final int classIdentifier;
-	private final Set<VNodeObjectSomeValuesFrom> existentialSet = new HashSet<>();
+	private long[] existentials = emptyArray;
+	private int size = 0;
 
 	/**
 	 * Constructs a new node.
@@ -75,6 +83,63 @@ public class VNodeImpl implements VNode {
 		this.classIdentifier = id;
 	}
 
+	/**
+	 * Returns the class identifier of a packed existential pair.
+	 * 
+	 * @param pair
+	 *            packed existential pair
+	 * @return the class identifier of a packed existential pair
+	 */
+	static int getClassId(long pair) {
+		return (int) pair;
+	}
+
+	/**
+	 * Returns the hash code of a node with the given class identifier and
+	 * packed existential pairs. This is the hash code of {@link VNodeImpl}.
+	 * 
+	 * @param classId
+	 *            class identifier
+	 * @param pairs
+	 *            sorted packed existential pairs
+	 * @param length
+	 *            number of pairs
+	 * @return the hash code of a node with the given class identifier and
+	 *         packed existential pairs
+	 */
+	static int getHashCode(int classId, long[] pairs, int length) {
+		int ret = classId;
+		for (int index = 0; index < length; index++) {
+			ret = (31 * ret) + Long.hashCode(pairs[index]);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the object property identifier of a packed existential pair.
+	 * 
+	 * @param pair
+	 *            packed existential pair
+	 * @return the object property identifier of a packed existential pair
+	 */
+	static int getObjectPropertyId(long pair) {
+		return (int) (pair >>> shift);
+	}
+
+	/**
+	 * Returns an existential pair packed in a <code>long</code> value. Packed
+	 * pairs are ordered by object property and then by class.
+	 * 
+	 * @param propertyId
+	 *            object property identifier in the pair
+	 * @param classId
+	 *            class identifier in the pair
+	 * @return an existential pair packed in a <code>long</code> value
+	 */
+	static long pack(int propertyId, int classId) {
+		return (((long) propertyId) << shift) | (classId & lowerBitsMask);
+	}
+
 	/**
 	 * Adds an existential pair to this node.
 	 * 
@@ -86,7 +151,19 @@ public class VNodeImpl implements VNode {
 	 *         the specified pair
 	 */
 	public boolean addExistential(int propertyId, int classId) {
-		boolean ret = this.existentialSet.add(new VNodeObjectSomeValuesFromImpl(propertyId, classId));
+		boolean ret = false;
+		long pair = pack(propertyId, classId);
+		int position = Arrays.binarySearch(this.existentials, 0, this.size, pair);
+		if (position < 0) {
+			position = -(position + 1);
+			if (this.size == this.existentials.length) {
+				this.existentials = Arrays.copyOf(this.existentials, Math.max(1, 2 * this.size));
+			}
+			System.arraycopy(this.existentials, position, this.existentials, position + 1, this.size - position);
+			this.existentials[position] = pair;
+			this.size++;
+			ret = true;
+		}
 		return ret;
 	}
 
@@ -99,20 +176,55 @@ public class VNodeImpl implements VNode {
 	 */
 	public boolean addExistentialsOf(VNode other) {
 		Objects.requireNonNull(other);
-		return this.existentialSet.addAll(other.getExistentialEntries());
+		boolean ret = false;
+		if (other instanceof VNodeImpl) {
+			VNodeImpl node = (VNodeImpl) other;
+			long[] merged = new long[this.size + node.size];
+			int length = merge(this.existentials, this.size, node.existentials, node.size, merged);
+			ret = (length != this.size);
+			this.existentials = merged;
+			this.size = length;
+		} else {
+			for (VNodeObjectSomeValuesFrom entry : other.getExistentialEntries()) {
+				ret |= addExistential(entry.getObjectPropertyId(), entry.getClassId());
+			}
+		}
+		return ret;
 	}
 
 	@Override
 	public boolean containsExistential(int propertyId, int classId) {
-		return this.existentialSet.contains(new VNodeObjectSomeValuesFromImpl(propertyId, classId));
+		return Arrays.binarySearch(this.existentials, 0, this.size, pack(propertyId, classId)) >= 0;
 	}
 
 	@Override
 	public boolean equals(Object o) {
 		boolean ret = (this == o);
-		if (!ret && (o instanceof VNode)) {
+		if (!ret && (o instanceof VNodeImpl)) {
+			VNodeImpl other = (VNodeImpl) o;
+			ret = (getClassId() == other.getClassId()) && equalsExistentials(other.existentials, other.size);
+		} else if (!ret && (o instanceof VNode)) {
 			VNode other = (VNode) o;
-			ret = (getClassId() == other.getClassId()) && getExistentialEntries().equals(other.getExistentialEntries());
+			ret = (getClassId() == other.getClassId())
+					&& getExistentialEntries().equals(new LinkedHashSet<>(other.getExistentialEntries()));
+		}
+		return ret;
+	}
+
+	/**
+	 * Tells whether the existential pairs of this node are the given ones.
+	 * 
+	 * @param pairs
+	 *            sorted packed existential pairs
+	 * @param length
+	 *            number of pairs
+	 * @return <code>true</code> if and only if the existential pairs of this
+	 *         node are the given ones
+	 */
+	boolean equalsExistentials(long[] pairs, int length) {
+		boolean ret = (this.size == length);
+		for (int index = 0; ret && (index < length); index++) {
+			ret = (this.existentials[index] == pairs[index]);
 		}
 		return ret;
 	}
@@ -128,22 +240,86 @@ public class VNodeImpl implements VNode {
 	 * @return the number of elements in the set of entries
 	 */
 	public long getDeepSize() {
-		return this.existentialSet.size();
+		return this.size;
 	}
 
 	@Override
 	public Collection<VNodeObjectSomeValuesFrom> getExistentialEntries() {
-		return Collections.unmodifiableSet(this.existentialSet);
+		Set<VNodeObjectSomeValuesFrom> ret = new LinkedHashSet<>();
+		for (int index = 0; index < this.size; index++) {
+			long pair = this.existentials[index];
+			ret.add(new VNodeObjectSomeValuesFromImpl(getObjectPropertyId(pair), getClassId(pair)));
+		}
+		return Collections.unmodifiableSet(ret);
+	}
+
+	/**
+	 * Returns the sorted packed existential pairs of this node. The returned
+	 * array can be longer than the number of pairs.
+	 * 
+	 * @return the sorted packed existential pairs of this node
+	 */
+	long[] getPackedExistentials() {
+		return this.existentials;
+	}
+
+	/**
+	 * Returns the number of existential pairs of this node.
+	 * 
+	 * @return the number of existential pairs of this node
+	 */
+	int getSize() {
+		return this.size;
 	}
 
 	@Override
 	public int hashCode() {
-		return this.classIdentifier + (31 * this.existentialSet.hashCode());
+		return getHashCode(this.classIdentifier, this.existentials, this.size);
 	}
 
 	@Override
 	public boolean isEmpty() {
-		return this.existentialSet.isEmpty();
+		return this.size == 0;
+	}
+
+	/**
+	 * Merges two sorted arrays of packed existential pairs, removing
+	 * duplicates.
+	 * 
+	 * @param first
+	 *            first sorted array
+	 * @param firstLength
+	 *            number of pairs in the first array
+	 * @param second
+	 *            second sorted array
+	 * @param secondLength
+	 *            number of pairs in the second array
+	 * @param target
+	 *            array where the result is stored, which must have enough
+	 *            space for both arrays
+	 * @return the number of pairs stored in the target array
+	 */
+	static int merge(long[] first, int firstLength, long[] second, int secondLength, long[] target) {
+		int ret = 0;
+		int i = 0;
+		int j = 0;
+		while ((i < firstLength) || (j < secondLength)) {
+			long next;
+			if (j >= secondLength || ((i < firstLength) && (first[i] < second[j]))) {
+				next = first[i];
+				i++;
+			} else if (i >= firstLength || (second[j] < first[i])) {
+				next = second[j];
+				j++;
+			} else {
+				next = first[i];
+				i++;
+				j++;
+			}
+			target[ret] = next;
+			ret++;
+		}
+		return ret;
 	}
 
 	@Override
@@ -151,7 +327,7 @@ public class VNodeImpl implements VNode {
 		StringBuffer ret = new StringBuffer();
 		ret.append(this.classIdentifier);
 		ret.append(" ");
-		this.existentialSet.forEach(expression -> {
+		getExistentialEntries().forEach(expression -> {
 			ret.append(expression.toString());
 			ret.append(", ");
 
@@ -0,0 +1,251 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An object of this class is a hash-consing table of nodes. It maps each node
+ * in canonical form to its identifier. The table can be probed for a node
+ * obtained by adding an existential pair to another node, or by joining two
+ * nodes, without creating the node.
+ * 
+ * @author Julian Mendez
+ * 
+ * @see VNodeImpl
+ */
+public class VNodeTable {
+
+	/**
+	 * Value returned when a node is not in the table.
+	 */
+	public static final int notFound = -1;
+
+	private static final int initialCapacity = 0x10;
+
+	private long[] buffer = new long[initialCapacity];
+	private int[] identifiers = new int[initialCapacity];
+	private VNodeImpl[] nodes = new VNodeImpl[initialCapacity];
+	private int size = 0;
+
+	/**
+	 * Constructs a new table of nodes.
+	 */
+	public VNodeTable() {
+	}
+
+	/**
+	 * Adds a node with its identifier. The node must not be modified after it
+	 * is added.
+	 * 
+	 * @param node
+	 *            node
+	 * @param id
+	 *            node identifier
+	 */
+	public synchronized void add(VNodeImpl node, int id) {
+		Objects.requireNonNull(node);
+		if (2 * (this.size + 1) > this.nodes.length) {
+			resize(2 * this.nodes.length);
+		}
+		insert(node, id);
+		this.size++;
+	}
+
+	/**
+	 * Returns the identifier of the given node, or {@link #notFound} if the
+	 * node is not in the table.
+	 * 
+	 * @param node
+	 *            node
+	 * @return the identifier of the given node, or {@link #notFound} if the
+	 *         node is not in the table
+	 */
+	public synchronized int get(VNode node) {
+		Objects.requireNonNull(node);
+		VNodeImpl nodeImpl = toVNodeImpl(node);
+		return find(node.getClassId(), nodeImpl.getPackedExistentials(), nodeImpl.getSize());
+	}
+
+	/**
+	 * Returns the identifier of the node that has the given class and the
+	 * existential pairs of two given nodes, or {@link #notFound} if that node
+	 * is not in the table.
+	 * 
+	 * @param classId
+	 *            class identifier of the node
+	 * @param first
+	 *            first node
+	 * @param second
+	 *            second node
+	 * @return the identifier of the node that has the given class and the
+	 *         existential pairs of two given nodes, or {@link #notFound} if
+	 *         that node is not in the table
+	 */
+	public synchronized int getUnion(int classId, VNode first, VNode second) {
+		Objects.requireNonNull(first);
+		Objects.requireNonNull(second);
+		VNodeImpl firstImpl = toVNodeImpl(first);
+		VNodeImpl secondImpl = toVNodeImpl(second);
+		int length = mergeIntoBuffer(firstImpl.getPackedExistentials(), firstImpl.getSize(),
+				secondImpl.getPackedExistentials(), secondImpl.getSize());
+		return find(classId, this.buffer, length);
+	}
+
+	/**
+	 * Returns the identifier of the node that has the class and existential
+	 * pairs of the given node and the given existential pair, or
+	 * {@link #notFound} if that node is not in the table.
+	 * 
+	 * @param node
+	 *            node
+	 * @param propertyId
+	 *            object property identifier in the pair
+	 * @param classId
+	 *            class identifier in the pair
+	 * @return the identifier of the node that has the class and existential
+	 *         pairs of the given node and the given existential pair, or
+	 *         {@link #notFound} if that node is not in the table
+	 */
+	public synchronized int getWithExistential(VNode node, int propertyId, int classId) {
+		Objects.requireNonNull(node);
+		VNodeImpl nodeImpl = toVNodeImpl(node);
+		int length = insertIntoBuffer(nodeImpl.getPackedExistentials(), nodeImpl.getSize(),
+				VNodeImpl.pack(propertyId, classId));
+		return find(node.getClassId(), this.buffer, length);
+	}
+
+	private void ensureBufferCapacity(int capacity) {
+		if (this.buffer.length < capacity) {
+			this.buffer = Arrays.copyOf(this.buffer, Math.max(capacity, 2 * this.buffer.length));
+		}
+	}
+
+	private int find(int classId, long[] pairs, int length) {
+		int ret = notFound;
+		int mask = this.nodes.length - 1;
+		int position = spread(VNodeImpl.getHashCode(classId, pairs, length)) & mask;
+		while (ret == notFound && this.nodes[position] != null) {
+			VNodeImpl candidate = this.nodes[position];
+			if (candidate.getClassId() == classId && candidate.equalsExistentials(pairs, length)) {
+				ret = this.identifiers[position];
+			} else {
+				position = (position + 1) & mask;
+			}
+		}
+		return ret;
+	}
+
+	private void insert(VNodeImpl node, int id) {
+		int mask = this.nodes.length - 1;
+		int position = spread(node.hashCode()) & mask;
+		while (this.nodes[position] != null) {
+			position = (position + 1) & mask;
+		}
+		this.nodes[position] = node;
+		this.identifiers[position] = id;
+	}
+
+	private int insertIntoBuffer(long[] pairs, int length, long pair) {
+		int ret = length;
+		ensureBufferCapacity(length + 1);
+		int position = Arrays.binarySearch(pairs, 0, length, pair);
+		if (position >= 0) {
+			System.arraycopy(pairs, 0, this.buffer, 0, length);
+		} else {
+			position = -(position + 1);
+			System.arraycopy(pairs, 0, this.buffer, 0, position);
+			this.buffer[position] = pair;
+			System.arraycopy(pairs, position, this.buffer, position + 1, length - position);
+			ret++;
+		}
+		return ret;
+	}
+
+	private int mergeIntoBuffer(long[] first, int firstLength, long[] second, int secondLength) {
+		ensureBufferCapacity(firstLength + secondLength);
+		return VNodeImpl.merge(first, firstLength, second, secondLength, this.buffer);
+	}
+
+	private void resize(int capacity) {
+		VNodeImpl[] oldNodes = this.nodes;
+		int[] oldIdentifiers = this.identifiers;
+		this.nodes = new VNodeImpl[capacity];
+		this.identifiers = new int[capacity];
+		for (int index = 0; index < oldNodes.length; index++) {
+			if (oldNodes[index] != null) {
+				insert(oldNodes[index], oldIdentifiers[index]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of nodes in the table.
+	 * 
+	 * @return the number of nodes in the table
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	private int spread(int hashCode) {
+		return hashCode ^ (hashCode >>> 16);
+	}
+
+	private VNodeImpl toVNodeImpl(VNode node) {
+		VNodeImpl ret = null;
+		if (node instanceof VNodeImpl) {
+			ret = (VNodeImpl) node;
+		} else {
+			ret = new VNodeImpl(node.getClassId());
+			ret.addExistentialsOf(node);
+		}
+		return ret;
+	}
+
+}
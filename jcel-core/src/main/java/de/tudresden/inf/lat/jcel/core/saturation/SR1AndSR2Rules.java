@@ -47,8 +47,10 @@
 package de.tudresden.inf.lat.jcel.core.saturation;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -57,6 +59,8 @@ import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.util.map.OptMap;
+import de.tudresden.inf.lat.util.map.OptMapImpl;
 
 /**
  * <ul>
@@ -87,6 +91,21 @@ public class SR1AndSR2Rules implements SaturationRule {
 		this.idGenerator = entityManager;
 	}
 
+	private void add(OptMap<Integer, Set<RI2Axiom>> map, Integer key, RI2Axiom axiom) {
+		Optional<Set<RI2Axiom>> optSet = map.get(key);
+		if (!optSet.isPresent()) {
+			optSet = Optional.of(new HashSet<>());
+			map.put(key, optSet.get());
+		}
+		optSet.get().add(axiom);
+	}
+
+	/**
+	 * Applies the rules semi-naively. In each round, only the axioms found in
+	 * the previous round are combined, and they are combined with the
+	 * accumulated axioms through indices by sub-property and by
+	 * super-property.
+	 */
 	@Override
 	public Set<NormalizedIntegerAxiom> apply(Set<NormalizedIntegerAxiom> originalSet) {
 		Objects.requireNonNull(originalSet);
@@ -94,44 +113,63 @@ public class SR1AndSR2Rules implements SaturationRule {
 		ret.addAll(originalSet);
 
 		Set<RI2Axiom> accumulatedSet = new HashSet<>();
+		OptMap<Integer, Set<RI2Axiom>> mapBySubProperty = new OptMapImpl<>(new HashMap<>());
+		OptMap<Integer, Set<RI2Axiom>> mapBySuperProperty = new OptMapImpl<>(new HashMap<>());
 		Set<RI2Axiom> currentSet = new HashSet<>();
 		currentSet.addAll(this.helper.getRI2Axioms(originalSet));
 		while (!currentSet.isEmpty()) {
-			accumulatedSet.addAll(currentSet);
-			currentSet = new HashSet<>();
-			currentSet.addAll(applyRule1(accumulatedSet));
-			currentSet.addAll(applyRule2(accumulatedSet));
-			currentSet.removeAll(accumulatedSet);
+			currentSet.forEach(axiom -> {
+				accumulatedSet.add(axiom);
+				add(mapBySubProperty, axiom.getSubProperty(), axiom);
+				add(mapBySuperProperty, axiom.getSuperProperty(), axiom);
+			});
+			Set<RI2Axiom> newSet = new HashSet<>();
+			currentSet.forEach(axiom -> {
+				newSet.add(applyRule1(axiom));
+				applyRule2(axiom, mapBySubProperty, mapBySuperProperty, newSet);
+			});
+			newSet.removeAll(accumulatedSet);
+			currentSet = newSet;
 		}
 		ret.addAll(accumulatedSet);
 
 		return Collections.unmodifiableSet(ret);
 	}
 
-	private Set<RI2Axiom> applyRule1(Set<RI2Axiom> axiomSet) {
-		Set<RI2Axiom> ret = new HashSet<>();
-		axiomSet.forEach(axiom -> {
-			Integer invSubProperty = this.idGenerator.createOrGetInverseObjectPropertyOf(axiom.getSubProperty());
-			Integer invSuperProperty = this.idGenerator.createOrGetInverseObjectPropertyOf(axiom.getSuperProperty());
-			ret.add(this.factory.createRI2Axiom(invSubProperty, invSuperProperty, axiom.getAnnotations()));
-		});
-		return ret;
+	private RI2Axiom applyRule1(RI2Axiom axiom) {
+		Integer invSubProperty = this.idGenerator.createOrGetInverseObjectPropertyOf(axiom.getSubProperty());
+		Integer invSuperProperty = this.idGenerator.createOrGetInverseObjectPropertyOf(axiom.getSuperProperty());
+		return this.factory.createRI2Axiom(invSubProperty, invSuperProperty, axiom.getAnnotations());
 	}
 
-	private Set<RI2Axiom> applyRule2(Set<RI2Axiom> axiomSet) {
-		Set<RI2Axiom> ret = new HashSet<>();
-		axiomSet.forEach(axiom0 -> {
-			axiomSet.forEach(axiom1 -> {
-				if (axiom0.getSuperProperty() == axiom1.getSubProperty()) {
-					Set<IntegerAnnotation> annotations = new TreeSet<>();
-					annotations.addAll(axiom0.getAnnotations());
-					annotations.addAll(axiom1.getAnnotations());
-					ret.add(this.factory.createRI2Axiom(axiom0.getSubProperty(), axiom1.getSuperProperty(),
-							annotations));
-				}
-			});
-		});
-		return ret;
+	/**
+	 * Combines a new axiom with all the accumulated axioms that can be
+	 * composed with it, on either side.
+	 */
+	private void applyRule2(RI2Axiom axiom, OptMap<Integer, Set<RI2Axiom>> mapBySubProperty,
+			OptMap<Integer, Set<RI2Axiom>> mapBySuperProperty, Set<RI2Axiom> newSet) {
+		Optional<Set<RI2Axiom>> optRight = mapBySubProperty.get(axiom.getSuperProperty());
+		if (optRight.isPresent()) {
+			optRight.get().forEach(right -> newSet.add(compose(axiom, right)));
+		}
+		Optional<Set<RI2Axiom>> optLeft = mapBySuperProperty.get(axiom.getSubProperty());
+		if (optLeft.isPresent()) {
+			optLeft.get().forEach(left -> newSet.add(compose(left, axiom)));
+		}
+	}
+
+	private RI2Axiom compose(RI2Axiom axiom0, RI2Axiom axiom1) {
+		Set<IntegerAnnotation> annotations = null;
+		if (axiom1.getAnnotations().isEmpty() || axiom0.getAnnotations().equals(axiom1.getAnnotations())) {
+			annotations = axiom0.getAnnotations();
+		} else if (axiom0.getAnnotations().isEmpty()) {
+			annotations = axiom1.getAnnotations();
+		} else {
+			annotations = new TreeSet<>();
+			annotations.addAll(axiom0.getAnnotations());
+			annotations.addAll(axiom1.getAnnotations());
+		}
+		return this.factory.createRI2Axiom(axiom0.getSubProperty(), axiom1.getSuperProperty(), annotations);
 	}
 
 }
@@ -0,0 +1,205 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.core.algorithm.cel;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactoryImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManagerImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+
+/**
+ * Test class for {@link CelProcessor}.
+ * 
+ * @author Julian Mendez
+ */
+public class CelProcessorTest {
+
+	private final Set<IntegerAnnotation> annotations = Collections.emptySet();
+
+	/**
+	 * Constructs a new test class for the CEL processor.
+	 */
+	public CelProcessorTest() {
+	}
+
+	private void classify(Processor processor) {
+		while (!processor.isReady()) {
+			processor.process();
+		}
+	}
+
+	private int[] createClasses(IntegerEntityManager entityManager, int size) {
+		int[] ret = new int[size];
+		for (int index = 0; index < size; index++) {
+			ret[index] = entityManager.createNamedEntity(IntegerEntityType.CLASS, "A" + index, false);
+		}
+		return ret;
+	}
+
+	private CelProcessor createProcessor(Set<NormalizedIntegerAxiom> axioms, IntegerEntityManager entityManager,
+			NormalizedIntegerAxiomFactory factory) {
+		return new CelProcessor(entityManager.getEntities(IntegerEntityType.OBJECT_PROPERTY, false),
+				entityManager.getEntities(IntegerEntityType.CLASS, false), axioms, factory, entityManager);
+	}
+
+	private int[] createProperties(IntegerEntityManager entityManager, int size) {
+		int[] ret = new int[size];
+		for (int index = 0; index < size; index++) {
+			ret[index] = entityManager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, "r" + index, false);
+		}
+		return ret;
+	}
+
+	/**
+	 * A<sub>i</sub> \u2291 &exist; r <i>.</i> A<sub>i+1</sub> for each
+	 * i, and A<sub>n</sub> \u2291 \u22A5 &vDash; A<sub>i</sub> \u2291
+	 * \u22A5 for each i.
+	 */
+	@Test
+	public void testBottomThroughLongExistentialChain() {
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+		int length = 0x400;
+		int[] a = createClasses(entityManager, length + 1);
+		int r = createProperties(entityManager, 1)[0];
+		int b = entityManager.createNamedEntity(IntegerEntityType.CLASS, "B", false);
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		for (int index = 0; index < length; index++) {
+			axioms.add(factory.createGCI2Axiom(a[index], r, a[index + 1], this.annotations));
+		}
+		axioms.add(factory.createGCI0Axiom(a[length], IntegerEntityManager.bottomClassId, this.annotations));
+		axioms.add(factory.createGCI2Axiom(b, r, a[0], this.annotations));
+
+		CelProcessor processor = createProcessor(axioms, entityManager, factory);
+		classify(processor);
+
+		Set<Integer> unsatisfiable = processor.getClassHierarchy().getEquivalents(IntegerEntityManager.bottomClassId);
+		for (int index = 0; index <= length; index++) {
+			Assertions.assertTrue(unsatisfiable.contains(a[index]));
+		}
+		Assertions.assertTrue(unsatisfiable.contains(b));
+	}
+
+	/**
+	 * A \u2291 &exist; r <i>.</i> B , B \u2291 &exist; s <i>.</i>
+	 * C , r \u2218 s \u2291 t , &exist; t <i>.</i> C \u2291 D , C
+	 * \u2291 \u22A5 &vDash; A \u2291 \u22A5 , B \u2291 \u22A5 ,
+	 * but D is satisfiable.
+	 */
+	@Test
+	public void testBottomThroughPropertyChain() {
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+		int[] cls = createClasses(entityManager, 4);
+		int a = cls[0];
+		int b = cls[1];
+		int c = cls[2];
+		int d = cls[3];
+		int[] prop = createProperties(entityManager, 3);
+		int r = prop[0];
+		int s = prop[1];
+		int t = prop[2];
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		axioms.add(factory.createGCI2Axiom(a, r, b, this.annotations));
+		axioms.add(factory.createGCI2Axiom(b, s, c, this.annotations));
+		axioms.add(factory.createRI3Axiom(r, s, t, this.annotations));
+		axioms.add(factory.createGCI3Axiom(t, c, d, this.annotations));
+		axioms.add(factory.createGCI0Axiom(c, IntegerEntityManager.bottomClassId, this.annotations));
+
+		CelProcessor processor = createProcessor(axioms, entityManager, factory);
+		classify(processor);
+
+		Set<Integer> unsatisfiable = processor.getClassHierarchy().getEquivalents(IntegerEntityManager.bottomClassId);
+		Assertions.assertTrue(unsatisfiable.contains(a));
+		Assertions.assertTrue(unsatisfiable.contains(b));
+		Assertions.assertTrue(unsatisfiable.contains(c));
+		Assertions.assertFalse(unsatisfiable.contains(d));
+	}
+
+	/**
+	 * A \u2291 &exist; s <i>.</i> B , s \u2291 r , B \u2291 \u22A5 &vDash; A
+	 * \u2291 \u22A5 .
+	 */
+	@Test
+	public void testBottomThroughSubProperty() {
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+		int[] cls = createClasses(entityManager, 3);
+		int a = cls[0];
+		int b = cls[1];
+		int c = cls[2];
+		int[] prop = createProperties(entityManager, 2);
+		int r = prop[0];
+		int s = prop[1];
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		axioms.add(factory.createGCI2Axiom(a, s, b, this.annotations));
+		axioms.add(factory.createRI2Axiom(s, r, this.annotations));
+		axioms.add(factory.createGCI0Axiom(b, IntegerEntityManager.bottomClassId, this.annotations));
+		axioms.add(factory.createGCI2Axiom(c, r, a, this.annotations));
+
+		CelProcessor processor = createProcessor(axioms, entityManager, factory);
+		classify(processor);
+
+		Set<Integer> unsatisfiable = processor.getClassHierarchy().getEquivalents(IntegerEntityManager.bottomClassId);
+		Assertions.assertTrue(unsatisfiable.contains(a));
+		Assertions.assertTrue(unsatisfiable.contains(b));
+		Assertions.assertTrue(unsatisfiable.contains(c));
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link IntegerTupleQueue}.
+ * 
+ * @author Julian Mendez
+ */
+public class IntegerTupleQueueTest {
+
+	private static final int numberOfTuples = 0x1000;
+
+	public IntegerTupleQueueTest() {
+	}
+
+	/**
+	 * Tests that a tuple of the wrong arity is rejected.
+	 */
+	@Test
+	public void testArity() {
+		IntegerTupleQueue queue = new IntegerTupleQueue(3);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> queue.add(1, 2));
+		Assertions.assertTrue(queue.isEmpty());
+	}
+
+	/**
+	 * Tests that the tuples are removed in the same order they are added, also
+	 * when the queue wraps around and grows.
+	 */
+	@Test
+	public void testOrder() {
+		IntegerTupleQueue queue = new IntegerTupleQueue(3);
+		int[] tuple = new int[3];
+		int added = 0;
+		int removed = 0;
+		while (added < numberOfTuples) {
+			queue.add(added, added + 1, added + 2);
+			added++;
+			if ((added % 3) == 0) {
+				Assertions.assertTrue(queue.poll(tuple));
+				Assertions.assertArrayEquals(new int[] { removed, removed + 1, removed + 2 }, tuple);
+				removed++;
+			}
+		}
+		Assertions.assertEquals(added - removed, queue.size());
+		while (queue.poll(tuple)) {
+			Assertions.assertArrayEquals(new int[] { removed, removed + 1, removed + 2 }, tuple);
+			removed++;
+		}
+		Assertions.assertEquals(numberOfTuples, removed);
+		Assertions.assertTrue(queue.isEmpty());
+	}
+
+	/**
+	 * Tests that polling an empty queue leaves the given array unchanged.
+	 */
+	@Test
+	public void testPollEmpty() {
+		IntegerTupleQueue queue = new IntegerTupleQueue(2);
+		int[] tuple = new int[] { 7, 8 };
+		Assertions.assertFalse(queue.poll(tuple));
+		Assertions.assertArrayEquals(new int[] { 7, 8 }, tuple);
+	}
+
+}
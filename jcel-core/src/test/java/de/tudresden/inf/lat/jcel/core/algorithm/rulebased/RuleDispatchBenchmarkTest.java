@@ -0,0 +1,291 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
+import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntologyImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactoryImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManagerImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.coreontology.expressivity.NormalizedAxiomExpressivityDetector;
+
+/**
+ * Benchmark that compares the saturation of a fixed ontology using the full
+ * completion rule chains with the saturation using the dispatchers, which only
+ * apply the rules that can fire for each class and each object property.
+ * <p>
+ * The ontology is generated from a fixed seed, so that every run classifies
+ * the same ontology. It is disabled by default, and it is run by setting the
+ * system property <code>jcel.benchmark</code> to <code>true</code>, for example
+ * with:
+ * </p>
+ * 
+ * <pre>
+ * mvn test -pl jcel-core -Dtest=RuleDispatchBenchmarkTest -DargLine=-Djcel.benchmark=true
+ * </pre>
+ * 
+ * @author Julian Mendez
+ */
+public class RuleDispatchBenchmarkTest {
+
+	/**
+	 * Result of a saturation.
+	 */
+	private static class Result {
+
+		private final ClassifierStatusImpl status;
+		private final long time;
+
+		Result(ClassifierStatusImpl status, long time) {
+			this.status = status;
+			this.time = time;
+		}
+
+		ClassifierStatusImpl getStatus() {
+			return this.status;
+		}
+
+		long getTime() {
+			return this.time;
+		}
+
+	}
+
+	private static final String benchmarkProperty = "jcel.benchmark";
+	private static final int numberOfAxioms = 0x6000;
+	private static final int numberOfClasses = 0x2000;
+	private static final int numberOfObjectProperties = 0x10;
+	private static final int repetitions = 5;
+	private static final long seed = 0x6a63656cL;
+	private static final int topClassId = IntegerEntityManager.topClassId;
+
+	public RuleDispatchBenchmarkTest() {
+	}
+
+	/**
+	 * Returns a pseudo-random ontology with axioms GCI0, GCI1, GCI2, and GCI3,
+	 * generated from a fixed seed. The classes on the right-hand side of the
+	 * axioms have lower indices than the first class on the left-hand side, so
+	 * that the told subsumptions form a hierarchy, as in most EL ontologies.
+	 * 
+	 * @param entityManager
+	 *            entity manager used to create the classes and object
+	 *            properties
+	 * @param classes
+	 *            number of classes
+	 * @param objectProperties
+	 *            number of object properties
+	 * @param axioms
+	 *            number of axioms
+	 * @return a pseudo-random ontology
+	 */
+	private Set<NormalizedIntegerAxiom> createAxioms(IntegerEntityManager entityManager, int classes,
+			int objectProperties, int axioms) {
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		List<Integer> classIds = new ArrayList<>();
+		for (int index = 0; index < classes; index++) {
+			classIds.add(entityManager.createNamedEntity(IntegerEntityType.CLASS, "A" + index, false));
+		}
+		List<Integer> propertyIds = new ArrayList<>();
+		for (int index = 0; index < objectProperties; index++) {
+			propertyIds.add(entityManager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, "r" + index, false));
+		}
+
+		Random random = new Random(seed);
+		Set<NormalizedIntegerAxiom> ret = new HashSet<>();
+		while (ret.size() < axioms) {
+			int index = 1 + random.nextInt(classes - 1);
+			int a = classIds.get(index);
+			int b = classIds.get(random.nextInt(index));
+			int c = classIds.get(random.nextInt(index));
+			int r = propertyIds.get(random.nextInt(objectProperties));
+			int kind = random.nextInt(8);
+			if (kind < 4) {
+				ret.add(factory.createGCI0Axiom(a, b, Collections.emptySet()));
+			} else if (kind < 5) {
+				ret.add(factory.createGCI1Axiom(a, b, c, Collections.emptySet()));
+			} else if (kind < 7) {
+				ret.add(factory.createGCI2Axiom(a, r, b, Collections.emptySet()));
+			} else {
+				ret.add(factory.createGCI3Axiom(r, a, b, Collections.emptySet()));
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the subsumers of each class computed in a saturation.
+	 * 
+	 * @param result
+	 *            result of a saturation
+	 * @return the subsumers of each class computed in a saturation
+	 */
+	private Map<Integer, Set<Integer>> getSubsumers(Result result) {
+		Map<Integer, Set<Integer>> ret = new TreeMap<>();
+		result.getStatus().getClassGraph().getElements()
+				.forEach(elem -> ret.put(elem, new TreeSet<>(result.getStatus().getSubsumers(elem))));
+		return ret;
+	}
+
+	private long min(long[] values) {
+		long ret = Long.MAX_VALUE;
+		for (long value : values) {
+			ret = Math.min(ret, value);
+		}
+		return ret;
+	}
+
+	/**
+	 * Saturates a pseudo-random ontology generated from a fixed seed.
+	 * 
+	 * @param classes
+	 *            number of classes
+	 * @param objectProperties
+	 *            number of object properties
+	 * @param axioms
+	 *            number of axioms
+	 * @param useDispatchers
+	 *            <code>true</code> to apply the rules using the dispatchers,
+	 *            <code>false</code> to apply the full rule chains
+	 * @return the result of the saturation
+	 */
+	private Result saturate(int classes, int objectProperties, int axioms, boolean useDispatchers) {
+		IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+		Set<NormalizedIntegerAxiom> axiomSet = createAxioms(entityManager, classes, objectProperties, axioms);
+		ExtendedOntology ontology = new ExtendedOntologyImpl();
+		ontology.load(axiomSet);
+		entityManager.getEntities(IntegerEntityType.OBJECT_PROPERTY, false)
+				.forEach(elem -> ontology.addObjectProperty(elem));
+		entityManager.getEntities(IntegerEntityType.CLASS, false).forEach(elem -> ontology.addClass(elem));
+
+		CompletionRuleChainSelector selector = new CompletionRuleChainSelector(
+				new NormalizedAxiomExpressivityDetector(axiomSet));
+		SObserverRule ruleS = useDispatchers ? selector.createSDispatcher(ontology) : selector.getSChain();
+		RObserverRule ruleR = useDispatchers ? selector.createRDispatcher(ontology) : selector.getRChain();
+
+		long start = System.nanoTime();
+		ClassifierStatusImpl status = new ClassifierStatusImpl(entityManager, ontology);
+		ontology.getClassSet().forEach(className -> {
+			status.addNewSEntry(className, className);
+			status.addNewSEntry(className, topClassId);
+		});
+		int[] nextSEntry = new int[2];
+		int[] nextREntry = new int[3];
+		boolean pending = true;
+		while (pending) {
+			if (status.pollSEntry(nextSEntry)) {
+				if (status.addToS(nextSEntry[0], nextSEntry[1])) {
+					ruleS.apply(status, nextSEntry[0], nextSEntry[1]);
+				}
+			} else if (status.pollREntry(nextREntry)) {
+				if (status.addToR(nextREntry[0], nextREntry[1], nextREntry[2])) {
+					ruleR.apply(status, nextREntry[0], nextREntry[1], nextREntry[2]);
+				}
+			} else {
+				pending = false;
+			}
+		}
+		return new Result(status, System.nanoTime() - start);
+	}
+
+	/**
+	 * Measures the saturation time with and without dispatchers. This test is
+	 * only run if the system property <code>jcel.benchmark</code> is
+	 * <code>true</code>.
+	 */
+	@Test
+	public void testBenchmark() {
+		Assumptions.assumeTrue(Boolean.getBoolean(benchmarkProperty),
+				"benchmark disabled, set -D" + benchmarkProperty + "=true to run it");
+		long[] chainTimes = new long[repetitions];
+		long[] dispatcherTimes = new long[repetitions];
+		for (int index = 0; index < repetitions; index++) {
+			Result chainResult = saturate(numberOfClasses, numberOfObjectProperties, numberOfAxioms, false);
+			Result dispatcherResult = saturate(numberOfClasses, numberOfObjectProperties, numberOfAxioms, true);
+			Assertions.assertEquals(getSubsumers(chainResult), getSubsumers(dispatcherResult));
+			chainTimes[index] = chainResult.getTime();
+			dispatcherTimes[index] = dispatcherResult.getTime();
+			System.out.println("run " + index + ": chains " + (chainTimes[index] / 1000000) + " ms, dispatchers "
+					+ (dispatcherTimes[index] / 1000000) + " ms, S " + chainResult.getStatus().getDeepSizeOfS()
+					+ ", R " + chainResult.getStatus().getDeepSizeOfR());
+		}
+		System.out.println("best: chains " + (min(chainTimes) / 1000000) + " ms, dispatchers "
+				+ (min(dispatcherTimes) / 1000000) + " ms");
+	}
+
+	/**
+	 * Tests that the dispatchers and the full rule chains compute the same
+	 * saturation of a small ontology generated from the same seed.
+	 */
+	@Test
+	public void testSameSaturation() {
+		Result chainResult = saturate(0x80, 4, 0x180, false);
+		Result dispatcherResult = saturate(0x80, 4, 0x180, true);
+		Assertions.assertEquals(getSubsumers(chainResult), getSubsumers(dispatcherResult));
+		Assertions.assertEquals(chainResult.getStatus().getDeepSizeOfR(),
+				dispatcherResult.getStatus().getDeepSizeOfR());
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.algorithm.rulebased;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR1SRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR2SRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR4RRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR4SRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR5RRule;
+import de.tudresden.inf.lat.jcel.core.completion.basic.CR7SRule;
+import de.tudresden.inf.lat.jcel.core.completion.common.RObserverRule;
+import de.tudresden.inf.lat.jcel.core.completion.common.SObserverRule;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntologyImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactoryImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+
+/**
+ * Tests for the dispatchers of completion rule chains.
+ * 
+ * @author Julian Mendez
+ */
+public class RuleDispatcherTest {
+
+	private static final int a = 10;
+	private static final int b = 11;
+	private static final int r = 20;
+	private static final int s = 21;
+	private static final int unknown = 99;
+
+	public RuleDispatcherTest() {
+	}
+
+	/**
+	 * Returns an ontology with axioms GCI0, GCI3, and RI2.
+	 */
+	private ExtendedOntology createOntology() {
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		axioms.add(factory.createGCI0Axiom(a, b, Collections.emptySet()));
+		axioms.add(factory.createGCI3Axiom(r, a, b, Collections.emptySet()));
+		axioms.add(factory.createRI2Axiom(r, s, Collections.emptySet()));
+		ExtendedOntology ret = new ExtendedOntologyImpl();
+		ret.load(axioms);
+		ret.addClass(a);
+		ret.addClass(b);
+		ret.addClass(IntegerEntityManager.bottomClassId);
+		ret.addObjectProperty(r);
+		ret.addObjectProperty(s);
+		return ret;
+	}
+
+	@Test
+	public void testRDispatcher() {
+		CR4RRule cr4 = new CR4RRule();
+		CR5RRule cr5 = new CR5RRule();
+		List<RObserverRule> rules = Arrays.asList(cr4, cr5);
+		RDispatcher dispatcher = new RDispatcher(new RChain(rules), createOntology());
+		Assertions.assertEquals(rules, dispatcher.getRules(r));
+		Assertions.assertEquals(Collections.emptyList(), dispatcher.getRules(s));
+		Assertions.assertEquals(rules, dispatcher.getRules(unknown));
+	}
+
+	@Test
+	public void testSDispatcher() {
+		CR1SRule cr1 = new CR1SRule();
+		CR2SRule cr2 = new CR2SRule();
+		CR4SRule cr4 = new CR4SRule();
+		CR7SRule cr7 = new CR7SRule();
+		List<SObserverRule> rules = Arrays.asList(cr1, cr2, cr4, cr7);
+		SDispatcher dispatcher = new SDispatcher(new SChain(rules), createOntology());
+		Assertions.assertEquals(Arrays.asList(cr1, cr4), dispatcher.getRules(a));
+		Assertions.assertEquals(Collections.emptyList(), dispatcher.getRules(b));
+		Assertions.assertEquals(Arrays.asList(cr7), dispatcher.getRules(IntegerEntityManager.bottomClassId));
+		Assertions.assertEquals(rules, dispatcher.getRules(unknown));
+	}
+
+}
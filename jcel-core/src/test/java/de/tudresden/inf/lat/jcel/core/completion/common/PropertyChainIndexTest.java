@@ -0,0 +1,199 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.core.completion.common;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntology;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.ExtendedOntologyImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactoryImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI3Axiom;
+
+/**
+ * Test class for {@link PropertyChainIndex}.
+ * 
+ * @author Julian Mendez
+ */
+public class PropertyChainIndexTest {
+
+	private static final int numberOfClasses = 8;
+	private static final int r = 20;
+	private static final int s = 21;
+	private static final int t = 22;
+	private static final int u = 23;
+	private static final int v = 24;
+
+	/**
+	 * Constructs a new test class for the property chain index.
+	 */
+	public PropertyChainIndexTest() {
+	}
+
+	/**
+	 * Returns a classifier status that only records the relation entries added
+	 * with <code>addNewREntry</code>.
+	 */
+	private ClassifierStatus createRecordingStatus(Set<List<Integer>> entries) {
+		return (ClassifierStatus) Proxy.newProxyInstance(getClass().getClassLoader(),
+				new Class<?>[] { ClassifierStatus.class }, (proxy, method, args) -> {
+					if (!method.getName().equals("addNewREntry")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					return entries.add(Arrays.asList((Integer) args[0], (Integer) args[1], (Integer) args[2]));
+				});
+	}
+
+	/**
+	 * Returns an ontology with the chains r \u2218 s \u2291 t, s \u2218 r
+	 * \u2291 u, t \u2218 s \u2291 s, r \u2218 s \u2291 v, and the
+	 * transitivity axiom r \u2218 r \u2291 r.
+	 */
+	private ExtendedOntology createOntology() {
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		axioms.add(factory.createRI3Axiom(r, s, t, Collections.emptySet()));
+		axioms.add(factory.createRI3Axiom(s, r, u, Collections.emptySet()));
+		axioms.add(factory.createRI3Axiom(t, s, s, Collections.emptySet()));
+		axioms.add(factory.createRI3Axiom(r, s, v, Collections.emptySet()));
+		axioms.add(factory.createRI3Axiom(r, r, r, Collections.emptySet()));
+		ExtendedOntology ret = new ExtendedOntologyImpl();
+		ret.load(axioms);
+		return ret;
+	}
+
+	/**
+	 * Composes a relation entry with the relation set by looking up each
+	 * property chain, as the chain rules did before the index was introduced.
+	 */
+	private Set<List<Integer>> composeByNestedLookup(ExtendedOntology ontology, Set<List<Integer>> relationSet,
+			int property, int leftClass, int rightClass) {
+		Set<List<Integer>> ret = new HashSet<>();
+		for (RI3Axiom axiom : ontology.getRI3AxiomsByLeft(property)) {
+			relationSet.stream().filter(entry -> entry.get(0) == axiom.getRightSubProperty()
+					&& entry.get(1) == rightClass)
+					.forEach(entry -> ret.add(Arrays.asList(axiom.getSuperProperty(), leftClass, entry.get(2))));
+		}
+		for (RI3Axiom axiom : ontology.getRI3AxiomsByRight(property)) {
+			relationSet.stream().filter(entry -> entry.get(0) == axiom.getLeftSubProperty()
+					&& entry.get(2) == leftClass)
+					.forEach(entry -> ret.add(Arrays.asList(axiom.getSuperProperty(), entry.get(1), rightClass)));
+		}
+		return ret;
+	}
+
+	@Test
+	public void testComposeAsInNestedLookup() {
+		ExtendedOntology ontology = createOntology();
+		PropertyChainIndex index = new PropertyChainIndex(ontology);
+		Set<List<Integer>> relationSet = new HashSet<>();
+		Set<List<Integer>> derived = new HashSet<>();
+		ClassifierStatus status = createRecordingStatus(derived);
+		int[] properties = { r, s, t, u, v };
+		Random random = new Random(35);
+		for (int step = 0; step < 400; step++) {
+			int property = properties[random.nextInt(properties.length)];
+			int leftClass = random.nextInt(numberOfClasses);
+			int rightClass = random.nextInt(numberOfClasses);
+			if (relationSet.add(Arrays.asList(property, leftClass, rightClass))) {
+				index.add(property, leftClass, rightClass);
+
+				derived.clear();
+				index.composeAsLeft(status, property, leftClass, rightClass);
+				index.composeAsRight(status, property, leftClass, rightClass);
+				Assertions.assertEquals(
+						composeByNestedLookup(ontology, relationSet, property, leftClass, rightClass), derived);
+			}
+		}
+	}
+
+	@Test
+	public void testTransitiveProperty() {
+		ExtendedOntology ontology = createOntology();
+		PropertyChainIndex index = new PropertyChainIndex(ontology);
+		Set<List<Integer>> derived = new HashSet<>();
+		ClassifierStatus status = createRecordingStatus(derived);
+
+		index.add(r, 1, 2);
+		index.add(r, 3, 3);
+		Assertions.assertFalse(index.composeAsLeft(status, r, 1, 2));
+		Assertions.assertTrue(index.composeAsLeft(status, r, 3, 3));
+		Assertions.assertEquals(Collections.singleton(Arrays.asList(r, 3, 3)), derived);
+
+		derived.clear();
+		index.add(r, 2, 3);
+		Assertions.assertTrue(index.composeAsLeft(status, r, 2, 3));
+		Assertions.assertTrue(index.composeAsRight(status, r, 2, 3));
+		Set<List<Integer>> expected = new HashSet<>();
+		expected.add(Arrays.asList(r, 2, 3));
+		expected.add(Arrays.asList(r, 1, 3));
+		Assertions.assertEquals(expected, derived);
+	}
+
+	@Test
+	public void testUnusedProperty() {
+		PropertyChainIndex index = new PropertyChainIndex(createOntology());
+		Set<List<Integer>> derived = new HashSet<>();
+		ClassifierStatus status = createRecordingStatus(derived);
+		index.add(99, 1, 2);
+		Assertions.assertFalse(index.composeAsLeft(status, 99, 1, 2));
+		Assertions.assertFalse(index.composeAsRight(status, 99, 1, 2));
+		Assertions.assertTrue(derived.isEmpty());
+	}
+
+}
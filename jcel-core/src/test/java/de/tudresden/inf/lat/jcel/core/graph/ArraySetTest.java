@@ -48,6 +48,7 @@ package de.tudresden.inf.lat.jcel.core.graph;
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.IntStream;
@@ -65,6 +66,27 @@ public class ArraySetTest {
 	public ArraySetTest() {
 	}
 
+	@Test
+	public void testAddAll() {
+		ArraySet arraySet = new ArraySet();
+		Set<Integer> treeSet = new TreeSet<>();
+		Random random = new Random(0x2A);
+
+		IntStream.range(0, 0x40).forEach(i -> {
+			ArrayList<Integer> batch = new ArrayList<>();
+			IntStream.range(0, random.nextInt(0x20)).forEach(j -> batch.add(random.nextInt(0x200)));
+			boolean changed = treeSet.addAll(batch);
+			Assertions.assertEquals(changed, arraySet.addAll(batch));
+			Assertions.assertEquals(treeSet.size(), arraySet.size());
+		});
+
+		Iterator<Integer> it = treeSet.iterator();
+		arraySet.forEach(e -> {
+			Assertions.assertEquals(it.next(), e);
+		});
+		Assertions.assertFalse(arraySet.addAll(new ArrayList<>(treeSet)));
+	}
+
 	@Test
 	public void testInsertion() {
 
@@ -0,0 +1,240 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the construction of hierarchical graphs.
+ * 
+ * @author Julian Mendez
+ */
+public class IntegerHierarchicalGraphImplTest {
+
+	private static final int bottom = 0;
+	private static final int top = 1;
+
+	public IntegerHierarchicalGraphImplTest() {
+	}
+
+	/**
+	 * Returns a transitively closed subsumer graph of random elements, where
+	 * cycles make equivalence classes.
+	 */
+	private IntegerSubsumerGraphImpl createRandomGraph(Random random, int size) {
+		int first = top + 1;
+		boolean[][] subsumes = new boolean[size][size];
+		for (int i = 0; i < size; i++) {
+			subsumes[i][i] = true;
+			for (int j = 0; j < size; j++) {
+				subsumes[i][j] |= random.nextInt(size) < 2;
+			}
+		}
+		for (int k = 0; k < size; k++) {
+			for (int i = 0; i < size; i++) {
+				for (int j = 0; j < size; j++) {
+					subsumes[i][j] |= subsumes[i][k] && subsumes[k][j];
+				}
+			}
+		}
+		IntegerSubsumerGraphImpl ret = new IntegerSubsumerGraphImpl(bottom, top);
+		ret.addAncestor(top, top);
+		for (int i = 0; i < size; i++) {
+			ret.addAncestor(first + i, top);
+			for (int j = 0; j < size; j++) {
+				if (subsumes[i][j]) {
+					ret.addAncestor(first + i, first + j);
+				}
+			}
+		}
+		return ret;
+	}
+
+	private Set<Integer> set(Integer... elements) {
+		return new HashSet<>(Arrays.asList(elements));
+	}
+
+	@Test
+	public void testDeepChain() {
+		int depth = 0x800;
+		int first = top + 1;
+		IntegerSubsumerGraphImpl graph = new IntegerSubsumerGraphImpl(bottom, top);
+		graph.addAncestor(top, top);
+		IntStream.range(first, first + depth).forEach(elem -> {
+			graph.addAncestor(elem, top);
+			IntStream.rangeClosed(first, elem).forEach(subsumer -> graph.addAncestor(elem, subsumer));
+		});
+		IntegerHierarchicalGraphImpl hierarchy = new IntegerHierarchicalGraphImpl(graph);
+		Assertions.assertEquals(set(top), hierarchy.getParents(first));
+		Assertions.assertEquals(set(first), hierarchy.getParents(first + 1));
+		Assertions.assertEquals(set(first + depth - 2), hierarchy.getParents(first + depth - 1));
+		Assertions.assertEquals(set(bottom), hierarchy.getChildren(first + depth - 1));
+	}
+
+	@Test
+	public void testDiamondWithEquivalents() {
+		IntegerSubsumerGraphImpl graph = new IntegerSubsumerGraphImpl(bottom, top);
+		graph.addAncestor(top, top);
+		IntStream.rangeClosed(2, 6).forEach(elem -> {
+			graph.addAncestor(elem, elem);
+			graph.addAncestor(elem, top);
+		});
+		graph.addAncestor(3, 2);
+		graph.addAncestor(4, 2);
+		graph.addAncestor(5, 2);
+		graph.addAncestor(5, 3);
+		graph.addAncestor(5, 4);
+		graph.addAncestor(5, 6);
+		graph.addAncestor(6, 2);
+		graph.addAncestor(6, 3);
+		graph.addAncestor(6, 4);
+		graph.addAncestor(6, 5);
+
+		IntegerHierarchicalGraphImpl hierarchy = new IntegerHierarchicalGraphImpl(graph);
+		IntegerHierarchicalGraphImpl parallelHierarchy = new IntegerHierarchicalGraphImpl(graph, true);
+		Assertions.assertEquals(hierarchy, parallelHierarchy);
+		Assertions.assertEquals(set(top), hierarchy.getParents(2));
+		Assertions.assertEquals(set(2), hierarchy.getParents(3));
+		Assertions.assertEquals(set(3, 4), hierarchy.getParents(5));
+		Assertions.assertEquals(set(5, 6), hierarchy.getEquivalents(6));
+		Assertions.assertEquals(set(5, 6), hierarchy.getChildren(4));
+		Assertions.assertEquals(set(bottom), hierarchy.getChildren(5));
+	}
+
+	@Test
+	public void testNonReflexiveSubsumers() {
+		IntegerSubsumerGraphImpl graph = new IntegerSubsumerGraphImpl(bottom, top);
+		graph.add(top);
+		IntStream.rangeClosed(2, 4).forEach(elem -> graph.addAncestor(elem, top));
+		graph.addAncestor(3, 2);
+		graph.addAncestor(4, 2);
+		graph.addAncestor(4, 3);
+
+		IntegerHierarchicalGraphImpl hierarchy = new IntegerHierarchicalGraphImpl(graph);
+		Assertions.assertEquals(set(top), hierarchy.getParents(2));
+		Assertions.assertEquals(set(2), hierarchy.getParents(3));
+		Assertions.assertEquals(set(3), hierarchy.getParents(4));
+		Assertions.assertEquals(set(bottom), hierarchy.getChildren(4));
+	}
+
+	@Test
+	public void testRestrictRandomGraphs() {
+		Random random = new Random(38);
+		int restricted = 0;
+		for (int round = 0; round < 200; round++) {
+			IntegerSubsumerGraphImpl graph = createRandomGraph(random, 12);
+			Set<Integer> removed = new HashSet<>();
+			graph.getElements().stream().filter(elem -> elem > top && random.nextInt(4) == 0)
+					.forEach(removed::add);
+			IntPredicate filter = elem -> !removed.contains(elem);
+
+			Optional<IntegerHierarchicalGraphImpl> optHierarchy = new IntegerHierarchicalGraphImpl(graph)
+					.restrict(filter);
+			if (optHierarchy.isPresent()) {
+				restricted++;
+				Assertions.assertEquals(new IntegerHierarchicalGraphImpl(graph, filter, false), optHierarchy.get());
+			}
+		}
+		Assertions.assertTrue(restricted > 0);
+	}
+
+	@Test
+	public void testRestrictWithFilteredEquivalents() {
+		IntegerSubsumerGraphImpl graph = new IntegerSubsumerGraphImpl(bottom, top);
+		graph.addAncestor(top, top);
+		IntStream.rangeClosed(2, 7).forEach(elem -> {
+			graph.addAncestor(elem, elem);
+			graph.addAncestor(elem, top);
+		});
+		graph.addAncestor(3, 2);
+		graph.addAncestor(4, 2);
+		graph.addAncestor(4, 5);
+		graph.addAncestor(5, 2);
+		graph.addAncestor(5, 4);
+		graph.addAncestor(6, 2);
+		graph.addAncestor(6, 4);
+		graph.addAncestor(6, 5);
+		graph.addAncestor(7, 2);
+		graph.addAncestor(7, 3);
+
+		IntPredicate filter = elem -> elem != 4 && elem != 7;
+		IntegerHierarchicalGraphImpl hierarchy = new IntegerHierarchicalGraphImpl(graph);
+		Optional<IntegerHierarchicalGraphImpl> optRestricted = hierarchy.restrict(filter);
+		Assertions.assertTrue(optRestricted.isPresent());
+		IntegerHierarchicalGraphImpl restricted = optRestricted.get();
+		Assertions.assertEquals(new IntegerHierarchicalGraphImpl(graph, filter, false), restricted);
+		Assertions.assertEquals(set(5), restricted.getEquivalents(5));
+		Assertions.assertEquals(set(2), restricted.getParents(5));
+		Assertions.assertEquals(set(5), restricted.getParents(6));
+		Assertions.assertEquals(set(bottom), restricted.getChildren(3));
+	}
+
+	@Test
+	public void testRestrictWithoutParents() {
+		IntegerSubsumerGraphImpl graph = new IntegerSubsumerGraphImpl(bottom, top);
+		graph.addAncestor(top, top);
+		IntStream.rangeClosed(2, 4).forEach(elem -> {
+			graph.addAncestor(elem, elem);
+			graph.addAncestor(elem, top);
+		});
+		graph.addAncestor(3, 2);
+		graph.addAncestor(4, 2);
+		graph.addAncestor(4, 3);
+
+		Assertions.assertFalse(new IntegerHierarchicalGraphImpl(graph).restrict(elem -> elem != 3).isPresent());
+	}
+
+}
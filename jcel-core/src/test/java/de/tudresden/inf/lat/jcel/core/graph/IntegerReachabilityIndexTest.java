@@ -0,0 +1,136 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the reachability index of hierarchical graphs.
+ * 
+ * @author Julian Mendez
+ */
+public class IntegerReachabilityIndexTest {
+
+	private static final int bottom = 0;
+	private static final int top = 1;
+
+	public IntegerReachabilityIndexTest() {
+	}
+
+	private void assertSameReachability(IntegerHierarchicalGraph graph) {
+		IntegerReachabilityIndex index = new IntegerReachabilityIndex(graph);
+		graph.getElements().forEach(elem -> {
+			Set<Integer> descendants = graph.getDescendants(elem);
+			Set<Integer> ancestors = graph.getAncestors(elem);
+			Assertions.assertEquals(descendants, new TreeSet<>(index.getDescendants(elem)));
+			Assertions.assertEquals(ancestors, new TreeSet<>(index.getAncestors(elem)));
+			Assertions.assertEquals(descendants.size(), index.getDescendants(elem).size());
+			Assertions.assertEquals(ancestors.size(), index.getAncestors(elem).size());
+			graph.getElements().forEach(other -> {
+				Assertions.assertEquals(descendants.contains(other), index.isAncestor(elem, other));
+				Assertions.assertEquals(descendants.contains(other), index.getDescendants(elem).contains(other));
+				Assertions.assertEquals(ancestors.contains(other), index.getAncestors(elem).contains(other));
+			});
+		});
+	}
+
+	/**
+	 * Creates a subsumer graph from a random directed acyclic graph, where some
+	 * vertices are made equivalent.
+	 */
+	private IntegerSubsumerGraphImpl createRandomGraph(Random random, int size) {
+		IntegerSubsumerGraphImpl ret = new IntegerSubsumerGraphImpl(bottom, top);
+		int first = top + 1;
+		IntStream.range(first, first + size).forEach(elem -> {
+			Set<Integer> subsumers = new HashSet<>();
+			subsumers.add(elem);
+			subsumers.add(top);
+			if (elem > first) {
+				IntStream.range(0, random.nextInt(3)).forEach(i -> {
+					int parent = first + random.nextInt(elem - first);
+					subsumers.addAll(ret.getSubsumers(parent));
+				});
+			}
+			subsumers.forEach(subsumer -> ret.addAncestor(elem, subsumer));
+		});
+		IntStream.range(first, first + size).filter(elem -> random.nextInt(8) == 0).forEach(elem -> {
+			int equivalent = first + size + elem;
+			ret.getSubsumers(elem).forEach(subsumer -> ret.addAncestor(equivalent, subsumer));
+			ret.addAncestor(equivalent, equivalent);
+			IntStream.range(first, first + size).filter(other -> ret.containsPair(other, elem))
+					.forEach(other -> ret.addAncestor(other, equivalent));
+		});
+		return ret;
+	}
+
+	@Test
+	public void testRandomGraphs() {
+		Random random = new Random(0x2A);
+		IntStream.range(0, 0x10).forEach(i -> {
+			IntegerSubsumerGraphImpl subsumerGraph = createRandomGraph(random, 0x40);
+			assertSameReachability(new IntegerHierarchicalGraphImpl(subsumerGraph));
+		});
+	}
+
+	@Test
+	public void testTrivialGraph() {
+		IntegerHierarchicalGraph graph = new IntegerHierarchicalGraphImpl(
+				new IntegerSubsumerGraphImpl(bottom, top));
+		assertSameReachability(graph);
+		IntegerReachabilityIndex index = new IntegerReachabilityIndex(graph);
+		Assertions.assertTrue(index.isAncestor(top, bottom));
+		Assertions.assertFalse(index.isAncestor(bottom, top));
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the transitive closure of subsumer graphs.
+ * 
+ * @author Julian Mendez
+ */
+public class IntegerTransitiveClosureTest {
+
+	private static final int bottom = 0;
+	private static final int top = 1;
+
+	public IntegerTransitiveClosureTest() {
+	}
+
+	/**
+	 * Returns the reflexive transitive closure computed by iterating to a
+	 * fixed point.
+	 */
+	private IntegerSubsumerGraphImpl closeByFixedPoint(IntegerSubsumerGraphImpl graph) {
+		IntegerSubsumerGraphImpl ret = new IntegerSubsumerGraphImpl(bottom, top);
+		graph.getElements().forEach(elem -> graph.getSubsumers(elem).forEach(subsumer -> {
+			ret.addAncestor(elem, subsumer);
+		}));
+		boolean hasChanged = true;
+		while (hasChanged) {
+			hasChanged = false;
+			for (Integer elem : new HashSet<>(ret.getElements())) {
+				Set<Integer> allSubsumers = new HashSet<>();
+				allSubsumers.add(elem);
+				ret.getSubsumers(elem).forEach(other -> allSubsumers.addAll(ret.getSubsumers(other)));
+				for (Integer subsumer : allSubsumers) {
+					hasChanged |= ret.addAncestor(elem, subsumer);
+				}
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Creates a subsumer graph with random edges, including cycles.
+	 */
+	private IntegerSubsumerGraphImpl createRandomGraph(Random random, int size) {
+		IntegerSubsumerGraphImpl ret = new IntegerSubsumerGraphImpl(bottom, top);
+		int first = top + 1;
+		IntStream.range(first, first + size).forEach(elem -> {
+			ret.addAncestor(elem, top);
+			IntStream.range(0, random.nextInt(3))
+					.forEach(i -> ret.addAncestor(elem, first + random.nextInt(size)));
+		});
+		return ret;
+	}
+
+	@Test
+	public void testCycle() {
+		IntegerSubsumerBidirectionalGraphImpl graph = new IntegerSubsumerBidirectionalGraphImpl(bottom, top);
+		graph.addAncestor(2, 3);
+		graph.addAncestor(3, 4);
+		graph.addAncestor(4, 2);
+		graph.addAncestor(4, 5);
+		IntegerTransitiveClosure closure = new IntegerTransitiveClosure(graph);
+		Set<Integer> expected = new HashSet<>();
+		IntStream.rangeClosed(2, 5).forEach(elem -> expected.add(elem));
+		Assertions.assertEquals(expected, closure.getSubsumers(2));
+		Assertions.assertEquals(expected, closure.getSubsumers(3));
+		Assertions.assertEquals(expected, closure.getSubsumers(4));
+		Assertions.assertEquals(1, closure.getSubsumers(5).size());
+		Assertions.assertFalse(closure.containsPair(5, 2));
+	}
+
+	@Test
+	public void testRandomGraphs() {
+		Random random = new Random(0x2A);
+		IntStream.range(0, 0x10).forEach(i -> {
+			IntegerSubsumerGraphImpl graph = createRandomGraph(random, 0x40);
+			IntegerSubsumerGraphImpl expected = closeByFixedPoint(graph);
+			IntegerTransitiveClosure closure = new IntegerTransitiveClosure(graph);
+			expected.getElements().forEach(elem -> {
+				Assertions.assertEquals(new HashSet<>(expected.getSubsumers(elem)), closure.getSubsumers(elem));
+				expected.getElements().forEach(other -> Assertions
+						.assertEquals(expected.containsPair(elem, other), closure.containsPair(elem, other)));
+			});
+		});
+	}
+
+}
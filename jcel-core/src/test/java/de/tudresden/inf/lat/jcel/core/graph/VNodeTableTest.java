@@ -0,0 +1,127 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.core.graph;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the hash-consing table of nodes.
+ * 
+ * @author Julian Mendez
+ */
+public class VNodeTableTest {
+
+	private static final int a = 10;
+	private static final int b = 11;
+	private static final int c = 12;
+	private static final int r = 20;
+	private static final int s = 21;
+	private static final int top = 1;
+
+	public VNodeTableTest() {
+	}
+
+	@Test
+	public void testCanonicalForm() {
+		VNodeImpl first = new VNodeImpl(a);
+		first.addExistential(s, c);
+		first.addExistential(r, b);
+		VNodeImpl second = new VNodeImpl(a);
+		second.addExistential(r, b);
+		second.addExistential(s, c);
+		second.addExistential(r, b);
+		Assertions.assertEquals(first, second);
+		Assertions.assertEquals(first.hashCode(), second.hashCode());
+		Assertions.assertTrue(first.containsExistential(r, b));
+		Assertions.assertFalse(first.containsExistential(r, c));
+		Assertions.assertEquals(2, first.getExistentialEntries().size());
+	}
+
+	@Test
+	public void testProbing() {
+		VNodeTable table = new VNodeTable();
+		VNodeImpl node = new VNodeImpl(a);
+		table.add(node, a);
+		VNodeImpl nodeWithR = new VNodeImpl(a);
+		nodeWithR.addExistential(r, b);
+		table.add(nodeWithR, 100);
+		VNodeImpl topWithS = new VNodeImpl(top);
+		topWithS.addExistential(s, c);
+		table.add(topWithS, 101);
+		VNodeImpl topWithRS = new VNodeImpl(top);
+		topWithRS.addExistential(r, b);
+		topWithRS.addExistential(s, c);
+		table.add(topWithRS, 102);
+
+		Assertions.assertEquals(a, table.get(new VNodeImpl(a)));
+		Assertions.assertEquals(VNodeTable.notFound, table.get(new VNodeImpl(b)));
+		Assertions.assertEquals(100, table.getWithExistential(node, r, b));
+		Assertions.assertEquals(100, table.getWithExistential(nodeWithR, r, b));
+		Assertions.assertEquals(VNodeTable.notFound, table.getWithExistential(node, s, c));
+		Assertions.assertEquals(102, table.getUnion(top, nodeWithR, topWithS));
+		Assertions.assertEquals(101, table.getUnion(top, topWithS, topWithS));
+		Assertions.assertEquals(VNodeTable.notFound, table.getUnion(a, nodeWithR, topWithS));
+		Assertions.assertEquals(4, table.size());
+	}
+
+	@Test
+	public void testResize() {
+		VNodeTable table = new VNodeTable();
+		for (int index = 0; index < 0x1000; index++) {
+			VNodeImpl node = new VNodeImpl(top);
+			node.addExistential(r, index);
+			table.add(node, index);
+		}
+		VNodeImpl topNode = new VNodeImpl(top);
+		for (int index = 0; index < 0x1000; index++) {
+			Assertions.assertEquals(index, table.getWithExistential(topNode, r, index));
+		}
+		Assertions.assertEquals(VNodeTable.notFound, table.getWithExistential(topNode, s, 0));
+	}
+
+}
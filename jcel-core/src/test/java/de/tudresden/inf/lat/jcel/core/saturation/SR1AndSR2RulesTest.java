@@ -0,0 +1,201 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.core.saturation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotationImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiomFactoryImpl;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.RI2Axiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManagerImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+
+/**
+ * Test class for {@link SR1AndSR2Rules}.
+ * 
+ * @author Julian Mendez
+ */
+public class SR1AndSR2RulesTest {
+
+	private final Set<IntegerAnnotation> noAnnotations = Collections.emptySet();
+	private final IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+	private final NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+
+	/**
+	 * Constructs a new test class for rules SR-1 and SR-2.
+	 */
+	public SR1AndSR2RulesTest() {
+	}
+
+	private Set<IntegerAnnotation> annotations(int... values) {
+		Set<IntegerAnnotation> ret = new TreeSet<>();
+		for (int value : values) {
+			ret.add(new IntegerAnnotationImpl(0, value));
+		}
+		return ret;
+	}
+
+	private int createProperty(String name) {
+		return this.entityManager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, name, false);
+	}
+
+	private Set<RI2Axiom> getRI2Axioms(Set<NormalizedIntegerAxiom> axioms, int subProperty, int superProperty) {
+		Set<RI2Axiom> ret = new HashSet<>();
+		axioms.stream().filter(axiom -> axiom instanceof RI2Axiom).map(axiom -> (RI2Axiom) axiom)
+				.filter(axiom -> axiom.getSubProperty() == subProperty && axiom.getSuperProperty() == superProperty)
+				.forEach(ret::add);
+		return ret;
+	}
+
+	/**
+	 * Applies SR-1 and SR-2 to all pairs of axioms until nothing new is
+	 * found. The axioms must not have annotations.
+	 */
+	private Set<NormalizedIntegerAxiom> saturateNaively(Set<NormalizedIntegerAxiom> axioms) {
+		Set<NormalizedIntegerAxiom> ret = new HashSet<>(axioms);
+		boolean changed = true;
+		while (changed) {
+			List<RI2Axiom> ri2Axioms = new ArrayList<>();
+			ret.stream().filter(axiom -> axiom instanceof RI2Axiom).forEach(axiom -> ri2Axioms.add((RI2Axiom) axiom));
+			Set<NormalizedIntegerAxiom> newAxioms = new HashSet<>();
+			for (RI2Axiom left : ri2Axioms) {
+				newAxioms.add(this.factory.createRI2Axiom(
+						this.entityManager.createOrGetInverseObjectPropertyOf(left.getSubProperty()),
+						this.entityManager.createOrGetInverseObjectPropertyOf(left.getSuperProperty()),
+						this.noAnnotations));
+				for (RI2Axiom right : ri2Axioms) {
+					if (left.getSuperProperty() == right.getSubProperty()) {
+						newAxioms.add(this.factory.createRI2Axiom(left.getSubProperty(), right.getSuperProperty(),
+								this.noAnnotations));
+					}
+				}
+			}
+			changed = ret.addAll(newAxioms);
+		}
+		return ret;
+	}
+
+	@Test
+	public void testAnnotationsOfComposedAxioms() {
+		int r = createProperty("r");
+		int s = createProperty("s");
+		int t = createProperty("t");
+		int u = createProperty("u");
+		int v = createProperty("v");
+		int w = createProperty("w");
+		int p = createProperty("p");
+		int q = createProperty("q");
+		int o = createProperty("o");
+
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		axioms.add(this.factory.createRI2Axiom(r, s, annotations(1)));
+		axioms.add(this.factory.createRI2Axiom(s, t, annotations(2)));
+		axioms.add(this.factory.createRI2Axiom(u, v, annotations(1)));
+		axioms.add(this.factory.createRI2Axiom(v, w, annotations(1)));
+		axioms.add(this.factory.createRI2Axiom(p, q, this.noAnnotations));
+		axioms.add(this.factory.createRI2Axiom(q, o, annotations(3)));
+
+		Set<NormalizedIntegerAxiom> result = new SR1AndSR2Rules(this.factory, this.entityManager).apply(axioms);
+
+		Set<RI2Axiom> expected = new HashSet<>();
+		expected.add(this.factory.createRI2Axiom(r, t, annotations(1, 2)));
+		Assertions.assertEquals(expected, getRI2Axioms(result, r, t));
+
+		expected.clear();
+		expected.add(this.factory.createRI2Axiom(u, w, annotations(1)));
+		Assertions.assertEquals(expected, getRI2Axioms(result, u, w));
+
+		expected.clear();
+		expected.add(this.factory.createRI2Axiom(p, o, annotations(3)));
+		Assertions.assertEquals(expected, getRI2Axioms(result, p, o));
+	}
+
+	/**
+	 * The chain r<sub>0</sub> \u2291 r<sub>1</sub> \u2291 ... \u2291
+	 * r<sub>9</sub> with the cycle r<sub>9</sub> \u2291 r<sub>5</sub> and
+	 * the branch b \u2291 r<sub>2</sub> needs several rounds to be
+	 * saturated.
+	 */
+	@Test
+	public void testSaturationOfChain() {
+		int length = 10;
+		int[] r = new int[length];
+		for (int i = 0; i < length; i++) {
+			r[i] = createProperty("r" + i);
+		}
+		int b = createProperty("b");
+
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		for (int i = 1; i < length; i++) {
+			axioms.add(this.factory.createRI2Axiom(r[i - 1], r[i], this.noAnnotations));
+		}
+		axioms.add(this.factory.createRI2Axiom(r[length - 1], r[5], this.noAnnotations));
+		axioms.add(this.factory.createRI2Axiom(b, r[2], this.noAnnotations));
+		axioms.add(this.factory.createRI3Axiom(r[0], r[1], r[2], this.noAnnotations));
+
+		Set<NormalizedIntegerAxiom> expected = saturateNaively(axioms);
+		Set<NormalizedIntegerAxiom> actual = new SR1AndSR2Rules(this.factory, this.entityManager).apply(axioms);
+		Assertions.assertEquals(expected, actual);
+		Assertions.assertEquals(1, getRI2Axioms(actual, r[0], r[length - 1]).size());
+		Assertions.assertEquals(1, getRI2Axioms(actual, r[length - 1], r[length - 1]).size());
+		Assertions.assertEquals(1, getRI2Axioms(actual, b, r[length - 1]).size());
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.coreontology.axiom;
+
+import java.util.Arrays;
+
+/**
+ * An immutable index of pairs of integers by an integer key, stored in
+ * compressed sparse row layout. The pairs of each key are stored one after the
+ * other in two packed arrays, sorted by their first and second components,
+ * and an array of offsets gives the position of the first pair of each key.
+ * The pairs of a key are visited with primitive accessors:
+ * 
+ * <pre>
+ * for (int i = index.getStart(key), end = index.getEnd(key); i &lt; end; i++) {
+ * 	int first = index.getFirst(i);
+ * 	int second = index.getSecond(i);
+ * }
+ * </pre>
+ * 
+ * @author Julian Mendez
+ */
+public class CompactAxiomIndex {
+
+	private final int[] first;
+	private final int[] offset;
+	private final int[] second;
+
+	/**
+	 * Constructs a new index. Repeated triples are stored once.
+	 * 
+	 * @param keys
+	 *            keys, which must not be negative
+	 * @param firsts
+	 *            first components
+	 * @param seconds
+	 *            second components
+	 * @param size
+	 *            number of triples
+	 */
+	CompactAxiomIndex(int[] keys, int[] firsts, int[] seconds, int size) {
+		int maxKey = -1;
+		for (int index = 0; index < size; index++) {
+			maxKey = Math.max(maxKey, keys[index]);
+		}
+		int[] count = new int[maxKey + 2];
+		for (int index = 0; index < size; index++) {
+			count[keys[index] + 1]++;
+		}
+		for (int key = 0; key <= maxKey; key++) {
+			count[key + 1] += count[key];
+		}
+		long[] pairs = new long[size];
+		int[] next = Arrays.copyOf(count, count.length);
+		for (int index = 0; index < size; index++) {
+			pairs[next[keys[index]]] = (((long) firsts[index]) << 32) | (seconds[index] & 0xFFFFFFFFL);
+			next[keys[index]]++;
+		}
+
+		this.offset = new int[maxKey + 2];
+		int[] newFirst = new int[size];
+		int[] newSecond = new int[size];
+		int newSize = 0;
+		for (int key = 0; key <= maxKey; key++) {
+			this.offset[key] = newSize;
+			Arrays.sort(pairs, count[key], count[key + 1]);
+			for (int index = count[key]; index < count[key + 1]; index++) {
+				if (index == count[key] || pairs[index] != pairs[index - 1]) {
+					newFirst[newSize] = (int) (pairs[index] >> 32);
+					newSecond[newSize] = (int) pairs[index];
+					newSize++;
+				}
+			}
+		}
+		this.offset[maxKey + 1] = newSize;
+		this.first = Arrays.copyOf(newFirst, newSize);
+		this.second = Arrays.copyOf(newSecond, newSize);
+	}
+
+	/**
+	 * Returns the position after the last pair of a key.
+	 * 
+	 * @param key
+	 *            key
+	 * @return the position after the last pair of a key
+	 */
+	public int getEnd(int key) {
+		return (key >= 0 && key < this.offset.length - 1) ? this.offset[key + 1] : 0;
+	}
+
+	/**
+	 * Returns the position after the last pair of a key with the given first
+	 * component.
+	 * 
+	 * @param key
+	 *            key
+	 * @param firstComponent
+	 *            first component
+	 * @return the position after the last pair of a key with the given first
+	 *         component
+	 */
+	public int getEnd(int key, int firstComponent) {
+		return search(getStart(key), getEnd(key), firstComponent + 1L);
+	}
+
+	/**
+	 * Returns the first component of the pair at the given position.
+	 * 
+	 * @param position
+	 *            position
+	 * @return the first component of the pair at the given position
+	 */
+	public int getFirst(int position) {
+		return this.first[position];
+	}
+
+	/**
+	 * Returns the second component of the pair at the given position.
+	 * 
+	 * @param position
+	 *            position
+	 * @return the second component of the pair at the given position
+	 */
+	public int getSecond(int position) {
+		return this.second[position];
+	}
+
+	/**
+	 * Returns the position of the first pair of a key.
+	 * 
+	 * @param key
+	 *            key
+	 * @return the position of the first pair of a key
+	 */
+	public int getStart(int key) {
+		return (key >= 0 && key < this.offset.length - 1) ? this.offset[key] : 0;
+	}
+
+	/**
+	 * Returns the position of the first pair of a key with the given first
+	 * component.
+	 * 
+	 * @param key
+	 *            key
+	 * @param firstComponent
+	 *            first component
+	 * @return the position of the first pair of a key with the given first
+	 *         component
+	 */
+	public int getStart(int key, int firstComponent) {
+		return search(getStart(key), getEnd(key), firstComponent);
+	}
+
+	/**
+	 * Tells whether a key has no pairs.
+	 * 
+	 * @param key
+	 *            key
+	 * @return <code>true</code> if and only if the key has no pairs
+	 */
+	public boolean isEmpty(int key) {
+		return getStart(key) == getEnd(key);
+	}
+
+	/**
+	 * Returns the first position in a range whose first component is not less
+	 * than the given value.
+	 */
+	private int search(int start, int end, long value) {
+		int low = start;
+		int high = end;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.first[middle] < value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the number of pairs.
+	 * 
+	 * @return the number of pairs
+	 */
+	public int size() {
+		return this.first.length;
+	}
+
+	@Override
+	public String toString() {
+		return "[keys: " + (this.offset.length - 1) + ", pairs: " + size() + "]";
+	}
+
+}
@@ -0,0 +1,246 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.coreontology.axiom;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * An immutable copy of an {@link ExtendedOntology}, frozen after the ontology
+ * has been loaded. The axioms are stored in indexes of primitive integers that
+ * can be traversed without creating iterators or boxing identifiers. Each
+ * index is a {@link CompactAxiomIndex} whose key is the identifier used to look
+ * up the axioms in the extended ontology.
+ * 
+ * @author Julian Mendez
+ */
+public class CompactExtendedOntology {
+
+	/**
+	 * Growable arrays of triples used to build an index.
+	 */
+	private static class TripleBuffer {
+
+		private int[] firsts = new int[initialCapacity];
+		private int[] keys = new int[initialCapacity];
+		private int[] seconds = new int[initialCapacity];
+		private int size = 0;
+
+		void add(int key, int first, int second) {
+			if (this.size == this.keys.length) {
+				int newLength = 2 * this.size;
+				this.keys = Arrays.copyOf(this.keys, newLength);
+				this.firsts = Arrays.copyOf(this.firsts, newLength);
+				this.seconds = Arrays.copyOf(this.seconds, newLength);
+			}
+			this.keys[this.size] = key;
+			this.firsts[this.size] = first;
+			this.seconds[this.size] = second;
+			this.size++;
+		}
+
+		CompactAxiomIndex build() {
+			return new CompactAxiomIndex(this.keys, this.firsts, this.seconds, this.size);
+		}
+
+	}
+
+	private static final int initialCapacity = 0x10;
+
+	private final BitSet functionalObjectProperties = new BitSet();
+	private final CompactAxiomIndex gci0Index;
+	private final CompactAxiomIndex gci1Index;
+	private final CompactAxiomIndex gci2Index;
+	private final CompactAxiomIndex gci3AIndex;
+	private final CompactAxiomIndex gci3rAIndex;
+	private final CompactAxiomIndex ri2rIndex;
+	private final BitSet transitiveObjectProperties = new BitSet();
+
+	/**
+	 * Constructs a frozen copy of the given extended ontology. Later changes to
+	 * the extended ontology are not reflected in this copy.
+	 * 
+	 * @param ontology
+	 *            extended ontology
+	 */
+	public CompactExtendedOntology(ExtendedOntology ontology) {
+		Objects.requireNonNull(ontology);
+
+		TripleBuffer gci0 = new TripleBuffer();
+		TripleBuffer gci1 = new TripleBuffer();
+		TripleBuffer gci2 = new TripleBuffer();
+		TripleBuffer gci3A = new TripleBuffer();
+		ontology.getClassSet().forEach(classId -> {
+			ontology.getGCI0Axioms(classId).forEach(axiom -> gci0.add(classId, axiom.getSuperClass(), 0));
+			ontology.getGCI1Axioms(classId).forEach(axiom -> {
+				int other = (axiom.getLeftSubClass() == classId) ? axiom.getRightSubClass() : axiom.getLeftSubClass();
+				gci1.add(classId, other, axiom.getSuperClass());
+			});
+			ontology.getGCI2Axioms(classId).forEach(
+					axiom -> gci2.add(classId, axiom.getPropertyInSuperClass(), axiom.getClassInSuperClass()));
+			ontology.getGCI3AAxioms(classId)
+					.forEach(axiom -> gci3A.add(classId, axiom.getPropertyInSubClass(), axiom.getSuperClass()));
+		});
+
+		TripleBuffer gci3rA = new TripleBuffer();
+		TripleBuffer ri2r = new TripleBuffer();
+		ontology.getObjectPropertySet().forEach(propertyId -> {
+			ontology.getGCI3rAxioms(propertyId)
+					.forEach(axiom -> gci3rA.add(propertyId, axiom.getClassInSubClass(), axiom.getSuperClass()));
+			ontology.getRI2rAxioms(propertyId).forEach(axiom -> ri2r.add(propertyId, axiom.getSuperProperty(), 0));
+		});
+
+		this.gci0Index = gci0.build();
+		this.gci1Index = gci1.build();
+		this.gci2Index = gci2.build();
+		this.gci3AIndex = gci3A.build();
+		this.gci3rAIndex = gci3rA.build();
+		this.ri2rIndex = ri2r.build();
+		ontology.getFunctionalObjectProperties().forEach(this.functionalObjectProperties::set);
+		ontology.getTransitiveObjectProperties().forEach(this.transitiveObjectProperties::set);
+	}
+
+	/**
+	 * Returns the index of axioms GCI0. The key is the subclass, and the first
+	 * component of each pair is the superclass.
+	 * 
+	 * @return the index of axioms GCI0
+	 */
+	public CompactAxiomIndex getGCI0Index() {
+		return this.gci0Index;
+	}
+
+	/**
+	 * Returns the index of axioms GCI1. Each axiom is stored under both
+	 * operands of its left part. The first component of each pair is the other
+	 * operand, and the second component is the superclass.
+	 * 
+	 * @return the index of axioms GCI1
+	 */
+	public CompactAxiomIndex getGCI1Index() {
+		return this.gci1Index;
+	}
+
+	/**
+	 * Returns the index of axioms GCI2. The key is the subclass, the first
+	 * component of each pair is the object property in the superclass, and the
+	 * second component is the class in the superclass.
+	 * 
+	 * @return the index of axioms GCI2
+	 */
+	public CompactAxiomIndex getGCI2Index() {
+		return this.gci2Index;
+	}
+
+	/**
+	 * Returns the index of axioms GCI3 by class. The key is the class in the
+	 * subclass, the first component of each pair is the object property in the
+	 * subclass, and the second component is the superclass.
+	 * 
+	 * @return the index of axioms GCI3 by class
+	 */
+	public CompactAxiomIndex getGCI3AIndex() {
+		return this.gci3AIndex;
+	}
+
+	/**
+	 * Returns the index of axioms GCI3 by object property. The key is the
+	 * object property in the subclass, the first component of each pair is the
+	 * class in the subclass, and the second component is the superclass. The
+	 * axioms for a given object property and class are found with
+	 * {@link CompactAxiomIndex#getStart(int, int)} and
+	 * {@link CompactAxiomIndex#getEnd(int, int)}.
+	 * 
+	 * @return the index of axioms GCI3 by object property
+	 */
+	public CompactAxiomIndex getGCI3rAIndex() {
+		return this.gci3rAIndex;
+	}
+
+	/**
+	 * Returns the index of axioms RI2. The key is the subproperty, and the
+	 * first component of each pair is the superproperty.
+	 * 
+	 * @return the index of axioms RI2
+	 */
+	public CompactAxiomIndex getRI2rIndex() {
+		return this.ri2rIndex;
+	}
+
+	/**
+	 * Tells whether the given object property is functional.
+	 * 
+	 * @param objectPropertyId
+	 *            object property identifier
+	 * @return <code>true</code> if and only if the given object property is
+	 *         functional
+	 */
+	public boolean isFunctionalObjectProperty(int objectPropertyId) {
+		return objectPropertyId >= 0 && this.functionalObjectProperties.get(objectPropertyId);
+	}
+
+	/**
+	 * Tells whether the given object property is transitive.
+	 * 
+	 * @param objectPropertyId
+	 *            object property identifier
+	 * @return <code>true</code> if and only if the given object property is
+	 *         transitive
+	 */
+	public boolean isTransitiveObjectProperty(int objectPropertyId) {
+		return objectPropertyId >= 0 && this.transitiveObjectProperties.get(objectPropertyId);
+	}
+
+	@Override
+	public String toString() {
+		return "[GCI0: " + this.gci0Index.size() + ", GCI1: " + this.gci1Index.size() + ", GCI2: "
+				+ this.gci2Index.size() + ", GCI3: " + this.gci3rAIndex.size() + ", RI2: " + this.ri2rIndex.size()
+				+ "]";
+	}
+
+}
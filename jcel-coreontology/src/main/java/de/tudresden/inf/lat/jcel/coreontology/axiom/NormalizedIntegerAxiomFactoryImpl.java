@@ -46,80 +46,142 @@
 
 package de.tudresden.inf.lat.jcel.coreontology.axiom;
 
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
- * An object of this class is a factory to create any normalized axiom.
+ * An object of this class is a factory to create any normalized axiom. The
+ * factory returns the same instance for equal axioms, and empty annotation
+ * sets are replaced by a shared empty set. The table of axioms only keeps weak
+ * references, so an axiom is removed from it once it is not used anymore. In
+ * lean mode, the annotations are dropped, since the classification does not
+ * use them.
  * 
  * @author Julian Mendez
  */
 public class NormalizedIntegerAxiomFactoryImpl implements NormalizedIntegerAxiomFactory {
 
+	private final Map<NormalizedIntegerAxiom, WeakReference<NormalizedIntegerAxiom>> axiomTable = new WeakHashMap<>();
+	private final boolean lean;
+
 	/**
-	 * Constructs a new normalized axiom factory.
+	 * Constructs a new normalized axiom factory that keeps the annotations.
 	 */
 	public NormalizedIntegerAxiomFactoryImpl() {
+		this(false);
+	}
+
+	/**
+	 * Constructs a new normalized axiom factory.
+	 * 
+	 * @param lean
+	 *            <code>true</code> if the annotations of the axioms are
+	 *            dropped
+	 */
+	public NormalizedIntegerAxiomFactoryImpl(boolean lean) {
+		this.lean = lean;
 	}
 
 	@Override
 	public FunctObjectPropAxiom createFunctObjectPropAxiom(int propertyId, Set<IntegerAnnotation> annotations) {
-		return new FunctObjectPropAxiomImpl(propertyId, annotations);
+		return intern(new FunctObjectPropAxiomImpl(propertyId, getAnnotations(annotations)));
 	}
 
 	@Override
 	public GCI0Axiom createGCI0Axiom(int subCl, int superCl, Set<IntegerAnnotation> annotations) {
-		return new GCI0AxiomImpl(subCl, superCl, annotations);
+		return intern(new GCI0AxiomImpl(subCl, superCl, getAnnotations(annotations)));
 	}
 
 	@Override
 	public GCI1Axiom createGCI1Axiom(int leftCl, int rightCl, int superCl, Set<IntegerAnnotation> annotations) {
-		return new GCI1AxiomImpl(leftCl, rightCl, superCl, annotations);
+		return intern(new GCI1AxiomImpl(leftCl, rightCl, superCl, getAnnotations(annotations)));
 	}
 
 	@Override
 	public GCI2Axiom createGCI2Axiom(int leftCl, int rightProp, int rightCl, Set<IntegerAnnotation> annotations) {
-		return new GCI2AxiomImpl(leftCl, rightProp, rightCl, annotations);
+		return intern(new GCI2AxiomImpl(leftCl, rightProp, rightCl, getAnnotations(annotations)));
 	}
 
 	@Override
 	public GCI3Axiom createGCI3Axiom(int leftProp, int leftCl, int rightCl, Set<IntegerAnnotation> annotations) {
-		return new GCI3AxiomImpl(leftProp, leftCl, rightCl, annotations);
+		return intern(new GCI3AxiomImpl(leftProp, leftCl, rightCl, getAnnotations(annotations)));
 	}
 
 	@Override
 	public NominalAxiom createNominalAxiom(int classId, int individualId, Set<IntegerAnnotation> annotations) {
-		return new NominalAxiomImpl(classId, individualId, annotations);
+		return intern(new NominalAxiomImpl(classId, individualId, getAnnotations(annotations)));
 	}
 
 	@Override
 	public RangeAxiom createRangeAxiom(int prop, int cl, Set<IntegerAnnotation> annotations) {
-		return new RangeAxiomImpl(prop, cl, annotations);
+		return intern(new RangeAxiomImpl(prop, cl, getAnnotations(annotations)));
 	}
 
 	@Override
 	public RI1Axiom createRI1Axiom(int prop, Set<IntegerAnnotation> annotations) {
-		return new RI1AxiomImpl(prop, annotations);
+		return intern(new RI1AxiomImpl(prop, getAnnotations(annotations)));
 	}
 
 	@Override
 	public RI2Axiom createRI2Axiom(int leftProp, int rightProp, Set<IntegerAnnotation> annotations) {
-		return new RI2AxiomImpl(leftProp, rightProp, annotations);
+		return intern(new RI2AxiomImpl(leftProp, rightProp, getAnnotations(annotations)));
 	}
 
 	@Override
 	public RI3Axiom createRI3Axiom(int leftLeftProp, int leftRightProp, int rightProp,
 			Set<IntegerAnnotation> annotations) {
-		return new RI3AxiomImpl(leftLeftProp, leftRightProp, rightProp, annotations);
+		return intern(new RI3AxiomImpl(leftLeftProp, leftRightProp, rightProp, getAnnotations(annotations)));
 	}
 
 	@Override
 	public boolean equals(Object obj) {
-		return (obj instanceof NormalizedIntegerAxiomFactoryImpl);
+		return (obj instanceof NormalizedIntegerAxiomFactoryImpl)
+				&& (this.lean == ((NormalizedIntegerAxiomFactoryImpl) obj).lean);
+	}
+
+	private Set<IntegerAnnotation> getAnnotations(Set<IntegerAnnotation> annotations) {
+		Objects.requireNonNull(annotations);
+		return (this.lean || annotations.isEmpty()) ? Collections.emptySet() : annotations;
+	}
+
+	/**
+	 * Returns the number of axioms in the table of axioms. Axioms that are not
+	 * used anymore can still be counted until they are garbage collected.
+	 * 
+	 * @return the number of axioms in the table of axioms
+	 */
+	public synchronized int getNumberOfInternedAxioms() {
+		return this.axiomTable.size();
 	}
 
 	@Override
 	public int hashCode() {
-		return getClass().hashCode();
+		return getClass().hashCode() + (this.lean ? 1 : 0);
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized <T extends NormalizedIntegerAxiom> T intern(T axiom) {
+		WeakReference<NormalizedIntegerAxiom> reference = this.axiomTable.get(axiom);
+		NormalizedIntegerAxiom ret = Objects.isNull(reference) ? null : reference.get();
+		if (Objects.isNull(ret)) {
+			this.axiomTable.put(axiom, new WeakReference<>(axiom));
+			ret = axiom;
+		}
+		return (T) ret;
+	}
+
+	/**
+	 * Tells whether this factory drops the annotations of the axioms.
+	 * 
+	 * @return <code>true</code> if and only if this factory drops the
+	 *         annotations of the axioms
+	 */
+	public boolean isLean() {
+		return this.lean;
 	}
 
 }
@@ -0,0 +1,764 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.coreontology.axiom;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManagerImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.OntologyExpressivity;
+import de.tudresden.inf.lat.jcel.coreontology.expressivity.ExpressivityName;
+
+/**
+ * An object of this class stores a {@link NormalizedOntologySnapshot} in a
+ * compact binary format, and restores it. The format starts with a magic
+ * number, a version number and a source fingerprint, followed by the
+ * expressivity, the entities, the classes and object properties of the
+ * original ontology, and the normalized axioms. All numbers are stored as
+ * big-endian integers.
+ * <p>
+ * The source fingerprint is a string chosen by the writer that identifies
+ * what the normalized ontology was computed from, for example the path, size
+ * and modification time of the ontology file and the identifiers of its
+ * imported ontologies. A reader that expects a different fingerprint gets a
+ * {@link SourceMismatchException}, and can compute the normalized ontology
+ * again.
+ * </p>
+ * <p>
+ * The entities are stored in the order of their identifiers, so that
+ * restoring them in an empty entity manager gives them the same identifiers.
+ * The names are split into a prefix and a local name, and each prefix is
+ * stored only once. The axioms are stored as a tag followed by their
+ * identifiers.
+ * </p>
+ * <p>
+ * A snapshot is written through a channel, and it is read from a byte buffer,
+ * which can be a memory-mapped file.
+ * </p>
+ *
+ * @author Julian Mendez
+ */
+public class NormalizedOntologySerializer {
+
+	/**
+	 * An object of this class encodes a normalized axiom as an array
+	 * containing its tag followed by its identifiers.
+	 */
+	private static class AxiomEncoder implements NormalizedIntegerAxiomVisitor<int[]> {
+
+		@Override
+		public int[] visit(FunctObjectPropAxiom axiom) {
+			return new int[] { functObjectPropTag, axiom.getProperty() };
+		}
+
+		@Override
+		public int[] visit(GCI0Axiom axiom) {
+			return new int[] { gci0Tag, axiom.getSubClass(), axiom.getSuperClass() };
+		}
+
+		@Override
+		public int[] visit(GCI1Axiom axiom) {
+			return new int[] { gci1Tag, axiom.getLeftSubClass(), axiom.getRightSubClass(), axiom.getSuperClass() };
+		}
+
+		@Override
+		public int[] visit(GCI2Axiom axiom) {
+			return new int[] { gci2Tag, axiom.getSubClass(), axiom.getPropertyInSuperClass(),
+					axiom.getClassInSuperClass() };
+		}
+
+		@Override
+		public int[] visit(GCI3Axiom axiom) {
+			return new int[] { gci3Tag, axiom.getPropertyInSubClass(), axiom.getClassInSubClass(),
+					axiom.getSuperClass() };
+		}
+
+		@Override
+		public int[] visit(NominalAxiom axiom) {
+			return new int[] { nominalTag, axiom.getClassExpression(), axiom.getIndividual() };
+		}
+
+		@Override
+		public int[] visit(RangeAxiom axiom) {
+			return new int[] { rangeTag, axiom.getProperty(), axiom.getRange() };
+		}
+
+		@Override
+		public int[] visit(RI1Axiom axiom) {
+			return new int[] { ri1Tag, axiom.getSuperProperty() };
+		}
+
+		@Override
+		public int[] visit(RI2Axiom axiom) {
+			return new int[] { ri2Tag, axiom.getSubProperty(), axiom.getSuperProperty() };
+		}
+
+		@Override
+		public int[] visit(RI3Axiom axiom) {
+			return new int[] { ri3Tag, axiom.getLeftSubProperty(), axiom.getRightSubProperty(),
+					axiom.getSuperProperty() };
+		}
+
+	}
+
+	/**
+	 * An object of this class is an ontology expressivity restored from its
+	 * flags.
+	 */
+	private static class StoredExpressivity implements OntologyExpressivity {
+
+		private final int flags;
+		private final String name;
+
+		StoredExpressivity(int flags) {
+			this.flags = flags;
+			this.name = (new ExpressivityName()).getName(this);
+		}
+
+		@Override
+		public boolean hasBottom() {
+			return isSet(bottomFlag);
+		}
+
+		@Override
+		public boolean hasDatatype() {
+			return isSet(datatypeFlag);
+		}
+
+		@Override
+		public boolean hasFunctionalObjectProperty() {
+			return isSet(functionalObjectPropertyFlag);
+		}
+
+		@Override
+		public boolean hasIndividual() {
+			return isSet(individualFlag);
+		}
+
+		@Override
+		public boolean hasInverseObjectProperty() {
+			return isSet(inverseObjectPropertyFlag);
+		}
+
+		@Override
+		public boolean hasNominal() {
+			return isSet(nominalFlag);
+		}
+
+		@Override
+		public boolean hasReflexiveObjectProperty() {
+			return isSet(reflexiveObjectPropertyFlag);
+		}
+
+		@Override
+		public boolean hasSubObjectPropertyOf() {
+			return isSet(subObjectPropertyOfFlag);
+		}
+
+		@Override
+		public boolean hasSubPropertyChainOf() {
+			return isSet(subPropertyChainOfFlag);
+		}
+
+		@Override
+		public boolean hasTransitiveObjectProperty() {
+			return isSet(transitiveObjectPropertyFlag);
+		}
+
+		private boolean isSet(int flag) {
+			return (this.flags & flag) != 0;
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+
+	}
+
+	private static final byte anonymousEntityRecord = 0;
+	private static final byte auxiliaryInverseRecord = 3;
+	private static final byte auxiliaryNominalRecord = 2;
+	private static final int bottomFlag = 0x001;
+	private static final int bufferSize = 0x10000;
+	private static final int datatypeFlag = 0x002;
+	private static final int functionalObjectPropertyFlag = 0x004;
+	private static final byte functObjectPropTag = 0;
+	private static final byte gci0Tag = 1;
+	private static final byte gci1Tag = 2;
+	private static final byte gci2Tag = 3;
+	private static final byte gci3Tag = 4;
+	private static final int individualFlag = 0x008;
+	private static final int inverseObjectPropertyFlag = 0x010;
+	private static final int magicNumber = 0x4A43454E;
+	private static final byte namedEntityRecord = 1;
+	private static final byte nominalTag = 5;
+	private static final int nominalFlag = 0x020;
+	private static final byte rangeTag = 6;
+	private static final int reflexiveObjectPropertyFlag = 0x040;
+	private static final byte ri1Tag = 7;
+	private static final byte ri2Tag = 8;
+	private static final byte ri3Tag = 9;
+	private static final int subObjectPropertyOfFlag = 0x080;
+	private static final int subPropertyChainOfFlag = 0x100;
+	private static final int transitiveObjectPropertyFlag = 0x200;
+
+	/**
+	 * Version of the format written by this serializer.
+	 */
+	public static final int version = 2;
+
+	/**
+	 * Source fingerprint written when none is given.
+	 */
+	public static final String noSourceFingerprint = "";
+
+	/**
+	 * Constructs a new normalized ontology serializer.
+	 */
+	public NormalizedOntologySerializer() {
+	}
+
+	private int encode(OntologyExpressivity expressivity) {
+		int ret = 0;
+		ret |= expressivity.hasBottom() ? bottomFlag : 0;
+		ret |= expressivity.hasDatatype() ? datatypeFlag : 0;
+		ret |= expressivity.hasFunctionalObjectProperty() ? functionalObjectPropertyFlag : 0;
+		ret |= expressivity.hasIndividual() ? individualFlag : 0;
+		ret |= expressivity.hasInverseObjectProperty() ? inverseObjectPropertyFlag : 0;
+		ret |= expressivity.hasNominal() ? nominalFlag : 0;
+		ret |= expressivity.hasReflexiveObjectProperty() ? reflexiveObjectPropertyFlag : 0;
+		ret |= expressivity.hasSubObjectPropertyOf() ? subObjectPropertyOfFlag : 0;
+		ret |= expressivity.hasSubPropertyChainOf() ? subPropertyChainOfFlag : 0;
+		ret |= expressivity.hasTransitiveObjectProperty() ? transitiveObjectPropertyFlag : 0;
+		return ret;
+	}
+
+	private int getPrefixLength(String name) {
+		int index = name.length() - 1;
+		while (index >= 0 && name.charAt(index) != '#' && name.charAt(index) != '/' && name.charAt(index) != ':') {
+			index--;
+		}
+		return index + 1;
+	}
+
+	/**
+	 * Reads a normalized ontology from a byte buffer. The entities are created
+	 * in the given entity manager, which must not contain any entity apart
+	 * from the predefined ones.
+	 *
+	 * @param buffer
+	 *            byte buffer, which can be a memory-mapped file
+	 * @param axiomFactory
+	 *            factory to create the normalized axioms
+	 * @param entityManager
+	 *            empty entity manager
+	 * @return the normalized ontology read from the byte buffer
+	 * @throws IOException
+	 *             if the buffer does not contain a normalized ontology in a
+	 *             supported version of the format
+	 */
+	public NormalizedOntologySnapshot read(ByteBuffer buffer, NormalizedIntegerAxiomFactory axiomFactory,
+			IntegerEntityManager entityManager) throws IOException {
+		return read(buffer, axiomFactory, entityManager, Optional.empty());
+	}
+
+	private NormalizedOntologySnapshot read(ByteBuffer buffer, NormalizedIntegerAxiomFactory axiomFactory,
+			IntegerEntityManager entityManager, Optional<String> expectedSourceFingerprint) throws IOException {
+		Objects.requireNonNull(buffer);
+		Objects.requireNonNull(axiomFactory);
+		Objects.requireNonNull(entityManager);
+		Objects.requireNonNull(expectedSourceFingerprint);
+		if (entityManager.size() != IntegerEntityManager.firstUsableIdentifier) {
+			throw new IllegalArgumentException("The entity manager must be empty.");
+		}
+		NormalizedOntologySnapshot ret = null;
+		try {
+			if (buffer.getInt() != magicNumber) {
+				throw new IOException("The file does not contain a normalized ontology.");
+			}
+			int fileVersion = buffer.getInt();
+			if (fileVersion != version) {
+				throw new IOException("Unsupported version of normalized ontology : " + fileVersion);
+			}
+			String sourceFingerprint = readString(buffer);
+			if (expectedSourceFingerprint.isPresent() && !expectedSourceFingerprint.get().equals(sourceFingerprint)) {
+				throw new SourceMismatchException("The normalized ontology was computed from a different source.");
+			}
+			OntologyExpressivity expressivity = new StoredExpressivity(buffer.getInt());
+			readEntities(buffer, entityManager);
+			Set<Integer> classes = readIdentifiers(buffer);
+			Set<Integer> objectProperties = readIdentifiers(buffer);
+			Set<NormalizedIntegerAxiom> axioms = readAxioms(buffer, axiomFactory);
+			ret = new NormalizedOntologySnapshot(entityManager, classes, objectProperties, axioms, expressivity);
+
+		} catch (BufferUnderflowException e) {
+			throw new IOException("The normalized ontology is truncated.", e);
+		}
+		return ret;
+	}
+
+	/**
+	 * Reads a normalized ontology from a byte buffer, provided that it was
+	 * computed from the expected source. The source fingerprint is checked
+	 * before any entity is created, so that the entity manager is still empty
+	 * when a {@link SourceMismatchException} is thrown.
+	 *
+	 * @param buffer
+	 *            byte buffer, which can be a memory-mapped file
+	 * @param axiomFactory
+	 *            factory to create the normalized axioms
+	 * @param entityManager
+	 *            empty entity manager
+	 * @param expectedSourceFingerprint
+	 *            source fingerprint that the normalized ontology must have
+	 * @return the normalized ontology read from the byte buffer
+	 * @throws SourceMismatchException
+	 *             if the normalized ontology has a different source
+	 *             fingerprint
+	 * @throws IOException
+	 *             if the buffer does not contain a normalized ontology in a
+	 *             supported version of the format
+	 */
+	public NormalizedOntologySnapshot read(ByteBuffer buffer, NormalizedIntegerAxiomFactory axiomFactory,
+			IntegerEntityManager entityManager, String expectedSourceFingerprint) throws IOException {
+		Objects.requireNonNull(expectedSourceFingerprint);
+		return read(buffer, axiomFactory, entityManager, Optional.of(expectedSourceFingerprint));
+	}
+
+	/**
+	 * Reads a normalized ontology from a file, which is mapped into memory.
+	 * The entities are created in the given entity manager, which must not
+	 * contain any entity apart from the predefined ones.
+	 *
+	 * @param path
+	 *            file
+	 * @param axiomFactory
+	 *            factory to create the normalized axioms
+	 * @param entityManager
+	 *            empty entity manager
+	 * @return the normalized ontology read from the file
+	 * @throws IOException
+	 *             if the file cannot be read, or if it does not contain a
+	 *             normalized ontology in a supported version of the format
+	 */
+	public NormalizedOntologySnapshot read(Path path, NormalizedIntegerAxiomFactory axiomFactory,
+			IntegerEntityManager entityManager) throws IOException {
+		Objects.requireNonNull(path);
+		NormalizedOntologySnapshot ret = null;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			ret = read(buffer, axiomFactory, entityManager);
+		}
+		return ret;
+	}
+
+	/**
+	 * Reads a normalized ontology from a file, which is mapped into memory,
+	 * provided that it was computed from the expected source. The entities are
+	 * created in the given entity manager, which must not contain any entity
+	 * apart from the predefined ones. The entity manager is still empty when a
+	 * {@link SourceMismatchException} is thrown.
+	 *
+	 * @param path
+	 *            file
+	 * @param axiomFactory
+	 *            factory to create the normalized axioms
+	 * @param entityManager
+	 *            empty entity manager
+	 * @param expectedSourceFingerprint
+	 *            source fingerprint that the normalized ontology must have
+	 * @return the normalized ontology read from the file
+	 * @throws SourceMismatchException
+	 *             if the normalized ontology has a different source
+	 *             fingerprint
+	 * @throws IOException
+	 *             if the file cannot be read, or if it does not contain a
+	 *             normalized ontology in a supported version of the format
+	 */
+	public NormalizedOntologySnapshot read(Path path, NormalizedIntegerAxiomFactory axiomFactory,
+			IntegerEntityManager entityManager, String expectedSourceFingerprint) throws IOException {
+		Objects.requireNonNull(path);
+		Objects.requireNonNull(expectedSourceFingerprint);
+		NormalizedOntologySnapshot ret = null;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			ret = read(buffer, axiomFactory, entityManager, expectedSourceFingerprint);
+		}
+		return ret;
+	}
+
+	private Set<IntegerAnnotation> readAnnotations(ByteBuffer buffer) {
+		int size = buffer.getInt();
+		Set<IntegerAnnotation> ret = Collections.emptySet();
+		if (size > 0) {
+			ret = new HashSet<>();
+			for (int index = 0; index < size; index++) {
+				int property = buffer.getInt();
+				int value = buffer.getInt();
+				ret.add(new IntegerAnnotationImpl(property, value));
+			}
+		}
+		return ret;
+	}
+
+	private NormalizedIntegerAxiom readAxiom(ByteBuffer buffer, NormalizedIntegerAxiomFactory factory)
+			throws IOException {
+		byte tag = buffer.get();
+		Set<IntegerAnnotation> annotations = readAnnotations(buffer);
+		int first = buffer.getInt();
+		NormalizedIntegerAxiom ret = null;
+		if (tag == functObjectPropTag) {
+			ret = factory.createFunctObjectPropAxiom(first, annotations);
+		} else if (tag == ri1Tag) {
+			ret = factory.createRI1Axiom(first, annotations);
+		} else {
+			int second = buffer.getInt();
+			if (tag == gci0Tag) {
+				ret = factory.createGCI0Axiom(first, second, annotations);
+			} else if (tag == nominalTag) {
+				ret = factory.createNominalAxiom(first, second, annotations);
+			} else if (tag == rangeTag) {
+				ret = factory.createRangeAxiom(first, second, annotations);
+			} else if (tag == ri2Tag) {
+				ret = factory.createRI2Axiom(first, second, annotations);
+			} else {
+				int third = buffer.getInt();
+				if (tag == gci1Tag) {
+					ret = factory.createGCI1Axiom(first, second, third, annotations);
+				} else if (tag == gci2Tag) {
+					ret = factory.createGCI2Axiom(first, second, third, annotations);
+				} else if (tag == gci3Tag) {
+					ret = factory.createGCI3Axiom(first, second, third, annotations);
+				} else if (tag == ri3Tag) {
+					ret = factory.createRI3Axiom(first, second, third, annotations);
+				} else {
+					throw new IOException("Invalid axiom tag : " + tag);
+				}
+			}
+		}
+		return ret;
+	}
+
+	private Set<NormalizedIntegerAxiom> readAxioms(ByteBuffer buffer, NormalizedIntegerAxiomFactory factory)
+			throws IOException {
+		int size = readSize(buffer);
+		Set<NormalizedIntegerAxiom> ret = new HashSet<>(2 * size);
+		for (int index = 0; index < size; index++) {
+			ret.add(readAxiom(buffer, factory));
+		}
+		return ret;
+	}
+
+	private void readEntities(ByteBuffer buffer, IntegerEntityManager entityManager) throws IOException {
+		int size = buffer.getInt();
+		List<String> prefixes = new ArrayList<>();
+		IntegerEntityType[] types = IntegerEntityType.values();
+		for (int identifier = IntegerEntityManager.firstUsableIdentifier; identifier < size; identifier++) {
+			byte record = buffer.get();
+			Integer created = null;
+			if (record == auxiliaryNominalRecord) {
+				created = entityManager.createOrGetClassIdForIndividual(buffer.getInt());
+			} else if (record == auxiliaryInverseRecord) {
+				created = entityManager.createOrGetInverseObjectPropertyOf(buffer.getInt());
+			} else if (record == namedEntityRecord || record == anonymousEntityRecord) {
+				int typeIndex = buffer.get();
+				if (typeIndex < 0 || typeIndex >= types.length) {
+					throw new IOException("Invalid entity type : " + typeIndex);
+				}
+				boolean auxiliary = (buffer.get() != 0);
+				if (record == namedEntityRecord) {
+					created = entityManager.createNamedEntity(types[typeIndex], readName(buffer, prefixes),
+							auxiliary);
+				} else {
+					created = entityManager.createAnonymousEntity(types[typeIndex], auxiliary);
+				}
+			} else {
+				throw new IOException("Invalid entity record : " + record);
+			}
+			if (created != identifier) {
+				throw new IOException("Entity " + identifier + " was restored as " + created + ".");
+			}
+		}
+
+		int numberOfPairs = readSize(buffer);
+		for (int index = 0; index < numberOfPairs; index++) {
+			int firstProperty = buffer.getInt();
+			int secondProperty = buffer.getInt();
+			entityManager.proposeInverseObjectPropertyOf(firstProperty, secondProperty);
+		}
+	}
+
+	private Set<Integer> readIdentifiers(ByteBuffer buffer) throws IOException {
+		int size = readSize(buffer);
+		Set<Integer> ret = new HashSet<>(2 * size);
+		for (int index = 0; index < size; index++) {
+			ret.add(buffer.getInt());
+		}
+		return ret;
+	}
+
+	private String readName(ByteBuffer buffer, List<String> prefixes) throws IOException {
+		int prefixId = buffer.getInt();
+		if (prefixId == prefixes.size()) {
+			prefixes.add(readString(buffer));
+		} else if (prefixId < 0 || prefixId > prefixes.size()) {
+			throw new IOException("Invalid prefix : " + prefixId);
+		}
+		return prefixes.get(prefixId) + readString(buffer);
+	}
+
+	private int readSize(ByteBuffer buffer) throws IOException {
+		int ret = buffer.getInt();
+		if (ret < 0 || ret > buffer.remaining()) {
+			throw new IOException("Invalid size : " + ret);
+		}
+		return ret;
+	}
+
+	private String readString(ByteBuffer buffer) throws IOException {
+		byte[] bytes = new byte[readSize(buffer)];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes a normalized ontology to a file without a source fingerprint. If
+	 * the file exists, it is overwritten.
+	 *
+	 * @param snapshot
+	 *            normalized ontology
+	 * @param path
+	 *            file
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void write(NormalizedOntologySnapshot snapshot, Path path) throws IOException {
+		write(snapshot, path, noSourceFingerprint);
+	}
+
+	/**
+	 * Writes a normalized ontology to a file. If the file exists, it is
+	 * overwritten.
+	 *
+	 * @param snapshot
+	 *            normalized ontology
+	 * @param path
+	 *            file
+	 * @param sourceFingerprint
+	 *            fingerprint of the source of the normalized ontology
+	 * @throws IOException
+	 *             if the file cannot be written
+	 */
+	public void write(NormalizedOntologySnapshot snapshot, Path path, String sourceFingerprint) throws IOException {
+		Objects.requireNonNull(snapshot);
+		Objects.requireNonNull(path);
+		Objects.requireNonNull(sourceFingerprint);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			write(snapshot, channel, sourceFingerprint);
+		}
+	}
+
+	/**
+	 * Writes a normalized ontology to a channel without a source fingerprint.
+	 * The channel is not closed.
+	 *
+	 * @param snapshot
+	 *            normalized ontology
+	 * @param channel
+	 *            channel
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void write(NormalizedOntologySnapshot snapshot, WritableByteChannel channel) throws IOException {
+		write(snapshot, channel, noSourceFingerprint);
+	}
+
+	/**
+	 * Writes a normalized ontology to a channel. The channel is not closed.
+	 *
+	 * @param snapshot
+	 *            normalized ontology
+	 * @param channel
+	 *            channel
+	 * @param sourceFingerprint
+	 *            fingerprint of the source of the normalized ontology
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void write(NormalizedOntologySnapshot snapshot, WritableByteChannel channel, String sourceFingerprint)
+			throws IOException {
+		Objects.requireNonNull(snapshot);
+		Objects.requireNonNull(channel);
+		Objects.requireNonNull(sourceFingerprint);
+		DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(Channels.newOutputStream(channel), bufferSize));
+		output.writeInt(magicNumber);
+		output.writeInt(version);
+		writeString(output, sourceFingerprint);
+		output.writeInt(encode(snapshot.getExpressivity()));
+		writeEntities(output, snapshot.getEntityManager());
+		writeIdentifiers(output, snapshot.getClasses());
+		writeIdentifiers(output, snapshot.getObjectProperties());
+		writeAxioms(output, snapshot.getAxioms());
+		output.flush();
+	}
+
+	private void writeAxioms(DataOutputStream output, Set<NormalizedIntegerAxiom> axioms) throws IOException {
+		AxiomEncoder encoder = new AxiomEncoder();
+		output.writeInt(axioms.size());
+		for (NormalizedIntegerAxiom axiom : axioms) {
+			int[] fields = axiom.accept(encoder);
+			output.writeByte(fields[0]);
+			Set<IntegerAnnotation> annotations = axiom.getAnnotations();
+			output.writeInt(annotations.size());
+			for (IntegerAnnotation annotation : annotations) {
+				output.writeInt(annotation.getAnnotationProperty());
+				output.writeInt(annotation.getAnnotationValue());
+			}
+			for (int index = 1; index < fields.length; index++) {
+				output.writeInt(fields[index]);
+			}
+		}
+	}
+
+	private void writeEntities(DataOutputStream output, IntegerEntityManager entityManager) throws IOException {
+		int size = entityManager.size();
+		Set<Integer> auxInverses = entityManager.getAuxiliaryInverseObjectProperties();
+		Map<String, Integer> prefixMap = new HashMap<>();
+		output.writeInt(size);
+		for (int identifier = IntegerEntityManager.firstUsableIdentifier; identifier < size; identifier++) {
+			Optional<Integer> optIndividual = entityManager.getIndividual(identifier);
+			if (optIndividual.isPresent()) {
+				output.writeByte(auxiliaryNominalRecord);
+				output.writeInt(optIndividual.get());
+			} else if (auxInverses.contains(identifier)) {
+				output.writeByte(auxiliaryInverseRecord);
+				output.writeInt(entityManager.getInverseObjectProperty(identifier).get());
+			} else {
+				boolean auxiliary = entityManager.isAuxiliary(identifier);
+				String name = entityManager.getName(identifier);
+				String defaultName = (auxiliary ? IntegerEntityManagerImpl.auxiliaryEntity
+						: IntegerEntityManagerImpl.anonymousEntity) + identifier;
+				boolean named = !name.equals(defaultName);
+				output.writeByte(named ? namedEntityRecord : anonymousEntityRecord);
+				output.writeByte(entityManager.getType(identifier).ordinal());
+				output.writeBoolean(auxiliary);
+				if (named) {
+					writeName(output, name, prefixMap);
+				}
+			}
+		}
+
+		// the inverse object properties that were declared, not created
+		List<Integer> pairs = new ArrayList<>();
+		for (int identifier = 0; identifier < size; identifier++) {
+			Optional<Integer> optInverse = entityManager.getInverseObjectProperty(identifier);
+			if (optInverse.isPresent() && identifier <= optInverse.get() && !auxInverses.contains(identifier)
+					&& !auxInverses.contains(optInverse.get())) {
+				pairs.add(identifier);
+				pairs.add(optInverse.get());
+			}
+		}
+		output.writeInt(pairs.size() / 2);
+		for (Integer property : pairs) {
+			output.writeInt(property);
+		}
+	}
+
+	private void writeIdentifiers(DataOutputStream output, Set<Integer> identifiers) throws IOException {
+		output.writeInt(identifiers.size());
+		for (Integer identifier : identifiers) {
+			output.writeInt(identifier);
+		}
+	}
+
+	private void writeName(DataOutputStream output, String name, Map<String, Integer> prefixMap)
+			throws IOException {
+		int prefixLength = getPrefixLength(name);
+		String prefix = name.substring(0, prefixLength);
+		Integer prefixId = prefixMap.get(prefix);
+		if (Objects.isNull(prefixId)) {
+			prefixId = prefixMap.size();
+			prefixMap.put(prefix, prefixId);
+			output.writeInt(prefixId);
+			writeString(output, prefix);
+		} else {
+			output.writeInt(prefixId);
+		}
+		writeString(output, name.substring(prefixLength));
+	}
+
+	private void writeString(DataOutputStream output, String str) throws IOException {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.coreontology.axiom;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.OntologyExpressivity;
+
+/**
+ * An object of this class is a normalized ontology together with everything
+ * a processor needs to classify it: the entity manager that gave the
+ * identifiers, the classes and object properties of the original ontology, and
+ * its expressivity. It can be stored and restored by a
+ * {@link NormalizedOntologySerializer}, so that an ontology does not need to
+ * be translated and normalized again.
+ *
+ * @author Julian Mendez
+ */
+public class NormalizedOntologySnapshot {
+
+	private final Set<NormalizedIntegerAxiom> axioms;
+	private final Set<Integer> classes;
+	private final IntegerEntityManager entityManager;
+	private final OntologyExpressivity expressivity;
+	private final Set<Integer> objectProperties;
+
+	/**
+	 * Constructs a new normalized ontology snapshot. The given sets are not
+	 * copied.
+	 *
+	 * @param entityManager
+	 *            entity manager
+	 * @param classes
+	 *            classes of the original ontology
+	 * @param objectProperties
+	 *            object properties of the original ontology
+	 * @param axioms
+	 *            normalized axioms
+	 * @param expressivity
+	 *            expressivity of the original ontology
+	 */
+	public NormalizedOntologySnapshot(IntegerEntityManager entityManager, Set<Integer> classes,
+			Set<Integer> objectProperties, Set<NormalizedIntegerAxiom> axioms, OntologyExpressivity expressivity) {
+		Objects.requireNonNull(entityManager);
+		Objects.requireNonNull(classes);
+		Objects.requireNonNull(objectProperties);
+		Objects.requireNonNull(axioms);
+		Objects.requireNonNull(expressivity);
+		this.entityManager = entityManager;
+		this.classes = classes;
+		this.objectProperties = objectProperties;
+		this.axioms = axioms;
+		this.expressivity = expressivity;
+	}
+
+	/**
+	 * Returns the normalized axioms.
+	 *
+	 * @return the normalized axioms
+	 */
+	public Set<NormalizedIntegerAxiom> getAxioms() {
+		return Collections.unmodifiableSet(this.axioms);
+	}
+
+	/**
+	 * Returns the classes of the original ontology.
+	 *
+	 * @return the classes of the original ontology
+	 */
+	public Set<Integer> getClasses() {
+		return Collections.unmodifiableSet(this.classes);
+	}
+
+	/**
+	 * Returns the entity manager.
+	 *
+	 * @return the entity manager
+	 */
+	public IntegerEntityManager getEntityManager() {
+		return this.entityManager;
+	}
+
+	/**
+	 * Returns the expressivity of the original ontology.
+	 *
+	 * @return the expressivity of the original ontology
+	 */
+	public OntologyExpressivity getExpressivity() {
+		return this.expressivity;
+	}
+
+	/**
+	 * Returns the object properties of the original ontology.
+	 *
+	 * @return the object properties of the original ontology
+	 */
+	public Set<Integer> getObjectProperties() {
+		return Collections.unmodifiableSet(this.objectProperties);
+	}
+
+	@Override
+	public String toString() {
+		return "[classes: " + this.classes.size() + ", object properties: " + this.objectProperties.size()
+				+ ", axioms: " + this.axioms.size() + ", expressivity: " + this.expressivity + "]";
+	}
+
+}
@@ -185,6 +185,20 @@ public interface IntegerEntityManager {
 	 */
 	Set<Integer> getIndividuals();
 
+	/**
+	 * Returns an optional containing the inverse of a specific object
+	 * property, or an empty optional if the object property does not have an
+	 * inverse yet. Unlike {@link #createOrGetInverseObjectPropertyOf}, this
+	 * method never creates a new object property.
+	 *
+	 * @param propertyId
+	 *            object property
+	 * @return an optional containing the inverse of a specific object
+	 *         property, or an empty optional if the object property does not
+	 *         have an inverse yet
+	 */
+	Optional<Integer> getInverseObjectProperty(Integer propertyId);
+
 	/**
 	 * Returns the name defined for a certain entity.
 	 *
@@ -46,20 +46,29 @@
 
 package de.tudresden.inf.lat.jcel.coreontology.datatype;
 
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeSet;
-
-import de.tudresden.inf.lat.util.map.OptMap;
-import de.tudresden.inf.lat.util.map.OptMapImpl;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.IntStream;
 
 /**
  * An object of this class generates new identification numbers for object
- * properties and classes.
+ * properties and classes. It can be shared by processors running on different
+ * threads: the operations that create entities are synchronized, and the
+ * lookups read arrays without locking.
+ * <p>
+ * The identifiers are dense, so the type, the auxiliary flag, the nominal of
+ * an individual and the inverse of an object property are stored in arrays
+ * indexed by identifier. The names are kept in a {@link NameDictionary},
+ * which stores the common prefixes of the IRIs only once. The arrays are only
+ * modified by synchronized methods, which write each array field again after
+ * modifying it, so that the modification is visible to the readers.
+ * </p>
  * 
  * @author Julian Mendez
  */
@@ -68,56 +77,91 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	public static final String anonymousEntity = "AnonymousEntity";
 	public static final String auxiliaryEntity = "AuxiliaryEntity";
 
-	private final OptMap<IntegerEntityType, Set<Integer>> auxEntityMap = new OptMapImpl<>(new HashMap<>());
-	private final Set<Integer> auxEntitySet = new HashSet<>();
-	private final Set<Integer> auxInverseObjectPropertySet = new HashSet<>();
-	private final OptMap<Integer, Integer> auxNominalInvMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, Integer> auxNominalMap = new OptMapImpl<>(new HashMap<>());
-	private int entityCounter = firstUsableIdentifier;
-	private final OptMap<Integer, IntegerEntityType> entityTypeMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, Integer> inverseObjectPropertyMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, String> nameMap = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<IntegerEntityType, Set<Integer>> nonAuxEntityMap = new OptMapImpl<>(new HashMap<>());
+	private static final int initialCapacity = 0x100;
+	private static final int undefined = -1;
+
+	private final Map<IntegerEntityType, Set<Integer>> auxEntityMap = createEntityMap();
+	private final Map<IntegerEntityType, Set<Integer>> auxEntityViewMap = createViewMap(this.auxEntityMap);
+	private final Set<Integer> auxInverseObjectPropertySet = new ConcurrentSkipListSet<>();
+	private final Set<Integer> auxNominalSet = new ConcurrentSkipListSet<>();
+	private volatile boolean[] auxiliaryFlag = new boolean[initialCapacity];
+	private volatile int entityCounter = 0;
+	private final Map<IntegerEntityType, Set<Integer>> entityMap = createEntityMap();
+	private final Map<IntegerEntityType, Set<Integer>> entityViewMap = createViewMap(this.entityMap);
+	private volatile int[] individualOfNominal = createIdArray(initialCapacity);
+	private final Set<Integer> individualSet = new ConcurrentSkipListSet<>();
+	private volatile int[] inverseOfProperty = createIdArray(initialCapacity);
+	private final NameDictionary nameDictionary = new NameDictionary();
+	private volatile int[] nominalOfIndividual = createIdArray(initialCapacity);
+	private final Map<IntegerEntityType, Set<Integer>> nonAuxEntityMap = createEntityMap();
+	private final Map<IntegerEntityType, Set<Integer>> nonAuxEntityViewMap = createViewMap(this.nonAuxEntityMap);
+	private volatile IntegerEntityType[] typeOfEntity = new IntegerEntityType[initialCapacity];
 
 	/**
 	 * Constructs a new identifier generator.
 	 */
 	public IntegerEntityManagerImpl() {
-		registerProperty(bottomClassId, IntegerEntityType.CLASS, false);
-		registerProperty(topClassId, IntegerEntityType.CLASS, false);
-		registerProperty(bottomObjectPropertyId, IntegerEntityType.OBJECT_PROPERTY, false);
-		registerProperty(topObjectPropertyId, IntegerEntityType.OBJECT_PROPERTY, false);
-		registerProperty(bottomDataPropertyId, IntegerEntityType.DATA_PROPERTY, false);
-		registerProperty(topDataPropertyId, IntegerEntityType.DATA_PROPERTY, false);
+		registerEntity(bottomClassId, IntegerEntityType.CLASS, false);
+		registerEntity(topClassId, IntegerEntityType.CLASS, false);
+		registerEntity(bottomObjectPropertyId, IntegerEntityType.OBJECT_PROPERTY, false);
+		registerEntity(topObjectPropertyId, IntegerEntityType.OBJECT_PROPERTY, false);
+		registerEntity(bottomDataPropertyId, IntegerEntityType.DATA_PROPERTY, false);
+		registerEntity(topDataPropertyId, IntegerEntityType.DATA_PROPERTY, false);
+		this.entityCounter = firstUsableIdentifier;
+	}
+
+	private static Map<IntegerEntityType, Set<Integer>> createEntityMap() {
+		Map<IntegerEntityType, Set<Integer>> ret = new EnumMap<>(IntegerEntityType.class);
+		for (IntegerEntityType type : IntegerEntityType.values()) {
+			ret.put(type, new ConcurrentSkipListSet<>());
+		}
+		return ret;
+	}
+
+	private static int[] createIdArray(int length) {
+		int[] ret = new int[length];
+		Arrays.fill(ret, undefined);
+		return ret;
+	}
+
+	private static Map<IntegerEntityType, Set<Integer>> createViewMap(Map<IntegerEntityType, Set<Integer>> map) {
+		Map<IntegerEntityType, Set<Integer>> ret = new EnumMap<>(IntegerEntityType.class);
+		map.forEach((type, set) -> ret.put(type, Collections.unmodifiableSet(set)));
+		return ret;
+	}
+
+	private int[] copyIdArray(int[] array, int size) {
+		int[] ret = createIdArray(size);
+		System.arraycopy(array, 0, ret, 0, Math.min(array.length, size));
+		return ret;
 	}
 
 	@Override
-	public Integer createAnonymousEntity(IntegerEntityType type, boolean auxiliary) {
+	public synchronized Integer createAnonymousEntity(IntegerEntityType type, boolean auxiliary) {
 		Objects.requireNonNull(type);
-		Integer ret = this.entityCounter;
-		this.entityCounter++;
-		registerProperty(ret, type, auxiliary);
-		this.entityTypeMap.put(ret, type);
+		int ret = this.entityCounter;
+		registerEntity(ret, type, auxiliary);
+		this.entityCounter = ret + 1;
 		return ret;
 	}
 
 	@Override
-	public Integer createNamedEntity(IntegerEntityType type, String name, boolean auxiliary) {
+	public synchronized Integer createNamedEntity(IntegerEntityType type, String name, boolean auxiliary) {
 		Objects.requireNonNull(type);
 		Objects.requireNonNull(name);
-		Integer ret = createAnonymousEntity(type, auxiliary);
-		this.nameMap.put(ret, name);
+		int ret = this.entityCounter;
+		registerEntity(ret, type, auxiliary);
+		this.nameDictionary.put(ret, name);
+		this.entityCounter = ret + 1;
 		return ret;
 	}
 
 	@Override
 	public Integer createOrGetClassIdForIndividual(Integer individual) {
 		Objects.requireNonNull(individual);
-		Optional<Integer> optId = this.auxNominalMap.get(individual);
+		Optional<Integer> optId = getAuxiliaryNominal(individual);
 		if (!optId.isPresent()) {
-			optId = Optional.of(createAnonymousEntity(IntegerEntityType.CLASS, true));
-			this.auxNominalInvMap.put(optId.get(), individual);
-			this.auxNominalMap.put(individual, optId.get());
+			optId = Optional.of(createClassIdForIndividual(individual));
 		}
 		return optId.get();
 	}
@@ -125,14 +169,61 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	@Override
 	public Integer createOrGetInverseObjectPropertyOf(Integer propertyId) throws IndexOutOfBoundsException {
 		Objects.requireNonNull(propertyId);
-		Optional<Integer> optId = this.inverseObjectPropertyMap.get(propertyId);
-		if (!optId.isPresent()) {
-			optId = Optional.of(createAnonymousEntity(IntegerEntityType.OBJECT_PROPERTY, true));
-			this.auxInverseObjectPropertySet.add(optId.get());
-			this.inverseObjectPropertyMap.put(propertyId, optId.get());
-			this.inverseObjectPropertyMap.put(optId.get(), propertyId);
+		int ret = get(this.inverseOfProperty, propertyId);
+		if (ret == undefined) {
+			ret = createInverseObjectPropertyOf(propertyId);
+		}
+		return ret;
+	}
+
+	private synchronized Integer createClassIdForIndividual(Integer individual) {
+		ensureCapacity(individual);
+		int ret = this.nominalOfIndividual[individual];
+		if (ret == undefined) {
+			ret = createAnonymousEntity(IntegerEntityType.CLASS, true);
+			this.individualSet.add(individual);
+			this.auxNominalSet.add(ret);
+			int[] individuals = this.individualOfNominal;
+			individuals[ret] = individual;
+			this.individualOfNominal = individuals;
+			int[] nominals = this.nominalOfIndividual;
+			nominals[individual] = ret;
+			this.nominalOfIndividual = nominals;
+		}
+		return ret;
+	}
+
+	private synchronized Integer createInverseObjectPropertyOf(Integer propertyId) {
+		ensureCapacity(propertyId);
+		int ret = this.inverseOfProperty[propertyId];
+		if (ret == undefined) {
+			ret = createAnonymousEntity(IntegerEntityType.OBJECT_PROPERTY, true);
+			this.auxInverseObjectPropertySet.add(ret);
+			setInverseObjectProperties(propertyId, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Makes sure that the arrays can store the given identifier. This method
+	 * must be called from a synchronized method.
+	 * 
+	 * @param identifier
+	 *            identifier
+	 */
+	private void ensureCapacity(int identifier) {
+		if (identifier < 0) {
+			throw new IndexOutOfBoundsException("Invalid identifier : " + identifier);
+		}
+		int length = this.typeOfEntity.length;
+		if (identifier >= length) {
+			int newLength = Math.max(identifier + 1, 2 * length);
+			this.auxiliaryFlag = Arrays.copyOf(this.auxiliaryFlag, newLength);
+			this.individualOfNominal = growIdArray(this.individualOfNominal, newLength);
+			this.inverseOfProperty = growIdArray(this.inverseOfProperty, newLength);
+			this.nominalOfIndividual = growIdArray(this.nominalOfIndividual, newLength);
+			this.typeOfEntity = Arrays.copyOf(this.typeOfEntity, newLength);
 		}
-		return optId.get();
 	}
 
 	@Override
@@ -140,18 +231,26 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 		boolean ret = (this == o);
 		if (!ret && (o instanceof IntegerEntityManagerImpl)) {
 			IntegerEntityManagerImpl other = (IntegerEntityManagerImpl) o;
-			ret = (this.entityCounter == other.entityCounter) && this.auxEntityMap.equals(other.auxEntityMap)
+			int size = this.entityCounter;
+			ret = (size == other.entityCounter) && this.auxEntityMap.equals(other.auxEntityMap)
 					&& this.nonAuxEntityMap.equals(other.nonAuxEntityMap)
-					&& this.auxNominalMap.equals(other.auxNominalMap)
-					&& this.auxNominalInvMap.equals(other.auxNominalInvMap)
-					&& this.auxInverseObjectPropertySet.equals(other.inverseObjectPropertyMap)
-					&& this.nameMap.equals(other.nameMap)
-					&& this.inverseObjectPropertyMap.equals(other.inverseObjectPropertyMap);
+					&& this.individualSet.equals(other.individualSet)
+					&& this.auxInverseObjectPropertySet.equals(other.auxInverseObjectPropertySet)
+					&& IntStream.range(0, size)
+							.allMatch(id -> this.nameDictionary.get(id).equals(other.nameDictionary.get(id)))
+					&& this.individualSet.stream().allMatch(
+							indiv -> getAuxiliaryNominal(indiv).equals(other.getAuxiliaryNominal(indiv)))
+					&& Arrays.equals(copyIdArray(this.inverseOfProperty, size),
+							copyIdArray(other.inverseOfProperty, size));
 		}
 
 		return ret;
 	}
 
+	private int get(int[] array, int identifier) {
+		return (identifier >= 0 && identifier < array.length) ? array[identifier] : undefined;
+	}
+
 	@Override
 	public Set<Integer> getAuxiliaryInverseObjectProperties() {
 		return Collections.unmodifiableSet(this.auxInverseObjectPropertySet);
@@ -160,66 +259,53 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	@Override
 	public Optional<Integer> getAuxiliaryNominal(Integer individual) {
 		Objects.requireNonNull(individual);
-		return this.auxNominalMap.get(individual);
+		int ret = get(this.nominalOfIndividual, individual);
+		return (ret == undefined) ? Optional.empty() : Optional.of(ret);
 	}
 
 	@Override
 	public Set<Integer> getAuxiliaryNominals() {
-		return Collections.unmodifiableSet(this.auxNominalInvMap.keySet());
+		return Collections.unmodifiableSet(this.auxNominalSet);
 	}
 
 	@Override
 	public Set<Integer> getEntities(IntegerEntityType type) {
 		Objects.requireNonNull(type);
-		Set<Integer> ret = new TreeSet<>();
-		if (this.nonAuxEntityMap.get(type).isPresent()) {
-			ret.addAll(this.nonAuxEntityMap.get(type).get());
-		}
-		if (this.auxEntityMap.get(type).isPresent()) {
-			ret.addAll(this.auxEntityMap.get(type).get());
-		}
-		ret = Collections.unmodifiableSet(ret);
-		return ret;
+		return this.entityViewMap.get(type);
 	}
 
 	@Override
 	public Set<Integer> getEntities(IntegerEntityType type, boolean auxiliary) {
 		Objects.requireNonNull(type);
-		Optional<Set<Integer>> optSet;
-		if (auxiliary) {
-			optSet = this.auxEntityMap.get(type);
-		} else {
-			optSet = this.nonAuxEntityMap.get(type);
-		}
-		if (!optSet.isPresent()) {
-			optSet = Optional.of(Collections.emptySet());
-		} else {
-			optSet = Optional.of(Collections.unmodifiableSet(optSet.get()));
-		}
-		return optSet.get();
+		return auxiliary ? this.auxEntityViewMap.get(type) : this.nonAuxEntityViewMap.get(type);
 	}
 
 	@Override
 	public Optional<Integer> getIndividual(Integer auxNominal) {
 		Objects.requireNonNull(auxNominal);
-		return this.auxNominalInvMap.get(auxNominal);
+		int ret = get(this.individualOfNominal, auxNominal);
+		return (ret == undefined) ? Optional.empty() : Optional.of(ret);
 	}
 
 	@Override
 	public Set<Integer> getIndividuals() {
-		return Collections.unmodifiableSet(this.auxNominalMap.keySet());
+		return Collections.unmodifiableSet(this.individualSet);
+	}
+
+	@Override
+	public Optional<Integer> getInverseObjectProperty(Integer propertyId) {
+		Objects.requireNonNull(propertyId);
+		int ret = get(this.inverseOfProperty, propertyId);
+		return (ret == undefined) ? Optional.empty() : Optional.of(ret);
 	}
 
 	@Override
 	public String getName(Integer identifier) {
 		Objects.requireNonNull(identifier);
-		if (!this.entityTypeMap.containsKey(identifier)) {
-			throw new IndexOutOfBoundsException("Invalid identifier : " + identifier);
-		}
-
-		Optional<String> optName = this.nameMap.get(identifier);
+		validate(identifier);
+		Optional<String> optName = this.nameDictionary.get(identifier);
 		if (!optName.isPresent()) {
-			if (this.auxEntitySet.contains(identifier)) {
+			if (this.auxiliaryFlag[identifier]) {
 				optName = Optional.of(auxiliaryEntity + identifier);
 			} else {
 				optName = Optional.of(anonymousEntity + identifier);
@@ -231,11 +317,14 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	@Override
 	public IntegerEntityType getType(Integer identifier) {
 		Objects.requireNonNull(identifier);
-		Optional<IntegerEntityType> optType = this.entityTypeMap.get(identifier);
-		if (!optType.isPresent()) {
-			throw new IndexOutOfBoundsException("Invalid identifier : " + identifier);
-		}
-		return optType.get();
+		validate(identifier);
+		return this.typeOfEntity[identifier];
+	}
+
+	private int[] growIdArray(int[] array, int length) {
+		int[] ret = Arrays.copyOf(array, length);
+		Arrays.fill(ret, array.length, length, undefined);
+		return ret;
 	}
 
 	@Override
@@ -246,51 +335,62 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 	@Override
 	public boolean isAuxiliary(Integer identifier) {
 		Objects.requireNonNull(identifier);
-		if (!this.entityTypeMap.containsKey(identifier)) {
-			throw new IndexOutOfBoundsException("Invalid identifier : " + identifier);
-		}
-		return this.auxEntitySet.contains(identifier);
+		validate(identifier);
+		return this.auxiliaryFlag[identifier];
 	}
 
 	@Override
 	public boolean isEntity(Integer identifier) {
 		Objects.requireNonNull(identifier);
-		return this.entityTypeMap.containsKey(identifier);
+		return identifier >= 0 && identifier < this.entityCounter;
 	}
 
 	@Override
-	public boolean proposeInverseObjectPropertyOf(Integer firstProperty, Integer secondProperty) {
+	public synchronized boolean proposeInverseObjectPropertyOf(Integer firstProperty, Integer secondProperty) {
 		Objects.requireNonNull(firstProperty);
 		Objects.requireNonNull(secondProperty);
 		boolean ret = false;
-		Optional<Integer> optInvFirstProperty = this.inverseObjectPropertyMap.get(firstProperty);
-		Optional<Integer> optInvSecondProperty = this.inverseObjectPropertyMap.get(secondProperty);
-		if (!optInvFirstProperty.isPresent() && !optInvSecondProperty.isPresent()) {
-			this.inverseObjectPropertyMap.put(firstProperty, secondProperty);
-			this.inverseObjectPropertyMap.put(secondProperty, firstProperty);
+		if (get(this.inverseOfProperty, firstProperty) == undefined
+				&& get(this.inverseOfProperty, secondProperty) == undefined) {
+			ensureCapacity(Math.max(firstProperty, secondProperty));
+			setInverseObjectProperties(firstProperty, secondProperty);
 			ret = true;
 		}
 		return ret;
 	}
 
-	private void registerProperty(Integer identifier, IntegerEntityType type, boolean auxiliary) {
+	/**
+	 * Registers a new entity. This method must be called from a synchronized
+	 * method, and the entity counter must be updated afterwards.
+	 * 
+	 * @param identifier
+	 *            identifier
+	 * @param type
+	 *            type
+	 * @param auxiliary
+	 *            <code>true</code> if the entity is auxiliary
+	 */
+	private void registerEntity(int identifier, IntegerEntityType type, boolean auxiliary) {
+		ensureCapacity(identifier);
+		IntegerEntityType[] types = this.typeOfEntity;
+		types[identifier] = type;
+		this.typeOfEntity = types;
+		boolean[] flags = this.auxiliaryFlag;
+		flags[identifier] = auxiliary;
+		this.auxiliaryFlag = flags;
 		if (auxiliary) {
-			this.auxEntitySet.add(identifier);
-			Optional<Set<Integer>> optSet = this.auxEntityMap.get(type);
-			if (!optSet.isPresent()) {
-				optSet = Optional.of(new HashSet<>());
-				this.auxEntityMap.put(type, optSet.get());
-			}
-			optSet.get().add(identifier);
+			this.auxEntityMap.get(type).add(identifier);
 		} else {
-			Optional<Set<Integer>> optSet = this.nonAuxEntityMap.get(type);
-			if (!optSet.isPresent()) {
-				optSet = Optional.of(new HashSet<>());
-				this.nonAuxEntityMap.put(type, optSet.get());
-			}
-			optSet.get().add(identifier);
+			this.nonAuxEntityMap.get(type).add(identifier);
 		}
-		this.entityTypeMap.put(identifier, type);
+		this.entityMap.get(type).add(identifier);
+	}
+
+	private void setInverseObjectProperties(int firstProperty, int secondProperty) {
+		int[] inverses = this.inverseOfProperty;
+		inverses[firstProperty] = secondProperty;
+		inverses[secondProperty] = firstProperty;
+		this.inverseOfProperty = inverses;
 	}
 
 	@Override
@@ -300,11 +400,21 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 
 	@Override
 	public String toString() {
+		int size = this.entityCounter;
 		StringBuffer sbuf = new StringBuffer();
 		sbuf.append("[\n  entities: ");
-		sbuf.append(this.entityCounter);
-		sbuf.append("\n  names: ");
-		sbuf.append(this.nameMap);
+		sbuf.append(size);
+		sbuf.append("\n  names: {");
+		boolean first = true;
+		for (int identifier = 0; identifier < size; identifier++) {
+			Optional<String> optName = this.nameDictionary.get(identifier);
+			if (optName.isPresent()) {
+				sbuf.append(first ? "" : ", ");
+				sbuf.append(identifier + "=" + optName.get());
+				first = false;
+			}
+		}
+		sbuf.append("}");
 		sbuf.append("\n  non-auxiliary entities: ");
 		sbuf.append(this.nonAuxEntityMap);
 		sbuf.append("\n  auxiliary entities: ");
@@ -315,4 +425,10 @@ public class IntegerEntityManagerImpl implements IntegerEntityManager {
 		return sbuf.toString();
 	}
 
+	private void validate(int identifier) {
+		if (identifier < 0 || identifier >= this.entityCounter) {
+			throw new IndexOutOfBoundsException("Invalid identifier : " + identifier);
+		}
+	}
+
 }
@@ -0,0 +1,209 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.coreontology.datatype;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A dictionary of entity names indexed by identifier. Each name is split into
+ * a prefix and a local name. The prefix is everything up to the last '#', '/'
+ * or ':', and it is stored once in a table of prefixes. The local names are
+ * stored one after the other in a shared array of characters. The names are
+ * only built as strings when they are requested.
+ * <p>
+ * The names must be added from synchronized methods of the owner. Each array
+ * field is written again after it is modified, so that the names can be read
+ * without locking.
+ * </p>
+ *
+ * @author Julian Mendez
+ */
+class NameDictionary {
+
+	private static final int initialArenaCapacity = 0x1000;
+	private static final int initialCapacity = 0x100;
+	private static final int undefined = -1;
+
+	private volatile char[] arena = new char[initialArenaCapacity];
+	private int arenaSize = 0;
+	private volatile int[] lengthOfName = new int[initialCapacity];
+	private volatile int[] prefixOfName = createIdArray(initialCapacity);
+	private final Map<String, Integer> prefixMap = new HashMap<>();
+	private volatile String[] prefixes = new String[initialCapacity];
+	private volatile int[] startOfName = new int[initialCapacity];
+
+	/**
+	 * Constructs an empty dictionary.
+	 */
+	NameDictionary() {
+	}
+
+	private static int[] createIdArray(int length) {
+		int[] ret = new int[length];
+		Arrays.fill(ret, undefined);
+		return ret;
+	}
+
+	private void ensureArenaCapacity(int capacity) {
+		if (capacity > this.arena.length) {
+			this.arena = Arrays.copyOf(this.arena, Math.max(capacity, 2 * this.arena.length));
+		}
+	}
+
+	private void ensureCapacity(int identifier) {
+		int length = this.prefixOfName.length;
+		if (identifier >= length) {
+			int newLength = Math.max(identifier + 1, 2 * length);
+			this.lengthOfName = Arrays.copyOf(this.lengthOfName, newLength);
+			int[] newPrefixOfName = Arrays.copyOf(this.prefixOfName, newLength);
+			Arrays.fill(newPrefixOfName, length, newLength, undefined);
+			this.prefixOfName = newPrefixOfName;
+			this.startOfName = Arrays.copyOf(this.startOfName, newLength);
+		}
+	}
+
+	/**
+	 * Returns the name of the given identifier, if it has one.
+	 *
+	 * @param identifier
+	 *            identifier
+	 * @return the name of the given identifier, if it has one
+	 */
+	Optional<String> get(int identifier) {
+		Optional<String> ret = Optional.empty();
+		int[] prefixOfName = this.prefixOfName;
+		if (identifier >= 0 && identifier < prefixOfName.length && prefixOfName[identifier] != undefined) {
+			char[] arena = this.arena;
+			String prefix = this.prefixes[prefixOfName[identifier]];
+			int start = this.startOfName[identifier];
+			int length = this.lengthOfName[identifier];
+			StringBuilder sbuf = new StringBuilder(prefix.length() + length);
+			sbuf.append(prefix);
+			sbuf.append(arena, start, length);
+			ret = Optional.of(sbuf.toString());
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the number of different prefixes.
+	 *
+	 * @return the number of different prefixes
+	 */
+	int getNumberOfPrefixes() {
+		return this.prefixMap.size();
+	}
+
+	private int getPrefixId(String prefix) {
+		Integer ret = this.prefixMap.get(prefix);
+		if (Objects.isNull(ret)) {
+			ret = this.prefixMap.size();
+			String[] prefixes = this.prefixes;
+			if (ret >= prefixes.length) {
+				prefixes = Arrays.copyOf(prefixes, 2 * prefixes.length);
+			}
+			prefixes[ret] = prefix;
+			this.prefixes = prefixes;
+			this.prefixMap.put(prefix, ret);
+		}
+		return ret;
+	}
+
+	private int getPrefixLength(String name) {
+		int index = name.length() - 1;
+		while (index >= 0 && name.charAt(index) != '#' && name.charAt(index) != '/' && name.charAt(index) != ':') {
+			index--;
+		}
+		return index + 1;
+	}
+
+	/**
+	 * Sets the name of an identifier. This method must be called from a
+	 * synchronized method of the owner.
+	 *
+	 * @param identifier
+	 *            identifier
+	 * @param name
+	 *            name
+	 */
+	void put(int identifier, String name) {
+		Objects.requireNonNull(name);
+		if (identifier < 0) {
+			throw new IndexOutOfBoundsException("Invalid identifier : " + identifier);
+		}
+		ensureCapacity(identifier);
+		int prefixLength = getPrefixLength(name);
+		int prefixId = getPrefixId(name.substring(0, prefixLength));
+		int length = name.length() - prefixLength;
+		int start = this.arenaSize;
+		ensureArenaCapacity(start + length);
+		char[] arena = this.arena;
+		name.getChars(prefixLength, name.length(), arena, start);
+		this.arena = arena;
+		this.arenaSize = start + length;
+
+		int[] startOfName = this.startOfName;
+		startOfName[identifier] = start;
+		this.startOfName = startOfName;
+		int[] lengthOfName = this.lengthOfName;
+		lengthOfName[identifier] = length;
+		this.lengthOfName = lengthOfName;
+		int[] prefixOfName = this.prefixOfName;
+		prefixOfName[identifier] = prefixId;
+		this.prefixOfName = prefixOfName;
+	}
+
+	@Override
+	public String toString() {
+		return "[prefixes: " + getNumberOfPrefixes() + ", characters: " + this.arenaSize + "]";
+	}
+
+}
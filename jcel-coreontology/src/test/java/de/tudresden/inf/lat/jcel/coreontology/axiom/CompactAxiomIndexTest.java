@@ -0,0 +1,140 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.coreontology.axiom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link CompactAxiomIndex}.
+ * 
+ * @author Julian Mendez
+ */
+public class CompactAxiomIndexTest {
+
+	/**
+	 * Constructs a new test class for the compact axiom index.
+	 */
+	public CompactAxiomIndexTest() {
+	}
+
+	private void assertPairs(CompactAxiomIndex index, int start, int end, int... expected) {
+		Assertions.assertEquals(expected.length, 2 * (end - start));
+		for (int position = start; position < end; position++) {
+			Assertions.assertEquals(expected[2 * (position - start)], index.getFirst(position));
+			Assertions.assertEquals(expected[2 * (position - start) + 1], index.getSecond(position));
+		}
+	}
+
+	@Test
+	public void testAbsentKeys() {
+		int[] keys = { 2, 5, 2 };
+		int[] firsts = { 10, 11, 12 };
+		int[] seconds = { 20, 21, 22 };
+		CompactAxiomIndex index = new CompactAxiomIndex(keys, firsts, seconds, keys.length);
+		for (int key : new int[] { -1, 0, 1, 3, 4, 6, 0x1000, Integer.MAX_VALUE }) {
+			Assertions.assertTrue(index.isEmpty(key));
+			Assertions.assertEquals(index.getStart(key), index.getEnd(key));
+			Assertions.assertEquals(index.getStart(key, 10), index.getEnd(key, 10));
+		}
+		assertPairs(index, index.getStart(2), index.getEnd(2), 10, 20, 12, 22);
+		assertPairs(index, index.getStart(5), index.getEnd(5), 11, 21);
+	}
+
+	@Test
+	public void testDuplicateTriples() {
+		int[] keys = { 3, 3, 3, 3, 1, 3 };
+		int[] firsts = { 7, 7, 4, 7, 7, 7 };
+		int[] seconds = { 8, 8, 9, 6, 8, 8 };
+		CompactAxiomIndex index = new CompactAxiomIndex(keys, firsts, seconds, keys.length);
+		Assertions.assertEquals(4, index.size());
+		assertPairs(index, index.getStart(3), index.getEnd(3), 4, 9, 7, 6, 7, 8);
+		assertPairs(index, index.getStart(1), index.getEnd(1), 7, 8);
+	}
+
+	@Test
+	public void testEmptyIndex() {
+		CompactAxiomIndex index = new CompactAxiomIndex(new int[0], new int[0], new int[0], 0);
+		Assertions.assertEquals(0, index.size());
+		Assertions.assertTrue(index.isEmpty(0));
+		Assertions.assertEquals(0, index.getStart(0));
+		Assertions.assertEquals(0, index.getEnd(0));
+		Assertions.assertEquals(0, index.getStart(0, 5));
+		Assertions.assertEquals(0, index.getEnd(0, 5));
+	}
+
+	@Test
+	public void testRangesByFirstComponent() {
+		int[] keys = { 4, 4, 4, 4, 4, 4, 2, 6 };
+		int[] firsts = { 5, 1, 5, 9, 0, Integer.MAX_VALUE, 5, 5 };
+		int[] seconds = { 2, 3, 1, 4, 7, 8, 9, 9 };
+		CompactAxiomIndex index = new CompactAxiomIndex(keys, firsts, seconds, keys.length);
+		int start = index.getStart(4);
+		int end = index.getEnd(4);
+		assertPairs(index, start, end, 0, 7, 1, 3, 5, 1, 5, 2, 9, 4, Integer.MAX_VALUE, 8);
+
+		assertPairs(index, index.getStart(4, 5), index.getEnd(4, 5), 5, 1, 5, 2);
+		assertPairs(index, index.getStart(4, 0), index.getEnd(4, 0), 0, 7);
+		assertPairs(index, index.getStart(4, Integer.MAX_VALUE), index.getEnd(4, Integer.MAX_VALUE),
+				Integer.MAX_VALUE, 8);
+		Assertions.assertEquals(start, index.getStart(4, 0));
+		Assertions.assertEquals(end, index.getEnd(4, Integer.MAX_VALUE));
+
+		Assertions.assertEquals(index.getStart(4, 3), index.getEnd(4, 3));
+		Assertions.assertEquals(index.getStart(4, 5), index.getStart(4, 3));
+		Assertions.assertEquals(index.getStart(4, 10), index.getEnd(4, 10));
+		Assertions.assertEquals(index.getStart(4, Integer.MAX_VALUE), index.getStart(4, 10));
+
+		assertPairs(index, index.getStart(2, 5), index.getEnd(2, 5), 5, 9);
+		assertPairs(index, index.getStart(6, 5), index.getEnd(6, 5), 5, 9);
+		Assertions.assertEquals(index.getStart(2, 6), index.getEnd(2, 6));
+		Assertions.assertTrue(index.getEnd(2, 5) <= start);
+		Assertions.assertTrue(index.getStart(6, 5) >= end);
+	}
+
+}
@@ -0,0 +1,213 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.coreontology.axiom;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link CompactExtendedOntology}.
+ * 
+ * @author Julian Mendez
+ */
+public class CompactExtendedOntologyTest {
+
+	private static final int firstClass = 6;
+	private static final int firstProperty = 100;
+	private static final int numberOfClasses = 30;
+	private static final int numberOfProperties = 6;
+
+	/**
+	 * Constructs a new test class for the compact extended ontology.
+	 */
+	public CompactExtendedOntologyTest() {
+	}
+
+	private Set<IntegerAnnotation> annotations(Random random) {
+		Set<IntegerAnnotation> ret = new TreeSet<>();
+		if (random.nextBoolean()) {
+			ret.add(new IntegerAnnotationImpl(0, random.nextInt(3)));
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns a random ontology. Some axioms are repeated with different
+	 * annotations, so that they are different axioms with the same triple.
+	 */
+	private Set<NormalizedIntegerAxiom> createOntology(Random random, NormalizedIntegerAxiomFactory factory) {
+		Set<NormalizedIntegerAxiom> ret = new HashSet<>();
+		for (int index = 0; index < 400; index++) {
+			int a = firstClass + random.nextInt(numberOfClasses);
+			int b = firstClass + random.nextInt(numberOfClasses);
+			int c = firstClass + random.nextInt(numberOfClasses);
+			int r = firstProperty + random.nextInt(numberOfProperties);
+			int s = firstProperty + random.nextInt(numberOfProperties);
+			switch (random.nextInt(7)) {
+			case 0:
+				ret.add(factory.createGCI0Axiom(a, b, annotations(random)));
+				break;
+			case 1:
+				ret.add(factory.createGCI1Axiom(a, random.nextInt(4) == 0 ? a : b, c, annotations(random)));
+				break;
+			case 2:
+				ret.add(factory.createGCI2Axiom(a, r, b, annotations(random)));
+				break;
+			case 3:
+				ret.add(factory.createGCI3Axiom(r, a, b, annotations(random)));
+				break;
+			case 4:
+				ret.add(factory.createRI2Axiom(r, s, annotations(random)));
+				break;
+			case 5:
+				ret.add(factory.createRI3Axiom(r, r, r, annotations(random)));
+				break;
+			default:
+				ret.add(factory.createFunctObjectPropAxiom(r, annotations(random)));
+			}
+		}
+		return ret;
+	}
+
+	private Set<List<Integer>> getPairs(CompactAxiomIndex index, int start, int end) {
+		Set<List<Integer>> ret = new HashSet<>();
+		for (int position = start; position < end; position++) {
+			Assertions.assertTrue(ret.add(Arrays.asList(index.getFirst(position), index.getSecond(position))));
+		}
+		return ret;
+	}
+
+	private Set<List<Integer>> getPairs(CompactAxiomIndex index, int key) {
+		return getPairs(index, index.getStart(key), index.getEnd(key));
+	}
+
+	@Test
+	public void testAgreementWithExtendedOntology() {
+		Random random = new Random(44);
+		for (int round = 0; round < 20; round++) {
+			ExtendedOntology ontology = new ExtendedOntologyImpl();
+			ontology.load(createOntology(random, new NormalizedIntegerAxiomFactoryImpl()));
+			CompactExtendedOntology compact = new CompactExtendedOntology(ontology);
+
+			for (int classId = 0; classId < firstClass + numberOfClasses + 1; classId++) {
+				int cls = classId;
+				Set<List<Integer>> expected = new HashSet<>();
+				ontology.getGCI0Axioms(cls).forEach(axiom -> expected.add(Arrays.asList(axiom.getSuperClass(), 0)));
+				Assertions.assertEquals(expected, getPairs(compact.getGCI0Index(), cls));
+
+				expected.clear();
+				ontology.getGCI1Axioms(cls).forEach(axiom -> expected.add(Arrays.asList(
+						axiom.getLeftSubClass() == cls ? axiom.getRightSubClass() : axiom.getLeftSubClass(),
+						axiom.getSuperClass())));
+				Assertions.assertEquals(expected, getPairs(compact.getGCI1Index(), cls));
+
+				expected.clear();
+				ontology.getGCI2Axioms(cls).forEach(axiom -> expected
+						.add(Arrays.asList(axiom.getPropertyInSuperClass(), axiom.getClassInSuperClass())));
+				Assertions.assertEquals(expected, getPairs(compact.getGCI2Index(), cls));
+
+				expected.clear();
+				ontology.getGCI3AAxioms(cls).forEach(
+						axiom -> expected.add(Arrays.asList(axiom.getPropertyInSubClass(), axiom.getSuperClass())));
+				Assertions.assertEquals(expected, getPairs(compact.getGCI3AIndex(), cls));
+			}
+
+			for (int property = firstProperty - 1; property < firstProperty + numberOfProperties + 1; property++) {
+				Set<List<Integer>> expected = new HashSet<>();
+				ontology.getGCI3rAxioms(property).forEach(
+						axiom -> expected.add(Arrays.asList(axiom.getClassInSubClass(), axiom.getSuperClass())));
+				Assertions.assertEquals(expected, getPairs(compact.getGCI3rAIndex(), property));
+
+				for (int classId = firstClass; classId < firstClass + numberOfClasses; classId++) {
+					expected.clear();
+					ontology.getGCI3rAAxioms(property, classId).forEach(
+							axiom -> expected.add(Arrays.asList(axiom.getClassInSubClass(), axiom.getSuperClass())));
+					Assertions.assertEquals(expected, getPairs(compact.getGCI3rAIndex(),
+							compact.getGCI3rAIndex().getStart(property, classId),
+							compact.getGCI3rAIndex().getEnd(property, classId)));
+				}
+
+				expected.clear();
+				ontology.getRI2rAxioms(property)
+						.forEach(axiom -> expected.add(Arrays.asList(axiom.getSuperProperty(), 0)));
+				Assertions.assertEquals(expected, getPairs(compact.getRI2rIndex(), property));
+
+				Assertions.assertEquals(ontology.getFunctionalObjectProperties().contains(property),
+						compact.isFunctionalObjectProperty(property));
+				Assertions.assertEquals(ontology.getTransitiveObjectProperties().contains(property),
+						compact.isTransitiveObjectProperty(property));
+			}
+		}
+	}
+
+	@Test
+	public void testFrozenCopy() {
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		ExtendedOntology ontology = new ExtendedOntologyImpl();
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		axioms.add(factory.createGCI0Axiom(6, 7, new TreeSet<>()));
+		ontology.load(axioms);
+		CompactExtendedOntology compact = new CompactExtendedOntology(ontology);
+
+		axioms.clear();
+		axioms.add(factory.createGCI0Axiom(6, 8, new TreeSet<>()));
+		ontology.load(axioms);
+		Assertions.assertEquals(2, ontology.getGCI0Axioms(6).size());
+		Assertions.assertEquals(1, compact.getGCI0Index().size());
+		Assertions.assertFalse(compact.isFunctionalObjectProperty(-1));
+		Assertions.assertFalse(compact.isTransitiveObjectProperty(-1));
+	}
+
+}
@@ -0,0 +1,136 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.coreontology.axiom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link NormalizedIntegerAxiomFactoryImpl}.
+ * 
+ * @author Julian Mendez
+ */
+public class NormalizedIntegerAxiomFactoryImplTest {
+
+	/**
+	 * Constructs a new test class for the normalized axiom factory.
+	 */
+	public NormalizedIntegerAxiomFactoryImplTest() {
+	}
+
+	private Set<IntegerAnnotation> annotations(int... values) {
+		Set<IntegerAnnotation> ret = new TreeSet<>();
+		for (int value : values) {
+			ret.add(new IntegerAnnotationImpl(0, value));
+		}
+		return ret;
+	}
+
+	@Test
+	public void testInterning() {
+		NormalizedIntegerAxiomFactoryImpl factory = new NormalizedIntegerAxiomFactoryImpl();
+		GCI0Axiom axiom = factory.createGCI0Axiom(6, 7, annotations(1));
+		Assertions.assertSame(axiom, factory.createGCI0Axiom(6, 7, annotations(1)));
+		Assertions.assertNotSame(axiom, factory.createGCI0Axiom(6, 7, annotations(2)));
+		Assertions.assertNotSame(axiom, factory.createGCI0Axiom(7, 6, annotations(1)));
+		Assertions.assertEquals(annotations(1), axiom.getAnnotations());
+
+		RI3Axiom chain = factory.createRI3Axiom(8, 9, 10, Collections.emptySet());
+		Assertions.assertSame(chain, factory.createRI3Axiom(8, 9, 10, new TreeSet<>()));
+		Assertions.assertTrue(chain.getAnnotations().isEmpty());
+
+		NormalizedIntegerAxiomFactoryImpl otherFactory = new NormalizedIntegerAxiomFactoryImpl();
+		GCI0Axiom otherAxiom = otherFactory.createGCI0Axiom(6, 7, annotations(1));
+		Assertions.assertEquals(axiom, otherAxiom);
+		Assertions.assertNotSame(axiom, otherAxiom);
+	}
+
+	@Test
+	public void testLeanMode() {
+		NormalizedIntegerAxiomFactoryImpl factory = new NormalizedIntegerAxiomFactoryImpl(true);
+		Assertions.assertTrue(factory.isLean());
+		Assertions.assertFalse(new NormalizedIntegerAxiomFactoryImpl().isLean());
+
+		GCI2Axiom axiom = factory.createGCI2Axiom(6, 20, 7, annotations(1, 2));
+		Assertions.assertTrue(axiom.getAnnotations().isEmpty());
+		Assertions.assertSame(axiom, factory.createGCI2Axiom(6, 20, 7, annotations(3)));
+		Assertions.assertTrue(factory.createRI2Axiom(20, 21, annotations(1)).getAnnotations().isEmpty());
+		Assertions.assertTrue(factory.createNominalAxiom(6, 11, annotations(1)).getAnnotations().isEmpty());
+	}
+
+	@Test
+	public void testUnusedAxiomsAreReleased() throws InterruptedException {
+		NormalizedIntegerAxiomFactoryImpl factory = new NormalizedIntegerAxiomFactoryImpl();
+		int numberOfAxioms = 0x1000;
+		List<GCI0Axiom> kept = new ArrayList<>();
+		for (int index = 0; index < numberOfAxioms; index++) {
+			GCI0Axiom axiom = factory.createGCI0Axiom(index, index + 1, Collections.emptySet());
+			if (index % 2 == 0) {
+				kept.add(axiom);
+			}
+		}
+		Assertions.assertEquals(numberOfAxioms, factory.getNumberOfInternedAxioms());
+
+		for (int attempt = 0; attempt < 50 && factory.getNumberOfInternedAxioms() > kept.size(); attempt++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		Assertions.assertEquals(kept.size(), factory.getNumberOfInternedAxioms());
+		for (int index = 0; index < kept.size(); index++) {
+			Assertions.assertSame(kept.get(index), factory.createGCI0Axiom(2 * index, 2 * index + 1,
+					Collections.emptySet()));
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.tudresden.inf.lat.jcel.coreontology.axiom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManagerImpl;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.coreontology.expressivity.NormalizedAxiomExpressivityDetector;
+
+/**
+ * Test class for {@link NormalizedOntologySerializer}.
+ * 
+ * @author Julian Mendez
+ */
+public class NormalizedOntologySerializerTest {
+
+	/**
+	 * Constructs a new test class for the normalized ontology serializer.
+	 */
+	public NormalizedOntologySerializerTest() {
+	}
+
+	private NormalizedOntologySnapshot createSnapshot() {
+		IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+		NormalizedIntegerAxiomFactory factory = new NormalizedIntegerAxiomFactoryImpl();
+		int a = entityManager.createNamedEntity(IntegerEntityType.CLASS, "http://example.org#A", false);
+		int b = entityManager.createNamedEntity(IntegerEntityType.CLASS, "http://example.org#B", false);
+		int r = entityManager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, "http://example.org#r", false);
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		axioms.add(factory.createGCI0Axiom(a, b, Collections.emptySet()));
+		axioms.add(factory.createGCI2Axiom(a, r, b, Collections.emptySet()));
+		Set<Integer> classes = new HashSet<>();
+		classes.add(a);
+		classes.add(b);
+		return new NormalizedOntologySnapshot(entityManager, classes, Collections.singleton(r), axioms,
+				new NormalizedAxiomExpressivityDetector(axioms));
+	}
+
+	private ByteBuffer write(NormalizedOntologySnapshot snapshot, String sourceFingerprint) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		(new NormalizedOntologySerializer()).write(snapshot, Channels.newChannel(output), sourceFingerprint);
+		return ByteBuffer.wrap(output.toByteArray());
+	}
+
+	@Test
+	public void testDifferentSourceFingerprint() throws IOException {
+		ByteBuffer buffer = write(createSnapshot(), "/tmp/a.owl 100 1000");
+		IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+		Assertions.assertThrows(SourceMismatchException.class,
+				() -> (new NormalizedOntologySerializer()).read(buffer, new NormalizedIntegerAxiomFactoryImpl(),
+						entityManager, "/tmp/a.owl 100 2000"));
+		Assertions.assertEquals(IntegerEntityManager.firstUsableIdentifier.intValue(), entityManager.size());
+	}
+
+	@Test
+	public void testSameSourceFingerprint() throws IOException {
+		NormalizedOntologySnapshot snapshot = createSnapshot();
+		String sourceFingerprint = "/tmp/a.owl 100 1000\nhttp://example.org/imported";
+		ByteBuffer buffer = write(snapshot, sourceFingerprint);
+		IntegerEntityManager entityManager = new IntegerEntityManagerImpl();
+		NormalizedOntologySnapshot restored = (new NormalizedOntologySerializer()).read(buffer,
+				new NormalizedIntegerAxiomFactoryImpl(), entityManager, sourceFingerprint);
+		Assertions.assertEquals(snapshot.getEntityManager(), entityManager);
+		Assertions.assertEquals(snapshot.getAxioms(), restored.getAxioms());
+		Assertions.assertEquals(snapshot.getClasses(), restored.getClasses());
+		Assertions.assertEquals(snapshot.getObjectProperties(), restored.getObjectProperties());
+	}
+
+	@Test
+	public void testUncheckedSourceFingerprint() throws IOException {
+		NormalizedOntologySnapshot snapshot = createSnapshot();
+		ByteBuffer buffer = write(snapshot, "/tmp/a.owl 100 1000");
+		NormalizedOntologySnapshot restored = (new NormalizedOntologySerializer()).read(buffer,
+				new NormalizedIntegerAxiomFactoryImpl(), new IntegerEntityManagerImpl());
+		Assertions.assertEquals(snapshot.getAxioms(), restored.getAxioms());
+	}
+
+}
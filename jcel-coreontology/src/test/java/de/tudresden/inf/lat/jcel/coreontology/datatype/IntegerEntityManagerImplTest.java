@@ -0,0 +1,248 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.coreontology.datatype;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link IntegerEntityManagerImpl}.
+ * 
+ * @author Julian Mendez
+ */
+public class IntegerEntityManagerImplTest {
+
+	/**
+	 * Constructs a new test class for the entity manager.
+	 */
+	public IntegerEntityManagerImplTest() {
+	}
+
+	@Test
+	public void testConcurrentCreation() throws InterruptedException, ExecutionException {
+		int numberOfThreads = 8;
+		int entitiesPerThread = 1000;
+		int sharedEntities = 100;
+		IntegerEntityManagerImpl manager = new IntegerEntityManagerImpl();
+		List<Integer> individuals = new ArrayList<>();
+		List<Integer> properties = new ArrayList<>();
+		for (int i = 0; i < sharedEntities; i++) {
+			individuals.add(manager.createNamedEntity(IntegerEntityType.INDIVIDUAL, "i" + i, false));
+			properties.add(manager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, "r" + i, false));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+		List<Future<List<Integer>>> futures = new ArrayList<>();
+		for (int thread = 0; thread < numberOfThreads; thread++) {
+			String prefix = "http://example.org/thread" + thread + "#C";
+			futures.add(executor.submit(() -> {
+				List<Integer> ret = new ArrayList<>();
+				for (int i = 0; i < entitiesPerThread; i++) {
+					ret.add(manager.createNamedEntity(IntegerEntityType.CLASS, prefix + i, false));
+					manager.createOrGetClassIdForIndividual(individuals.get(i % sharedEntities));
+					manager.createOrGetInverseObjectPropertyOf(properties.get(i % sharedEntities));
+				}
+				return ret;
+			}));
+		}
+
+		Set<Integer> created = new HashSet<>();
+		for (int thread = 0; thread < numberOfThreads; thread++) {
+			List<Integer> classes = futures.get(thread).get();
+			for (int i = 0; i < entitiesPerThread; i++) {
+				Integer cls = classes.get(i);
+				Assertions.assertTrue(created.add(cls));
+				Assertions.assertEquals("http://example.org/thread" + thread + "#C" + i, manager.getName(cls));
+				Assertions.assertEquals(IntegerEntityType.CLASS, manager.getType(cls));
+			}
+		}
+		executor.shutdown();
+
+		Set<Integer> nominals = new HashSet<>();
+		Set<Integer> inverses = new HashSet<>();
+		for (int i = 0; i < sharedEntities; i++) {
+			Integer nominal = manager.getAuxiliaryNominal(individuals.get(i)).get();
+			Assertions.assertEquals(individuals.get(i), manager.getIndividual(nominal).get());
+			nominals.add(nominal);
+			Integer inverse = manager.getInverseObjectProperty(properties.get(i)).get();
+			Assertions.assertEquals(properties.get(i), manager.getInverseObjectProperty(inverse).get());
+			inverses.add(inverse);
+		}
+		Assertions.assertEquals(sharedEntities, nominals.size());
+		Assertions.assertEquals(nominals, manager.getAuxiliaryNominals());
+		Assertions.assertEquals(inverses, manager.getAuxiliaryInverseObjectProperties());
+		Assertions.assertEquals(
+				IntegerEntityManager.firstUsableIdentifier + (4 * sharedEntities) + (numberOfThreads * entitiesPerThread),
+				manager.size());
+	}
+
+	@Test
+	public void testAuxiliaryAndNominalLookups() {
+		IntegerEntityManagerImpl manager = new IntegerEntityManagerImpl();
+		Integer individual = manager.createNamedEntity(IntegerEntityType.INDIVIDUAL, "i", false);
+		Integer cls = manager.createNamedEntity(IntegerEntityType.CLASS, "C", false);
+		Integer first = manager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, "r", false);
+		Integer second = manager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, "s", false);
+
+		Assertions.assertEquals(Optional.empty(), manager.getAuxiliaryNominal(individual));
+		Assertions.assertEquals(Optional.empty(), manager.getIndividual(cls));
+		Assertions.assertEquals(Optional.empty(), manager.getIndividual(0x1000));
+		Assertions.assertEquals(Optional.empty(), manager.getInverseObjectProperty(0x1000));
+
+		Integer nominal = manager.createOrGetClassIdForIndividual(individual);
+		Assertions.assertEquals(nominal, manager.createOrGetClassIdForIndividual(individual));
+		Assertions.assertEquals(Optional.of(nominal), manager.getAuxiliaryNominal(individual));
+		Assertions.assertEquals(Optional.of(individual), manager.getIndividual(nominal));
+		Assertions.assertEquals(IntegerEntityType.CLASS, manager.getType(nominal));
+		Assertions.assertTrue(manager.isAuxiliary(nominal));
+		Assertions.assertEquals(IntegerEntityManagerImpl.auxiliaryEntity + nominal, manager.getName(nominal));
+
+		Assertions.assertTrue(manager.proposeInverseObjectPropertyOf(first, second));
+		Assertions.assertFalse(manager.proposeInverseObjectPropertyOf(first, second));
+		Assertions.assertEquals(Optional.of(second), manager.getInverseObjectProperty(first));
+		Assertions.assertEquals(Optional.of(first), manager.getInverseObjectProperty(second));
+		Assertions.assertEquals(second, manager.createOrGetInverseObjectPropertyOf(first));
+		Assertions.assertTrue(manager.getAuxiliaryInverseObjectProperties().isEmpty());
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> manager.getName(manager.size()));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> manager.getType(-1));
+	}
+
+	@Test
+	public void testGetEntitiesByAuxiliary() {
+		IntegerEntityManagerImpl manager = new IntegerEntityManagerImpl();
+		Set<Integer> classes = new TreeSet<>();
+		classes.add(IntegerEntityManager.bottomClassId);
+		classes.add(IntegerEntityManager.topClassId);
+		Set<Integer> auxClasses = new TreeSet<>();
+		Set<Integer> properties = new TreeSet<>();
+		properties.add(IntegerEntityManager.bottomObjectPropertyId);
+		properties.add(IntegerEntityManager.topObjectPropertyId);
+		Set<Integer> auxProperties = new TreeSet<>();
+		for (int i = 0; i < 10; i++) {
+			classes.add(manager.createNamedEntity(IntegerEntityType.CLASS, "C" + i, false));
+			auxClasses.add(manager.createAnonymousEntity(IntegerEntityType.CLASS, true));
+			Integer property = manager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, "r" + i, false);
+			properties.add(property);
+			auxProperties.add(manager.createOrGetInverseObjectPropertyOf(property));
+		}
+
+		Assertions.assertEquals(classes, manager.getEntities(IntegerEntityType.CLASS, false));
+		Assertions.assertEquals(auxClasses, manager.getEntities(IntegerEntityType.CLASS, true));
+		Assertions.assertEquals(properties, manager.getEntities(IntegerEntityType.OBJECT_PROPERTY, false));
+		Assertions.assertEquals(auxProperties, manager.getEntities(IntegerEntityType.OBJECT_PROPERTY, true));
+		Assertions.assertEquals(auxProperties, manager.getAuxiliaryInverseObjectProperties());
+		Assertions.assertTrue(manager.getEntities(IntegerEntityType.INDIVIDUAL, true).isEmpty());
+
+		Set<Integer> allClasses = new TreeSet<>(classes);
+		allClasses.addAll(auxClasses);
+		Assertions.assertEquals(allClasses, manager.getEntities(IntegerEntityType.CLASS));
+		Assertions.assertThrows(UnsupportedOperationException.class,
+				() -> manager.getEntities(IntegerEntityType.CLASS, false).add(0x1000));
+	}
+
+	@Test
+	public void testGrowthBeyondInitialCapacity() {
+		int numberOfEntities = 0x1000;
+		IntegerEntityManagerImpl manager = new IntegerEntityManagerImpl();
+		List<Integer> individuals = new ArrayList<>();
+		List<Integer> properties = new ArrayList<>();
+		List<Integer> anonymous = new ArrayList<>();
+		for (int i = 0; i < numberOfEntities; i++) {
+			switch (i % 3) {
+			case 0:
+				individuals.add(manager.createNamedEntity(IntegerEntityType.INDIVIDUAL, "i" + i, false));
+				break;
+			case 1:
+				properties.add(manager.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, "r" + i, false));
+				break;
+			default:
+				anonymous.add(manager.createAnonymousEntity(IntegerEntityType.CLASS, false));
+			}
+		}
+		Assertions.assertEquals(IntegerEntityManager.firstUsableIdentifier + numberOfEntities, manager.size());
+
+		Integer lastIndividual = individuals.get(individuals.size() - 1);
+		Integer nominal = manager.createOrGetClassIdForIndividual(lastIndividual);
+		Assertions.assertEquals(Integer.valueOf(manager.size() - 1), nominal);
+		Assertions.assertEquals(Optional.of(lastIndividual), manager.getIndividual(nominal));
+
+		Integer lastProperty = properties.get(properties.size() - 1);
+		Integer inverse = manager.createOrGetInverseObjectPropertyOf(lastProperty);
+		Assertions.assertEquals(Optional.of(lastProperty), manager.getInverseObjectProperty(inverse));
+
+		for (int i = 0; i < individuals.size(); i++) {
+			Integer individual = individuals.get(i);
+			Assertions.assertEquals("i" + (3 * i), manager.getName(individual));
+			Assertions.assertEquals(IntegerEntityType.INDIVIDUAL, manager.getType(individual));
+			Assertions.assertFalse(manager.isAuxiliary(individual));
+			Assertions.assertEquals(individual.equals(lastIndividual),
+					manager.getAuxiliaryNominal(individual).isPresent());
+		}
+		for (Integer cls : anonymous) {
+			Assertions.assertEquals(IntegerEntityManagerImpl.anonymousEntity + cls, manager.getName(cls));
+			Assertions.assertEquals(IntegerEntityType.CLASS, manager.getType(cls));
+		}
+		for (Integer property : properties) {
+			Assertions.assertEquals(property.equals(lastProperty),
+					manager.getInverseObjectProperty(property).isPresent());
+		}
+	}
+
+}
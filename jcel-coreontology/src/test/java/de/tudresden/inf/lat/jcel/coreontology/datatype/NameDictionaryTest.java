@@ -0,0 +1,167 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.coreontology.datatype;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link NameDictionary}.
+ * 
+ * @author Julian Mendez
+ */
+public class NameDictionaryTest {
+
+	/**
+	 * Constructs a new test class for the name dictionary.
+	 */
+	public NameDictionaryTest() {
+	}
+
+	private void assertRoundTrip(List<String> names) {
+		NameDictionary dictionary = new NameDictionary();
+		for (int identifier = 0; identifier < names.size(); identifier++) {
+			dictionary.put(identifier, names.get(identifier));
+		}
+		for (int identifier = 0; identifier < names.size(); identifier++) {
+			Assertions.assertEquals(Optional.of(names.get(identifier)), dictionary.get(identifier));
+		}
+	}
+
+	private String repeat(char c, int length) {
+		char[] ret = new char[length];
+		Arrays.fill(ret, c);
+		return new String(ret);
+	}
+
+	@Test
+	public void testAbsentIdentifiers() {
+		NameDictionary dictionary = new NameDictionary();
+		dictionary.put(0x300, "http://example.org/ontology#A");
+		Assertions.assertEquals(Optional.empty(), dictionary.get(0));
+		Assertions.assertEquals(Optional.empty(), dictionary.get(0x2FF));
+		Assertions.assertEquals(Optional.empty(), dictionary.get(0x301));
+		Assertions.assertEquals(Optional.empty(), dictionary.get(0x10000));
+		Assertions.assertEquals(Optional.empty(), dictionary.get(-1));
+		Assertions.assertEquals(Optional.of("http://example.org/ontology#A"), dictionary.get(0x300));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> dictionary.put(-1, "A"));
+	}
+
+	@Test
+	public void testBlockBoundaries() {
+		List<String> names = new ArrayList<>();
+		for (int index = 0; index < 0x180; index++) {
+			names.add("http://example.org/ontology#" + repeat((char) ('a' + (index % 26)), 1 + (index % 61)));
+		}
+		names.add("http://example.org/ontology#" + repeat('z', 0x2001));
+		names.add("http://example.org/ontology#last");
+		assertRoundTrip(names);
+	}
+
+	@Test
+	public void testEmptyNames() {
+		List<String> names = new ArrayList<>();
+		names.add("");
+		names.add("#");
+		names.add("http://example.org/ontology#");
+		names.add("http://example.org/ontology/");
+		names.add("urn:");
+		names.add("A");
+		names.add("");
+		assertRoundTrip(names);
+	}
+
+	@Test
+	public void testNonAsciiNames() {
+		List<String> names = new ArrayList<>();
+		names.add("http://example.org/\u00F6ntologie#K\u00E4se");
+		names.add("http://example.org/\u00F6ntologie#\u30AF\u30E9\u30B9");
+		names.add("http://example.org/\u00F6ntologie#\uD83D\uDE00");
+		names.add("\u00E9l\u00E9ment");
+		assertRoundTrip(names);
+	}
+
+	@Test
+	public void testOverwrittenName() {
+		NameDictionary dictionary = new NameDictionary();
+		dictionary.put(7, "http://example.org/ontology#A");
+		dictionary.put(7, "http://example.org/other#B");
+		Assertions.assertEquals(Optional.of("http://example.org/other#B"), dictionary.get(7));
+	}
+
+	@Test
+	public void testSharedPrefixes() {
+		NameDictionary dictionary = new NameDictionary();
+		String[] prefixes = { "http://example.org/ontology#", "http://example.org/ontology/", "urn:example:" };
+		int numberOfNames = 0x400;
+		for (int identifier = 0; identifier < numberOfNames; identifier++) {
+			dictionary.put(identifier, prefixes[identifier % prefixes.length] + "C" + identifier);
+		}
+		Assertions.assertEquals(prefixes.length, dictionary.getNumberOfPrefixes());
+		for (int identifier = 0; identifier < numberOfNames; identifier++) {
+			Assertions.assertEquals(Optional.of(prefixes[identifier % prefixes.length] + "C" + identifier),
+					dictionary.get(identifier));
+		}
+
+		int numberOfPrefixes = 0x180;
+		for (int index = 0; index < numberOfPrefixes; index++) {
+			dictionary.put(numberOfNames + index, "http://example.org/p" + index + "#C");
+		}
+		Assertions.assertEquals(prefixes.length + numberOfPrefixes, dictionary.getNumberOfPrefixes());
+		for (int index = 0; index < numberOfPrefixes; index++) {
+			Assertions.assertEquals(Optional.of("http://example.org/p" + index + "#C"),
+					dictionary.get(numberOfNames + index));
+		}
+	}
+
+}
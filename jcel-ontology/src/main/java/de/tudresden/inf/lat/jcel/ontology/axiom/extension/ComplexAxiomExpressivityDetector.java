@@ -61,9 +61,22 @@ import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
  */
 public class ComplexAxiomExpressivityDetector implements OntologyExpressivity {
 
-	private final ComplexIntegerAxiomAnalyzer axiomAnalyzer = new ComplexIntegerAxiomAnalyzer();
+	private final ComplexIntegerAxiomAnalyzer axiomAnalyzer;
 	private final String name;
 
+	/**
+	 * Constructs a new expressivity detector using an analyzer that has
+	 * already visited the axioms.
+	 * 
+	 * @param analyzer
+	 *            analyzer of complex axioms
+	 */
+	public ComplexAxiomExpressivityDetector(ComplexIntegerAxiomAnalyzer analyzer) {
+		Objects.requireNonNull(analyzer);
+		this.axiomAnalyzer = analyzer;
+		this.name = (new ExpressivityName()).getName(this);
+	}
+
 	/**
 	 * Constructs a new expressivity detector.
 	 * 
@@ -71,9 +84,14 @@ public class ComplexAxiomExpressivityDetector implements OntologyExpressivity {
 	 *            set of axioms to detect the expressivity
 	 */
 	public ComplexAxiomExpressivityDetector(Set<ComplexIntegerAxiom> axiomSet) {
+		this(analyze(axiomSet));
+	}
+
+	private static ComplexIntegerAxiomAnalyzer analyze(Set<ComplexIntegerAxiom> axiomSet) {
 		Objects.requireNonNull(axiomSet);
-		axiomSet.forEach(axiom -> axiom.accept(this.axiomAnalyzer));
-		this.name = (new ExpressivityName()).getName(this);
+		ComplexIntegerAxiomAnalyzer ret = new ComplexIntegerAxiomAnalyzer();
+		axiomSet.forEach(axiom -> axiom.accept(ret));
+		return ret;
 	}
 
 	private ComplexIntegerAxiomAnalyzer getAnalyzer() {
@@ -90,6 +90,7 @@ public class ComplexIntegerAxiomAnalyzer implements ComplexIntegerAxiomVisitor<B
 	private boolean hasFunctionalObjectProperty = false;
 	private boolean hasIndividual = false;
 	private boolean hasInverseObjectProperty = false;
+	private boolean hasNominal = false;
 	private boolean hasReflexiveObjectProperty = false;
 	private boolean hasSubObjectPropertyOf = false;
 	private boolean hasSubPropertyChainOf = false;
@@ -101,6 +102,30 @@ public class ComplexIntegerAxiomAnalyzer implements ComplexIntegerAxiomVisitor<B
 	public ComplexIntegerAxiomAnalyzer() {
 	}
 
+	/**
+	 * Adds the expressivity of axioms that have been analyzed before, for
+	 * example the axioms of a normalized ontology that has been restored.
+	 * 
+	 * @param expressivity
+	 *            expressivity of axioms analyzed before
+	 */
+	public void addExpressivity(OntologyExpressivity expressivity) {
+		Objects.requireNonNull(expressivity);
+		this.hasBottom = this.hasBottom || expressivity.hasBottom();
+		this.hasDatatype = this.hasDatatype || expressivity.hasDatatype();
+		this.hasFunctionalObjectProperty = this.hasFunctionalObjectProperty
+				|| expressivity.hasFunctionalObjectProperty();
+		this.hasIndividual = this.hasIndividual || expressivity.hasIndividual();
+		this.hasInverseObjectProperty = this.hasInverseObjectProperty || expressivity.hasInverseObjectProperty();
+		this.hasNominal = this.hasNominal || expressivity.hasNominal();
+		this.hasReflexiveObjectProperty = this.hasReflexiveObjectProperty
+				|| expressivity.hasReflexiveObjectProperty();
+		this.hasSubObjectPropertyOf = this.hasSubObjectPropertyOf || expressivity.hasSubObjectPropertyOf();
+		this.hasSubPropertyChainOf = this.hasSubPropertyChainOf || expressivity.hasSubPropertyChainOf();
+		this.hasTransitiveObjectProperty = this.hasTransitiveObjectProperty
+				|| expressivity.hasTransitiveObjectProperty();
+	}
+
 	@Override
 	public boolean hasBottom() {
 		return this.hasBottom || this.expressionAnalyzer.hasBottom();
@@ -128,7 +153,7 @@ public class ComplexIntegerAxiomAnalyzer implements ComplexIntegerAxiomVisitor<B
 
 	@Override
 	public boolean hasNominal() {
-		return this.expressionAnalyzer.hasNominal();
+		return this.hasNominal || this.expressionAnalyzer.hasNominal();
 	}
 
 	@Override
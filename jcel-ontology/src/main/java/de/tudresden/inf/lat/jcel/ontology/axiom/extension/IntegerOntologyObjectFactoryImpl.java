@@ -65,12 +65,24 @@ public class IntegerOntologyObjectFactoryImpl implements IntegerOntologyObjectFa
 	private final ComplexIntegerAxiomFactory complexAxiomFactory = new ComplexIntegerAxiomFactoryImpl();
 	private final IntegerDataTypeFactory dataTypeFactory = new IntegerDataTypeFactoryImpl();
 	private final IntegerEntityManager idGenerator = new IntegerEntityManagerImpl();
-	private final NormalizedIntegerAxiomFactory normalizedAxiomFactory = new NormalizedIntegerAxiomFactoryImpl();
+	private final NormalizedIntegerAxiomFactory normalizedAxiomFactory;
 
 	/**
 	 * Constructs a new ontology object factory.
 	 */
 	public IntegerOntologyObjectFactoryImpl() {
+		this(false);
+	}
+
+	/**
+	 * Constructs a new ontology object factory.
+	 * 
+	 * @param leanNormalizedAxioms
+	 *            <code>true</code> if the normalized axioms are created
+	 *            without annotations
+	 */
+	public IntegerOntologyObjectFactoryImpl(boolean leanNormalizedAxioms) {
+		this.normalizedAxiomFactory = new NormalizedIntegerAxiomFactoryImpl(leanNormalizedAxioms);
 	}
 
 	@Override
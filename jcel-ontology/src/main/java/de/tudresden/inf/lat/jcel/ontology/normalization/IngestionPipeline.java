@@ -0,0 +1,256 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.ontology.normalization;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySerializer;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySnapshot;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.OntologyExpressivity;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.IntegerInverseObjectPropertiesAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.ComplexAxiomExpressivityDetector;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.ComplexIntegerAxiomAnalyzer;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+
+/**
+ * An object of this class loads an ontology in a single pass. Each complex
+ * axiom is analyzed to detect the expressivity, its signature is collected,
+ * and it is normalized immediately using the worklist of
+ * {@link OntologyNormalizer}. The normalized axioms are given to a
+ * consumer as soon as they are produced, and neither the complex axioms nor
+ * the intermediate axioms of the normalization are kept.
+ * <p>
+ * The normalization of an axiom fixes the inverse of each object property
+ * that it uses. Therefore, the axioms declaring inverse object properties
+ * must be added before the other axioms that use the same object properties.
+ * Method {@link #addAll(Collection)} takes care of this.
+ * </p>
+ * 
+ * @author Julian Mendez
+ * 
+ * @see OntologyNormalizer
+ */
+public class IngestionPipeline {
+
+	private final ComplexIntegerAxiomAnalyzer axiomAnalyzer = new ComplexIntegerAxiomAnalyzer();
+	private final Set<Integer> classSet = new HashSet<>();
+	private final IntegerOntologyObjectFactory factory;
+	private final SimpleNormalizer normalizer;
+	private long numberOfAxioms = 0;
+	private final Set<Integer> objectPropertySet = new HashSet<>();
+	private final Consumer<NormalizedIntegerAxiom> output;
+
+	/**
+	 * Constructs a new ingestion pipeline.
+	 * 
+	 * @param factory
+	 *            factory
+	 * @param output
+	 *            consumer of the normalized axioms
+	 */
+	public IngestionPipeline(IntegerOntologyObjectFactory factory, Consumer<NormalizedIntegerAxiom> output) {
+		Objects.requireNonNull(factory);
+		Objects.requireNonNull(output);
+		this.factory = factory;
+		this.output = output;
+		this.normalizer = new SimpleNormalizer(factory);
+	}
+
+	/**
+	 * Analyzes, collects the signature of, and normalizes a complex axiom.
+	 * 
+	 * @param axiom
+	 *            complex axiom
+	 */
+	public void add(ComplexIntegerAxiom axiom) {
+		Objects.requireNonNull(axiom);
+		this.numberOfAxioms++;
+		axiom.accept(this.axiomAnalyzer);
+		this.classSet.addAll(axiom.getClassesInSignature());
+		if (axiom instanceof IntegerInverseObjectPropertiesAxiom) {
+			OntologyNormalizer.normalize(axiom, this.normalizer, this.output);
+			addObjectProperties(axiom.getObjectPropertiesInSignature());
+		} else {
+			addObjectProperties(axiom.getObjectPropertiesInSignature());
+			OntologyNormalizer.normalize(axiom, this.normalizer, this.output);
+		}
+	}
+
+	/**
+	 * Adds a collection of complex axioms. The axioms declaring inverse object
+	 * properties are added first.
+	 * 
+	 * @param axioms
+	 *            complex axioms
+	 */
+	public void addAll(Collection<ComplexIntegerAxiom> axioms) {
+		Objects.requireNonNull(axioms);
+		axioms.stream().filter(axiom -> (axiom instanceof IntegerInverseObjectPropertiesAxiom))
+				.forEach(axiom -> add(axiom));
+		axioms.stream().filter(axiom -> !(axiom instanceof IntegerInverseObjectPropertiesAxiom))
+				.forEach(axiom -> add(axiom));
+	}
+
+	/**
+	 * Adds a normalized ontology, for example one that has been restored by a
+	 * {@link NormalizedOntologySerializer}. Its normalized axioms are given to
+	 * the consumer, and its signature and expressivity are added to the ones
+	 * of this pipeline. Its object properties are considered as already
+	 * found, because the snapshot contains the axioms relating them with their
+	 * inverse object properties. The snapshot must use the entity manager of
+	 * the factory of this pipeline.
+	 * 
+	 * @param snapshot
+	 *            normalized ontology
+	 */
+	public void addSnapshot(NormalizedOntologySnapshot snapshot) {
+		Objects.requireNonNull(snapshot);
+		if (snapshot.getEntityManager() != this.factory.getEntityManager()) {
+			throw new IllegalArgumentException("The snapshot does not use the entity manager of the factory.");
+		}
+		this.axiomAnalyzer.addExpressivity(snapshot.getExpressivity());
+		this.classSet.addAll(snapshot.getClasses());
+		this.objectPropertySet.addAll(snapshot.getObjectProperties());
+		snapshot.getAxioms().forEach(this.output);
+	}
+
+	/**
+	 * Registers object properties. The first time an object property is
+	 * found, the axioms relating it with its inverse object property are
+	 * produced.
+	 */
+	private void addObjectProperties(Set<Integer> objectProperties) {
+		objectProperties.forEach(propId -> {
+			if (this.objectPropertySet.add(propId)) {
+				Integer inversePropId = this.factory.getEntityManager().createOrGetInverseObjectPropertyOf(propId);
+				this.normalizer.getAxiomsForInverseObjectProperties(propId, inversePropId).forEach(this.output);
+			}
+		});
+	}
+
+	/**
+	 * Loads an ontology and returns its normalized axioms, together with the
+	 * signature and the expressivity of the ontology. The result can be stored
+	 * with a {@link NormalizedOntologySerializer}.
+	 * 
+	 * @param source
+	 *            source that adds the complex axioms to the given ingestion
+	 *            pipeline
+	 * @param factory
+	 *            factory
+	 * @return the normalized ontology
+	 */
+	public static NormalizedOntologySnapshot createSnapshot(Consumer<IngestionPipeline> source,
+			IntegerOntologyObjectFactory factory) {
+		Objects.requireNonNull(source);
+		Objects.requireNonNull(factory);
+		Set<NormalizedIntegerAxiom> axioms = new HashSet<>();
+		IngestionPipeline pipeline = new IngestionPipeline(factory, axioms::add);
+		source.accept(pipeline);
+		return new NormalizedOntologySnapshot(factory.getEntityManager(), pipeline.classSet,
+				pipeline.objectPropertySet, axioms, pipeline.getExpressivity());
+	}
+
+	/**
+	 * Returns the classes in the signature of the added axioms.
+	 * 
+	 * @return the classes in the signature of the added axioms
+	 */
+	public Set<Integer> getClassSet() {
+		return Collections.unmodifiableSet(this.classSet);
+	}
+
+	/**
+	 * Returns the expressivity of the added axioms.
+	 * 
+	 * @return the expressivity of the added axioms
+	 */
+	public OntologyExpressivity getExpressivity() {
+		return new ComplexAxiomExpressivityDetector(this.axiomAnalyzer);
+	}
+
+	/**
+	 * Returns the number of added axioms.
+	 * 
+	 * @return the number of added axioms
+	 */
+	public long getNumberOfAxioms() {
+		return this.numberOfAxioms;
+	}
+
+	/**
+	 * Returns the object properties in the signature of the added axioms.
+	 * 
+	 * @return the object properties in the signature of the added axioms
+	 */
+	public Set<Integer> getObjectPropertySet() {
+		return Collections.unmodifiableSet(this.objectPropertySet);
+	}
+
+	/**
+	 * Returns the ontology object factory.
+	 * 
+	 * @return the ontology object factory
+	 */
+	public IntegerOntologyObjectFactory getOntologyObjectFactory() {
+		return this.factory;
+	}
+
+	@Override
+	public String toString() {
+		return "[axioms: " + this.numberOfAxioms + ", classes: " + this.classSet.size() + ", object properties: "
+				+ this.objectPropertySet.size() + "]";
+	}
+
+}
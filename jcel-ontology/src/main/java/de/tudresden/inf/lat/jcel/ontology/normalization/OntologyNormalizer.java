@@ -46,10 +46,14 @@
 
 package de.tudresden.inf.lat.jcel.ontology.normalization;
 
+import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerAxiom;
@@ -94,51 +98,94 @@ public class OntologyNormalizer {
 	}
 
 	/**
-	 * Normalizes a set of axioms.
+	 * Normalizes a collection of axioms. Each normalized axiom is given to the
+	 * consumer as soon as it is produced. The axioms that are not yet
+	 * normalized are kept in a single worklist, which is emptied after each
+	 * original axiom. The consumer can receive the same normalized axiom more
+	 * than once.
 	 * 
-	 * @param originalAxiomSet
-	 *            set of axioms to be normalized
+	 * @param originalAxioms
+	 *            axioms to be normalized
 	 * @param factory
 	 *            factory
-	 * @return the normalized set of axioms according to the specified axioms
+	 * @param output
+	 *            consumer of the normalized axioms
 	 */
-	public Set<NormalizedIntegerAxiom> normalize(Set<ComplexIntegerAxiom> originalAxiomSet,
-			IntegerOntologyObjectFactory factory) {
-		Objects.requireNonNull(originalAxiomSet);
+	public void normalize(Collection<ComplexIntegerAxiom> originalAxioms, IntegerOntologyObjectFactory factory,
+			Consumer<NormalizedIntegerAxiom> output) {
+		Objects.requireNonNull(originalAxioms);
 		Objects.requireNonNull(factory);
-		Set<NormalizedIntegerAxiom> ret = new HashSet<>();
+		Objects.requireNonNull(output);
 		SimpleNormalizer normalizer = new SimpleNormalizer(factory);
 		Set<Integer> objectPropIdSet = new HashSet<>();
-		Set<IntegerAxiom> currentAxiomSet = new HashSet<>();
 
-		for (ComplexIntegerAxiom axiom : originalAxiomSet) {
+		// the inverse object properties must be fixed before normalizing the
+		// other axioms
+		for (ComplexIntegerAxiom axiom : originalAxioms) {
 			objectPropIdSet.addAll(axiom.getObjectPropertiesInSignature());
 			if (axiom instanceof IntegerInverseObjectPropertiesAxiom) {
-				Set<IntegerAxiom> newSet = normalizer.normalize(axiom);
-				currentAxiomSet.addAll(newSet);
-			} else {
-				currentAxiomSet.add(axiom);
+				normalize(axiom, normalizer, output);
 			}
 		}
 
 		for (Integer propId : objectPropIdSet) {
 			Integer inversePropId = factory.getEntityManager().createOrGetInverseObjectPropertyOf(propId);
-			currentAxiomSet.addAll(normalizer.getAxiomsForInverseObjectProperties(propId, inversePropId));
+			normalizer.getAxiomsForInverseObjectProperties(propId, inversePropId).forEach(output);
+		}
+
+		for (ComplexIntegerAxiom axiom : originalAxioms) {
+			if (!(axiom instanceof IntegerInverseObjectPropertiesAxiom)) {
+				normalize(axiom, normalizer, output);
+			}
 		}
+	}
 
-		while (currentAxiomSet.size() > 0) {
-			Set<IntegerAxiom> nextAxiomSet = new HashSet<>();
-			for (IntegerAxiom axiom : currentAxiomSet) {
-				if (axiom instanceof NormalizedIntegerAxiom) {
-					ret.add((NormalizedIntegerAxiom) axiom);
-				} else {
-					Set<IntegerAxiom> newSet = normalizer.normalize(axiom);
-					nextAxiomSet.addAll(newSet);
-				}
+	/**
+	 * Normalizes an axiom using a worklist. An axiom that is already waiting in
+	 * the worklist is not added again.
+	 * 
+	 * @param axiom
+	 *            axiom to be normalized
+	 * @param normalizer
+	 *            normalizer that applies one normalization step
+	 * @param output
+	 *            consumer of the normalized axioms
+	 */
+	static void normalize(IntegerAxiom axiom, SimpleNormalizer normalizer, Consumer<NormalizedIntegerAxiom> output) {
+		Deque<IntegerAxiom> worklist = new ArrayDeque<>();
+		Set<IntegerAxiom> pending = new HashSet<>();
+		worklist.push(axiom);
+		pending.add(axiom);
+		while (!worklist.isEmpty()) {
+			IntegerAxiom current = worklist.pop();
+			pending.remove(current);
+			if (current instanceof NormalizedIntegerAxiom) {
+				output.accept((NormalizedIntegerAxiom) current);
+			} else {
+				normalizer.normalize(current).forEach(newAxiom -> {
+					if (pending.add(newAxiom)) {
+						worklist.push(newAxiom);
+					}
+				});
 			}
-			currentAxiomSet = nextAxiomSet;
 		}
+	}
 
+	/**
+	 * Normalizes a set of axioms.
+	 * 
+	 * @param originalAxiomSet
+	 *            set of axioms to be normalized
+	 * @param factory
+	 *            factory
+	 * @return the normalized set of axioms according to the specified axioms
+	 */
+	public Set<NormalizedIntegerAxiom> normalize(Set<ComplexIntegerAxiom> originalAxiomSet,
+			IntegerOntologyObjectFactory factory) {
+		Objects.requireNonNull(originalAxiomSet);
+		Objects.requireNonNull(factory);
+		Set<NormalizedIntegerAxiom> ret = new HashSet<>();
+		normalize(originalAxiomSet, factory, ret::add);
 		return Collections.unmodifiableSet(ret);
 	}
 
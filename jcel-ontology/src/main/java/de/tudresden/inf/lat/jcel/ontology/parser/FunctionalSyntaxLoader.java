@@ -0,0 +1,505 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.ontology.parser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerDataTypeFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectPropertyExpression;
+import de.tudresden.inf.lat.jcel.ontology.normalization.IngestionPipeline;
+import de.tudresden.inf.lat.jcel.ontology.parser.OntologyTokenizer.TokenType;
+
+/**
+ * An object of this class loads an ontology written in OWL 2 functional
+ * syntax. It accepts the same axioms and class expressions as the translator
+ * of the OWL API module, and it skips annotations and annotation axioms. Any
+ * other construct produces an {@link OntologySyntaxException}. The imported
+ * ontologies are not loaded.
+ * 
+ * @author Julian Mendez
+ */
+public class FunctionalSyntaxLoader extends StreamingOntologyLoader {
+
+	private static final Logger logger = Logger.getLogger(FunctionalSyntaxLoader.class.getName());
+
+	private Optional<String> ontologyIRI = Optional.empty();
+	private final Map<String, String> prefixMap = new HashMap<>();
+
+	/**
+	 * Constructs a new loader for a file in OWL 2 functional syntax.
+	 * 
+	 * @param file
+	 *            ontology file
+	 */
+	public FunctionalSyntaxLoader(Path file) {
+		super(file, '#');
+	}
+
+	private String expand(OntologyTokenizer tokenizer) {
+		String ret = tokenizer.getText();
+		if (tokenizer.getType() == TokenType.WORD) {
+			ret = expand(tokenizer, ret);
+		} else if (tokenizer.getType() != TokenType.IRI) {
+			throw tokenizer.createException("Expected an IRI but found '" + tokenizer.getText() + "'.");
+		}
+		return ret;
+	}
+
+	private String expand(OntologyTokenizer tokenizer, String prefixedName) {
+		int index = prefixedName.indexOf(':');
+		if (index == -1) {
+			throw tokenizer.createException("Invalid name '" + prefixedName + "'.");
+		}
+		String prefix = this.prefixMap.get(prefixedName.substring(0, index + 1));
+		if (Objects.isNull(prefix)) {
+			throw tokenizer.createException("Undefined prefix in '" + prefixedName + "'.");
+		}
+		return prefix + prefixedName.substring(index + 1);
+	}
+
+	/**
+	 * Returns the IRI of the last loaded ontology, if it has one.
+	 * 
+	 * @return the IRI of the last loaded ontology, if it has one
+	 */
+	public Optional<String> getOntologyIRI() {
+		return this.ontologyIRI;
+	}
+
+	@Override
+	void parse(OntologyTokenizer tokenizer, IngestionPipeline pipeline) throws IOException {
+		this.ontologyIRI = Optional.empty();
+		this.prefixMap.clear();
+		this.prefixMap.put("owl:", owlNamespace);
+		this.prefixMap.put("rdf:", "http://www.w3.org/1999/02/22-rdf-syntax-ns#");
+		this.prefixMap.put("rdfs:", "http://www.w3.org/2000/01/rdf-schema#");
+		this.prefixMap.put("xml:", "http://www.w3.org/XML/1998/namespace");
+		this.prefixMap.put("xsd:", "http://www.w3.org/2001/XMLSchema#");
+
+		while (tokenizer.next()) {
+			if (tokenizer.isWord("Prefix")) {
+				parsePrefix(tokenizer);
+			} else if (tokenizer.isWord("Ontology")) {
+				parseOntology(tokenizer, pipeline);
+			} else {
+				throw tokenizer.createException("Unexpected '" + tokenizer.getText() + "'.");
+			}
+		}
+	}
+
+	private void parseAxiom(OntologyTokenizer tokenizer, IngestionPipeline pipeline) throws IOException {
+		String keyword = tokenizer.getText();
+		tokenizer.nextExpecting(TokenType.OPEN);
+		tokenizer.next();
+		while (tokenizer.isWord("Annotation")) {
+			skipArguments(tokenizer);
+			tokenizer.next();
+		}
+		tokenizer.pushBack();
+
+		ComplexIntegerAxiomFactory axiomFactory = getAxiomFactory();
+		IntegerDataTypeFactory dataTypeFactory = getDataTypeFactory();
+		ComplexIntegerAxiom axiom = null;
+		if (keyword.equals("Declaration")) {
+			axiom = parseDeclaration(tokenizer);
+
+		} else if (keyword.equals("SubClassOf")) {
+			IntegerClassExpression subClass = parseClassExpression(tokenizer);
+			IntegerClassExpression superClass = parseClassExpression(tokenizer);
+			axiom = axiomFactory.createSubClassOfAxiom(subClass, superClass, noAnnotations);
+
+		} else if (keyword.equals("EquivalentClasses")) {
+			axiom = axiomFactory.createEquivalentClassesAxiom(parseClassExpressions(tokenizer), noAnnotations);
+
+		} else if (keyword.equals("DisjointClasses")) {
+			axiom = axiomFactory.createDisjointClassesAxiom(parseClassExpressions(tokenizer), noAnnotations);
+
+		} else if (keyword.equals("SubObjectPropertyOf")) {
+			tokenizer.next();
+			if (tokenizer.isWord("ObjectPropertyChain")) {
+				tokenizer.nextExpecting(TokenType.OPEN);
+				List<IntegerObjectPropertyExpression> chain = new ArrayList<>();
+				tokenizer.next();
+				while (tokenizer.getType() != TokenType.CLOSE) {
+					tokenizer.pushBack();
+					chain.add(parseObjectPropertyExpression(tokenizer));
+					tokenizer.next();
+				}
+				IntegerObjectPropertyExpression superProperty = parseObjectPropertyExpression(tokenizer);
+				axiom = axiomFactory.createSubPropertyChainOfAxiom(chain, superProperty, noAnnotations);
+			} else {
+				tokenizer.pushBack();
+				IntegerObjectPropertyExpression subProperty = parseObjectPropertyExpression(tokenizer);
+				IntegerObjectPropertyExpression superProperty = parseObjectPropertyExpression(tokenizer);
+				axiom = axiomFactory.createSubObjectPropertyOfAxiom(subProperty, superProperty, noAnnotations);
+			}
+
+		} else if (keyword.equals("EquivalentObjectProperties")) {
+			Set<IntegerObjectPropertyExpression> properties = new HashSet<>();
+			tokenizer.next();
+			while (tokenizer.getType() != TokenType.CLOSE) {
+				tokenizer.pushBack();
+				properties.add(parseObjectProperty(tokenizer));
+				tokenizer.next();
+			}
+			tokenizer.pushBack();
+			axiom = axiomFactory.createEquivalentObjectPropertiesAxiom(properties, noAnnotations);
+
+		} else if (keyword.equals("InverseObjectProperties")) {
+			IntegerObjectPropertyExpression first = parseObjectPropertyExpression(tokenizer);
+			IntegerObjectPropertyExpression second = parseObjectPropertyExpression(tokenizer);
+			axiom = axiomFactory.createInverseObjectPropertiesAxiom(first, second, noAnnotations);
+
+		} else if (keyword.equals("ObjectPropertyDomain")) {
+			IntegerObjectPropertyExpression property = parseObjectPropertyExpression(tokenizer);
+			IntegerClassExpression domain = parseClassExpression(tokenizer);
+			axiom = axiomFactory.createSubClassOfAxiom(
+					dataTypeFactory.createObjectSomeValuesFrom(property, dataTypeFactory.getTopClass()), domain,
+					noAnnotations);
+
+		} else if (keyword.equals("ObjectPropertyRange")) {
+			IntegerObjectProperty property = parseObjectProperty(tokenizer);
+			IntegerClassExpression range = parseClassExpression(tokenizer);
+			axiom = axiomFactory.createPropertyRangeAxiom(property, range, noAnnotations);
+
+		} else if (keyword.equals("FunctionalObjectProperty")) {
+			axiom = axiomFactory.createFunctionalObjectPropertyAxiom(parseObjectPropertyExpression(tokenizer),
+					noAnnotations);
+
+		} else if (keyword.equals("InverseFunctionalObjectProperty")) {
+			axiom = axiomFactory.createInverseFunctionalObjectPropertyAxiom(parseObjectPropertyExpression(tokenizer),
+					noAnnotations);
+
+		} else if (keyword.equals("ReflexiveObjectProperty")) {
+			axiom = axiomFactory.createReflexiveObjectPropertyAxiom(parseObjectProperty(tokenizer), noAnnotations);
+
+		} else if (keyword.equals("TransitiveObjectProperty")) {
+			axiom = axiomFactory.createTransitiveObjectPropertyAxiom(parseObjectProperty(tokenizer), noAnnotations);
+
+		} else if (keyword.equals("ClassAssertion")) {
+			IntegerClassExpression classExpression = parseClassExpression(tokenizer);
+			int individual = parseIndividual(tokenizer);
+			axiom = axiomFactory.createClassAssertionAxiom(classExpression, individual, noAnnotations);
+
+		} else if (keyword.equals("ObjectPropertyAssertion")) {
+			IntegerObjectPropertyExpression property = parseObjectPropertyExpression(tokenizer);
+			int subject = parseIndividual(tokenizer);
+			int object = parseIndividual(tokenizer);
+			axiom = axiomFactory.createObjectPropertyAssertionAxiom(property, subject, object, noAnnotations);
+
+		} else if (keyword.equals("NegativeObjectPropertyAssertion")) {
+			IntegerObjectPropertyExpression property = parseObjectPropertyExpression(tokenizer);
+			int subject = parseIndividual(tokenizer);
+			int object = parseIndividual(tokenizer);
+			axiom = axiomFactory.createNegativeObjectPropertyAssertionAxiom(property, subject, object,
+					noAnnotations);
+
+		} else if (keyword.equals("DataPropertyAssertion")) {
+			tokenizer.next();
+			int property = getDataPropertyId(expand(tokenizer));
+			int subject = parseIndividual(tokenizer);
+			int object = parseLiteral(tokenizer);
+			axiom = axiomFactory.createDataPropertyAssertionAxiom(property, subject, object, noAnnotations);
+
+		} else if (keyword.equals("SameIndividual")) {
+			axiom = axiomFactory.createSameIndividualAxiom(parseIndividuals(tokenizer), noAnnotations);
+
+		} else if (keyword.equals("DifferentIndividuals")) {
+			axiom = axiomFactory.createDifferentIndividualsAxiom(parseIndividuals(tokenizer), noAnnotations);
+
+		} else if (keyword.equals("AnnotationAssertion") || keyword.equals("SubAnnotationPropertyOf")
+				|| keyword.equals("AnnotationPropertyDomain") || keyword.equals("AnnotationPropertyRange")) {
+			skipRemainingArguments(tokenizer);
+			tokenizer.pushBack();
+
+		} else {
+			throw tokenizer.createException("Unsupported axiom '" + keyword + "'.");
+
+		}
+
+		tokenizer.nextExpecting(TokenType.CLOSE);
+		if (Objects.nonNull(axiom)) {
+			pipeline.add(axiom);
+		}
+	}
+
+	private IntegerClassExpression parseClassExpression(OntologyTokenizer tokenizer) throws IOException {
+		IntegerDataTypeFactory dataTypeFactory = getDataTypeFactory();
+		IntegerClassExpression ret = null;
+		tokenizer.next();
+		if (tokenizer.isWord("ObjectIntersectionOf")) {
+			tokenizer.nextExpecting(TokenType.OPEN);
+			ret = dataTypeFactory.createObjectIntersectionOf(parseClassExpressions(tokenizer));
+			tokenizer.nextExpecting(TokenType.CLOSE);
+
+		} else if (tokenizer.isWord("ObjectSomeValuesFrom")) {
+			tokenizer.nextExpecting(TokenType.OPEN);
+			IntegerObjectPropertyExpression property = parseObjectPropertyExpression(tokenizer);
+			IntegerClassExpression filler = parseClassExpression(tokenizer);
+			ret = dataTypeFactory.createObjectSomeValuesFrom(property, filler);
+			tokenizer.nextExpecting(TokenType.CLOSE);
+
+		} else if (tokenizer.isWord("ObjectOneOf")) {
+			tokenizer.nextExpecting(TokenType.OPEN);
+			ret = dataTypeFactory.createObjectOneOf(parseIndividual(tokenizer));
+			tokenizer.nextExpecting(TokenType.CLOSE);
+
+		} else if (tokenizer.isWord("DataHasValue")) {
+			tokenizer.nextExpecting(TokenType.OPEN);
+			tokenizer.next();
+			int property = getDataPropertyId(expand(tokenizer));
+			ret = dataTypeFactory.createDataHasValue(property, parseLiteral(tokenizer));
+			tokenizer.nextExpecting(TokenType.CLOSE);
+
+		} else if (tokenizer.getType() == TokenType.IRI
+				|| (tokenizer.getType() == TokenType.WORD && tokenizer.getText().indexOf(':') != -1)) {
+			ret = dataTypeFactory.createClass(getClassId(expand(tokenizer)));
+
+		} else {
+			throw tokenizer.createException("Unsupported class expression '" + tokenizer.getText() + "'.");
+
+		}
+		return ret;
+	}
+
+	/**
+	 * Parses class expressions until the next closing parenthesis, which is
+	 * pushed back.
+	 */
+	private Set<IntegerClassExpression> parseClassExpressions(OntologyTokenizer tokenizer) throws IOException {
+		Set<IntegerClassExpression> ret = new HashSet<>();
+		tokenizer.next();
+		while (tokenizer.getType() != TokenType.CLOSE) {
+			tokenizer.pushBack();
+			ret.add(parseClassExpression(tokenizer));
+			tokenizer.next();
+		}
+		tokenizer.pushBack();
+		return ret;
+	}
+
+	private ComplexIntegerAxiom parseDeclaration(OntologyTokenizer tokenizer) throws IOException {
+		ComplexIntegerAxiomFactory axiomFactory = getAxiomFactory();
+		ComplexIntegerAxiom ret = null;
+		tokenizer.next();
+		String entityType = tokenizer.getText();
+		tokenizer.nextExpecting(TokenType.OPEN);
+		tokenizer.next();
+		if (entityType.equals("Class")) {
+			ret = axiomFactory.createClassDeclarationAxiom(getClassId(expand(tokenizer)), noAnnotations);
+		} else if (entityType.equals("ObjectProperty")) {
+			ret = axiomFactory.createObjectPropertyDeclarationAxiom(getObjectPropertyId(expand(tokenizer)),
+					noAnnotations);
+		} else if (entityType.equals("NamedIndividual")) {
+			ret = axiomFactory.createNamedIndividualDeclarationAxiom(getIndividualId(expand(tokenizer)),
+					noAnnotations);
+		} else if (entityType.equals("DataProperty")) {
+			ret = axiomFactory.createDataPropertyDeclarationAxiom(getDataPropertyId(expand(tokenizer)),
+					noAnnotations);
+		} else if (!entityType.equals("AnnotationProperty")) {
+			throw tokenizer.createException("Unsupported declaration of '" + entityType + "'.");
+		}
+		tokenizer.nextExpecting(TokenType.CLOSE);
+		return ret;
+	}
+
+	private int parseIndividual(OntologyTokenizer tokenizer) throws IOException {
+		tokenizer.next();
+		if (tokenizer.getType() == TokenType.WORD && tokenizer.getText().startsWith("_:")) {
+			throw tokenizer.createException("Anonymous individual cannot be loaded: '" + tokenizer.getText() + "'.");
+		}
+		return getIndividualId(expand(tokenizer));
+	}
+
+	/**
+	 * Parses individuals until the next closing parenthesis, which is pushed
+	 * back.
+	 */
+	private Set<Integer> parseIndividuals(OntologyTokenizer tokenizer) throws IOException {
+		Set<Integer> ret = new HashSet<>();
+		tokenizer.next();
+		while (tokenizer.getType() != TokenType.CLOSE) {
+			tokenizer.pushBack();
+			ret.add(parseIndividual(tokenizer));
+			tokenizer.next();
+		}
+		tokenizer.pushBack();
+		return ret;
+	}
+
+	private int parseLiteral(OntologyTokenizer tokenizer) throws IOException {
+		tokenizer.nextExpecting(TokenType.STRING);
+		String lexicalForm = tokenizer.getText();
+		String key = "\"" + lexicalForm + "\"";
+		tokenizer.next();
+		if (tokenizer.getType() == TokenType.WORD && tokenizer.getText().startsWith("^^")) {
+			String datatype = tokenizer.getText().substring(2);
+			if (datatype.isEmpty()) {
+				tokenizer.next();
+				datatype = expand(tokenizer);
+			} else {
+				datatype = expand(tokenizer, datatype);
+			}
+			key += "^^" + datatype;
+		} else if (tokenizer.getType() == TokenType.WORD && tokenizer.getText().startsWith("@")) {
+			key += tokenizer.getText();
+		} else {
+			tokenizer.pushBack();
+		}
+		return getLiteralId(key, lexicalForm);
+	}
+
+	private IntegerObjectProperty parseObjectProperty(OntologyTokenizer tokenizer) throws IOException {
+		tokenizer.next();
+		if (tokenizer.isWord("ObjectInverseOf")) {
+			throw tokenizer.createException("Expected an object property but found an inverse object property.");
+		}
+		return getDataTypeFactory().createObjectProperty(getObjectPropertyId(expand(tokenizer)));
+	}
+
+	private IntegerObjectPropertyExpression parseObjectPropertyExpression(OntologyTokenizer tokenizer)
+			throws IOException {
+		IntegerObjectPropertyExpression ret = null;
+		tokenizer.next();
+		if (tokenizer.isWord("ObjectInverseOf")) {
+			tokenizer.nextExpecting(TokenType.OPEN);
+			ret = getDataTypeFactory().createObjectInverseOf(parseObjectProperty(tokenizer));
+			tokenizer.nextExpecting(TokenType.CLOSE);
+		} else {
+			tokenizer.pushBack();
+			ret = parseObjectProperty(tokenizer);
+		}
+		return ret;
+	}
+
+	private void parseOntology(OntologyTokenizer tokenizer, IngestionPipeline pipeline) throws IOException {
+		tokenizer.nextExpecting(TokenType.OPEN);
+		tokenizer.next();
+		if (tokenizer.getType() == TokenType.IRI) {
+			this.ontologyIRI = Optional.of(tokenizer.getText());
+			tokenizer.next();
+			if (tokenizer.getType() == TokenType.IRI) {
+				tokenizer.next();
+			}
+		}
+		while (tokenizer.getType() != TokenType.CLOSE) {
+			if (tokenizer.isWord("Import")) {
+				tokenizer.nextExpecting(TokenType.OPEN);
+				tokenizer.nextExpecting(TokenType.IRI);
+				logger.warning("The imported ontology '" + tokenizer.getText() + "' is not loaded.");
+				tokenizer.nextExpecting(TokenType.CLOSE);
+			} else if (tokenizer.isWord("Annotation")) {
+				skipArguments(tokenizer);
+			} else if (tokenizer.getType() == TokenType.WORD) {
+				parseAxiom(tokenizer, pipeline);
+			} else {
+				throw tokenizer.createException("Unexpected '" + tokenizer.getText() + "'.");
+			}
+			tokenizer.next();
+		}
+	}
+
+	private void parsePrefix(OntologyTokenizer tokenizer) throws IOException {
+		tokenizer.nextExpecting(TokenType.OPEN);
+		tokenizer.nextExpecting(TokenType.WORD);
+		String name = tokenizer.getText();
+		if (name.endsWith("=")) {
+			name = name.substring(0, name.length() - 1);
+		} else {
+			tokenizer.next();
+			if (!tokenizer.isWord("=")) {
+				throw tokenizer.createException("Expected '=' but found '" + tokenizer.getText() + "'.");
+			}
+		}
+		tokenizer.nextExpecting(TokenType.IRI);
+		this.prefixMap.put(name, tokenizer.getText());
+		tokenizer.nextExpecting(TokenType.CLOSE);
+	}
+
+	/**
+	 * Skips the arguments of the current keyword, including the closing
+	 * parenthesis.
+	 */
+	private void skipArguments(OntologyTokenizer tokenizer) throws IOException {
+		tokenizer.nextExpecting(TokenType.OPEN);
+		skipRemainingArguments(tokenizer);
+	}
+
+	/**
+	 * Skips the tokens until the closing parenthesis of the current keyword,
+	 * which is included.
+	 */
+	private void skipRemainingArguments(OntologyTokenizer tokenizer) throws IOException {
+		int depth = 1;
+		while (depth > 0) {
+			if (!tokenizer.next()) {
+				throw tokenizer.createException("Unexpected end of the input.");
+			}
+			if (tokenizer.getType() == TokenType.OPEN) {
+				depth++;
+			} else if (tokenizer.getType() == TokenType.CLOSE) {
+				depth--;
+			}
+		}
+	}
+
+}
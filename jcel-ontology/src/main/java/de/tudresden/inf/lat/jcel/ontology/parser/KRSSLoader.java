@@ -0,0 +1,432 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.ontology.parser;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerDataTypeFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectPropertyExpression;
+import de.tudresden.inf.lat.jcel.ontology.normalization.IngestionPipeline;
+import de.tudresden.inf.lat.jcel.ontology.parser.OntologyTokenizer.TokenType;
+
+/**
+ * An object of this class loads an ontology written in KRSS. The names are
+ * turned into IRIs by appending them to a namespace. The following
+ * statements are accepted:
+ * <ul>
+ * <li><code>(define-concept A C)</code>,
+ * <code>(define-primitive-concept A [C])</code>, <code>(implies C D)</code>,
+ * <code>(equivalent C D ...)</code>, <code>(disjoint C D ...)</code></li>
+ * <li><code>(define-primitive-role r [options])</code>,
+ * <code>(define-primitive-attribute r [options])</code>,
+ * <code>(define-role r s)</code>, <code>(implies-role r s)</code>,
+ * <code>(transitive r)</code>, <code>(functional r)</code>,
+ * <code>(inverse r s)</code>, <code>(domain r C)</code>,
+ * <code>(range r C)</code>, where the options are <code>:parent</code>,
+ * <code>:parents</code>, <code>:transitive</code>, <code>:domain</code>,
+ * <code>:range</code> and <code>:inverse</code></li>
+ * <li><code>(instance a C)</code>, <code>(related a b r)</code>,
+ * <code>(equal a b)</code>, <code>(distinct a b ...)</code></li>
+ * </ul>
+ * The class expressions are names, <code>top</code>, <code>bottom</code>,
+ * <code>(and C D ...)</code>, <code>(some r C)</code> and
+ * <code>(one-of a)</code>. A role is a name, <code>(inv r)</code>, or in the
+ * left-hand side of <code>implies-role</code>, <code>(compose r s ...)</code>.
+ * Any other construct produces an {@link OntologySyntaxException}.
+ * 
+ * @author Julian Mendez
+ */
+public class KRSSLoader extends StreamingOntologyLoader {
+
+	private final String namespace;
+
+	/**
+	 * Constructs a new loader for a file in KRSS. The namespace is the URI of
+	 * the file followed by '#'.
+	 * 
+	 * @param file
+	 *            ontology file
+	 */
+	public KRSSLoader(Path file) {
+		this(file, file.toUri().toString() + "#");
+	}
+
+	/**
+	 * Constructs a new loader for a file in KRSS.
+	 * 
+	 * @param file
+	 *            ontology file
+	 * @param namespace
+	 *            namespace of the names
+	 */
+	public KRSSLoader(Path file, String namespace) {
+		super(file, ';');
+		Objects.requireNonNull(namespace);
+		this.namespace = namespace;
+	}
+
+	/**
+	 * Returns the namespace of the names.
+	 * 
+	 * @return the namespace of the names
+	 */
+	public String getNamespace() {
+		return this.namespace;
+	}
+
+	private String getKeyword(OntologyTokenizer tokenizer) {
+		if (tokenizer.getType() != TokenType.WORD) {
+			throw tokenizer.createException("Expected a keyword but found '" + tokenizer.getText() + "'.");
+		}
+		return tokenizer.getText().toLowerCase(Locale.ROOT);
+	}
+
+	private String getName(OntologyTokenizer tokenizer) {
+		if (tokenizer.getType() != TokenType.WORD) {
+			throw tokenizer.createException("Expected a name but found '" + tokenizer.getText() + "'.");
+		}
+		return this.namespace + tokenizer.getText();
+	}
+
+	@Override
+	void parse(OntologyTokenizer tokenizer, IngestionPipeline pipeline) throws IOException {
+		while (tokenizer.next()) {
+			if (tokenizer.getType() != TokenType.OPEN) {
+				throw tokenizer.createException("Expected '(' but found '" + tokenizer.getText() + "'.");
+			}
+			tokenizer.next();
+			parseStatement(getKeyword(tokenizer), tokenizer, pipeline);
+			tokenizer.nextExpecting(TokenType.CLOSE);
+		}
+	}
+
+	private IntegerClassExpression parseClassExpression(OntologyTokenizer tokenizer) throws IOException {
+		IntegerDataTypeFactory dataTypeFactory = getDataTypeFactory();
+		IntegerClassExpression ret = null;
+		tokenizer.next();
+		if (tokenizer.getType() == TokenType.OPEN) {
+			tokenizer.next();
+			String keyword = getKeyword(tokenizer);
+			if (keyword.equals("and")) {
+				ret = dataTypeFactory.createObjectIntersectionOf(parseClassExpressions(tokenizer));
+			} else if (keyword.equals("some")) {
+				IntegerObjectPropertyExpression property = parseObjectPropertyExpression(tokenizer);
+				ret = dataTypeFactory.createObjectSomeValuesFrom(property, parseClassExpression(tokenizer));
+			} else if (keyword.equals("one-of")) {
+				tokenizer.next();
+				ret = dataTypeFactory.createObjectOneOf(getIndividualId(getName(tokenizer)));
+			} else {
+				throw tokenizer.createException("Unsupported class expression '" + keyword + "'.");
+			}
+			tokenizer.nextExpecting(TokenType.CLOSE);
+		} else {
+			ret = parseClass(tokenizer);
+		}
+		return ret;
+	}
+
+	/**
+	 * Parses class expressions until the next closing parenthesis, which is
+	 * pushed back.
+	 */
+	private Set<IntegerClassExpression> parseClassExpressions(OntologyTokenizer tokenizer) throws IOException {
+		Set<IntegerClassExpression> ret = new HashSet<>();
+		tokenizer.next();
+		while (tokenizer.getType() != TokenType.CLOSE) {
+			tokenizer.pushBack();
+			ret.add(parseClassExpression(tokenizer));
+			tokenizer.next();
+		}
+		tokenizer.pushBack();
+		return ret;
+	}
+
+	private IntegerClass parseClass(OntologyTokenizer tokenizer) {
+		IntegerDataTypeFactory dataTypeFactory = getDataTypeFactory();
+		IntegerClass ret = null;
+		String name = getName(tokenizer);
+		String keyword = getKeyword(tokenizer);
+		if (keyword.equals("top") || keyword.equals("*top*")) {
+			ret = dataTypeFactory.getTopClass();
+		} else if (keyword.equals("bottom") || keyword.equals("*bottom*")) {
+			ret = dataTypeFactory.getBottomClass();
+		} else {
+			ret = dataTypeFactory.createClass(getClassId(name));
+		}
+		return ret;
+	}
+
+	/**
+	 * Parses individuals until the next closing parenthesis, which is pushed
+	 * back.
+	 */
+	private Set<Integer> parseIndividuals(OntologyTokenizer tokenizer) throws IOException {
+		Set<Integer> ret = new HashSet<>();
+		tokenizer.next();
+		while (tokenizer.getType() != TokenType.CLOSE) {
+			ret.add(getIndividualId(getName(tokenizer)));
+			tokenizer.next();
+		}
+		tokenizer.pushBack();
+		return ret;
+	}
+
+	private IntegerObjectProperty parseObjectProperty(OntologyTokenizer tokenizer) throws IOException {
+		tokenizer.next();
+		return getDataTypeFactory().createObjectProperty(getObjectPropertyId(getName(tokenizer)));
+	}
+
+	private IntegerObjectPropertyExpression parseObjectPropertyExpression(OntologyTokenizer tokenizer)
+			throws IOException {
+		IntegerObjectPropertyExpression ret = null;
+		tokenizer.next();
+		if (tokenizer.getType() == TokenType.OPEN) {
+			tokenizer.next();
+			String keyword = getKeyword(tokenizer);
+			if (!keyword.equals("inv")) {
+				throw tokenizer.createException("Unsupported role '" + keyword + "'.");
+			}
+			ret = getDataTypeFactory().createObjectInverseOf(parseObjectProperty(tokenizer));
+			tokenizer.nextExpecting(TokenType.CLOSE);
+		} else {
+			tokenizer.pushBack();
+			ret = parseObjectProperty(tokenizer);
+		}
+		return ret;
+	}
+
+	/**
+	 * Parses the options of a role definition until the closing parenthesis
+	 * of the definition, which is pushed back.
+	 */
+	private void parseRoleOptions(IntegerObjectProperty property, OntologyTokenizer tokenizer,
+			Consumer<ComplexIntegerAxiom> output) throws IOException {
+		ComplexIntegerAxiomFactory axiomFactory = getAxiomFactory();
+		IntegerDataTypeFactory dataTypeFactory = getDataTypeFactory();
+		tokenizer.next();
+		while (tokenizer.getType() != TokenType.CLOSE) {
+			String option = getKeyword(tokenizer);
+			if (option.equals(":parent")) {
+				output.accept(axiomFactory.createSubObjectPropertyOfAxiom(property,
+						parseObjectPropertyExpression(tokenizer), noAnnotations));
+			} else if (option.equals(":parents")) {
+				tokenizer.nextExpecting(TokenType.OPEN);
+				tokenizer.next();
+				while (tokenizer.getType() != TokenType.CLOSE) {
+					tokenizer.pushBack();
+					output.accept(axiomFactory.createSubObjectPropertyOfAxiom(property,
+							parseObjectPropertyExpression(tokenizer), noAnnotations));
+					tokenizer.next();
+				}
+			} else if (option.equals(":transitive")) {
+				tokenizer.next();
+				if (!getKeyword(tokenizer).equals("nil")) {
+					output.accept(axiomFactory.createTransitiveObjectPropertyAxiom(property, noAnnotations));
+				}
+			} else if (option.equals(":domain")) {
+				output.accept(axiomFactory.createSubClassOfAxiom(
+						dataTypeFactory.createObjectSomeValuesFrom(property, dataTypeFactory.getTopClass()),
+						parseClassExpression(tokenizer), noAnnotations));
+			} else if (option.equals(":range")) {
+				output.accept(
+						axiomFactory.createPropertyRangeAxiom(property, parseClassExpression(tokenizer), noAnnotations));
+			} else if (option.equals(":inverse")) {
+				output.accept(axiomFactory.createInverseObjectPropertiesAxiom(property,
+						parseObjectPropertyExpression(tokenizer), noAnnotations));
+			} else {
+				throw tokenizer.createException("Unsupported role option '" + option + "'.");
+			}
+			tokenizer.next();
+		}
+		tokenizer.pushBack();
+	}
+
+	private void parseStatement(String keyword, OntologyTokenizer tokenizer, IngestionPipeline pipeline)
+			throws IOException {
+		ComplexIntegerAxiomFactory axiomFactory = getAxiomFactory();
+		IntegerDataTypeFactory dataTypeFactory = getDataTypeFactory();
+		if (keyword.equals("define-concept") || keyword.equals("define-primitive-concept")) {
+			tokenizer.next();
+			IntegerClass cls = parseClass(tokenizer);
+			pipeline.add(axiomFactory.createClassDeclarationAxiom(cls.getId(), noAnnotations));
+			tokenizer.next();
+			if (tokenizer.getType() != TokenType.CLOSE) {
+				tokenizer.pushBack();
+				IntegerClassExpression definition = parseClassExpression(tokenizer);
+				if (keyword.equals("define-concept")) {
+					Set<IntegerClassExpression> classExpressions = new HashSet<>();
+					classExpressions.add(cls);
+					classExpressions.add(definition);
+					pipeline.add(axiomFactory.createEquivalentClassesAxiom(classExpressions, noAnnotations));
+				} else {
+					pipeline.add(axiomFactory.createSubClassOfAxiom(cls, definition, noAnnotations));
+				}
+			} else {
+				tokenizer.pushBack();
+			}
+
+		} else if (keyword.equals("implies")) {
+			IntegerClassExpression subClass = parseClassExpression(tokenizer);
+			IntegerClassExpression superClass = parseClassExpression(tokenizer);
+			pipeline.add(axiomFactory.createSubClassOfAxiom(subClass, superClass, noAnnotations));
+
+		} else if (keyword.equals("equivalent")) {
+			pipeline.add(axiomFactory.createEquivalentClassesAxiom(parseClassExpressions(tokenizer), noAnnotations));
+
+		} else if (keyword.equals("disjoint")) {
+			pipeline.add(axiomFactory.createDisjointClassesAxiom(parseClassExpressions(tokenizer), noAnnotations));
+
+		} else if (keyword.equals("define-primitive-role") || keyword.equals("define-primitive-attribute")) {
+			IntegerObjectProperty property = parseObjectProperty(tokenizer);
+			pipeline.add(axiomFactory.createObjectPropertyDeclarationAxiom(property.getId(), noAnnotations));
+			if (keyword.equals("define-primitive-attribute")) {
+				pipeline.add(axiomFactory.createFunctionalObjectPropertyAxiom(property, noAnnotations));
+			}
+			parseRoleOptions(property, tokenizer, pipeline::add);
+
+		} else if (keyword.equals("define-role")) {
+			Set<IntegerObjectPropertyExpression> properties = new HashSet<>();
+			properties.add(parseObjectProperty(tokenizer));
+			properties.add(parseObjectProperty(tokenizer));
+			pipeline.add(axiomFactory.createEquivalentObjectPropertiesAxiom(properties, noAnnotations));
+
+		} else if (keyword.equals("implies-role")) {
+			tokenizer.next();
+			if (tokenizer.getType() == TokenType.OPEN) {
+				tokenizer.next();
+				String roleKeyword = getKeyword(tokenizer);
+				if (roleKeyword.equals("compose")) {
+					List<IntegerObjectPropertyExpression> chain = new ArrayList<>();
+					tokenizer.next();
+					while (tokenizer.getType() != TokenType.CLOSE) {
+						tokenizer.pushBack();
+						chain.add(parseObjectPropertyExpression(tokenizer));
+						tokenizer.next();
+					}
+					pipeline.add(axiomFactory.createSubPropertyChainOfAxiom(chain,
+							parseObjectPropertyExpression(tokenizer), noAnnotations));
+				} else if (roleKeyword.equals("inv")) {
+					IntegerObjectPropertyExpression subProperty = dataTypeFactory
+							.createObjectInverseOf(parseObjectProperty(tokenizer));
+					tokenizer.nextExpecting(TokenType.CLOSE);
+					pipeline.add(axiomFactory.createSubObjectPropertyOfAxiom(subProperty,
+							parseObjectPropertyExpression(tokenizer), noAnnotations));
+				} else {
+					throw tokenizer.createException("Unsupported role '" + roleKeyword + "'.");
+				}
+			} else {
+				tokenizer.pushBack();
+				IntegerObjectPropertyExpression subProperty = parseObjectPropertyExpression(tokenizer);
+				IntegerObjectPropertyExpression superProperty = parseObjectPropertyExpression(tokenizer);
+				pipeline.add(axiomFactory.createSubObjectPropertyOfAxiom(subProperty, superProperty, noAnnotations));
+			}
+
+		} else if (keyword.equals("transitive")) {
+			pipeline.add(axiomFactory.createTransitiveObjectPropertyAxiom(parseObjectProperty(tokenizer),
+					noAnnotations));
+
+		} else if (keyword.equals("functional")) {
+			pipeline.add(axiomFactory.createFunctionalObjectPropertyAxiom(parseObjectPropertyExpression(tokenizer),
+					noAnnotations));
+
+		} else if (keyword.equals("inverse")) {
+			IntegerObjectPropertyExpression first = parseObjectPropertyExpression(tokenizer);
+			IntegerObjectPropertyExpression second = parseObjectPropertyExpression(tokenizer);
+			pipeline.add(axiomFactory.createInverseObjectPropertiesAxiom(first, second, noAnnotations));
+
+		} else if (keyword.equals("domain")) {
+			IntegerObjectPropertyExpression property = parseObjectPropertyExpression(tokenizer);
+			pipeline.add(axiomFactory.createSubClassOfAxiom(
+					dataTypeFactory.createObjectSomeValuesFrom(property, dataTypeFactory.getTopClass()),
+					parseClassExpression(tokenizer), noAnnotations));
+
+		} else if (keyword.equals("range")) {
+			IntegerObjectProperty property = parseObjectProperty(tokenizer);
+			pipeline.add(axiomFactory.createPropertyRangeAxiom(property, parseClassExpression(tokenizer),
+					noAnnotations));
+
+		} else if (keyword.equals("instance")) {
+			tokenizer.next();
+			int individual = getIndividualId(getName(tokenizer));
+			pipeline.add(axiomFactory.createClassAssertionAxiom(parseClassExpression(tokenizer), individual,
+					noAnnotations));
+
+		} else if (keyword.equals("related")) {
+			tokenizer.next();
+			int subject = getIndividualId(getName(tokenizer));
+			tokenizer.next();
+			int object = getIndividualId(getName(tokenizer));
+			pipeline.add(axiomFactory.createObjectPropertyAssertionAxiom(parseObjectPropertyExpression(tokenizer),
+					subject, object, noAnnotations));
+
+		} else if (keyword.equals("equal")) {
+			pipeline.add(axiomFactory.createSameIndividualAxiom(parseIndividuals(tokenizer), noAnnotations));
+
+		} else if (keyword.equals("distinct")) {
+			pipeline.add(axiomFactory.createDifferentIndividualsAxiom(parseIndividuals(tokenizer), noAnnotations));
+
+		} else {
+			throw tokenizer.createException("Unsupported statement '" + keyword + "'.");
+
+		}
+	}
+
+}
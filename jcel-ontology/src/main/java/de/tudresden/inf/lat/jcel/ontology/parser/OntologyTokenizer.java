@@ -0,0 +1,279 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.ontology.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+
+/**
+ * An object of this class splits the text of an ontology file into tokens.
+ * The tokens are parentheses, full IRIs written between angle brackets,
+ * quoted strings, and words. A word is any other sequence of characters that
+ * does not contain white space, parentheses, quotation marks or angle
+ * brackets. A comment starts with a given character and ends at the end of the
+ * line.
+ * <p>
+ * The characters are read in blocks, and the text of the current token is
+ * kept in a reused buffer. Only one token can be pushed back.
+ * </p>
+ * 
+ * @author Julian Mendez
+ */
+class OntologyTokenizer {
+
+	/**
+	 * Type of token.
+	 */
+	enum TokenType {
+		CLOSE, END, IRI, OPEN, STRING, WORD
+	}
+
+	private static final int bufferSize = 0x10000;
+	private static final int endOfInput = -1;
+
+	private final char[] buffer = new char[bufferSize];
+	private int bufferLength = 0;
+	private int bufferPosition = 0;
+	private final char commentStart;
+	private int line = 1;
+	private boolean pushedBack = false;
+	private final Reader reader;
+	private final StringBuilder text = new StringBuilder();
+	private TokenType type = TokenType.END;
+
+	/**
+	 * Constructs a new tokenizer.
+	 * 
+	 * @param reader
+	 *            reader
+	 * @param commentStart
+	 *            character that starts a comment
+	 */
+	OntologyTokenizer(Reader reader, char commentStart) {
+		Objects.requireNonNull(reader);
+		this.reader = reader;
+		this.commentStart = commentStart;
+	}
+
+	/**
+	 * Returns a new syntax exception for the current line.
+	 * 
+	 * @param message
+	 *            message
+	 * @return a new syntax exception for the current line
+	 */
+	OntologySyntaxException createException(String message) {
+		return new OntologySyntaxException(message, this.line);
+	}
+
+	/**
+	 * Returns the line of the current token.
+	 * 
+	 * @return the line of the current token
+	 */
+	int getLine() {
+		return this.line;
+	}
+
+	/**
+	 * Returns the text of the current token. The text of an IRI does not
+	 * include the angle brackets, and the text of a string does not include
+	 * the quotation marks.
+	 * 
+	 * @return the text of the current token
+	 */
+	String getText() {
+		return this.text.toString();
+	}
+
+	/**
+	 * Returns the type of the current token.
+	 * 
+	 * @return the type of the current token
+	 */
+	TokenType getType() {
+		return this.type;
+	}
+
+	private boolean isDelimiter(int ch) {
+		return ch == endOfInput || Character.isWhitespace(ch) || ch == '(' || ch == ')' || ch == '"' || ch == '<'
+				|| ch == '>';
+	}
+
+	/**
+	 * Returns <code>true</code> if and only if the current token is a word
+	 * with the given text.
+	 * 
+	 * @param word
+	 *            word
+	 * @return <code>true</code> if and only if the current token is a word
+	 *         with the given text
+	 */
+	boolean isWord(String word) {
+		return this.type == TokenType.WORD && word.contentEquals(this.text);
+	}
+
+	/**
+	 * Reads the next token.
+	 * 
+	 * @return <code>true</code> if and only if a token was read, i.e. the end
+	 *         of the input has not been reached
+	 * @throws IOException
+	 *             if the input cannot be read
+	 */
+	boolean next() throws IOException {
+		if (this.pushedBack) {
+			this.pushedBack = false;
+		} else {
+			this.text.setLength(0);
+			skipWhiteSpaceAndComments();
+			int ch = readChar();
+			if (ch == endOfInput) {
+				this.type = TokenType.END;
+			} else if (ch == '(') {
+				this.type = TokenType.OPEN;
+			} else if (ch == ')') {
+				this.type = TokenType.CLOSE;
+			} else if (ch == '<') {
+				this.type = TokenType.IRI;
+				readUntil('>');
+			} else if (ch == '"') {
+				this.type = TokenType.STRING;
+				readUntil('"');
+			} else {
+				this.type = TokenType.WORD;
+				this.text.append((char) ch);
+				while (!isDelimiter(peekChar())) {
+					this.text.append((char) readChar());
+				}
+			}
+		}
+		return this.type != TokenType.END;
+	}
+
+	/**
+	 * Reads the next token, and throws an exception if it does not have the
+	 * expected type.
+	 * 
+	 * @param expectedType
+	 *            expected type
+	 * @throws IOException
+	 *             if the input cannot be read
+	 */
+	void nextExpecting(TokenType expectedType) throws IOException {
+		next();
+		if (this.type != expectedType) {
+			throw createException("Expected " + expectedType + " but found " + this.type + " '" + this.text + "'.");
+		}
+	}
+
+	private int peekChar() throws IOException {
+		if (this.bufferPosition == this.bufferLength) {
+			this.bufferLength = Math.max(0, this.reader.read(this.buffer, 0, this.buffer.length));
+			this.bufferPosition = 0;
+		}
+		return this.bufferPosition < this.bufferLength ? this.buffer[this.bufferPosition] : endOfInput;
+	}
+
+	/**
+	 * Makes the current token to be returned again by the next call of
+	 * {@link #next()}.
+	 */
+	void pushBack() {
+		this.pushedBack = true;
+	}
+
+	private int readChar() throws IOException {
+		int ret = peekChar();
+		if (ret != endOfInput) {
+			this.bufferPosition++;
+			if (ret == '\n') {
+				this.line++;
+			}
+		}
+		return ret;
+	}
+
+	private void readUntil(char delimiter) throws IOException {
+		int ch = readChar();
+		while (ch != delimiter) {
+			if (ch == endOfInput) {
+				throw createException("Expected '" + delimiter + "' but found the end of the input.");
+			}
+			if (ch == '\\' && delimiter == '"') {
+				ch = readChar();
+				if (ch == endOfInput) {
+					throw createException("Unexpected end of the input after '\\'.");
+				}
+			}
+			this.text.append((char) ch);
+			ch = readChar();
+		}
+	}
+
+	private void skipWhiteSpaceAndComments() throws IOException {
+		int ch = peekChar();
+		while (Character.isWhitespace(ch) || ch == this.commentStart) {
+			if (ch == this.commentStart) {
+				while (ch != '\n' && ch != endOfInput) {
+					ch = readChar();
+				}
+			} else {
+				readChar();
+			}
+			ch = peekChar();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "[line: " + this.line + ", type: " + this.type + ", text: '" + this.text + "']";
+	}
+
+}
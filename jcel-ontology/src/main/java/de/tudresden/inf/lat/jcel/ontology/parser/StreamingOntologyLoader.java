@@ -0,0 +1,287 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.ontology.parser;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerDataTypeFactory;
+import de.tudresden.inf.lat.jcel.ontology.normalization.IngestionPipeline;
+
+/**
+ * An object of this class reads an ontology file and adds its axioms to an
+ * ingestion pipeline as soon as they are parsed. The axioms are created
+ * directly as complex integer axioms, and no OWL API objects are created.
+ * <p>
+ * Each entity is created in the entity manager of the pipeline with its full
+ * IRI as name, as the translator of the OWL API module does. Therefore, the
+ * entities can be mapped to OWL API objects afterwards. The identifiers are
+ * kept, so that loading the same file again with the same factory produces
+ * the same identifiers. The annotations are not loaded.
+ * </p>
+ * <p>
+ * An axiom declaring inverse object properties is normalized as soon as it is
+ * read. If one of its object properties has been used before, the inverse
+ * object properties are related by role inclusions instead of sharing their
+ * identifiers.
+ * </p>
+ * 
+ * @author Julian Mendez
+ * 
+ * @see IngestionPipeline
+ */
+public abstract class StreamingOntologyLoader implements Consumer<IngestionPipeline> {
+
+	static final Set<IntegerAnnotation> noAnnotations = Collections.emptySet();
+	static final String owlNamespace = "http://www.w3.org/2002/07/owl#";
+
+	private final Map<String, Integer> classMap = new HashMap<>();
+	private final char commentStart;
+	private final Map<String, Integer> dataPropertyMap = new HashMap<>();
+	private IntegerOntologyObjectFactory factory = null;
+	private final Path file;
+	private final Map<String, Integer> individualMap = new HashMap<>();
+	private final Map<String, Integer> literalMap = new HashMap<>();
+	private final Map<String, Integer> objectPropertyMap = new HashMap<>();
+
+	/**
+	 * Constructs a new streaming ontology loader.
+	 * 
+	 * @param file
+	 *            ontology file
+	 * @param commentStart
+	 *            character that starts a comment
+	 */
+	StreamingOntologyLoader(Path file, char commentStart) {
+		Objects.requireNonNull(file);
+		this.file = file;
+		this.commentStart = commentStart;
+	}
+
+	/**
+	 * Reads the ontology file and adds its axioms to the given ingestion
+	 * pipeline.
+	 * 
+	 * @param pipeline
+	 *            ingestion pipeline
+	 * @throws UncheckedIOException
+	 *             if the file cannot be read
+	 * @throws OntologySyntaxException
+	 *             if the file cannot be parsed
+	 */
+	@Override
+	public void accept(IngestionPipeline pipeline) {
+		Objects.requireNonNull(pipeline);
+		try (Reader reader = new InputStreamReader(Files.newInputStream(this.file), StandardCharsets.UTF_8)) {
+			load(reader, pipeline);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	ComplexIntegerAxiomFactory getAxiomFactory() {
+		return this.factory.getComplexAxiomFactory();
+	}
+
+	/**
+	 * Returns the identifier of the class with the given IRI, and creates the
+	 * class if needed.
+	 * 
+	 * @param iri
+	 *            IRI
+	 * @return the identifier of the class with the given IRI
+	 */
+	int getClassId(String iri) {
+		return getId(this.classMap, IntegerEntityType.CLASS, iri);
+	}
+
+	/**
+	 * Returns the identifier of the data property with the given IRI, and
+	 * creates the data property if needed.
+	 * 
+	 * @param iri
+	 *            IRI
+	 * @return the identifier of the data property with the given IRI
+	 */
+	int getDataPropertyId(String iri) {
+		return getId(this.dataPropertyMap, IntegerEntityType.DATA_PROPERTY, iri);
+	}
+
+	IntegerDataTypeFactory getDataTypeFactory() {
+		return this.factory.getDataTypeFactory();
+	}
+
+	/**
+	 * Returns the ontology file.
+	 * 
+	 * @return the ontology file
+	 */
+	public Path getFile() {
+		return this.file;
+	}
+
+	private int getId(Map<String, Integer> map, IntegerEntityType type, String name) {
+		Integer ret = map.get(name);
+		if (Objects.isNull(ret)) {
+			ret = this.factory.getEntityManager().createNamedEntity(type, name, false);
+			map.put(name, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the identifier of the named individual with the given IRI, and
+	 * creates the individual if needed.
+	 * 
+	 * @param iri
+	 *            IRI
+	 * @return the identifier of the named individual with the given IRI
+	 */
+	int getIndividualId(String iri) {
+		return getId(this.individualMap, IntegerEntityType.INDIVIDUAL, iri);
+	}
+
+	/**
+	 * Returns the identifier of a literal, and creates the literal if needed.
+	 * As in the translator of the OWL API module, the name of the literal is
+	 * its lexical form.
+	 * 
+	 * @param key
+	 *            lexical form together with the datatype or the language tag
+	 * @param lexicalForm
+	 *            lexical form
+	 * @return the identifier of the literal
+	 */
+	int getLiteralId(String key, String lexicalForm) {
+		Integer ret = this.literalMap.get(key);
+		if (Objects.isNull(ret)) {
+			ret = this.factory.getEntityManager().createNamedEntity(IntegerEntityType.LITERAL, lexicalForm, false);
+			this.literalMap.put(key, ret);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the identifier of the object property with the given IRI, and
+	 * creates the object property if needed.
+	 * 
+	 * @param iri
+	 *            IRI
+	 * @return the identifier of the object property with the given IRI
+	 */
+	int getObjectPropertyId(String iri) {
+		return getId(this.objectPropertyMap, IntegerEntityType.OBJECT_PROPERTY, iri);
+	}
+
+	/**
+	 * Reads an ontology and adds its axioms to the given ingestion pipeline.
+	 * 
+	 * @param reader
+	 *            reader
+	 * @param pipeline
+	 *            ingestion pipeline
+	 * @throws IOException
+	 *             if the ontology cannot be read
+	 * @throws OntologySyntaxException
+	 *             if the ontology cannot be parsed
+	 */
+	public void load(Reader reader, IngestionPipeline pipeline) throws IOException {
+		Objects.requireNonNull(reader);
+		Objects.requireNonNull(pipeline);
+		useFactory(pipeline.getOntologyObjectFactory());
+		parse(new OntologyTokenizer(reader, this.commentStart), pipeline);
+	}
+
+	/**
+	 * Parses an ontology and adds its axioms to the given ingestion pipeline.
+	 * 
+	 * @param tokenizer
+	 *            tokenizer
+	 * @param pipeline
+	 *            ingestion pipeline
+	 * @throws IOException
+	 *             if the ontology cannot be read
+	 */
+	abstract void parse(OntologyTokenizer tokenizer, IngestionPipeline pipeline) throws IOException;
+
+	private void useFactory(IntegerOntologyObjectFactory factory) {
+		if (this.factory != factory) {
+			this.factory = factory;
+			this.classMap.clear();
+			this.dataPropertyMap.clear();
+			this.individualMap.clear();
+			this.literalMap.clear();
+			this.objectPropertyMap.clear();
+
+			this.classMap.put(owlNamespace + "Nothing", IntegerEntityManager.bottomClassId);
+			this.classMap.put(owlNamespace + "Thing", IntegerEntityManager.topClassId);
+			this.objectPropertyMap.put(owlNamespace + "bottomObjectProperty",
+					IntegerEntityManager.bottomObjectPropertyId);
+			this.objectPropertyMap.put(owlNamespace + "topObjectProperty", IntegerEntityManager.topObjectPropertyId);
+			this.dataPropertyMap.put(owlNamespace + "bottomDataProperty", IntegerEntityManager.bottomDataPropertyId);
+			this.dataPropertyMap.put(owlNamespace + "topDataProperty", IntegerEntityManager.topDataPropertyId);
+		}
+	}
+
+}
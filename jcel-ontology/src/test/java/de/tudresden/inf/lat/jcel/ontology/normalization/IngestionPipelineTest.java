@@ -0,0 +1,163 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.ontology.normalization;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySnapshot;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+
+/**
+ * Test class for ingestion pipeline.
+ * 
+ * @see IngestionPipeline
+ * 
+ * @author Julian Mendez
+ */
+public class IngestionPipelineTest {
+
+	/**
+	 * Constructs a new ingestion pipeline test.
+	 */
+	public IngestionPipelineTest() {
+	}
+
+	private IntegerClass createNewClass(IntegerOntologyObjectFactory factory, String name) {
+		return factory.getDataTypeFactory()
+				.createClass(factory.getEntityManager().createNamedEntity(IntegerEntityType.CLASS, name, false));
+	}
+
+	private IntegerObjectProperty createNewObjectProperty(IntegerOntologyObjectFactory factory, String name) {
+		return factory.getDataTypeFactory().createObjectProperty(
+				factory.getEntityManager().createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, name, false));
+	}
+
+	@Test
+	public void testAddSnapshot() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+
+		NormalizedOntologySnapshot snapshot = IngestionPipeline.createSnapshot(
+				pipeline -> pipeline.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a,
+						factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), annotations)),
+				factory);
+
+		Set<NormalizedIntegerAxiom> normalizedSet = new HashSet<>();
+		IngestionPipeline pipeline = new IngestionPipeline(factory, normalizedSet::add);
+		pipeline.addSnapshot(snapshot);
+		pipeline.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(b, c, annotations));
+
+		Set<NormalizedIntegerAxiom> expectedSet = new HashSet<>();
+		expectedSet.addAll(snapshot.getAxioms());
+		expectedSet.add(factory.getNormalizedAxiomFactory().createGCI0Axiom(b.getId(), c.getId(), annotations));
+		Assertions.assertEquals(expectedSet, normalizedSet);
+
+		Set<Integer> expectedClasses = new HashSet<>();
+		expectedClasses.add(a.getId());
+		expectedClasses.add(b.getId());
+		expectedClasses.add(c.getId());
+		Assertions.assertEquals(expectedClasses, pipeline.getClassSet());
+		Assertions.assertEquals(snapshot.getObjectProperties(), pipeline.getObjectPropertySet());
+		Assertions.assertEquals(1, pipeline.getNumberOfAxioms());
+	}
+
+	@Test
+	public void testSignatureAndInverseObjectProperties() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+		IntegerObjectProperty rMinus = createNewObjectProperty(factory, "r-");
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(
+				factory.getDataTypeFactory().createObjectSomeValuesFrom(rMinus, a), b, annotations));
+		ontology.add(factory.getComplexAxiomFactory().createInverseObjectPropertiesAxiom(rMinus, r, annotations));
+
+		Set<NormalizedIntegerAxiom> normalizedSet = new HashSet<>();
+		IngestionPipeline pipeline = new IngestionPipeline(factory, normalizedSet::add);
+		pipeline.addAll(ontology);
+
+		Set<NormalizedIntegerAxiom> expectedSet = new HashSet<>();
+		expectedSet.add(
+				factory.getNormalizedAxiomFactory().createGCI3Axiom(rMinus.getId(), a.getId(), b.getId(), annotations));
+		Assertions.assertEquals(expectedSet, normalizedSet);
+
+		Set<Integer> expectedClasses = new HashSet<>();
+		expectedClasses.add(a.getId());
+		expectedClasses.add(b.getId());
+		Assertions.assertEquals(expectedClasses, pipeline.getClassSet());
+
+		Set<Integer> expectedObjectProperties = new HashSet<>();
+		expectedObjectProperties.add(r.getId());
+		expectedObjectProperties.add(rMinus.getId());
+		Assertions.assertEquals(expectedObjectProperties, pipeline.getObjectPropertySet());
+
+		Assertions.assertEquals(2, pipeline.getNumberOfAxioms());
+		Assertions.assertTrue(pipeline.getExpressivity().hasInverseObjectProperty());
+	}
+
+}
@@ -46,7 +46,9 @@
 
 package de.tudresden.inf.lat.jcel.ontology.normalization;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -60,6 +62,7 @@ import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
 import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
 import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
 
 /**
@@ -139,4 +142,38 @@ public class OntologyNormalizerTest {
 		Assertions.assertEquals(expectedSet, normalizedSet);
 	}
 
+	@Test
+	public void testNormalizeToConsumer() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C");
+
+		Set<IntegerClassExpression> equivalentClasses = new HashSet<>();
+		equivalentClasses.add(a);
+		equivalentClasses.add(b);
+		Set<IntegerClassExpression> intersection = new HashSet<>();
+		intersection.add(b);
+		intersection.add(c);
+
+		List<ComplexIntegerAxiom> ontology = new ArrayList<>();
+		ontology.add(factory.getComplexAxiomFactory().createEquivalentClassesAxiom(equivalentClasses, annotations));
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a,
+				factory.getDataTypeFactory().createObjectIntersectionOf(intersection), annotations));
+
+		OntologyNormalizer normalizer = new OntologyNormalizer();
+
+		List<NormalizedIntegerAxiom> normalizedList = new ArrayList<>();
+		normalizer.normalize(ontology, factory, normalizedList::add);
+
+		Set<NormalizedIntegerAxiom> expectedSet = new HashSet<>();
+		expectedSet.add(factory.getNormalizedAxiomFactory().createGCI0Axiom(a.getId(), b.getId(), annotations));
+		expectedSet.add(factory.getNormalizedAxiomFactory().createGCI0Axiom(b.getId(), a.getId(), annotations));
+		expectedSet.add(factory.getNormalizedAxiomFactory().createGCI0Axiom(a.getId(), c.getId(), annotations));
+
+		Assertions.assertEquals(expectedSet, new HashSet<>(normalizedList));
+	}
+
 }
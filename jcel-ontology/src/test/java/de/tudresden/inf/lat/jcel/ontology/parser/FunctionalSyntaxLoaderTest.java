@@ -0,0 +1,141 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.ontology.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.normalization.IngestionPipeline;
+
+/**
+ * Test class for the loader of OWL 2 functional syntax.
+ * 
+ * @see FunctionalSyntaxLoader
+ * 
+ * @author Julian Mendez
+ */
+public class FunctionalSyntaxLoaderTest {
+
+	private static final String namespace = "http://example.org/ontology#";
+
+	private static final String ontology = "" //
+			+ "Prefix(:=<" + namespace + ">)\n" //
+			+ "Prefix(rdfs:=<http://www.w3.org/2000/01/rdf-schema#>)\n" //
+			+ "Ontology(<http://example.org/ontology>\n" //
+			+ "# inverse object properties are declared first\n" //
+			+ "InverseObjectProperties(:r- :r)\n" //
+			+ "Declaration(Class(:A))\n" //
+			+ "Declaration(AnnotationProperty(rdfs:label))\n" //
+			+ "AnnotationAssertion(rdfs:label :A \"A (class)\"@en)\n" //
+			+ "SubClassOf(Annotation(rdfs:comment \"\\\"quoted\\\"\") ObjectSomeValuesFrom(:r- :A) <" + namespace
+			+ "B>)\n" //
+			+ "SubClassOf(:B owl:Thing)\n" //
+			+ ")\n";
+
+	/**
+	 * Constructs a new test for the loader of OWL 2 functional syntax.
+	 */
+	public FunctionalSyntaxLoaderTest() {
+	}
+
+	private Integer getId(IntegerEntityManager entityManager, IntegerEntityType type, String name) {
+		return entityManager.getEntities(type, false).stream()
+				.filter(id -> entityManager.getName(id).equals(name)).findFirst().get();
+	}
+
+	@Test
+	public void testLoad() throws IOException {
+		Set<IntegerAnnotation> annotations = new HashSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		FunctionalSyntaxLoader loader = new FunctionalSyntaxLoader(Paths.get("ontology.ofn"));
+
+		Set<NormalizedIntegerAxiom> normalizedSet = new HashSet<>();
+		IngestionPipeline pipeline = new IngestionPipeline(factory, normalizedSet::add);
+		loader.load(new StringReader(ontology), pipeline);
+
+		Assertions.assertEquals("http://example.org/ontology", loader.getOntologyIRI().get());
+		Assertions.assertEquals(4, pipeline.getNumberOfAxioms());
+
+		IntegerEntityManager entityManager = factory.getEntityManager();
+		Integer a = getId(entityManager, IntegerEntityType.CLASS, namespace + "A");
+		Integer b = getId(entityManager, IntegerEntityType.CLASS, namespace + "B");
+		Integer rMinus = getId(entityManager, IntegerEntityType.OBJECT_PROPERTY, namespace + "r-");
+
+		Set<NormalizedIntegerAxiom> expectedSet = new HashSet<>();
+		expectedSet.add(factory.getNormalizedAxiomFactory().createGCI3Axiom(rMinus, a, b, annotations));
+		expectedSet.add(
+				factory.getNormalizedAxiomFactory().createGCI0Axiom(b, IntegerEntityManager.topClassId, annotations));
+		Assertions.assertEquals(expectedSet, normalizedSet);
+
+		Set<Integer> expectedClasses = new HashSet<>();
+		expectedClasses.add(a);
+		expectedClasses.add(b);
+		expectedClasses.add(IntegerEntityManager.topClassId);
+		Assertions.assertEquals(expectedClasses, pipeline.getClassSet());
+
+		int numberOfEntities = entityManager.size();
+		IngestionPipeline otherPipeline = new IngestionPipeline(factory, axiom -> {
+		});
+		loader.load(new StringReader(ontology), otherPipeline);
+		Assertions.assertEquals(pipeline.getClassSet(), otherPipeline.getClassSet());
+		Assertions.assertEquals(numberOfEntities, entityManager.size());
+	}
+
+}
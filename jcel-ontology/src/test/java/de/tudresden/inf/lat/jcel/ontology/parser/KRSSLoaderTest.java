@@ -0,0 +1,120 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.ontology.parser;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.normalization.IngestionPipeline;
+
+/**
+ * Test class for the loader of KRSS.
+ * 
+ * @see KRSSLoader
+ * 
+ * @author Julian Mendez
+ */
+public class KRSSLoaderTest {
+
+	private static final String namespace = "http://example.org/ontology#";
+
+	/**
+	 * Constructs a new test for the loader of KRSS.
+	 */
+	public KRSSLoaderTest() {
+	}
+
+	private Integer getId(IntegerEntityManager entityManager, IntegerEntityType type, String name) {
+		return entityManager.getEntities(type, false).stream()
+				.filter(id -> entityManager.getName(id).equals(name)).findFirst().get();
+	}
+
+	@Test
+	public void testLoad() throws IOException {
+		Set<IntegerAnnotation> annotations = new HashSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		KRSSLoader loader = new KRSSLoader(Paths.get("ontology.krss"), namespace);
+
+		Set<NormalizedIntegerAxiom> normalizedSet = new HashSet<>();
+		IngestionPipeline pipeline = new IngestionPipeline(factory, normalizedSet::add);
+		loader.load(new StringReader("" //
+				+ "; a small ontology\n" //
+				+ "(define-primitive-role r :parent s)\n" //
+				+ "(DEFINE-PRIMITIVE-CONCEPT A (some r B))\n" //
+				+ "(implies (and B C) *bottom*)\n"), pipeline);
+
+		Assertions.assertEquals(5, pipeline.getNumberOfAxioms());
+
+		IntegerEntityManager entityManager = factory.getEntityManager();
+		Integer a = getId(entityManager, IntegerEntityType.CLASS, namespace + "A");
+		Integer b = getId(entityManager, IntegerEntityType.CLASS, namespace + "B");
+		Integer c = getId(entityManager, IntegerEntityType.CLASS, namespace + "C");
+		Integer r = getId(entityManager, IntegerEntityType.OBJECT_PROPERTY, namespace + "r");
+		Integer s = getId(entityManager, IntegerEntityType.OBJECT_PROPERTY, namespace + "s");
+
+		Assertions.assertTrue(
+				normalizedSet.contains(factory.getNormalizedAxiomFactory().createRI2Axiom(r, s, annotations)));
+		Assertions.assertTrue(
+				normalizedSet.contains(factory.getNormalizedAxiomFactory().createGCI2Axiom(a, r, b, annotations)));
+		Assertions.assertTrue(normalizedSet.contains(factory.getNormalizedAxiomFactory().createGCI1Axiom(b, c,
+				IntegerEntityManager.bottomClassId, annotations)));
+	}
+
+}
@@ -53,6 +53,9 @@ import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -74,9 +77,13 @@ import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyCreationException;
 import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.SetOntologyID;
 import org.semanticweb.owlapi.owlxml.renderer.OWLXMLRenderer;
 import org.semanticweb.owlapi.reasoner.InferenceType;
 
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.parser.FunctionalSyntaxLoader;
+import de.tudresden.inf.lat.jcel.ontology.parser.KRSSLoader;
 import de.tudresden.inf.lat.jcel.owlapi.main.JcelReasoner;
 import de.tudresden.inf.lat.jcel.reasoner.main.VersionInfo;
 
@@ -110,6 +117,10 @@ public class ConsoleStarter {
 			+ "\nThis is free software: you are free to change and redistribute it."
 			+ "\njcel is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY." + "\n";
 
+	public static final String loaderFunctional = "functional";
+	public static final String loaderKRSS = "krss";
+	public static final String loaderOWLAPI = "owlapi";
+
 	private static final Logger logger = Logger.getLogger("de.tudresden.inf.lat.jcel");
 
 	private static final String msgPartCompleted = "Completed ";
@@ -120,7 +131,10 @@ public class ConsoleStarter {
 	public static final String optClassURI = "--classuri=";
 	public static final String optConclusion = "--conclusion=";
 	public static final String optHelp = "--help";
+	public static final String optLean = "--lean";
+	public static final String optLoader = "--loader=";
 	public static final String optLogLevel = "--loglevel=";
+	public static final String optNormalizedCache = "--normalized-cache=";
 	public static final String optOntology = "--ontology=";
 	public static final String optOperation = "--operation=";
 	public static final String optOutput = "--output=";
@@ -172,6 +186,12 @@ public class ConsoleStarter {
 			+ "<output>                     output with the inferred data" + "\n\n"
 			+ "<classURI>                   (only for " + cmdSat + ") URI of the class to check satisfiability"
 			+ "\n\n\nthe available options are:" + "\n   " + optConclusion + "FILE         conclusion ontology"
+			+ "\n   " + optLean
+			+ "                    drop the annotations of the normalized axioms, which are not needed to reason"
+			+ "\n   " + optLoader
+			+ "LOADER           loader for the ontology file, the streaming loaders do not use the OWL API"
+			+ "\n   " + optNormalizedCache
+			+ "FILE   file to keep the normalized ontology, which is reused while it is newer than the ontology"
 			+ "\n   " + optRenderer
 			+ "RENDERER       renderer for the class hierarchy computed by the classification operation" + "\n   "
 			+ optTimeOut + "MILLISECONDS    force a time-out after a given number of milliseconds" + "\n   "
@@ -189,11 +209,15 @@ public class ConsoleStarter {
 			+ Level.SEVERE.getName() + " | " + Level.WARNING.getName() + " | " + Level.INFO.getName() + " | "
 			+ Level.CONFIG.getName() + " | " + Level.FINE.getName() + " | " + Level.FINER.getName() + " | "
 			+ Level.FINEST.getName() + " | " + Level.ALL.getName()
+			+ "\n   LOADER                    " + loaderOWLAPI + " | " + loaderFunctional + " | " + loaderKRSS
 			+ "\n   MILLISECONDS              a natural number, e.g.: 300000" + "\n   OPERATION                 "
 			+ cmdConsistency + " | " + cmdSat + " | " + cmdClassification + " | " + cmdEntailment
 			+ "\n   RENDERER                  " + rendererFunctional + " | " + rendererKRSS + " | " + rendererKRSS2
 			+ " | " + rendererKRSS2OWL + " | " + rendererLatex + " | " + rendererManchester + " | " + rendererXML
 			+ "\n\n\n\n";
+	private boolean leanMode = false;
+	private String loader = loaderOWLAPI;
+	private File normalizedCacheFile = null;
 	private long timeOut = 0;
 	private boolean timeOutMode = false;
 	private boolean verboseMode = false;
@@ -243,17 +267,12 @@ public class ConsoleStarter {
 		Objects.requireNonNull(conclusionFile);
 		logger.fine("starting jcel console ...");
 
-		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
-
-		logger.fine("loading premise ontology using the OWL API ...");
-		OWLOntology premiseOntology = manager.loadOntologyFromOntologyDocument(premiseFile);
+		JcelReasoner reasoner = createPremiseReasoner(premiseFile);
 
 		logger.fine("loading conclusion ontology using the OWL API ...");
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
 		OWLOntology conclusionOntology = manager.loadOntologyFromOntologyDocument(conclusionFile);
 
-		logger.fine("starting reasoner ...");
-		JcelReasoner reasoner = new JcelReasoner(premiseOntology, false);
-
 		logger.fine("precomputing inferences ...");
 		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
 
@@ -287,7 +306,9 @@ public class ConsoleStarter {
 
 	/**
 	 * Classifies a given ontology and computes the class hierarchy and the
-	 * object property hierarchy.
+	 * object property hierarchy. With the functional syntax renderer, the
+	 * inferred axioms are written directly from the hierarchies of the
+	 * reasoner. The other renderers need the inferred ontology in memory.
 	 *
 	 * @param ontologyFile
 	 *            ontology file to be classified
@@ -312,13 +333,54 @@ public class ConsoleStarter {
 		reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
 
 		logger.fine("generating output ...");
-		OWLInferredOntologyWrapper inferredOntology = new OWLInferredOntologyWrapper(reasoner);
+		if (renderer instanceof OWLFunctionalSyntaxRenderer) {
+			try (Writer writer = Files.newBufferedWriter(inferredFile.toPath())) {
+				reasoner.writeInferredOntology(writer);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		} else {
+			OWLInferredOntologyWrapper inferredOntology = null;
+			if (this.loader.equals(loaderOWLAPI)) {
+				inferredOntology = new OWLInferredOntologyWrapper(reasoner);
+			} else {
+				inferredOntology = new OWLInferredOntologyWrapper(reasoner,
+						reasoner.getTranslator().getTranslationRepository().getEntities());
+			}
 
-		renderer.render(inferredOntology.getOWLOntology(), new FileOutputStream(inferredFile));
+			renderer.render(inferredOntology.getOWLOntology(), new FileOutputStream(inferredFile));
+		}
 
 		logger.fine("jcel console finished.");
 	}
 
+	/**
+	 * Creates an instance of jcel reasoner for a premise ontology, using the
+	 * OWL API or a streaming loader.
+	 *
+	 * @param premiseFile
+	 *            premise ontology file
+	 * @return an instance of jcel reasoner
+	 * @throws OWLOntologyCreationException
+	 *             if the ontology could not be created
+	 */
+	private JcelReasoner createPremiseReasoner(File premiseFile) throws OWLOntologyCreationException {
+		JcelReasoner ret = null;
+		if (this.loader.equals(loaderOWLAPI)) {
+			OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+
+			logger.fine("loading premise ontology using the OWL API ...");
+			OWLOntology premiseOntology = manager.loadOntologyFromOntologyDocument(premiseFile);
+
+			logger.fine("starting reasoner ...");
+			ret = createReasoner(premiseFile, premiseOntology);
+		} else {
+			logger.fine("starting reasoner with a streaming loader ...");
+			ret = createStreamingReasoner(premiseFile);
+		}
+		return ret;
+	}
+
 	/**
 	 * Creates an instance of jcel reasoner using the given ontology file.
 	 *
@@ -332,16 +394,26 @@ public class ConsoleStarter {
 		Objects.requireNonNull(ontologyFile);
 		logger.fine("starting jcel console ...");
 
-		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		JcelReasoner ret = null;
+		long wallClockTimeBeginning = 0;
+		if (this.loader.equals(loaderOWLAPI)) {
+			OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
 
-		logger.fine("loading ontology using the OWL API ...");
-		OWLOntology ontology = manager.loadOntologyFromOntologyDocument(ontologyFile);
+			logger.fine("loading ontology using the OWL API ...");
+			OWLOntology ontology = manager.loadOntologyFromOntologyDocument(ontologyFile);
 
-		logger.fine("starting reasoner ...");
+			logger.fine("starting reasoner ...");
 
-		long wallClockTimeBeginning = (new Date()).getTime();
+			wallClockTimeBeginning = (new Date()).getTime();
+
+			ret = createReasoner(ontologyFile, ontology);
+		} else {
+			logger.fine("starting reasoner with a streaming loader ...");
 
-		JcelReasoner ret = new JcelReasoner(ontology, false);
+			wallClockTimeBeginning = (new Date()).getTime();
+
+			ret = createStreamingReasoner(ontologyFile);
+		}
 
 		long wallClockTimeMidPoint = (new Date()).getTime();
 
@@ -369,6 +441,72 @@ public class ConsoleStarter {
 		return ret;
 	}
 
+	/**
+	 * Creates an instance of jcel reasoner for an ontology that has been
+	 * loaded from the given file. If a file for the normalized ontology has
+	 * been defined, the reasoner reads the normalized ontology from it, unless
+	 * it was computed from a different source. The source fingerprint consists
+	 * of the canonical path, size and modification time of the ontology file,
+	 * and the identifiers of the ontologies in its imports closure. If the
+	 * fingerprint does not match, the normalized ontology is computed and
+	 * written again.
+	 *
+	 * @param ontologyFile
+	 *            ontology file
+	 * @param ontology
+	 *            ontology loaded from the ontology file
+	 * @return an instance of jcel reasoner
+	 */
+	private JcelReasoner createReasoner(File ontologyFile, OWLOntology ontology) {
+		JcelReasoner ret = null;
+		if (Objects.isNull(this.normalizedCacheFile)) {
+			ret = new JcelReasoner(ontology, false, new IntegerOntologyObjectFactoryImpl(this.leanMode));
+		} else {
+			if (this.leanMode) {
+				logger.fine("lean mode is not used with a normalized ontology file");
+			}
+			try {
+				String sourceFingerprint = ontologyFile.getCanonicalPath() + "\n" + ontologyFile.length() + "\n"
+						+ ontologyFile.lastModified() + "\n" + JcelReasoner.getSourceFingerprint(ontology);
+				ret = new JcelReasoner(ontology, false, this.normalizedCacheFile.toPath(), sourceFingerprint);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Creates an instance of jcel reasoner that reads the given ontology file
+	 * with a streaming loader, without creating the axioms with the OWL API.
+	 * The root ontology of the reasoner is empty, and it only has the IRI of
+	 * the loaded ontology.
+	 *
+	 * @param ontologyFile
+	 *            ontology file
+	 * @return an instance of jcel reasoner
+	 * @throws OWLOntologyCreationException
+	 *             if the root ontology could not be created
+	 */
+	private JcelReasoner createStreamingReasoner(File ontologyFile) throws OWLOntologyCreationException {
+		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+		OWLOntology ontology = manager.createOntology();
+		JcelReasoner ret = null;
+		if (this.loader.equals(loaderFunctional)) {
+			FunctionalSyntaxLoader source = new FunctionalSyntaxLoader(ontologyFile.toPath());
+			ret = new JcelReasoner(ontology, false, source, new IntegerOntologyObjectFactoryImpl(this.leanMode));
+			if (source.getOntologyIRI().isPresent()) {
+				manager.applyChange(new SetOntologyID(ontology, IRI.create(source.getOntologyIRI().get())));
+			}
+		} else if (this.loader.equals(loaderKRSS)) {
+			ret = new JcelReasoner(ontology, false, new KRSSLoader(ontologyFile.toPath()),
+					new IntegerOntologyObjectFactoryImpl(this.leanMode));
+		} else {
+			throw new IllegalArgumentException("Unrecognized loader: '" + this.loader + "'");
+		}
+		return ret;
+	}
+
 	/**
 	 * Returns the mode of execution that corresponds to the given identifier.
 	 *
@@ -506,6 +644,15 @@ public class ConsoleStarter {
 					} else if (argument.startsWith(optConclusion)) {
 						conclusionFile = new File(argument.substring(optConclusion.length()));
 
+					} else if (argument.startsWith(optLean)) {
+						this.leanMode = true;
+
+					} else if (argument.startsWith(optLoader)) {
+						this.loader = argument.substring(optLoader.length());
+
+					} else if (argument.startsWith(optNormalizedCache)) {
+						this.normalizedCacheFile = new File(argument.substring(optNormalizedCache.length()));
+
 					} else if (argument.startsWith(optRenderer)) {
 						renderer = parseRenderer(argument.substring(optRenderer.length()));
 
@@ -55,6 +55,7 @@ import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataProperty;
 import org.semanticweb.owlapi.model.OWLDataPropertyExpression;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
@@ -73,10 +74,31 @@ public class OWLInferredOntologyWrapper {
 
 	private final OWLOntology ontology;
 	private final OWLReasoner reasoner;
+	private final Set<OWLEntity> signature;
 
 	public OWLInferredOntologyWrapper(OWLReasoner reasoner) throws OWLOntologyCreationException {
+		this(reasoner, reasoner.getRootOntology().getSignature());
+	}
+
+	/**
+	 * Constructs the ontology inferred by a reasoner for the given entities.
+	 * This is used when the root ontology of the reasoner does not contain the
+	 * axioms, for example when the reasoner loads them with a streaming
+	 * loader.
+	 * 
+	 * @param reasoner
+	 *            reasoner
+	 * @param signature
+	 *            entities of the inferred ontology
+	 * @throws OWLOntologyCreationException
+	 *             if the ontology could not be created
+	 */
+	public OWLInferredOntologyWrapper(OWLReasoner reasoner, Set<OWLEntity> signature)
+			throws OWLOntologyCreationException {
 		Objects.requireNonNull(reasoner);
+		Objects.requireNonNull(signature);
 		this.reasoner = reasoner;
+		this.signature = signature;
 
 		OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
 		this.ontology = manager.createOntology(reasoner.getRootOntology().getOntologyID());
@@ -99,13 +121,16 @@ public class OWLInferredOntologyWrapper {
 
 	private void process() {
 		Set<OWLClass> classSet = new TreeSet<>();
-		classSet.addAll(getReasoner().getRootOntology().getClassesInSignature());
+		this.signature.stream().filter(OWLEntity::isOWLClass).forEach(entity -> classSet.add(entity.asOWLClass()));
 		Set<OWLObjectProperty> objectPropertySet = new TreeSet<>();
-		objectPropertySet.addAll(getReasoner().getRootOntology().getObjectPropertiesInSignature());
+		this.signature.stream().filter(OWLEntity::isOWLObjectProperty)
+				.forEach(entity -> objectPropertySet.add(entity.asOWLObjectProperty()));
 		Set<OWLDataProperty> dataPropertySet = new TreeSet<>();
-		dataPropertySet.addAll(getReasoner().getRootOntology().getDataPropertiesInSignature());
+		this.signature.stream().filter(OWLEntity::isOWLDataProperty)
+				.forEach(entity -> dataPropertySet.add(entity.asOWLDataProperty()));
 		Set<OWLNamedIndividual> individualSet = new TreeSet<>();
-		individualSet.addAll(getReasoner().getRootOntology().getIndividualsInSignature());
+		this.signature.stream().filter(OWLEntity::isOWLNamedIndividual)
+				.forEach(entity -> individualSet.add(entity.asOWLNamedIndividual()));
 
 		processDeclarationC(classSet);
 		processDeclarationOP(objectPropertySet);
@@ -0,0 +1,333 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.owlapi.main;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyID;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySerializer;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySnapshot;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.normalization.IngestionPipeline;
+import de.tudresden.inf.lat.jcel.owlapi.translator.Translator;
+
+/**
+ * An object of this class keeps the imported ontologies, already translated
+ * and normalized, so that a reasoner does not need to translate and normalize
+ * them again when other reasoners have already done it. The imported
+ * ontologies of a root ontology are identified by the IRI, the version IRI,
+ * the number of axioms and a SHA-256 digest of the axioms of each ontology in
+ * its imports closure, except the root ontology itself. Root ontologies
+ * importing the same ontologies use the same entry.
+ * <p>
+ * Each entry is kept in the compact format of
+ * {@link NormalizedOntologySerializer}, and each reasoner restores it in its
+ * own ontology object factory. Therefore, the reasoners have neither
+ * identifiers nor mutable state in common. Note that every reasoner still
+ * restores the whole signature and the whole set of normalized axioms of the
+ * imported ontologies in its own entity manager. This cache only saves the
+ * time to translate and normalize the imported ontologies when a reasoner is
+ * created; it does not reduce the memory used by each reasoner, and it adds
+ * the compact copy of each entry.
+ * </p>
+ * <p>
+ * The entries are reference counted: a reasoner acquires an entry when it is
+ * created, and releases it when it is disposed. An entry is removed when it
+ * is not used by any reasoner.
+ * </p>
+ * <p>
+ * The imported ontologies of a new entry are translated and normalized by the
+ * first reasoner that acquires it, outside of the map of entries. Other
+ * reasoners acquiring the same entry meanwhile wait for the result. If the
+ * translation fails, the entry is removed.
+ * </p>
+ * 
+ * @author Julian Mendez
+ * 
+ * @see JcelReasoner
+ */
+public class ImportedOntologyCache {
+
+	/**
+	 * An entry of the cache.
+	 */
+	private static class Entry {
+
+		private final CompletableFuture<ByteBuffer> normalizedOntology = new CompletableFuture<>();
+		private int references = 0;
+
+		Entry() {
+		}
+
+	}
+
+	private static final String digestAlgorithm = "SHA-256";
+	private static final Logger logger = Logger.getLogger(ImportedOntologyCache.class.getName());
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final NormalizedOntologySerializer serializer = new NormalizedOntologySerializer();
+
+	/**
+	 * Constructs a new empty cache.
+	 */
+	public ImportedOntologyCache() {
+	}
+
+	/**
+	 * Returns a SHA-256 digest of the axioms of the given ontology, as a
+	 * hexadecimal string. The digest is computed on the sorted string
+	 * representations of the axioms, so it does not depend on the order in
+	 * which the ontology returns them.
+	 * 
+	 * @param ontology
+	 *            ontology
+	 * @return a SHA-256 digest of the axioms of the given ontology
+	 */
+	static String getDigest(OWLOntology ontology) {
+		Objects.requireNonNull(ontology);
+		List<String> axioms = new ArrayList<>();
+		ontology.getAxioms().forEach(axiom -> axioms.add(axiom.toString()));
+		Collections.sort(axioms);
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(digestAlgorithm);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		for (String axiom : axioms) {
+			digest.update((axiom.length() + ":" + axiom).getBytes(StandardCharsets.UTF_8));
+		}
+		StringBuilder sbuf = new StringBuilder();
+		for (byte b : digest.digest()) {
+			sbuf.append(String.format("%02x", b));
+		}
+		return sbuf.toString();
+	}
+
+	/**
+	 * Returns the imported ontologies of the given root ontology, i.e. its
+	 * imports closure without the root ontology.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @return the imported ontologies of the given root ontology
+	 */
+	static Set<OWLOntology> getImportedOntologies(OWLOntology rootOntology) {
+		Set<OWLOntology> ret = new HashSet<>(rootOntology.getImportsClosure());
+		ret.remove(rootOntology);
+		return ret;
+	}
+
+	/**
+	 * Returns the key of the imported ontologies of the given root ontology,
+	 * if they can be cached. They can be cached if the root ontology has
+	 * imported ontologies and all of them have an IRI. Besides the IRI and
+	 * version IRI, the key contains the number of axioms and a SHA-256 digest
+	 * of the axioms of each imported ontology, so that a changed imported
+	 * ontology does not get the entry of its previous content.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @return the key of the imported ontologies of the given root ontology,
+	 *         if they can be cached
+	 */
+	public static Optional<String> getKey(OWLOntology rootOntology) {
+		Objects.requireNonNull(rootOntology);
+		Optional<String> ret = Optional.empty();
+		Set<OWLOntology> importedOntologies = getImportedOntologies(rootOntology);
+		if (!importedOntologies.isEmpty() && importedOntologies.stream()
+				.allMatch(ontology -> ontology.getOntologyID().getOntologyIRI().isPresent())) {
+			List<String> identifiers = new ArrayList<>();
+			importedOntologies.forEach(ontology -> {
+				OWLOntologyID id = ontology.getOntologyID();
+				identifiers.add(id.getOntologyIRI().get().toString() + " "
+						+ (id.getVersionIRI().isPresent() ? id.getVersionIRI().get().toString() : "") + " "
+						+ ontology.getAxiomCount() + " " + getDigest(ontology));
+			});
+			Collections.sort(identifiers);
+			ret = Optional.of(String.join("\n", identifiers));
+		}
+		return ret;
+	}
+
+	/**
+	 * Acquires the entry of the imported ontologies of the given root
+	 * ontology. If there is no entry, the imported ontologies are translated
+	 * and normalized, and a new entry is created. Each acquired entry must be
+	 * released with {@link #release(String)}. If the imported ontologies
+	 * cannot be translated, the entry is not acquired, and it does not need to
+	 * be released.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @return the key of the acquired entry, or an empty optional if the
+	 *         imported ontologies cannot be cached
+	 */
+	public Optional<String> acquire(OWLOntology rootOntology) {
+		Objects.requireNonNull(rootOntology);
+		Optional<String> ret = getKey(rootOntology);
+		if (ret.isPresent()) {
+			Entry newEntry = new Entry();
+			Entry entry = this.entries.compute(ret.get(), (key, currentEntry) -> {
+				Entry acquiredEntry = Objects.isNull(currentEntry) ? newEntry : currentEntry;
+				acquiredEntry.references++;
+				return acquiredEntry;
+			});
+			if (entry == newEntry) {
+				try {
+					newEntry.normalizedOntology.complete(createNormalizedOntology(rootOntology));
+				} catch (RuntimeException | Error e) {
+					this.entries.remove(ret.get(), newEntry);
+					newEntry.normalizedOntology.completeExceptionally(e);
+				}
+			}
+			try {
+				entry.normalizedOntology.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof Error) {
+					throw (Error) e.getCause();
+				}
+				throw (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : e;
+			}
+		}
+		return ret;
+	}
+
+	private ByteBuffer createNormalizedOntology(OWLOntology rootOntology) {
+		logger.fine("translating imported ontologies ...");
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		Translator translator = new Translator(rootOntology.getOWLOntologyManager().getOWLDataFactory(), factory);
+		Set<OWLOntology> importedOntologies = getImportedOntologies(rootOntology);
+		NormalizedOntologySnapshot snapshot = IngestionPipeline
+				.createSnapshot(pipeline -> JcelReasoner.loadAxioms(importedOntologies, translator, pipeline), factory);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try {
+			this.serializer.write(snapshot, Channels.newChannel(output));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return ByteBuffer.wrap(output.toByteArray()).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Returns the number of entries in the cache.
+	 * 
+	 * @return the number of entries in the cache
+	 */
+	public int getNumberOfEntries() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Releases an acquired entry. The entry is removed when it has been
+	 * released as many times as it has been acquired.
+	 * 
+	 * @param key
+	 *            key of the entry
+	 */
+	public void release(String key) {
+		Objects.requireNonNull(key);
+		this.entries.computeIfPresent(key, (currentKey, entry) -> {
+			entry.references--;
+			return entry.references > 0 ? entry : null;
+		});
+	}
+
+	/**
+	 * Restores an acquired entry in the given factory, whose entity manager
+	 * must be empty.
+	 * 
+	 * @param key
+	 *            key of an acquired entry
+	 * @param factory
+	 *            ontology object factory
+	 * @return the normalized imported ontologies
+	 */
+	public NormalizedOntologySnapshot restore(String key, IntegerOntologyObjectFactory factory) {
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(factory);
+		Entry entry = this.entries.get(key);
+		if (Objects.isNull(entry)) {
+			throw new IllegalStateException("The entry has not been acquired: '" + key + "'.");
+		}
+		try {
+			return this.serializer.read(entry.normalizedOntology.join().duplicate(),
+					factory.getNormalizedAxiomFactory(), factory.getEntityManager());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "[entries: " + this.entries.size() + "]";
+	}
+
+}
@@ -46,14 +46,20 @@
 
 package de.tudresden.inf.lat.jcel.owlapi.main;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import org.semanticweb.owlapi.model.AxiomType;
@@ -69,6 +75,7 @@ import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.model.OWLOntologyChange;
 import org.semanticweb.owlapi.model.OWLOntologyChangeListener;
 import org.semanticweb.owlapi.model.OWLOntologyChangeVisitorEx;
+import org.semanticweb.owlapi.model.OWLOntologyID;
 import org.semanticweb.owlapi.reasoner.AxiomNotInProfileException;
 import org.semanticweb.owlapi.reasoner.BufferingMode;
 import org.semanticweb.owlapi.reasoner.ClassExpressionNotInProfileException;
@@ -87,10 +94,16 @@ import org.semanticweb.owlapi.reasoner.TimeOutException;
 import org.semanticweb.owlapi.reasoner.UnsupportedEntailmentTypeException;
 import org.semanticweb.owlapi.util.Version;
 
-import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySerializer;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySnapshot;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.SourceMismatchException;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
 import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.ontology.normalization.IngestionPipeline;
+import de.tudresden.inf.lat.jcel.owlapi.translator.AxiomTranslator;
 import de.tudresden.inf.lat.jcel.owlapi.translator.Translator;
+import de.tudresden.inf.lat.jcel.reasoner.main.InferredOntologyWriter;
 import de.tudresden.inf.lat.jcel.reasoner.main.IntegerReasoner;
 import de.tudresden.inf.lat.jcel.reasoner.main.RuleBasedReasoner;
 
@@ -105,6 +118,10 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	private static final Logger logger = Logger.getLogger(JcelReasoner.class.getName());
 
 	private final boolean buffering = false;
+	private boolean disposed = false;
+	private final ImportedOntologyCache importCache;
+	private final Optional<String> importCacheKey;
+	private Optional<NormalizedOntologySnapshot> importedOntology;
 	private RuleBasedReasoner jcelCore;
 	private final OWLOntologyChangeVisitorEx<Boolean> ontologyChangeVisitor = new JcelOntologyChangeVisitorEx(this);
 	private final Set<OWLAxiom> pendingAxiomAdditions = new HashSet<>();
@@ -112,6 +129,7 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	private final List<OWLOntologyChange> pendingChanges = new ArrayList<>();
 	private OWLReasonerConfiguration reasonerConfiguration = null;
 	private final OWLOntology rootOntology;
+	private final Consumer<IngestionPipeline> source;
 	private final Date start = new Date();
 	private final Set<AxiomType<?>> supportedAxiomTypes;
 	private final Translator translator;
@@ -125,11 +143,33 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	 *            <code>true</code> if and only if the reasoner is buffering
 	 */
 	public JcelReasoner(OWLOntology rootOntology, boolean buffering) {
+		this(rootOntology, buffering, new IntegerOntologyObjectFactoryImpl());
+	}
+
+	/**
+	 * Constructs a new jcel reasoner that creates the integer axioms with the
+	 * given factory. For example, a factory created with
+	 * <code>new IntegerOntologyObjectFactoryImpl(true)</code> drops the
+	 * annotations of the normalized axioms, which are not needed for
+	 * classification.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @param buffering
+	 *            <code>true</code> if and only if the reasoner is buffering
+	 * @param factory
+	 *            factory of the integer axioms
+	 */
+	public JcelReasoner(OWLOntology rootOntology, boolean buffering, IntegerOntologyObjectFactory factory) {
 		Objects.requireNonNull(rootOntology);
+		Objects.requireNonNull(factory);
 		logger.fine("configuring jcel reasoner ...");
 		this.rootOntology = rootOntology;
-		this.translator = new Translator(rootOntology.getOWLOntologyManager().getOWLDataFactory(),
-				new IntegerOntologyObjectFactoryImpl());
+		this.source = this::loadIntegerOntology;
+		this.importCache = null;
+		this.importCacheKey = Optional.empty();
+		this.importedOntology = Optional.empty();
+		this.translator = new Translator(rootOntology.getOWLOntologyManager().getOWLDataFactory(), factory);
 		this.rootOntology.getOWLOntologyManager().addOntologyChangeListener(this);
 		this.supportedAxiomTypes = getSupportedTypes();
 
@@ -155,6 +195,220 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 		this.reasonerConfiguration = configuration;
 	}
 
+	/**
+	 * Constructs a new jcel reasoner that creates the integer axioms with the
+	 * given factory.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @param buffering
+	 *            <code>true</code> if and only if the reasoner is buffering
+	 * @param factory
+	 *            factory of the integer axioms
+	 * @param configuration
+	 *            reasoner configuration
+	 */
+	public JcelReasoner(OWLOntology rootOntology, boolean buffering, IntegerOntologyObjectFactory factory,
+			OWLReasonerConfiguration configuration) {
+		this(rootOntology, buffering, factory);
+		Objects.requireNonNull(configuration);
+		this.reasonerConfiguration = configuration;
+	}
+
+	/**
+	 * Constructs a new jcel reasoner that loads its axioms from the given
+	 * source instead of translating the root ontology, for example from a
+	 * streaming loader that reads an ontology file directly. The root ontology
+	 * is only used to create OWL objects for the answers, and it is usually
+	 * empty. After loading, the named entities created by the source are
+	 * registered in the translation repository. After a change of the root
+	 * ontology, the reasoner loads the axioms from the source again.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @param buffering
+	 *            <code>true</code> if and only if the reasoner is buffering
+	 * @param source
+	 *            source that adds the complex axioms to an ingestion pipeline
+	 */
+	public JcelReasoner(OWLOntology rootOntology, boolean buffering, Consumer<IngestionPipeline> source) {
+		this(rootOntology, buffering, source, new IntegerOntologyObjectFactoryImpl());
+	}
+
+	/**
+	 * Constructs a new jcel reasoner that loads its axioms from the given
+	 * source, and creates the integer axioms with the given factory.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @param buffering
+	 *            <code>true</code> if and only if the reasoner is buffering
+	 * @param source
+	 *            source that adds the complex axioms to an ingestion pipeline
+	 * @param factory
+	 *            factory of the integer axioms
+	 */
+	public JcelReasoner(OWLOntology rootOntology, boolean buffering, Consumer<IngestionPipeline> source,
+			IntegerOntologyObjectFactory factory) {
+		Objects.requireNonNull(rootOntology);
+		Objects.requireNonNull(source);
+		Objects.requireNonNull(factory);
+		logger.fine("configuring jcel reasoner ...");
+		this.rootOntology = rootOntology;
+		this.source = source;
+		this.importCache = null;
+		this.importCacheKey = Optional.empty();
+		this.importedOntology = Optional.empty();
+		this.translator = new Translator(rootOntology.getOWLOntologyManager().getOWLDataFactory(), factory);
+		this.rootOntology.getOWLOntologyManager().addOntologyChangeListener(this);
+		this.supportedAxiomTypes = getSupportedTypes();
+
+		logger.fine("loading axioms ...");
+		resetReasoner();
+		this.translator.getTranslationRepository().addManagedEntities();
+
+		logger.fine("jcel reasoner configured.");
+	}
+
+	/**
+	 * Constructs a new jcel reasoner that takes the imported ontologies of the
+	 * root ontology from a cache, which can be used by several reasoners. Only
+	 * the axioms of the root ontology are translated and normalized, and the
+	 * imported ontologies are restored from the cache into the entity manager
+	 * of this reasoner. This saves startup time, but not memory. If the imported
+	 * ontologies cannot be cached, the reasoner translates the whole imports
+	 * closure. The reasoner releases the imported ontologies when it is
+	 * disposed.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @param buffering
+	 *            <code>true</code> if and only if the reasoner is buffering
+	 * @param importCache
+	 *            cache of imported ontologies
+	 */
+	public JcelReasoner(OWLOntology rootOntology, boolean buffering, ImportedOntologyCache importCache) {
+		Objects.requireNonNull(rootOntology);
+		Objects.requireNonNull(importCache);
+		logger.fine("configuring jcel reasoner ...");
+		this.rootOntology = rootOntology;
+		this.source = this::loadIntegerOntology;
+		this.importCache = importCache;
+		this.translator = new Translator(rootOntology.getOWLOntologyManager().getOWLDataFactory(),
+				new IntegerOntologyObjectFactoryImpl());
+		this.rootOntology.getOWLOntologyManager().addOntologyChangeListener(this);
+		this.supportedAxiomTypes = getSupportedTypes();
+
+		logger.fine("restoring imported ontologies ...");
+		this.importCacheKey = importCache.acquire(rootOntology);
+		this.importedOntology = this.importCacheKey
+				.map(key -> importCache.restore(key, this.translator.getOntologyObjectFactory()));
+		this.translator.getTranslationRepository().addManagedEntities();
+
+		logger.fine("resetting reasoner ...");
+		resetReasoner();
+
+		logger.fine("jcel reasoner configured.");
+	}
+
+	/**
+	 * Constructs a new jcel reasoner that takes the imported ontologies of the
+	 * root ontology from a cache.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @param buffering
+	 *            <code>true</code> if and only if the reasoner is buffering
+	 * @param importCache
+	 *            cache of imported ontologies
+	 * @param configuration
+	 *            reasoner configuration
+	 */
+	public JcelReasoner(OWLOntology rootOntology, boolean buffering, ImportedOntologyCache importCache,
+			OWLReasonerConfiguration configuration) {
+		this(rootOntology, buffering, importCache);
+		Objects.requireNonNull(configuration);
+		this.reasonerConfiguration = configuration;
+	}
+
+	/**
+	 * Constructs a new jcel reasoner that keeps the normalized ontology in a
+	 * file. The source fingerprint of the file is the one given by
+	 * {@link #getSourceFingerprint(OWLOntology)}.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @param buffering
+	 *            <code>true</code> if and only if the reasoner is buffering
+	 * @param normalizedOntologyFile
+	 *            file containing the normalized ontology
+	 * @throws IOException
+	 *             if the file cannot be read or written
+	 */
+	public JcelReasoner(OWLOntology rootOntology, boolean buffering, Path normalizedOntologyFile)
+			throws IOException {
+		this(rootOntology, buffering, normalizedOntologyFile, getSourceFingerprint(rootOntology));
+	}
+
+	/**
+	 * Constructs a new jcel reasoner that keeps the normalized ontology in a
+	 * file. If the file exists and it has the given source fingerprint, the
+	 * normalized ontology is read from it, and the root ontology is neither
+	 * translated nor normalized. Otherwise, the root ontology is translated
+	 * and normalized, and the result is written to the file together with the
+	 * source fingerprint. After a change of the root ontology, the reasoner
+	 * translates the root ontology again.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @param buffering
+	 *            <code>true</code> if and only if the reasoner is buffering
+	 * @param normalizedOntologyFile
+	 *            file containing the normalized ontology
+	 * @param sourceFingerprint
+	 *            fingerprint of the source of the normalized ontology
+	 * @throws IOException
+	 *             if the file cannot be read or written
+	 */
+	public JcelReasoner(OWLOntology rootOntology, boolean buffering, Path normalizedOntologyFile,
+			String sourceFingerprint) throws IOException {
+		Objects.requireNonNull(rootOntology);
+		Objects.requireNonNull(normalizedOntologyFile);
+		Objects.requireNonNull(sourceFingerprint);
+		logger.fine("configuring jcel reasoner ...");
+		this.rootOntology = rootOntology;
+		this.source = this::loadIntegerOntology;
+		this.importCache = null;
+		this.importCacheKey = Optional.empty();
+		this.importedOntology = Optional.empty();
+		this.translator = new Translator(rootOntology.getOWLOntologyManager().getOWLDataFactory(),
+				new IntegerOntologyObjectFactoryImpl());
+		this.rootOntology.getOWLOntologyManager().addOntologyChangeListener(this);
+		this.supportedAxiomTypes = getSupportedTypes();
+
+		IntegerOntologyObjectFactory factory = this.translator.getOntologyObjectFactory();
+		NormalizedOntologySerializer serializer = new NormalizedOntologySerializer();
+		NormalizedOntologySnapshot snapshot = null;
+		if (Files.exists(normalizedOntologyFile)) {
+			logger.fine("reading normalized ontology ...");
+			try {
+				snapshot = serializer.read(normalizedOntologyFile, factory.getNormalizedAxiomFactory(),
+						factory.getEntityManager(), sourceFingerprint);
+				this.translator.getTranslationRepository().addManagedEntities();
+			} catch (SourceMismatchException e) {
+				logger.fine("discarding outdated normalized ontology ...");
+			}
+		}
+		if (Objects.isNull(snapshot)) {
+			snapshot = IngestionPipeline.createSnapshot(this.source, factory);
+			logger.fine("writing normalized ontology ...");
+			serializer.write(snapshot, normalizedOntologyFile, sourceFingerprint);
+		}
+		this.jcelCore = new RuleBasedReasoner(snapshot, factory, false);
+
+		logger.fine("jcel reasoner configured.");
+	}
+
 	public boolean addAxiom(OWLAxiom axiom) {
 		Objects.requireNonNull(axiom);
 		logger.finer("addAxiom(" + axiom + ")");
@@ -168,8 +422,12 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	@Override
 	public void dispose() {
 		logger.finer("dispose()");
-		this.rootOntology.getOWLOntologyManager().removeOntologyChangeListener(this);
-		getReasoner().dispose();
+		if (!this.disposed) {
+			this.disposed = true;
+			this.rootOntology.getOWLOntologyManager().removeOntologyChangeListener(this);
+			getReasoner().dispose();
+			this.importCacheKey.ifPresent(this.importCache::release);
+		}
 	}
 
 	@Override
@@ -343,20 +601,6 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 		return ret;
 	}
 
-	private Set<ComplexIntegerAxiom> getIntegerOntology() {
-		Set<OWLAxiom> owlAxiomSet = new HashSet<>();
-		owlAxiomSet.addAll(this.rootOntology.getAxioms());
-		this.rootOntology.getImportsClosure().forEach(ont -> owlAxiomSet.addAll(ont.getAxioms()));
-
-		this.translator.getTranslationRepository().addAxiomEntities(this.rootOntology);
-
-		logger.fine("translating axioms ...");
-		Set<ComplexIntegerAxiom> ret = this.translator.translateSA(owlAxiomSet);
-
-		logger.fine("axioms translated.");
-		return ret;
-	}
-
 	@Override
 	public Node<OWLObjectPropertyExpression> getInverseObjectProperties(
 			OWLObjectPropertyExpression objectPropertyExpression) throws InconsistentOntologyException,
@@ -491,6 +735,24 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 		return ret;
 	}
 
+	/**
+	 * Returns a fingerprint of the given root ontology and its imports
+	 * closure. It contains the ontology identifier and the number of axioms
+	 * of each ontology in the imports closure.
+	 * 
+	 * @param rootOntology
+	 *            root ontology
+	 * @return a fingerprint of the given root ontology and its imports closure
+	 */
+	public static String getSourceFingerprint(OWLOntology rootOntology) {
+		Objects.requireNonNull(rootOntology);
+		List<String> identifiers = new ArrayList<>();
+		rootOntology.getImportsClosure()
+				.forEach(ontology -> identifiers.add(ontology.getOntologyID() + " " + ontology.getAxiomCount()));
+		Collections.sort(identifiers);
+		return String.join("\n", identifiers);
+	}
+
 	public Date getStartTime() {
 		return this.start;
 	}
@@ -684,6 +946,58 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 		return ret;
 	}
 
+	/**
+	 * Translates the axioms of the given ontologies, and adds them one by one
+	 * to an ingestion pipeline. The axioms declaring inverse object properties
+	 * are added first, because the normalization of the other axioms depends
+	 * on them.
+	 * 
+	 * @param ontologies
+	 *            ontologies
+	 * @param translator
+	 *            translator
+	 * @param pipeline
+	 *            ingestion pipeline
+	 */
+	static void loadAxioms(Set<OWLOntology> ontologies, Translator translator, IngestionPipeline pipeline) {
+		AxiomTranslator axiomTranslator = translator.getAxiomTranslator();
+		ontologies.forEach(ont -> ont.getAxioms(AxiomType.INVERSE_OBJECT_PROPERTIES)
+				.forEach(axiom -> axiom.accept(axiomTranslator).forEach(pipeline::add)));
+		ontologies.forEach(ont -> ont.getAxioms().stream()
+				.filter(axiom -> !axiom.isOfType(AxiomType.INVERSE_OBJECT_PROPERTIES))
+				.forEach(axiom -> axiom.accept(axiomTranslator).forEach(pipeline::add)));
+	}
+
+	/**
+	 * Translates the axioms of the root ontology and of its imports closure,
+	 * and adds them one by one to an ingestion pipeline. If the imported
+	 * ontologies were restored from a cache, and the imports of the root
+	 * ontology have not changed, the normalized imported ontologies are added
+	 * instead, and only the axioms of the root ontology are translated. The
+	 * restored ontology is used only once, since its axioms are kept by the
+	 * reasoner afterwards. Later resets translate the whole imports closure.
+	 * 
+	 * @param pipeline
+	 *            ingestion pipeline
+	 */
+	private void loadIntegerOntology(IngestionPipeline pipeline) {
+		Set<OWLOntology> ontologies = this.rootOntology.getImportsClosure();
+		if (this.importedOntology.isPresent()
+				&& this.importCacheKey.equals(ImportedOntologyCache.getKey(this.rootOntology))) {
+			logger.fine("adding imported ontologies ...");
+			pipeline.addSnapshot(this.importedOntology.get());
+			ontologies = Collections.singleton(this.rootOntology);
+		}
+		this.importedOntology = Optional.empty();
+
+		this.translator.getTranslationRepository().addAxiomEntities(this.rootOntology);
+
+		logger.fine("translating axioms ...");
+		loadAxioms(ontologies, this.translator, pipeline);
+
+		logger.fine("axioms translated.");
+	}
+
 	@Override
 	public void ontologiesChanged(List<? extends OWLOntologyChange> changes) {
 		this.pendingChanges.addAll(changes);
@@ -721,7 +1035,34 @@ public class JcelReasoner implements OWLReasoner, OWLOntologyChangeListener {
 	}
 
 	private void resetReasoner() {
-		this.jcelCore = new RuleBasedReasoner(getIntegerOntology(), this.translator.getOntologyObjectFactory());
+		this.jcelCore = new RuleBasedReasoner(this.source, this.translator.getOntologyObjectFactory(), false);
+	}
+
+	/**
+	 * Writes the inferred ontology using the OWL 2 functional syntax. The
+	 * axioms are computed directly from the hierarchies of the reasoner and
+	 * written one by one, without creating the OWL objects of the inferred
+	 * ontology.
+	 * 
+	 * @param writer
+	 *            writer
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	public void writeInferredOntology(Writer writer) throws IOException {
+		Objects.requireNonNull(writer);
+		logger.finer("writeInferredOntology(" + writer + ")");
+		this.jcelCore.classify();
+		OWLOntologyID ontologyID = this.rootOntology.getOntologyID();
+		Optional<String> ontologyIRI = ontologyID.getOntologyIRI().isPresent()
+				? Optional.of(ontologyID.getOntologyIRI().get().toString())
+				: Optional.empty();
+		Optional<String> versionIRI = ontologyID.getVersionIRI().isPresent()
+				? Optional.of(ontologyID.getVersionIRI().get().toString())
+				: Optional.empty();
+		InferredOntologyWriter inferredOntologyWriter = new InferredOntologyWriter(writer,
+				this.translator.getOntologyObjectFactory().getEntityManager());
+		inferredOntologyWriter.write(this.jcelCore.getProcessor(), ontologyIRI, versionIRI);
 	}
 
 }
@@ -47,15 +47,22 @@
 package de.tudresden.inf.lat.jcel.owlapi.main;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.semanticweb.owlapi.reasoner.IllegalConfigurationException;
 import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
 import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
 
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+
 /**
  * This factory creates an instance of a jcel reasoner based on an ontology and
- * a optional configuration.
+ * a optional configuration. If the factory has a cache of imported
+ * ontologies, the reasoners created by the factory share it. Otherwise, the
+ * factory can create reasoners that drop the annotations of the normalized
+ * axioms.
  * 
  * @author Julian Mendez
  */
@@ -64,10 +71,49 @@ public class JcelReasonerFactory implements OWLReasonerFactory {
 	// private static final Logger logger = Logger
 	// .getLogger("de.tudresden.inf.lat.jcel");
 
+	private final Optional<ImportedOntologyCache> importCache;
+	private final boolean leanNormalizedAxioms;
+
+	/**
+	 * Constructs a new reasoner factory without a cache of imported
+	 * ontologies.
+	 */
+	public JcelReasonerFactory() {
+		this(false);
+	}
+
+	/**
+	 * Constructs a new reasoner factory without a cache of imported
+	 * ontologies.
+	 * 
+	 * @param leanNormalizedAxioms
+	 *            <code>true</code> if the reasoners create the normalized
+	 *            axioms without annotations
+	 */
+	public JcelReasonerFactory(boolean leanNormalizedAxioms) {
+		this.importCache = Optional.empty();
+		this.leanNormalizedAxioms = leanNormalizedAxioms;
+	}
+
+	/**
+	 * Constructs a new reasoner factory whose reasoners take their imported
+	 * ontologies from the given cache. See {@link ImportedOntologyCache} for
+	 * what the cache saves.
+	 * 
+	 * @param importCache
+	 *            cache of imported ontologies
+	 */
+	public JcelReasonerFactory(ImportedOntologyCache importCache) {
+		Objects.requireNonNull(importCache);
+		this.importCache = Optional.of(importCache);
+		this.leanNormalizedAxioms = false;
+	}
+
 	@Override
 	public JcelReasoner createNonBufferingReasoner(OWLOntology ontology) {
 		Objects.requireNonNull(ontology);
-		return new JcelReasoner(ontology, false);
+		return this.importCache.isPresent() ? new JcelReasoner(ontology, false, this.importCache.get())
+				: new JcelReasoner(ontology, false, createOntologyObjectFactory());
 	}
 
 	@Override
@@ -75,13 +121,20 @@ public class JcelReasonerFactory implements OWLReasonerFactory {
 			throws IllegalConfigurationException {
 		Objects.requireNonNull(ontology);
 		Objects.requireNonNull(configuration);
-		return new JcelReasoner(ontology, false, configuration);
+		return this.importCache.isPresent()
+				? new JcelReasoner(ontology, false, this.importCache.get(), configuration)
+				: new JcelReasoner(ontology, false, createOntologyObjectFactory(), configuration);
+	}
+
+	private IntegerOntologyObjectFactory createOntologyObjectFactory() {
+		return new IntegerOntologyObjectFactoryImpl(this.leanNormalizedAxioms);
 	}
 
 	@Override
 	public JcelReasoner createReasoner(OWLOntology ontology) {
 		Objects.requireNonNull(ontology);
-		return new JcelReasoner(ontology, true);
+		return this.importCache.isPresent() ? new JcelReasoner(ontology, true, this.importCache.get())
+				: new JcelReasoner(ontology, true, createOntologyObjectFactory());
 	}
 
 	@Override
@@ -89,7 +142,9 @@ public class JcelReasonerFactory implements OWLReasonerFactory {
 			throws IllegalConfigurationException {
 		Objects.requireNonNull(ontology);
 		Objects.requireNonNull(configuration);
-		return new JcelReasoner(ontology, true, configuration);
+		return this.importCache.isPresent()
+				? new JcelReasoner(ontology, true, this.importCache.get(), configuration)
+				: new JcelReasoner(ontology, true, createOntologyObjectFactory(), configuration);
 	}
 
 	@Override
@@ -97,4 +152,15 @@ public class JcelReasonerFactory implements OWLReasonerFactory {
 		return getClass().getPackage().getImplementationTitle();
 	}
 
+	/**
+	 * Tells whether the reasoners created by this factory drop the annotations
+	 * of the normalized axioms.
+	 * 
+	 * @return <code>true</code> if and only if the reasoners created by this
+	 *         factory drop the annotations of the normalized axioms
+	 */
+	public boolean isLeanNormalizedAxioms() {
+		return this.leanNormalizedAxioms;
+	}
+
 }
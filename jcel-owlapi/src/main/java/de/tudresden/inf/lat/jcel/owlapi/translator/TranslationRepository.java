@@ -47,20 +47,26 @@
 package de.tudresden.inf.lat.jcel.owlapi.translator;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotationProperty;
 import org.semanticweb.owlapi.model.OWLAnnotationValue;
 import org.semanticweb.owlapi.model.OWLClass;
 import org.semanticweb.owlapi.model.OWLDataFactory;
 import org.semanticweb.owlapi.model.OWLDataProperty;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLIndividual;
 import org.semanticweb.owlapi.model.OWLLiteral;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 import org.semanticweb.owlapi.model.OWLObjectProperty;
 import org.semanticweb.owlapi.model.OWLOntology;
 
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySerializer;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
 import de.tudresden.inf.lat.util.map.OptMap;
@@ -80,6 +86,7 @@ public class TranslationRepository {
 	private final OWLObjectProperty bottomObjectProperty;
 	private final OptMap<OWLClass, Integer> classInvMap = new OptMapImpl<>(new HashMap<>());
 	private final OptMap<Integer, OWLClass> classMap = new OptMapImpl<>(new HashMap<>());
+	private final OWLDataFactory dataFactory;
 	private final OptMap<OWLDataProperty, Integer> dataPropertyInvMap = new OptMapImpl<>(new HashMap<>());
 	private final OptMap<Integer, OWLDataProperty> dataPropertyMap = new OptMapImpl<>(new HashMap<>());
 	private final IntegerEntityManager entityManager;
@@ -108,6 +115,7 @@ public class TranslationRepository {
 	public TranslationRepository(OWLDataFactory dataFactory, IntegerEntityManager manager) {
 		Objects.requireNonNull(dataFactory);
 		Objects.requireNonNull(manager);
+		this.dataFactory = dataFactory;
 		this.entityManager = manager;
 
 		this.bottomClass = dataFactory.getOWLNothing();
@@ -204,6 +212,41 @@ public class TranslationRepository {
 		return ret;
 	}
 
+	/**
+	 * Adds to the repository the named classes, object properties, individuals
+	 * and data properties that are already in the entity manager, for example
+	 * after it has been restored by a {@link NormalizedOntologySerializer}.
+	 * The names of these entities are their IRIs.
+	 * 
+	 * @return <code>true</code> if and only if the repository has changed
+	 */
+	public boolean addManagedEntities() {
+		boolean ret = false;
+		ret = addManagedEntities(IntegerEntityType.CLASS, this.classMap, this.classInvMap,
+				this.dataFactory::getOWLClass) || ret;
+		ret = addManagedEntities(IntegerEntityType.OBJECT_PROPERTY, this.objectPropertyMap,
+				this.objectPropertyInvMap, this.dataFactory::getOWLObjectProperty) || ret;
+		ret = addManagedEntities(IntegerEntityType.INDIVIDUAL, this.individualMap, this.individualInvMap,
+				this.dataFactory::getOWLNamedIndividual) || ret;
+		ret = addManagedEntities(IntegerEntityType.DATA_PROPERTY, this.dataPropertyMap, this.dataPropertyInvMap,
+				this.dataFactory::getOWLDataProperty) || ret;
+		return ret;
+	}
+
+	private <T> boolean addManagedEntities(IntegerEntityType type, OptMap<Integer, T> map, OptMap<T, Integer> invMap,
+			Function<IRI, T> entityCreator) {
+		boolean ret = false;
+		for (Integer id : this.entityManager.getEntities(type, false)) {
+			if (!map.containsKey(id)) {
+				T entity = entityCreator.apply(IRI.create(this.entityManager.getName(id)));
+				map.put(id, entity);
+				invMap.put(entity, id);
+				ret = true;
+			}
+		}
+		return ret;
+	}
+
 	/**
 	 * Adds an named individual to the repository.
 	 * 
@@ -285,6 +328,23 @@ public class TranslationRepository {
 		return ret;
 	}
 
+	/**
+	 * Returns the classes, object properties, named individuals and data
+	 * properties of the repository, without the built-in entities.
+	 * 
+	 * @return the classes, object properties, named individuals and data
+	 *         properties of the repository, without the built-in entities
+	 */
+	public Set<OWLEntity> getEntities() {
+		Set<OWLEntity> ret = new HashSet<>();
+		ret.addAll(this.classMap.values());
+		ret.addAll(this.objectPropertyMap.values());
+		ret.addAll(this.individualMap.values());
+		ret.addAll(this.dataPropertyMap.values());
+		ret.removeIf(OWLEntity::isBuiltIn);
+		return ret;
+	}
+
 	public Integer getId(OWLClass owlClass) {
 		Objects.requireNonNull(owlClass);
 		Optional<Integer> ret = this.classInvMap.get(owlClass);
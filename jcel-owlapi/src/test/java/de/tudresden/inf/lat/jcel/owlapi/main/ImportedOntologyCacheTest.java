@@ -0,0 +1,224 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package de.tudresden.inf.lat.jcel.owlapi.main;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.AddAxiom;
+import org.semanticweb.owlapi.model.AddImport;
+import org.semanticweb.owlapi.model.IRI;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLClassExpression;
+import org.semanticweb.owlapi.model.OWLDataFactory;
+import org.semanticweb.owlapi.model.OWLObjectProperty;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.reasoner.NodeSet;
+
+/**
+ * Test class for {@link ImportedOntologyCache}.
+ * 
+ * @author Julian Mendez
+ */
+public class ImportedOntologyCacheTest {
+
+	public static final String url = TinyOntologyTest.url;
+
+	private final OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+	private final OWLDataFactory factory = this.manager.getOWLDataFactory();
+	private final OWLClass a = createNewClass("A");
+	private final OWLClass b = createNewClass("B");
+	private final OWLClass c = createNewClass("C");
+	private final OWLClass d = createNewClass("D");
+	private final OWLClass e = createNewClass("E");
+	private final OWLClass f = createNewClass("F");
+	private final OWLObjectProperty r = this.factory.getOWLObjectProperty(IRI.create(url + "r"));
+
+	/**
+	 * Constructs a new test class for the cache of imported ontologies.
+	 */
+	public ImportedOntologyCacheTest() {
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>B \u2291 &exist; r <i>.</i> C ,</li>
+	 * <li>&exist; r <i>.</i> C \u2291 D</li>
+	 * </ol>
+	 */
+	private OWLOntology createImportedOntology() throws OWLOntologyCreationException {
+		Set<OWLAxiom> axiomSet = new HashSet<>();
+		OWLClassExpression existential = this.factory.getOWLObjectSomeValuesFrom(this.r, this.c);
+		axiomSet.add(this.factory.getOWLSubClassOfAxiom(this.a, this.b));
+		axiomSet.add(this.factory.getOWLSubClassOfAxiom(this.b, existential));
+		axiomSet.add(this.factory.getOWLSubClassOfAxiom(existential, this.d));
+		return this.manager.createOntology(axiomSet, IRI.create(url + "imported"));
+	}
+
+	private OWLClass createNewClass(String name) {
+		return this.factory.getOWLClass(IRI.create(url + name));
+	}
+
+	/**
+	 * Creates an ontology importing the ontology returned by
+	 * {@link #createImportedOntology()}.
+	 */
+	private OWLOntology createRootOntology(String name, OWLAxiom axiom, OWLOntology importedOntology)
+			throws OWLOntologyCreationException {
+		Set<OWLAxiom> axiomSet = new HashSet<>();
+		axiomSet.add(axiom);
+		OWLOntology ret = this.manager.createOntology(axiomSet, IRI.create(url + name));
+		this.manager.applyChange(new AddImport(ret, this.factory
+				.getOWLImportsDeclaration(importedOntology.getOntologyID().getOntologyIRI().get())));
+		return ret;
+	}
+
+	private Set<OWLClass> flatten(NodeSet<OWLClass> originalSet) {
+		Set<OWLClass> ret = new TreeSet<>();
+		originalSet.getNodes().forEach(set -> ret.addAll(set.getEntities()));
+		return ret;
+	}
+
+	@Test
+	public void testChangedImportedOntology() throws OWLOntologyCreationException {
+		OWLOntology importedOntology = createImportedOntology();
+		OWLOntology rootOntology = createRootOntology("root1", this.factory.getOWLSubClassOfAxiom(this.e, this.a),
+				importedOntology);
+		Optional<String> key = ImportedOntologyCache.getKey(rootOntology);
+		Assertions.assertTrue(key.isPresent());
+
+		this.manager.applyChange(new AddAxiom(importedOntology, this.factory.getOWLSubClassOfAxiom(this.d, this.f)));
+		Assertions.assertNotEquals(key, ImportedOntologyCache.getKey(rootOntology));
+	}
+
+	@Test
+	public void testDoubleDispose() throws OWLOntologyCreationException {
+		OWLOntology importedOntology = createImportedOntology();
+		OWLOntology rootOntology1 = createRootOntology("root1", this.factory.getOWLSubClassOfAxiom(this.e, this.a),
+				importedOntology);
+		OWLOntology rootOntology2 = createRootOntology("root2", this.factory.getOWLSubClassOfAxiom(this.f, this.b),
+				importedOntology);
+		ImportedOntologyCache cache = new ImportedOntologyCache();
+		JcelReasoner reasoner1 = new JcelReasoner(rootOntology1, false, cache);
+		JcelReasoner reasoner2 = new JcelReasoner(rootOntology2, false, cache);
+
+		reasoner1.dispose();
+		reasoner1.dispose();
+		Assertions.assertEquals(1, cache.getNumberOfEntries());
+
+		reasoner2.dispose();
+		Assertions.assertEquals(0, cache.getNumberOfEntries());
+	}
+
+	@Test
+	public void testReferenceCounting() throws OWLOntologyCreationException {
+		OWLOntology importedOntology = createImportedOntology();
+		OWLOntology rootOntology1 = createRootOntology("root1", this.factory.getOWLSubClassOfAxiom(this.e, this.a),
+				importedOntology);
+		OWLOntology rootOntology2 = createRootOntology("root2", this.factory.getOWLSubClassOfAxiom(this.f, this.b),
+				importedOntology);
+		Assertions.assertEquals(ImportedOntologyCache.getKey(rootOntology1),
+				ImportedOntologyCache.getKey(rootOntology2));
+
+		ImportedOntologyCache cache = new ImportedOntologyCache();
+		Assertions.assertEquals(0, cache.getNumberOfEntries());
+
+		JcelReasoner reasoner1 = new JcelReasoner(rootOntology1, false, cache);
+		Assertions.assertEquals(1, cache.getNumberOfEntries());
+
+		JcelReasoner reasoner2 = new JcelReasoner(rootOntology2, false, cache);
+		Assertions.assertEquals(1, cache.getNumberOfEntries());
+
+		reasoner1.dispose();
+		Assertions.assertEquals(1, cache.getNumberOfEntries());
+
+		reasoner2.dispose();
+		Assertions.assertEquals(0, cache.getNumberOfEntries());
+
+		JcelReasoner reasoner3 = new JcelReasoner(rootOntology1, false, cache);
+		Assertions.assertEquals(1, cache.getNumberOfEntries());
+		reasoner3.dispose();
+		Assertions.assertEquals(0, cache.getNumberOfEntries());
+	}
+
+	@Test
+	public void testSameHierarchyAsUncachedReasoners() throws OWLOntologyCreationException {
+		OWLOntology importedOntology = createImportedOntology();
+		List<OWLOntology> rootOntologies = Arrays.asList(
+				createRootOntology("root1", this.factory.getOWLSubClassOfAxiom(this.e, this.a), importedOntology),
+				createRootOntology("root2", this.factory.getOWLSubClassOfAxiom(this.f, this.b), importedOntology));
+		ImportedOntologyCache cache = new ImportedOntologyCache();
+		for (OWLOntology rootOntology : rootOntologies) {
+			JcelReasoner cachedReasoner = new JcelReasoner(rootOntology, false, cache);
+			JcelReasoner uncachedReasoner = new JcelReasoner(rootOntology, false);
+			for (OWLClass cls : rootOntology.getClassesInSignature(Imports.INCLUDED)) {
+				Assertions.assertEquals(flatten(uncachedReasoner.getSuperClasses(cls, false)),
+						flatten(cachedReasoner.getSuperClasses(cls, false)));
+				Assertions.assertEquals(flatten(uncachedReasoner.getSubClasses(cls, false)),
+						flatten(cachedReasoner.getSubClasses(cls, false)));
+				Assertions.assertEquals(uncachedReasoner.getEquivalentClasses(cls).getEntities(),
+						cachedReasoner.getEquivalentClasses(cls).getEntities());
+			}
+			Assertions.assertTrue(flatten(cachedReasoner.getSuperClasses(this.a, false)).contains(this.d));
+			uncachedReasoner.dispose();
+			cachedReasoner.dispose();
+		}
+		Assertions.assertEquals(0, cache.getNumberOfEntries());
+	}
+
+}
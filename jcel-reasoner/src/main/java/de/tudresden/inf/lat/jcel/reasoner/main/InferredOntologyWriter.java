@@ -0,0 +1,328 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.reasoner.main;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+
+/**
+ * An object of this class writes the ontology inferred by a processor using
+ * the OWL 2 functional syntax. The axioms are computed directly from the class
+ * hierarchy and the object property hierarchy of the processor, and they are
+ * written one by one. Therefore, neither the inferred ontology nor the answers
+ * to the queries are kept in memory.
+ * <p>
+ * The inferred ontology contains the same axioms as the one created by the
+ * inferred ontology wrapper of the console: the declarations of the named
+ * entities, the equivalent classes and object properties, and the direct
+ * subsumptions between classes and between object properties. The entities
+ * are written in the order of their identifiers. The reasoner does not
+ * classify data properties, and it does not compute property assertions.
+ * Therefore, data properties only get their declarations, and no property
+ * assertions are written.
+ * </p>
+ * <p>
+ * IRIs are written between angle brackets, and an IRI that cannot be written
+ * this way, for example because it contains a space or an angle bracket,
+ * produces an {@link IOException}.
+ * </p>
+ *
+ * @author Julian Mendez
+ */
+public class InferredOntologyWriter {
+
+	private static final String invalidIRICharacters = "<>\"{}|\\^`";
+	private static final String owlNamespace = "http://www.w3.org/2002/07/owl#";
+
+	private final IntegerEntityManager entityManager;
+	private final BufferedWriter output;
+
+	/**
+	 * Constructs a new writer of inferred ontologies.
+	 *
+	 * @param writer
+	 *            writer
+	 * @param entityManager
+	 *            entity manager that provides the names of the entities
+	 */
+	public InferredOntologyWriter(Writer writer, IntegerEntityManager entityManager) {
+		Objects.requireNonNull(writer);
+		Objects.requireNonNull(entityManager);
+		this.output = new BufferedWriter(writer);
+		this.entityManager = entityManager;
+	}
+
+	private String getName(int identifier) {
+		String ret = null;
+		if (identifier == IntegerEntityManager.bottomClassId) {
+			ret = owlNamespace + "Nothing";
+		} else if (identifier == IntegerEntityManager.topClassId) {
+			ret = owlNamespace + "Thing";
+		} else if (identifier == IntegerEntityManager.bottomObjectPropertyId) {
+			ret = owlNamespace + "bottomObjectProperty";
+		} else if (identifier == IntegerEntityManager.topObjectPropertyId) {
+			ret = owlNamespace + "topObjectProperty";
+		} else {
+			ret = this.entityManager.getName(identifier);
+		}
+		return ret;
+	}
+
+	/**
+	 * Tells whether the given identifier is an entity with a name in the
+	 * ontology, i.e. an entity of the given type that is not auxiliary.
+	 * Built-in entities have a name.
+	 */
+	private boolean isNamed(int identifier, IntegerEntityType type) {
+		return this.entityManager.getType(identifier).equals(type) && !this.entityManager.isAuxiliary(identifier);
+	}
+
+	/**
+	 * Tells whether the given identifier is a named entity of the given type
+	 * that can be declared, i.e. a named entity that is not built-in.
+	 */
+	private boolean isDeclarable(int identifier, IntegerEntityType type) {
+		return identifier >= IntegerEntityManager.firstUsableIdentifier && isNamed(identifier, type);
+	}
+
+	/**
+	 * Tells whether the given name can be written as a full IRI in functional
+	 * syntax.
+	 */
+	private boolean isValidIRI(String name) {
+		return name.chars().noneMatch(ch -> ch <= ' ' || Character.isWhitespace(ch) || Character.isSpaceChar(ch)
+				|| invalidIRICharacters.indexOf(ch) != -1);
+	}
+
+	private int[] sort(Collection<Integer> identifiers) {
+		return identifiers.stream().mapToInt(Integer::intValue).sorted().toArray();
+	}
+
+	/**
+	 * Writes the ontology inferred by the given processor. The processor must
+	 * have finished the classification.
+	 *
+	 * @param processor
+	 *            processor
+	 * @param ontologyIRI
+	 *            IRI of the inferred ontology, if it has one
+	 * @throws IOException
+	 *             if an I/O error occurs, or if an IRI cannot be written
+	 */
+	public void write(Processor processor, Optional<String> ontologyIRI) throws IOException {
+		write(processor, ontologyIRI, Optional.empty());
+	}
+
+	/**
+	 * Writes the ontology inferred by the given processor. The processor must
+	 * have finished the classification. An ontology can only have a version
+	 * IRI if it has an IRI.
+	 *
+	 * @param processor
+	 *            processor
+	 * @param ontologyIRI
+	 *            IRI of the inferred ontology, if it has one
+	 * @param versionIRI
+	 *            version IRI of the inferred ontology, if it has one
+	 * @throws IOException
+	 *             if an I/O error occurs, or if an IRI cannot be written
+	 */
+	public void write(Processor processor, Optional<String> ontologyIRI, Optional<String> versionIRI)
+			throws IOException {
+		Objects.requireNonNull(processor);
+		Objects.requireNonNull(ontologyIRI);
+		Objects.requireNonNull(versionIRI);
+		if (versionIRI.isPresent() && !ontologyIRI.isPresent()) {
+			throw new IllegalArgumentException("An ontology without IRI cannot have a version IRI.");
+		}
+		IntegerHierarchicalGraph classHierarchy = processor.getClassHierarchy();
+		IntegerHierarchicalGraph objectPropertyHierarchy = processor.getObjectPropertyHierarchy();
+		int[] classes = sort(classHierarchy.getElements());
+		int[] objectProperties = sort(objectPropertyHierarchy.getElements());
+		int[] dataProperties = sort(this.entityManager.getEntities(IntegerEntityType.DATA_PROPERTY, false));
+		int[] individuals = sort(this.entityManager.getEntities(IntegerEntityType.INDIVIDUAL, false));
+
+		this.output.write("Ontology(");
+		if (ontologyIRI.isPresent()) {
+			writeIRI(ontologyIRI.get());
+			if (versionIRI.isPresent()) {
+				this.output.write(" ");
+				writeIRI(versionIRI.get());
+			}
+		}
+		this.output.newLine();
+
+		for (int cls : classes) {
+			if (isDeclarable(cls, IntegerEntityType.CLASS)) {
+				writeAxiom("Declaration", "Class", cls);
+			}
+		}
+		for (int property : objectProperties) {
+			if (isDeclarable(property, IntegerEntityType.OBJECT_PROPERTY)) {
+				writeAxiom("Declaration", "ObjectProperty", property);
+			}
+		}
+		for (int property : dataProperties) {
+			if (isDeclarable(property, IntegerEntityType.DATA_PROPERTY)) {
+				writeAxiom("Declaration", "DataProperty", property);
+			}
+		}
+		for (int individual : individuals) {
+			writeAxiom("Declaration", "NamedIndividual", individual);
+		}
+
+		writeEquivalents("EquivalentClasses", classes, classHierarchy, IntegerEntityType.CLASS);
+		writeEquivalents("EquivalentObjectProperties", objectProperties, objectPropertyHierarchy,
+				IntegerEntityType.OBJECT_PROPERTY);
+		writeParents("SubClassOf", classes, classHierarchy, IntegerEntityType.CLASS);
+		writeParents("SubObjectPropertyOf", objectProperties, objectPropertyHierarchy,
+				IntegerEntityType.OBJECT_PROPERTY);
+
+		this.output.write(")");
+		this.output.newLine();
+		this.output.flush();
+	}
+
+	private void writeAxiom(String axiomName, String entityName, int entity) throws IOException {
+		this.output.write(axiomName);
+		this.output.write("(");
+		this.output.write(entityName);
+		this.output.write("(");
+		writeIRI(getName(entity));
+		this.output.write("))");
+		this.output.newLine();
+	}
+
+	/**
+	 * Writes one axiom for each set of equivalent entities that has more than
+	 * one named entity. The axiom is written when the first declarable entity
+	 * of the set is found.
+	 */
+	private void writeEquivalents(String axiomName, int[] elements, IntegerHierarchicalGraph hierarchy,
+			IntegerEntityType type) throws IOException {
+		for (int element : elements) {
+			if (isDeclarable(element, type)) {
+				int[] equivalents = sort(hierarchy.getEquivalents(element));
+				int first = element;
+				int count = 0;
+				for (int equivalent : equivalents) {
+					if (isNamed(equivalent, type)) {
+						count++;
+						if (isDeclarable(equivalent, type) && equivalent < first) {
+							first = equivalent;
+						}
+					}
+				}
+				if (count > 1 && first == element) {
+					this.output.write(axiomName);
+					this.output.write("(");
+					boolean isFirst = true;
+					for (int equivalent : equivalents) {
+						if (isNamed(equivalent, type)) {
+							if (!isFirst) {
+								this.output.write(" ");
+							}
+							writeIRI(getName(equivalent));
+							isFirst = false;
+						}
+					}
+					this.output.write(")");
+					this.output.newLine();
+				}
+			}
+		}
+	}
+
+	private void writeIRI(String name) throws IOException {
+		if (!isValidIRI(name)) {
+			throw new IOException("The IRI cannot be written in functional syntax: '" + name + "'.");
+		}
+		this.output.write("<");
+		this.output.write(name);
+		this.output.write(">");
+	}
+
+	/**
+	 * Writes one axiom for each declarable entity and each of its named
+	 * parents. The parents of an entity include all the entities of each
+	 * parent equivalence class.
+	 */
+	private void writeParents(String axiomName, int[] elements, IntegerHierarchicalGraph hierarchy,
+			IntegerEntityType type) throws IOException {
+		for (int element : elements) {
+			if (isDeclarable(element, type)) {
+				for (int parent : sort(hierarchy.getParents(element))) {
+					if (isNamed(parent, type)) {
+						this.output.write(axiomName);
+						this.output.write("(");
+						writeIRI(getName(element));
+						this.output.write(" ");
+						writeIRI(getName(parent));
+						this.output.write(")");
+						this.output.newLine();
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "[" + this.entityManager + "]";
+	}
+
+}
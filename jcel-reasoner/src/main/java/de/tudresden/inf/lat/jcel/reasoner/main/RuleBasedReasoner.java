@@ -49,20 +49,27 @@ package de.tudresden.inf.lat.jcel.reasoner.main;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.algorithm.module.IndexedModuleExtractor;
+import de.tudresden.inf.lat.jcel.core.algorithm.module.Module;
 import de.tudresden.inf.lat.jcel.core.algorithm.rulebased.RuleBasedProcessor;
 import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerReachabilityIndex;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
 import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedIntegerAxiom;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySerializer;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySnapshot;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.OntologyExpressivity;
 import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
-import de.tudresden.inf.lat.jcel.ontology.axiom.extension.ComplexAxiomExpressivityDetector;
 import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
@@ -71,6 +78,7 @@ import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerDataPropertyExpression
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerDataTypeFactory;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerNamedIndividual;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectPropertyExpression;
+import de.tudresden.inf.lat.jcel.ontology.normalization.IngestionPipeline;
 import de.tudresden.inf.lat.jcel.ontology.normalization.ObjectPropertyIdFinder;
 import de.tudresden.inf.lat.jcel.ontology.normalization.OntologyNormalizer;
 import de.tudresden.inf.lat.util.map.OptMap;
@@ -88,17 +96,115 @@ public class RuleBasedReasoner implements IntegerReasoner {
 	private final OptMap<IntegerClassExpression, Integer> auxClassInvMap = new OptMapImpl<>(new HashMap<>());
 	private final OptMap<Integer, IntegerClassExpression> auxClassMap = new OptMapImpl<>(new HashMap<>());
 	private boolean classified = false;
+	private IntegerReachabilityIndex classReachabilityIndex = null;
 	private final OntologyEntailmentChecker entailmentChecker = new OntologyEntailmentChecker(this);
+	private OntologyExpressivity expressivity = null;
 	private final IntegerOntologyObjectFactory factory;
 	private boolean interruptRequested = false;
+	private final boolean lazyClassification;
+	private final OptMap<Integer, IntegerHierarchicalGraph> moduleClassHierarchies = new OptMapImpl<>(
+			new HashMap<>());
+	private IndexedModuleExtractor moduleExtractor = null;
+	private final Set<NormalizedIntegerAxiom> normalizedAxiomSet = new HashSet<>();
+	private IntegerReachabilityIndex objectPropertyReachabilityIndex = null;
+	private final Set<Integer> originalClassSet = new HashSet<>();
+	private final Set<Integer> originalObjectPropertySet = new HashSet<>();
 	private RuleBasedProcessor processor = null;
+	private boolean reachabilityIndexEnabled = true;
 	private final long timeOut = 0;
 
 	public RuleBasedReasoner(Set<ComplexIntegerAxiom> ontology, IntegerOntologyObjectFactory factory) {
-		Objects.requireNonNull(ontology);
+		this(ontology, factory, false);
+	}
+
+	/**
+	 * Constructs a new rule-based reasoner.
+	 * 
+	 * @param ontology
+	 *            set of axioms
+	 * @param factory
+	 *            ontology object factory
+	 * @param lazyClassification
+	 *            <code>true</code> to classify the ontology only when a query
+	 *            needs the whole hierarchy, and to answer the queries about
+	 *            the superclasses of a class by classifying only the module of
+	 *            that class
+	 */
+	public RuleBasedReasoner(Set<ComplexIntegerAxiom> ontology, IntegerOntologyObjectFactory factory,
+			boolean lazyClassification) {
+		this(createSource(ontology), factory, lazyClassification);
+	}
+
+	/**
+	 * Constructs a new rule-based reasoner whose axioms are given by a source.
+	 * The source adds the complex axioms to an ingestion pipeline, which
+	 * analyzes and normalizes each of them as soon as it is added. This avoids
+	 * keeping the set of complex axioms in memory.
+	 * 
+	 * @param source
+	 *            source that adds the complex axioms to the given ingestion
+	 *            pipeline
+	 * @param factory
+	 *            ontology object factory
+	 * @param lazyClassification
+	 *            <code>true</code> to classify the ontology only when a query
+	 *            needs the whole hierarchy, and to answer the queries about
+	 *            the superclasses of a class by classifying only the module of
+	 *            that class
+	 */
+	public RuleBasedReasoner(Consumer<IngestionPipeline> source, IntegerOntologyObjectFactory factory,
+			boolean lazyClassification) {
+		Objects.requireNonNull(source);
 		Objects.requireNonNull(factory);
 		this.factory = factory;
-		this.processor = createProcessor(ontology);
+		this.lazyClassification = lazyClassification;
+		normalize(source);
+		if (!isLazyClassificationApplicable()) {
+			this.processor = createProcessor();
+		}
+	}
+
+	/**
+	 * Constructs a new rule-based reasoner for an ontology that has already
+	 * been normalized, for example one that has been restored by a
+	 * {@link NormalizedOntologySerializer}. The given factory must use the
+	 * entity manager of the snapshot.
+	 * 
+	 * @param snapshot
+	 *            normalized ontology
+	 * @param factory
+	 *            ontology object factory
+	 * @param lazyClassification
+	 *            <code>true</code> to classify the ontology only when a query
+	 *            needs the whole hierarchy, and to answer the queries about
+	 *            the superclasses of a class by classifying only the module of
+	 *            that class
+	 */
+	public RuleBasedReasoner(NormalizedOntologySnapshot snapshot, IntegerOntologyObjectFactory factory,
+			boolean lazyClassification) {
+		Objects.requireNonNull(snapshot);
+		Objects.requireNonNull(factory);
+		if (snapshot.getEntityManager() != factory.getEntityManager()) {
+			throw new IllegalArgumentException("The factory does not use the entity manager of the snapshot.");
+		}
+		this.factory = factory;
+		this.lazyClassification = lazyClassification;
+		this.normalizedAxiomSet.addAll(snapshot.getAxioms());
+		this.originalClassSet.addAll(snapshot.getClasses());
+		this.originalObjectPropertySet.addAll(snapshot.getObjectProperties());
+		this.expressivity = snapshot.getExpressivity();
+		logger.fine("description logic family : " + this.expressivity.toString() + " .");
+		logger.fine("number of normalized axioms : " + this.normalizedAxiomSet.size());
+		if (!isLazyClassificationApplicable()) {
+			this.processor = createProcessor();
+		}
+	}
+
+	private void addInstances(Set<Integer> indivIdSet, Map<Integer, Set<Integer>> directInstances, Integer classId) {
+		Set<Integer> instances = directInstances.get(classId);
+		if (Objects.nonNull(instances)) {
+			indivIdSet.addAll(instances);
+		}
 	}
 
 	@Override
@@ -106,8 +212,11 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		if (!this.classified) {
 			logger.fine("starting classification ...");
 			flush();
+			this.classReachabilityIndex = null;
+			this.objectPropertyReachabilityIndex = null;
 
-			while (this.processor.process()) {
+			RuleBasedProcessor fullProcessor = getRuleBasedProcessor();
+			while (fullProcessor.process()) {
 				if (this.interruptRequested) {
 					this.interruptRequested = false;
 					throw new RuntimeException("Classification interrupted.");
@@ -119,34 +228,67 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		this.classified = true;
 	}
 
-	private RuleBasedProcessor createProcessor(Set<ComplexIntegerAxiom> ontology) {
-		logger.fine("creating processor (phase 1) ...");
-
-		OntologyExpressivity expressivity = new ComplexAxiomExpressivityDetector(ontology);
+	private static Consumer<IngestionPipeline> createSource(Set<ComplexIntegerAxiom> ontology) {
+		Objects.requireNonNull(ontology);
+		return pipeline -> pipeline.addAll(ontology);
+	}
 
-		logger.fine("description logic family : " + expressivity.toString() + " .");
+	private RuleBasedProcessor createProcessor() {
+		logger.fine("creating processor (phase 2) ...");
+		RuleBasedProcessor ret = new RuleBasedProcessor(this.originalObjectPropertySet, this.originalClassSet,
+				this.normalizedAxiomSet, this.expressivity, this.factory.getNormalizedAxiomFactory(),
+				this.factory.getEntityManager());
+		logger.fine("processor created.");
 
-		Set<Integer> originalClassSet = new HashSet<>();
-		Set<Integer> originalObjectPropertySet = new HashSet<>();
+		// the normalized axioms are only kept to classify modules
+		this.normalizedAxiomSet.clear();
+		this.moduleExtractor = null;
+		this.moduleClassHierarchies.clear();
+		return ret;
+	}
 
-		ontology.forEach(axiom -> {
-			originalClassSet.addAll(axiom.getClassesInSignature());
-			originalObjectPropertySet.addAll(axiom.getObjectPropertiesInSignature());
+	/**
+	 * Classifies the module of a class, and returns the resulting class
+	 * hierarchy. The module contains all the axioms needed to find the
+	 * superclasses of the class.
+	 * 
+	 * @param classId
+	 *            class identifier
+	 * @return the class hierarchy of the module of the given class
+	 */
+	private IntegerHierarchicalGraph createModuleClassHierarchy(Integer classId) {
+		if (Objects.isNull(this.moduleExtractor)) {
+			logger.fine("building module extraction index ...");
+			this.moduleExtractor = new IndexedModuleExtractor(this.normalizedAxiomSet);
+		}
+		Set<Integer> setOfClasses = new HashSet<>();
+		setOfClasses.add(classId);
+		setOfClasses.add(IntegerEntityManager.topClassId);
+		Module module = this.moduleExtractor.extractModule(setOfClasses);
+		logger.fine("classifying module of class " + classId + " with " + module.getAxioms().size() + " axioms ...");
+
+		Set<Integer> moduleClassSet = new HashSet<>();
+		moduleClassSet.add(classId);
+		Set<Integer> moduleObjectPropertySet = new HashSet<>();
+		module.getEntities().forEach(entity -> {
+			if (this.originalClassSet.contains(entity)) {
+				moduleClassSet.add(entity);
+			}
+			if (this.originalObjectPropertySet.contains(entity)) {
+				moduleObjectPropertySet.add(entity);
+			}
 		});
 
-		logger.fine("number of axioms : " + ontology.size());
-		logger.fine("number of classes : " + originalClassSet.size());
-		logger.fine("number of object properties : " + originalObjectPropertySet.size());
-
-		logger.fine("normalizing ontology ...");
-		OntologyNormalizer axiomNormalizer = new OntologyNormalizer();
-		Set<NormalizedIntegerAxiom> normalizedAxiomSet = axiomNormalizer.normalize(ontology, this.factory);
-
-		logger.fine("creating processor (phase 2) ...");
-		RuleBasedProcessor ret = new RuleBasedProcessor(originalObjectPropertySet, originalClassSet, normalizedAxiomSet,
-				expressivity, this.factory.getNormalizedAxiomFactory(), this.factory.getEntityManager());
-		logger.fine("processor created.");
-		return ret;
+		RuleBasedProcessor moduleProcessor = new RuleBasedProcessor(moduleObjectPropertySet, moduleClassSet,
+				module.getAxioms(), this.expressivity, this.factory.getNormalizedAxiomFactory(),
+				this.factory.getEntityManager());
+		while (moduleProcessor.process()) {
+			if (this.interruptRequested) {
+				this.interruptRequested = false;
+				throw new RuntimeException("Classification interrupted.");
+			}
+		}
+		return moduleProcessor.getClassHierarchy();
 	}
 
 	@Override
@@ -179,7 +321,14 @@ public class RuleBasedReasoner implements IntegerReasoner {
 				Set<NormalizedIntegerAxiom> extendedNormalizedAxiomSet = axiomNormalizer.normalize(extendedOntology,
 						this.factory);
 
-				this.processor.addAxioms(extendedNormalizedAxiomSet);
+				if (Objects.nonNull(this.processor)) {
+					this.processor.addAxioms(extendedNormalizedAxiomSet);
+				} else {
+					this.normalizedAxiomSet.addAll(extendedNormalizedAxiomSet);
+					if (Objects.nonNull(this.moduleExtractor)) {
+						this.moduleExtractor.addAxioms(extendedNormalizedAxiomSet);
+					}
+				}
 
 				this.classified = false;
 			} else {
@@ -265,12 +414,61 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		return null;
 	}
 
+	/**
+	 * Returns all the ancestors of a vertex in the class hierarchy. It uses the
+	 * reachability index if it is enabled.
+	 * 
+	 * @param vertex
+	 *            class identifier
+	 * @return all the ancestors of a vertex in the class hierarchy
+	 */
+	private Set<Integer> getClassAncestors(Integer vertex) {
+		Set<Integer> ret = null;
+		if (this.reachabilityIndexEnabled) {
+			ret = getClassReachabilityIndex().getAncestors(vertex);
+		} else {
+			ret = getProcessor().getClassHierarchy().getAncestors(vertex);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns all the descendants of a vertex in the class hierarchy. It uses
+	 * the reachability index if it is enabled.
+	 * 
+	 * @param vertex
+	 *            class identifier
+	 * @return all the descendants of a vertex in the class hierarchy
+	 */
+	private Set<Integer> getClassDescendants(Integer vertex) {
+		Set<Integer> ret = null;
+		if (this.reachabilityIndexEnabled) {
+			ret = getClassReachabilityIndex().getDescendants(vertex);
+		} else {
+			ret = getProcessor().getClassHierarchy().getDescendants(vertex);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns the reachability index of the class hierarchy. The index is built
+	 * the first time it is requested after each classification.
+	 * 
+	 * @return the reachability index of the class hierarchy
+	 */
+	private IntegerReachabilityIndex getClassReachabilityIndex() {
+		if (Objects.isNull(this.classReachabilityIndex)) {
+			logger.fine("building reachability index of class hierarchy ...");
+			this.classReachabilityIndex = new IntegerReachabilityIndex(getProcessor().getClassHierarchy());
+		}
+		return this.classReachabilityIndex;
+	}
+
 	@Override
 	public Set<IntegerClass> getEquivalentClasses(IntegerClassExpression ce) {
 		Objects.requireNonNull(ce);
 		IntegerClass cls = flattenClassExpression(ce);
-		classify();
-		IntegerHierarchicalGraph graph = getProcessor().getClassHierarchy();
+		IntegerHierarchicalGraph graph = getClassHierarchyFor(cls.getId());
 		return toIntegerClass(graph.getEquivalents(cls.getId()));
 	}
 
@@ -297,35 +495,21 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		classify();
 
 		Integer classId = cls.getId();
-		Set<Integer> classIdSet = new HashSet<>();
-		classIdSet.add(classId);
+		Map<Integer, Set<Integer>> directInstances = this.processor.getDirectInstances();
+		Set<Integer> indivIdSet = new HashSet<>();
+		addInstances(indivIdSet, directInstances, classId);
 		if (!direct) {
-			classIdSet.addAll(getProcessor().getClassHierarchy().getDescendants(classId));
+			getClassDescendants(classId).forEach(descendant -> addInstances(indivIdSet, directInstances, descendant));
 		}
 
-		Set<Integer> indivIdSet = new HashSet<>();
-		indivIdSet.addAll(getProcessor().getDirectTypes().keySet());
-
 		while (!indivIdSet.isEmpty()) {
 			Integer indivId = indivIdSet.iterator().next();
 			indivIdSet.remove(indivId);
 
-			Set<Integer> types = getProcessor().getDirectTypes().get(indivId);
-			boolean found = types.contains(classId);
-
-			if (!found && !direct) {
-				Set<Integer> classIdSetCopy = new HashSet<>();
-				classIdSetCopy.addAll(classIdSet);
-				classIdSetCopy.retainAll(types);
-				found = !classIdSetCopy.isEmpty();
-			}
-
-			if (found) {
-				Set<Integer> equivIndivId = getProcessor().getSameIndividualMap().get(indivId);
-				Set<IntegerNamedIndividual> elem = toIntegerNamedIndividual(equivIndivId);
-				indivIdSet.removeAll(equivIndivId);
-				ret.add(elem);
-			}
+			Set<Integer> equivIndivId = getProcessor().getSameIndividualMap().get(indivId);
+			Set<IntegerNamedIndividual> elem = toIntegerNamedIndividual(equivIndivId);
+			indivIdSet.removeAll(equivIndivId);
+			ret.add(elem);
 		}
 
 		return ret;
@@ -347,10 +531,61 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		throw new UnsupportedQueryException("Unsupported query: ObjectPropertyDomains of " + pe + "," + direct);
 	}
 
+	/**
+	 * Returns all the ancestors of a vertex in the object property hierarchy.
+	 * It uses the reachability index if it is enabled.
+	 * 
+	 * @param vertex
+	 *            object property identifier
+	 * @return all the ancestors of a vertex in the object property hierarchy
+	 */
+	private Set<Integer> getObjectPropertyAncestors(Integer vertex) {
+		Set<Integer> ret = null;
+		if (this.reachabilityIndexEnabled) {
+			ret = getObjectPropertyReachabilityIndex().getAncestors(vertex);
+		} else {
+			ret = getProcessor().getObjectPropertyHierarchy().getAncestors(vertex);
+		}
+		return ret;
+	}
+
+	/**
+	 * Returns all the descendants of a vertex in the object property
+	 * hierarchy. It uses the reachability index if it is enabled.
+	 * 
+	 * @param vertex
+	 *            object property identifier
+	 * @return all the descendants of a vertex in the object property hierarchy
+	 */
+	private Set<Integer> getObjectPropertyDescendants(Integer vertex) {
+		Set<Integer> ret = null;
+		if (this.reachabilityIndexEnabled) {
+			ret = getObjectPropertyReachabilityIndex().getDescendants(vertex);
+		} else {
+			ret = getProcessor().getObjectPropertyHierarchy().getDescendants(vertex);
+		}
+		return ret;
+	}
+
 	private Integer getObjectPropertyExpressionId(IntegerObjectPropertyExpression propExpr) {
 		return propExpr.accept(new ObjectPropertyIdFinder(this.factory.getEntityManager()));
 	}
 
+	/**
+	 * Returns the reachability index of the object property hierarchy. The
+	 * index is built the first time it is requested after each classification.
+	 * 
+	 * @return the reachability index of the object property hierarchy
+	 */
+	private IntegerReachabilityIndex getObjectPropertyReachabilityIndex() {
+		if (Objects.isNull(this.objectPropertyReachabilityIndex)) {
+			logger.fine("building reachability index of object property hierarchy ...");
+			this.objectPropertyReachabilityIndex = new IntegerReachabilityIndex(
+					getProcessor().getObjectPropertyHierarchy());
+		}
+		return this.objectPropertyReachabilityIndex;
+	}
+
 	@Override
 	public Set<Set<IntegerClass>> getObjectPropertyRanges(IntegerObjectPropertyExpression pe, boolean direct) {
 		Objects.requireNonNull(pe);
@@ -369,7 +604,54 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		throw new UnsupportedQueryException("Unsupported query: ObjectPropertyValues of " + ind + "," + pe);
 	}
 
+	/**
+	 * Returns the class hierarchy that answers the queries about the
+	 * superclasses of a class. This is the class hierarchy of the module of
+	 * the class, if the whole ontology has not been requested, lazy
+	 * classification is applicable, and the class is satisfiable. Otherwise,
+	 * this is the class hierarchy of the whole ontology. The module of a class
+	 * also contains the modules of its superclasses, so its hierarchy is
+	 * cached for all of them.
+	 * 
+	 * @param classId
+	 *            class identifier
+	 * @return the class hierarchy that answers the queries about the
+	 *         superclasses of a class
+	 */
+	private IntegerHierarchicalGraph getClassHierarchyFor(Integer classId) {
+		IntegerHierarchicalGraph ret = null;
+		if (Objects.nonNull(this.processor) || !isLazyClassificationApplicable()) {
+			classify();
+			ret = getProcessor().getClassHierarchy();
+		} else {
+			Optional<IntegerHierarchicalGraph> optGraph = this.moduleClassHierarchies.get(classId);
+			if (optGraph.isPresent()) {
+				ret = optGraph.get();
+			} else {
+				IntegerHierarchicalGraph graph = createModuleClassHierarchy(classId);
+				if (graph.getEquivalents(graph.getBottomElement()).contains(classId)) {
+					logger.fine("class " + classId + " is unsatisfiable, classifying the whole ontology ...");
+					classify();
+					ret = getProcessor().getClassHierarchy();
+				} else {
+					graph.getAncestors(classId).forEach(ancestor -> this.moduleClassHierarchies.put(ancestor, graph));
+					graph.getEquivalents(classId)
+							.forEach(equivalent -> this.moduleClassHierarchies.put(equivalent, graph));
+					ret = graph;
+				}
+			}
+		}
+		return ret;
+	}
+
 	public Processor getProcessor() {
+		return getRuleBasedProcessor();
+	}
+
+	private RuleBasedProcessor getRuleBasedProcessor() {
+		if (Objects.isNull(this.processor)) {
+			this.processor = createProcessor();
+		}
 		return this.processor;
 	}
 
@@ -400,7 +682,7 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		if (direct) {
 			set = graph.getChildren(cls.getId());
 		} else {
-			set = graph.getDescendants(cls.getId());
+			set = getClassDescendants(cls.getId());
 		}
 		Set<Set<IntegerClass>> ret = new HashSet<>();
 		set.forEach(currentElem -> ret.add(toIntegerClass(graph.getEquivalents(currentElem))));
@@ -424,7 +706,7 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		if (direct) {
 			set = graph.getChildren(propId);
 		} else {
-			set = graph.getDescendants(propId);
+			set = getObjectPropertyDescendants(propId);
 		}
 		Set<Set<IntegerObjectPropertyExpression>> ret = new HashSet<>();
 		set.forEach(currentElem -> ret.add(toIntegerObjectPropertyExpression(graph.getEquivalents(currentElem))));
@@ -435,11 +717,12 @@ public class RuleBasedReasoner implements IntegerReasoner {
 	public Set<Set<IntegerClass>> getSuperClasses(IntegerClassExpression ce, boolean direct) {
 		Objects.requireNonNull(ce);
 		IntegerClass cls = flattenClassExpression(ce);
-		classify();
-		IntegerHierarchicalGraph graph = getProcessor().getClassHierarchy();
+		IntegerHierarchicalGraph graph = getClassHierarchyFor(cls.getId());
 		Set<Integer> set = null;
 		if (direct) {
 			set = graph.getParents(cls.getId());
+		} else if (Objects.nonNull(this.processor)) {
+			set = getClassAncestors(cls.getId());
 		} else {
 			set = graph.getAncestors(cls.getId());
 		}
@@ -468,7 +751,7 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		if (direct) {
 			set = graph.getParents(propId);
 		} else {
-			set = graph.getAncestors(propId);
+			set = getObjectPropertyAncestors(propId);
 		}
 		Set<Set<IntegerObjectPropertyExpression>> ret = new HashSet<>();
 		set.forEach(currentElem -> ret.add(toIntegerObjectPropertyExpression(graph.getEquivalents(currentElem))));
@@ -517,7 +800,7 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		} else {
 			set = new HashSet<>();
 			for (Integer current : optDirectElemSet.get()) {
-				set.addAll(graph.getAncestors(current));
+				set.addAll(getClassAncestors(current));
 			}
 		}
 		Set<Set<IntegerClass>> ret = new HashSet<>();
@@ -540,6 +823,43 @@ public class RuleBasedReasoner implements IntegerReasoner {
 		return this.classified;
 	}
 
+	/**
+	 * Tells whether lazy classification can be used for this ontology. Lazy
+	 * classification needs to be enabled, and the ontology must not have
+	 * individuals, nominals, or inverse object properties, because the
+	 * consequences of these constructors are not confined to the module of a
+	 * class.
+	 * 
+	 * @return <code>true</code> if and only if lazy classification can be
+	 *         used for this ontology
+	 */
+	private boolean isLazyClassificationApplicable() {
+		return this.lazyClassification && !this.expressivity.hasIndividual() && !this.expressivity.hasNominal()
+				&& !this.expressivity.hasInverseObjectProperty();
+	}
+
+	/**
+	 * Tells whether this reasoner classifies the ontology only when a query
+	 * needs the whole hierarchy.
+	 * 
+	 * @return <code>true</code> if and only if this reasoner classifies the
+	 *         ontology only when a query needs the whole hierarchy
+	 */
+	public boolean isLazyClassificationEnabled() {
+		return this.lazyClassification;
+	}
+
+	/**
+	 * Tells whether the reachability index is used to answer the queries about
+	 * ancestors and descendants.
+	 * 
+	 * @return <code>true</code> if and only if the reachability index is used
+	 *         to answer the queries about ancestors and descendants
+	 */
+	public boolean isReachabilityIndexEnabled() {
+		return this.reachabilityIndexEnabled;
+	}
+
 	@Override
 	public boolean isConsistent() {
 		classify();
@@ -566,8 +886,37 @@ public class RuleBasedReasoner implements IntegerReasoner {
 	public boolean isSatisfiable(IntegerClassExpression classExpression) {
 		Objects.requireNonNull(classExpression);
 		IntegerClass cls = flattenClassExpression(classExpression);
-		classify();
-		return !getUnsatisfiableClasses().contains(cls);
+		IntegerHierarchicalGraph graph = getClassHierarchyFor(cls.getId());
+		return !graph.getEquivalents(graph.getBottomElement()).contains(cls.getId());
+	}
+
+	private void normalize(Consumer<IngestionPipeline> source) {
+		logger.fine("creating processor (phase 1) ...");
+
+		logger.fine("normalizing ontology ...");
+		IngestionPipeline pipeline = new IngestionPipeline(this.factory, this.normalizedAxiomSet::add);
+		source.accept(pipeline);
+		this.originalClassSet.addAll(pipeline.getClassSet());
+		this.originalObjectPropertySet.addAll(pipeline.getObjectPropertySet());
+		this.expressivity = pipeline.getExpressivity();
+
+		logger.fine("description logic family : " + this.expressivity.toString() + " .");
+		logger.fine("number of axioms : " + pipeline.getNumberOfAxioms());
+		logger.fine("number of classes : " + this.originalClassSet.size());
+		logger.fine("number of object properties : " + this.originalObjectPropertySet.size());
+	}
+
+	/**
+	 * Defines whether the reachability index is used to answer the queries
+	 * about ancestors and descendants. The index is built once after each
+	 * classification, and then answers these queries without traversing the
+	 * hierarchies.
+	 * 
+	 * @param enabled
+	 *            <code>true</code> to use the reachability index
+	 */
+	public void setReachabilityIndexEnabled(boolean enabled) {
+		this.reachabilityIndexEnabled = enabled;
 	}
 
 	private Set<IntegerClass> toIntegerClass(Set<Integer> set) {
@@ -82,7 +82,9 @@ import de.tudresden.inf.lat.util.map.OptMapImpl;
  * module. Axioms without classes are in all the modules. <br>
  * After classifying each module, the processor creates a set of axioms which is
  * the result of the classification. After classifying all modules, it
- * classifies the accumulated set of axioms.
+ * classifies the accumulated set of axioms. <br>
+ * The modules can be classified concurrently on a bounded pool of threads. The
+ * accumulated set of axioms is always classified after all the modules.
  *
  * @author Julian Mendez
  *
@@ -97,17 +99,18 @@ public class ClassModuleProcessor implements Processor {
 	private final IntegerOntologyObjectFactory axiomFactory;
 	private IntegerHierarchicalGraph classHierarchy = null;
 	private final OptMap<Integer, Set<ComplexIntegerAxiom>> classToAxiom = new OptMapImpl<>(new HashMap<>());
-	private final OptMap<Integer, Set<Integer>> classToClass = new OptMapImpl<>(new HashMap<>());
 	private IntegerHierarchicalGraphImpl dataPropertyHierarchy = null;
 	private OptMap<Integer, Set<Integer>> directTypes = null;
 	private boolean finalClassification = false;
 	private boolean isReady = false;
 	private Integer moduleIndex = 0;
 	private List<Set<ComplexIntegerAxiom>> moduleList = null;
+	private final int numberOfThreads;
 	private IntegerHierarchicalGraph objectPropertyHierarchy = null;
 	private Processor processor = null;
 	private final ModuleProcessorFactory processorFactory;
 	private OptMap<Integer, Set<Integer>> sameIndividualMap = null;
+	private ParallelModuleScheduler scheduler = null;
 	private final Set<ComplexIntegerAxiom> sharedAxioms = new HashSet<>();
 
 	/**
@@ -123,14 +126,45 @@ public class ClassModuleProcessor implements Processor {
 	 */
 	public ClassModuleProcessor(Set<ComplexIntegerAxiom> axiomSet, IntegerOntologyObjectFactory axFactory,
 			ModuleProcessorFactory procFactory) {
+		this(axiomSet, axFactory, procFactory, 1);
+	}
+
+	/**
+	 * Constructs a class module processor that classifies the modules
+	 * concurrently. It uses an auxiliary processor to classify each module.
+	 *
+	 * @param axiomSet
+	 *            set of axioms
+	 * @param axFactory
+	 *            ontology object factory
+	 * @param procFactory
+	 *            factory to create the auxiliary processor
+	 * @param numberOfThreads
+	 *            maximum number of modules classified at the same time, where
+	 *            1 means that the modules are classified one after the other
+	 */
+	public ClassModuleProcessor(Set<ComplexIntegerAxiom> axiomSet, IntegerOntologyObjectFactory axFactory,
+			ModuleProcessorFactory procFactory, int numberOfThreads) {
 		Objects.requireNonNull(axiomSet);
 		Objects.requireNonNull(axFactory);
 		Objects.requireNonNull(procFactory);
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads: " + numberOfThreads);
+		}
 		this.axiomFactory = axFactory;
 		this.processorFactory = procFactory;
+		this.numberOfThreads = numberOfThreads;
 		preProcess(axiomSet);
 	}
 
+	private void accumulate(Processor moduleProcessor) {
+		this.directTypes.putAll(moduleProcessor.getDirectTypes());
+		this.sameIndividualMap.putAll(moduleProcessor.getSameIndividualMap());
+		this.accumulatedAxiomSet.addAll(convertClassHierarchyToAxioms(moduleProcessor.getClassHierarchy()));
+		this.accumulatedAxiomSet
+				.addAll(convertObjectPropertyHierarchyToAxioms(moduleProcessor.getObjectPropertyHierarchy()));
+	}
+
 	private Set<ComplexIntegerAxiom> convertClassHierarchyToAxioms(IntegerHierarchicalGraph classGraph) {
 		Set<ComplexIntegerAxiom> ret = new HashSet<>();
 		Set<IntegerAnnotation> annotations = Collections.emptySet();
@@ -181,7 +215,6 @@ public class ClassModuleProcessor implements Processor {
 	private void createMaps(Set<ComplexIntegerAxiom> axiomSet) {
 
 		this.classToAxiom.clear();
-		this.classToClass.clear();
 		this.sharedAxioms.clear();
 
 		axiomSet.forEach(axiom -> {
@@ -198,13 +231,6 @@ public class ClassModuleProcessor implements Processor {
 					}
 					optComplexAxioms.get().add(axiom);
 
-					Optional<Set<Integer>> optOtherClasses = this.classToClass.get(classId);
-					if (!optOtherClasses.isPresent()) {
-						optOtherClasses = Optional.of(new HashSet<>());
-						this.classToClass.put(classId, optOtherClasses.get());
-					}
-					optOtherClasses.get().addAll(classSet);
-
 				});
 			}
 		});
@@ -246,20 +272,39 @@ public class ClassModuleProcessor implements Processor {
 
 	private List<Set<Integer>> getClustersOfClasses(Set<ComplexIntegerAxiom> axiomSet) {
 
-		List<Set<Integer>> ret = new ArrayList<>();
+		IntegerUnionFind classes = new IntegerUnionFind();
+		axiomSet.forEach(axiom -> {
+			Set<Integer> classSet = axiom.getClassesInSignature();
+			if (!classSet.isEmpty()) {
+				Integer first = classSet.iterator().next();
+				classSet.forEach(classId -> classes.union(first, classId));
+			}
+		});
 
 		Set<Integer> allClasses = new TreeSet<>();
 		axiomSet.forEach(axiom -> allClasses.addAll(axiom.getClassesInSignature()));
-		allClasses.remove(bottomClassId);
-		allClasses.remove(topClassId);
-
-		while (!allClasses.isEmpty()) {
-			Integer representativeId = allClasses.iterator().next();
-			allClasses.remove(representativeId);
-			Set<Integer> classSet = getReachableClasses(representativeId, axiomSet);
-			allClasses.removeAll(classSet);
-			ret.add(classSet);
-		}
+
+		OptMap<Integer, Set<Integer>> clusterByRepresentative = new OptMapImpl<>(new HashMap<>());
+		allClasses.forEach(classId -> {
+			Integer representative = classes.find(classId);
+			Optional<Set<Integer>> optCluster = clusterByRepresentative.get(representative);
+			if (!optCluster.isPresent()) {
+				optCluster = Optional.of(new HashSet<>());
+				clusterByRepresentative.put(representative, optCluster.get());
+			}
+			optCluster.get().add(classId);
+		});
+
+		List<Set<Integer>> ret = new ArrayList<>();
+		Set<Integer> visitedRepresentatives = new HashSet<>();
+		allClasses.stream() //
+				.filter(classId -> !classId.equals(bottomClassId) && !classId.equals(topClassId)) //
+				.forEach(classId -> {
+					Integer representative = classes.find(classId);
+					if (visitedRepresentatives.add(representative)) {
+						ret.add(clusterByRepresentative.get(representative).get());
+					}
+				});
 
 		return ret;
 	}
@@ -292,22 +337,6 @@ public class ClassModuleProcessor implements Processor {
 		return this.objectPropertyHierarchy;
 	}
 
-	private Set<Integer> getReachableClasses(Integer firstClassId, Set<ComplexIntegerAxiom> axiomSet) {
-		Set<Integer> ret = new HashSet<>();
-		Set<Integer> toVisit = new HashSet<>();
-		toVisit.add(firstClassId);
-		while (!toVisit.isEmpty()) {
-			Integer classId = toVisit.iterator().next();
-			ret.add(classId);
-			Optional<Set<Integer>> reachable = this.classToClass.get(classId);
-			if (reachable.isPresent()) {
-				toVisit.addAll(reachable.get());
-			}
-			toVisit.removeAll(ret);
-		}
-		return ret;
-	}
-
 	@Override
 	public Map<Integer, Set<Integer>> getSameIndividualMap() {
 		if (!isReady()) {
@@ -344,44 +373,70 @@ public class ClassModuleProcessor implements Processor {
 
 		logger.fine("");
 		logger.fine("");
-		logger.fine("classifying module " + this.moduleIndex + " ...");
 
-		this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
+		if ((this.numberOfThreads > 1) && (this.moduleList.size() > 1)) {
+			logger.fine("classifying modules on " + this.numberOfThreads + " threads ...");
+			this.scheduler = new ParallelModuleScheduler(this.moduleList, this.processorFactory,
+					this.numberOfThreads);
+		} else {
+			logger.fine("classifying module " + this.moduleIndex + " ...");
+			this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
+		}
 	}
 
 	@Override
 	public boolean process() {
 		if (!this.isReady) {
-			boolean hasMoreEntries = this.processor.process();
-			if (!hasMoreEntries) {
-				if (this.finalClassification) {
-					this.classHierarchy = this.processor.getClassHierarchy();
-					this.objectPropertyHierarchy = this.processor.getObjectPropertyHierarchy();
-					this.isReady = true;
+			if (Objects.nonNull(this.scheduler)) {
+				processParallel();
+			} else {
+				processSequential();
+			}
+		}
+		return !this.isReady;
+	}
+
+	private void processParallel() {
+		if (!this.scheduler.isStarted()) {
+			this.scheduler.start();
+		} else {
+			Map.Entry<Integer, Processor> entry = this.scheduler.awaitNextModule();
+			accumulate(entry.getValue());
+			logger.fine("module " + entry.getKey() + " has been classified.");
+			if (!this.scheduler.hasPendingModules()) {
+				this.scheduler = null;
+				this.finalClassification = true;
+				logger.fine("");
+				logger.fine("classifying integration module ...");
+				this.processor = this.processorFactory.createProcessor(this.accumulatedAxiomSet);
+			}
+		}
+	}
+
+	private void processSequential() {
+		boolean hasMoreEntries = this.processor.process();
+		if (!hasMoreEntries) {
+			if (this.finalClassification) {
+				this.classHierarchy = this.processor.getClassHierarchy();
+				this.objectPropertyHierarchy = this.processor.getObjectPropertyHierarchy();
+				this.isReady = true;
 
+			} else {
+				accumulate(this.processor);
+				this.processor = null;
+				logger.fine("module " + this.moduleIndex + " has been classified.");
+				logger.fine("");
+				this.moduleIndex++;
+				if (this.moduleIndex < this.moduleList.size()) {
+					logger.fine("classifying module " + this.moduleIndex + " ...");
+					this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
 				} else {
-					hasMoreEntries = true;
-					this.directTypes.putAll(this.processor.getDirectTypes());
-					this.sameIndividualMap.putAll(this.processor.getSameIndividualMap());
-					this.accumulatedAxiomSet.addAll(convertClassHierarchyToAxioms(this.processor.getClassHierarchy()));
-					this.accumulatedAxiomSet.addAll(
-							convertObjectPropertyHierarchyToAxioms(this.processor.getObjectPropertyHierarchy()));
-					this.processor = null;
-					logger.fine("module " + this.moduleIndex + " has been classified.");
-					logger.fine("");
-					this.moduleIndex++;
-					if (this.moduleIndex < this.moduleList.size()) {
-						logger.fine("classifying module " + this.moduleIndex + " ...");
-						this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
-					} else {
-						this.finalClassification = true;
-						logger.fine("classifying integration module ...");
-						this.processor = this.processorFactory.createProcessor(this.accumulatedAxiomSet);
-					}
+					this.finalClassification = true;
+					logger.fine("classifying integration module ...");
+					this.processor = this.processorFactory.createProcessor(this.accumulatedAxiomSet);
 				}
 			}
 		}
-		return !this.isReady;
 	}
 
 }
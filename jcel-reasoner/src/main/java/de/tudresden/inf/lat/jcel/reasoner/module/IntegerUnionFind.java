@@ -0,0 +1,160 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.reasoner.module;
+
+import java.util.Arrays;
+
+/**
+ * An object of this class is a disjoint-set forest over non-negative integer
+ * identifiers. It is used to partition entities into connected groups with a
+ * single pass over the axioms. The structure grows as new identifiers are
+ * added, and uses union by size and path halving.
+ * 
+ * @author Julian Mendez
+ */
+public class IntegerUnionFind {
+
+	private static final int absent = -1;
+	private static final int initialCapacity = 0x10;
+
+	private int[] parent;
+	private int[] size;
+
+	/**
+	 * Constructs a new empty disjoint-set forest.
+	 */
+	public IntegerUnionFind() {
+		this.parent = new int[initialCapacity];
+		this.size = new int[initialCapacity];
+		Arrays.fill(this.parent, absent);
+	}
+
+	/**
+	 * Adds an identifier as a singleton set, if it has not been added before.
+	 * 
+	 * @param elem
+	 *            identifier
+	 */
+	public void add(int elem) {
+		if (elem < 0) {
+			throw new IllegalArgumentException("Invalid identifier: '" + elem + "'.");
+		}
+		ensureCapacity(elem + 1);
+		if (this.parent[elem] == absent) {
+			this.parent[elem] = elem;
+			this.size[elem] = 1;
+		}
+	}
+
+	/**
+	 * Tells whether an identifier has been added.
+	 * 
+	 * @param elem
+	 *            identifier
+	 * @return <code>true</code> if and only if the identifier has been added
+	 */
+	public boolean contains(int elem) {
+		return (elem >= 0) && (elem < this.parent.length) && (this.parent[elem] != absent);
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > this.parent.length) {
+			int newCapacity = Math.max(capacity, 2 * this.parent.length);
+			int oldCapacity = this.parent.length;
+			this.parent = Arrays.copyOf(this.parent, newCapacity);
+			this.size = Arrays.copyOf(this.size, newCapacity);
+			Arrays.fill(this.parent, oldCapacity, newCapacity, absent);
+		}
+	}
+
+	/**
+	 * Returns the representative of the set containing the given identifier.
+	 * 
+	 * @param elem
+	 *            identifier
+	 * @return the representative of the set containing the given identifier
+	 */
+	public int find(int elem) {
+		if (!contains(elem)) {
+			throw new IllegalArgumentException("Identifier not found: '" + elem + "'.");
+		}
+		int current = elem;
+		while (this.parent[current] != current) {
+			this.parent[current] = this.parent[this.parent[current]];
+			current = this.parent[current];
+		}
+		return current;
+	}
+
+	/**
+	 * Merges the sets containing the given identifiers. The identifiers are
+	 * added if they have not been added before.
+	 * 
+	 * @param elemA
+	 *            identifier
+	 * @param elemB
+	 *            identifier
+	 * @return the representative of the merged set
+	 */
+	public int union(int elemA, int elemB) {
+		add(elemA);
+		add(elemB);
+		int rootA = find(elemA);
+		int rootB = find(elemB);
+		int ret = rootA;
+		if (rootA != rootB) {
+			if (this.size[rootA] < this.size[rootB]) {
+				ret = rootB;
+				rootB = rootA;
+			}
+			this.parent[rootB] = ret;
+			this.size[ret] += this.size[rootB];
+		}
+		return ret;
+	}
+
+}
@@ -52,6 +52,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
 import java.util.stream.IntStream;
@@ -70,7 +71,10 @@ import de.tudresden.inf.lat.util.map.OptMapImpl;
  * An object of this class classifies an ontology. It divides a set of axioms in
  * subsets such that they have disjoint sets of classes and properties. Then, it
  * uses the default processor to classify each subset. The resulting class and
- * property hierarchies are the union of the partial ones.
+ * property hierarchies are the union of the partial ones. <br>
+ * Since the subsets do not share classes, they can be classified concurrently.
+ * In that mode, each module is classified on a bounded pool of threads, and
+ * each partial result is merged as soon as its module is finished.
  * 
  * @author Julian Mendez
  */
@@ -84,10 +88,12 @@ public class ModuleProcessor implements Processor {
 	private boolean isReady = false;
 	private Integer moduleIndex = 0;
 	private List<Set<ComplexIntegerAxiom>> moduleList = null;
+	private final int numberOfThreads;
 	private IntegerHierarchicalGraphImpl objectPropertyHierarchy = null;
 	private Processor processor = null;
 	private final ModuleProcessorFactory processorFactory;
 	private OptMap<Integer, Set<Integer>> sameIndividualMap = null;
+	private ParallelModuleScheduler scheduler = null;
 
 	/**
 	 * Constructs a new module processor. It uses an auxiliary processor to
@@ -99,26 +105,32 @@ public class ModuleProcessor implements Processor {
 	 *            factory to create the auxiliary processor
 	 */
 	public ModuleProcessor(Set<ComplexIntegerAxiom> axiomSet, ModuleProcessorFactory factory) {
+		this(axiomSet, factory, 1);
+	}
+
+	/**
+	 * Constructs a new module processor that classifies the modules
+	 * concurrently. It uses an auxiliary processor to classify each module.
+	 * 
+	 * @param axiomSet
+	 *            set of axioms
+	 * @param factory
+	 *            factory to create the auxiliary processor
+	 * @param numberOfThreads
+	 *            maximum number of modules classified at the same time, where
+	 *            1 means that the modules are classified one after the other
+	 */
+	public ModuleProcessor(Set<ComplexIntegerAxiom> axiomSet, ModuleProcessorFactory factory, int numberOfThreads) {
 		Objects.requireNonNull(axiomSet);
 		Objects.requireNonNull(factory);
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads: " + numberOfThreads);
+		}
 		this.processorFactory = factory;
+		this.numberOfThreads = numberOfThreads;
 		preProcess(axiomSet);
 	}
 
-	private boolean containsAnyClass(Set<Integer> a, Set<Integer> b) {
-		return b.stream()
-				.filter(elem -> (!elem.equals(IntegerEntityManager.bottomClassId)
-						&& !elem.equals(IntegerEntityManager.topClassId))) //
-				.anyMatch(elem -> a.contains(elem));
-	}
-
-	private boolean containsAnyProperty(Set<Integer> a, Set<Integer> b) {
-		return b.stream()
-				.filter(elem -> (!elem.equals(IntegerEntityManager.bottomObjectPropertyId)
-						&& !elem.equals(IntegerEntityManager.topObjectPropertyId))) //
-				.anyMatch(elem -> a.contains(elem));
-	}
-
 	/**
 	 * Divides a set of axioms in subsets that have disjoint sets of classes and
 	 * properties.
@@ -128,40 +140,34 @@ public class ModuleProcessor implements Processor {
 	 * @return the subsets with disjoint symbols
 	 */
 	private List<Set<ComplexIntegerAxiom>> findModules(Set<ComplexIntegerAxiom> axiomSet) {
-		List<Set<ComplexIntegerAxiom>> ret = new ArrayList<>();
-		Set<ComplexIntegerAxiom> toBeGrouped = new HashSet<>();
-		toBeGrouped.addAll(axiomSet);
-		while (!toBeGrouped.isEmpty()) {
-			ComplexIntegerAxiom firstAxiom = toBeGrouped.iterator().next();
-			toBeGrouped.remove(firstAxiom);
-			Set<ComplexIntegerAxiom> group = new HashSet<>();
-			group.add(firstAxiom);
-
-			Set<Integer> classSet = new HashSet<>();
-			classSet.addAll(firstAxiom.getClassesInSignature());
-			Set<Integer> propertySet = new HashSet<>();
-			propertySet.addAll(firstAxiom.getObjectPropertiesInSignature());
+		IntegerUnionFind entities = new IntegerUnionFind();
+		axiomSet.forEach(axiom -> {
+			Set<Integer> entitiesInSignature = getRelevantEntities(axiom);
+			if (!entitiesInSignature.isEmpty()) {
+				Integer first = entitiesInSignature.iterator().next();
+				entitiesInSignature.forEach(elem -> entities.union(first, elem));
+			}
+		});
 
-			boolean found = true;
-			while (found) {
-				found = false;
-				Set<ComplexIntegerAxiom> toVisit = new HashSet<>();
-				toVisit.addAll(toBeGrouped);
-				for (ComplexIntegerAxiom currentAxiom : toVisit) {
-					Set<Integer> classesInSignature = currentAxiom.getClassesInSignature();
-					Set<Integer> propertiesInSignature = currentAxiom.getObjectPropertiesInSignature();
-					if (containsAnyClass(classSet, classesInSignature)
-							|| containsAnyProperty(propertySet, propertiesInSignature)) {
-						toBeGrouped.remove(currentAxiom);
-						propertySet.addAll(propertiesInSignature);
-						classSet.addAll(classesInSignature);
-						group.add(currentAxiom);
-						found = true;
-					}
+		List<Set<ComplexIntegerAxiom>> ret = new ArrayList<>();
+		OptMap<Integer, Set<ComplexIntegerAxiom>> moduleByRepresentative = new OptMapImpl<>(new HashMap<>());
+		axiomSet.forEach(axiom -> {
+			Set<Integer> entitiesInSignature = getRelevantEntities(axiom);
+			if (entitiesInSignature.isEmpty()) {
+				Set<ComplexIntegerAxiom> group = new HashSet<>();
+				group.add(axiom);
+				ret.add(group);
+			} else {
+				Integer representative = entities.find(entitiesInSignature.iterator().next());
+				Optional<Set<ComplexIntegerAxiom>> optGroup = moduleByRepresentative.get(representative);
+				if (!optGroup.isPresent()) {
+					optGroup = Optional.of(new HashSet<>());
+					moduleByRepresentative.put(representative, optGroup.get());
+					ret.add(optGroup.get());
 				}
+				optGroup.get().add(axiom);
 			}
-			ret.add(group);
-		}
+		});
 		return ret;
 	}
 
@@ -201,6 +207,19 @@ public class ModuleProcessor implements Processor {
 		return ret;
 	}
 
+	private Set<Integer> getRelevantEntities(ComplexIntegerAxiom axiom) {
+		Set<Integer> ret = new HashSet<>();
+		ret.addAll(axiom.getClassesInSignature());
+		ret.remove(IntegerEntityManager.bottomClassId);
+		ret.remove(IntegerEntityManager.topClassId);
+		Set<Integer> properties = new HashSet<>();
+		properties.addAll(axiom.getObjectPropertiesInSignature());
+		properties.remove(IntegerEntityManager.bottomObjectPropertyId);
+		properties.remove(IntegerEntityManager.topObjectPropertyId);
+		ret.addAll(properties);
+		return ret;
+	}
+
 	@Override
 	public Map<Integer, Set<Integer>> getSameIndividualMap() {
 		Map<Integer, Set<Integer>> ret = new HashMap<>();
@@ -215,6 +234,17 @@ public class ModuleProcessor implements Processor {
 		return this.isReady;
 	}
 
+	private boolean isParallel() {
+		return Objects.nonNull(this.scheduler);
+	}
+
+	private void merge(Processor moduleProcessor) {
+		this.classHierarchy.disjointUnion(moduleProcessor.getClassHierarchy());
+		this.objectPropertyHierarchy.disjointUnion(moduleProcessor.getObjectPropertyHierarchy());
+		this.directTypes.putAll(moduleProcessor.getDirectTypes());
+		this.sameIndividualMap.putAll(moduleProcessor.getSameIndividualMap());
+	}
+
 	private void preProcess(Set<ComplexIntegerAxiom> originalAxiomSet) {
 
 		this.isReady = false;
@@ -240,35 +270,58 @@ public class ModuleProcessor implements Processor {
 
 		logger.fine("");
 		logger.fine("");
-		logger.fine("classifying module " + this.moduleIndex + " ...");
 
-		this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
+		if ((this.numberOfThreads > 1) && (this.moduleList.size() > 1)) {
+			logger.fine("classifying modules on " + this.numberOfThreads + " threads ...");
+			this.scheduler = new ParallelModuleScheduler(this.moduleList, this.processorFactory,
+					this.numberOfThreads);
+		} else {
+			logger.fine("classifying module " + this.moduleIndex + " ...");
+			this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
+		}
 	}
 
 	@Override
 	public boolean process() {
 		if (!this.isReady) {
-			boolean hasMoreEntries = this.processor.process();
-			if (!hasMoreEntries) {
-				this.classHierarchy.disjointUnion(this.processor.getClassHierarchy());
-				this.objectPropertyHierarchy.disjointUnion(this.processor.getObjectPropertyHierarchy());
-				this.directTypes.putAll(this.processor.getDirectTypes());
-				this.sameIndividualMap.putAll(this.processor.getSameIndividualMap());
-				this.processor = null;
-				logger.fine("module " + this.moduleIndex + " has been classified.");
-				logger.fine("");
-				this.moduleIndex++;
-				if (this.moduleIndex < this.moduleList.size()) {
-					hasMoreEntries = true;
-					logger.fine("classifying module " + this.moduleIndex + " ...");
-					this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
-				}
-				if (!hasMoreEntries) {
-					this.isReady = true;
-				}
+			if (isParallel()) {
+				processParallel();
+			} else {
+				processSequential();
 			}
 		}
 		return !this.isReady;
 	}
 
+	private void processParallel() {
+		if (!this.scheduler.isStarted()) {
+			this.scheduler.start();
+		} else {
+			Map.Entry<Integer, Processor> entry = this.scheduler.awaitNextModule();
+			merge(entry.getValue());
+			logger.fine("module " + entry.getKey() + " has been classified.");
+			if (!this.scheduler.hasPendingModules()) {
+				this.scheduler = null;
+				this.isReady = true;
+			}
+		}
+	}
+
+	private void processSequential() {
+		boolean hasMoreEntries = this.processor.process();
+		if (!hasMoreEntries) {
+			merge(this.processor);
+			this.processor = null;
+			logger.fine("module " + this.moduleIndex + " has been classified.");
+			logger.fine("");
+			this.moduleIndex++;
+			if (this.moduleIndex < this.moduleList.size()) {
+				logger.fine("classifying module " + this.moduleIndex + " ...");
+				this.processor = this.processorFactory.createProcessor(this.moduleList.get(this.moduleIndex));
+			} else {
+				this.isReady = true;
+			}
+		}
+	}
+
 }
@@ -0,0 +1,216 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package de.tudresden.inf.lat.jcel.reasoner.module;
+
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+
+/**
+ * An object of this class classifies a list of modules concurrently on a
+ * bounded pool of threads. The modules are submitted in decreasing number of
+ * axioms, so that the largest modules start first and the smallest ones fill
+ * the gaps at the end. <br>
+ * The processors are created one at a time, because the factory and the
+ * objects it shares with the processors are not required to be thread-safe.
+ * Each processor is then run to completion on its own thread. The results are
+ * retrieved one module at a time by the caller, which can merge them without
+ * further synchronization.
+ * 
+ * @author Julian Mendez
+ */
+public class ParallelModuleScheduler {
+
+	private int completedModules = 0;
+	private CompletionService<Map.Entry<Integer, Processor>> completionService = null;
+	private ExecutorService executor = null;
+	private final List<Set<ComplexIntegerAxiom>> moduleList;
+	private final int numberOfThreads;
+	private final ModuleProcessorFactory processorFactory;
+
+	/**
+	 * Constructs a new scheduler.
+	 * 
+	 * @param modules
+	 *            list of modules
+	 * @param factory
+	 *            factory to create the auxiliary processors
+	 * @param numberOfThreads
+	 *            maximum number of modules classified at the same time
+	 */
+	public ParallelModuleScheduler(List<Set<ComplexIntegerAxiom>> modules, ModuleProcessorFactory factory,
+			int numberOfThreads) {
+		Objects.requireNonNull(modules);
+		Objects.requireNonNull(factory);
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("Invalid number of threads: " + numberOfThreads);
+		}
+		this.moduleList = modules;
+		this.processorFactory = factory;
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	/**
+	 * Waits until the next module is classified, and returns it.
+	 * 
+	 * @return a map entry with the index of the module that has been
+	 *         classified, and its processor
+	 */
+	public Map.Entry<Integer, Processor> awaitNextModule() {
+		if (!hasPendingModules()) {
+			throw new IllegalStateException("There are no pending modules.");
+		}
+		Map.Entry<Integer, Processor> ret = null;
+		try {
+			Future<Map.Entry<Integer, Processor>> future = this.completionService.take();
+			ret = future.get();
+			this.completedModules++;
+			if (!hasPendingModules()) {
+				shutdown();
+			}
+		} catch (InterruptedException e) {
+			shutdown();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			shutdown();
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+		return ret;
+	}
+
+	private Map.Entry<Integer, Processor> classify(int moduleIndex) {
+		Processor processor = null;
+		synchronized (this.processorFactory) {
+			processor = this.processorFactory.createProcessor(this.moduleList.get(moduleIndex));
+		}
+		while (processor.process()) {
+			if (Thread.currentThread().isInterrupted()) {
+				throw new IllegalStateException("Classification of module " + moduleIndex + " interrupted.");
+			}
+		}
+		return new AbstractMap.SimpleEntry<>(moduleIndex, processor);
+	}
+
+	/**
+	 * Tells whether there are modules that have not been returned yet.
+	 * 
+	 * @return <code>true</code> if and only if there are modules that have not
+	 *         been returned yet
+	 */
+	public boolean hasPendingModules() {
+		return Objects.nonNull(this.completionService) && (this.completedModules < this.moduleList.size());
+	}
+
+	/**
+	 * Tells whether the scheduler has been shut down. This happens after the
+	 * last module has been returned, or after the classification of a module
+	 * has failed or has been interrupted.
+	 * 
+	 * @return <code>true</code> if and only if the scheduler has been shut
+	 *         down
+	 */
+	public boolean isShutdown() {
+		return Objects.nonNull(this.executor) && this.executor.isShutdown();
+	}
+
+	/**
+	 * Tells whether the scheduler has been started.
+	 * 
+	 * @return <code>true</code> if and only if the scheduler has been started
+	 */
+	public boolean isStarted() {
+		return Objects.nonNull(this.completionService);
+	}
+
+	/**
+	 * Stops the classification of the modules that have not been classified.
+	 */
+	public void shutdown() {
+		if (Objects.nonNull(this.executor)) {
+			this.executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Submits all the modules for classification, the largest modules first.
+	 */
+	public void start() {
+		if (isStarted()) {
+			throw new IllegalStateException("The scheduler has already been started.");
+		}
+		int poolSize = Math.max(1, Math.min(this.numberOfThreads, this.moduleList.size()));
+		this.executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+			Thread thread = new Thread(runnable, getClass().getSimpleName());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.completionService = new ExecutorCompletionService<>(this.executor);
+
+		List<Integer> schedule = IntStream.range(0, this.moduleList.size()).boxed()
+				.sorted(Comparator.comparing((Integer index) -> this.moduleList.get(index).size()).reversed())
+				.collect(Collectors.toList());
+		schedule.forEach(index -> this.completionService.submit(() -> classify(index)));
+	}
+
+}
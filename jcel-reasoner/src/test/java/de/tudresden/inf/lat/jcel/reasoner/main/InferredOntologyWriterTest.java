@@ -0,0 +1,216 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.reasoner.main;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+import de.tudresden.inf.lat.jcel.ontology.parser.FunctionalSyntaxLoader;
+
+/**
+ * Test class for {@link InferredOntologyWriter}.
+ * 
+ * @author Julian Mendez
+ */
+public class InferredOntologyWriterTest {
+
+	private static final String prefix = "http://example.org/ontology#";
+
+	/**
+	 * Constructs a new test class for the writer of inferred ontologies.
+	 */
+	public InferredOntologyWriterTest() {
+	}
+
+	private IntegerClass createNewClass(IntegerOntologyObjectFactory factory, String name) {
+		return factory.getDataTypeFactory().createClass(
+				factory.getEntityManager().createNamedEntity(IntegerEntityType.CLASS, prefix + name, false));
+	}
+
+	private IntegerObjectProperty createNewObjectProperty(IntegerOntologyObjectFactory factory, String name) {
+		return factory.getDataTypeFactory().createObjectProperty(factory.getEntityManager()
+				.createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, prefix + name, false));
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>B \u2291 C ,</li>
+	 * <li>C \u2291 B ,</li>
+	 * <li>r \u2291 s ,</li>
+	 * <li>A(a)</li>
+	 * </ol>
+	 */
+	private RuleBasedReasoner createReasoner(IntegerOntologyObjectFactory factory) {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		ComplexIntegerAxiomFactory axiomFactory = factory.getComplexAxiomFactory();
+
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+		IntegerObjectProperty s = createNewObjectProperty(factory, "s");
+		int individual = factory.getEntityManager().createNamedEntity(IntegerEntityType.INDIVIDUAL, prefix + "a",
+				false);
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		ontology.add(axiomFactory.createSubClassOfAxiom(a, b, annotations));
+		ontology.add(axiomFactory.createSubClassOfAxiom(b, c, annotations));
+		ontology.add(axiomFactory.createSubClassOfAxiom(c, b, annotations));
+		ontology.add(axiomFactory.createSubObjectPropertyOfAxiom(r, s, annotations));
+		ontology.add(axiomFactory.createClassAssertionAxiom(a, individual, annotations));
+
+		RuleBasedReasoner ret = new RuleBasedReasoner(ontology, factory);
+		ret.classify();
+		return ret;
+	}
+
+	private Set<String> getSuperClassNames(RuleBasedReasoner reasoner, IntegerOntologyObjectFactory factory) {
+		Set<String> ret = new TreeSet<>();
+		IntegerEntityManager entityManager = factory.getEntityManager();
+		entityManager.getEntities(IntegerEntityType.CLASS, false).forEach(cls -> reasoner
+				.getSuperClasses(factory.getDataTypeFactory().createClass(cls), false)
+				.forEach(set -> set.forEach(superClass -> ret
+						.add(entityManager.getName(cls) + " " + entityManager.getName(superClass.getId())))));
+		return ret;
+	}
+
+	@Test
+	public void testInvalidIRI() {
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		RuleBasedReasoner reasoner = createReasoner(factory);
+		InferredOntologyWriter writer = new InferredOntologyWriter(new StringWriter(), factory.getEntityManager());
+		for (String ontologyIRI : Arrays.asList("http://example.org/a b", "http://example.org/a>b",
+				"http://example.org/a\tb", "http://example.org/<a>")) {
+			Assertions.assertThrows(IOException.class,
+					() -> writer.write(reasoner.getProcessor(), Optional.of(ontologyIRI)));
+		}
+		Assertions.assertThrows(IllegalArgumentException.class, () -> writer.write(reasoner.getProcessor(),
+				Optional.empty(), Optional.of("http://example.org/ontology/1.0")));
+	}
+
+	@Test
+	public void testParseBack() throws IOException {
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		RuleBasedReasoner reasoner = createReasoner(factory);
+		StringWriter output = new StringWriter();
+		(new InferredOntologyWriter(output, factory.getEntityManager())).write(reasoner.getProcessor(),
+				Optional.of("http://example.org/ontology"), Optional.of("http://example.org/ontology/1.0"));
+
+		FunctionalSyntaxLoader loader = new FunctionalSyntaxLoader(Paths.get("inferred.ofn"));
+		IntegerOntologyObjectFactory loadedFactory = new IntegerOntologyObjectFactoryImpl();
+		RuleBasedReasoner loadedReasoner = new RuleBasedReasoner(pipeline -> {
+			try {
+				loader.load(new StringReader(output.toString()), pipeline);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, loadedFactory, false);
+		loadedReasoner.classify();
+		Assertions.assertEquals(Optional.of("http://example.org/ontology"), loader.getOntologyIRI());
+		Assertions.assertEquals(getSuperClassNames(reasoner, factory),
+				getSuperClassNames(loadedReasoner, loadedFactory));
+
+		StringWriter loadedOutput = new StringWriter();
+		(new InferredOntologyWriter(loadedOutput, loadedFactory.getEntityManager())).write(
+				loadedReasoner.getProcessor(), Optional.of("http://example.org/ontology"),
+				Optional.of("http://example.org/ontology/1.0"));
+		Assertions.assertEquals(output.toString(), loadedOutput.toString());
+	}
+
+	@Test
+	public void testWrite() throws IOException {
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+		RuleBasedReasoner reasoner = createReasoner(factory);
+
+		StringWriter output = new StringWriter();
+		InferredOntologyWriter writer = new InferredOntologyWriter(output, factory.getEntityManager());
+		writer.write(reasoner.getProcessor(), Optional.of("http://example.org/ontology"),
+				Optional.of("http://example.org/ontology/1.0"));
+
+		List<String> expected = Arrays.asList( //
+				"Ontology(<http://example.org/ontology> <http://example.org/ontology/1.0>", //
+				"Declaration(Class(<" + prefix + "A>))", //
+				"Declaration(Class(<" + prefix + "B>))", //
+				"Declaration(Class(<" + prefix + "C>))", //
+				"Declaration(ObjectProperty(<" + prefix + "r>))", //
+				"Declaration(ObjectProperty(<" + prefix + "s>))", //
+				"Declaration(NamedIndividual(<" + prefix + "a>))", //
+				"EquivalentClasses(<" + prefix + "B> <" + prefix + "C>)", //
+				"SubClassOf(<" + prefix + "A> <" + prefix + "B>)", //
+				"SubClassOf(<" + prefix + "A> <" + prefix + "C>)", //
+				"SubClassOf(<" + prefix + "B> <http://www.w3.org/2002/07/owl#Thing>)", //
+				"SubClassOf(<" + prefix + "C> <http://www.w3.org/2002/07/owl#Thing>)", //
+				"SubObjectPropertyOf(<" + prefix + "r> <" + prefix + "s>)", //
+				"SubObjectPropertyOf(<" + prefix + "s> <http://www.w3.org/2002/07/owl#topObjectProperty>)", //
+				")");
+		Assertions.assertEquals(expected, Arrays.asList(output.toString().split(System.lineSeparator())));
+	}
+
+}
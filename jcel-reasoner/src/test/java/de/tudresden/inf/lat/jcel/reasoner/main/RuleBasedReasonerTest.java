@@ -46,6 +46,11 @@
 
 package de.tudresden.inf.lat.jcel.reasoner.main;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.TreeSet;
@@ -54,13 +59,17 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySerializer;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.NormalizedOntologySnapshot;
 import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
 import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
 import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
 import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerNamedIndividual;
 import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+import de.tudresden.inf.lat.jcel.ontology.normalization.IngestionPipeline;
 
 /**
  * Set of tests for the rule based reasoner.
@@ -98,6 +107,11 @@ public class RuleBasedReasonerTest {
 				.createClass(factory.getEntityManager().createNamedEntity(IntegerEntityType.CLASS, name, false));
 	}
 
+	private IntegerNamedIndividual createNewNamedIndividual(IntegerOntologyObjectFactory factory, String name) {
+		return factory.getDataTypeFactory().createNamedIndividual(
+				factory.getEntityManager().createNamedEntity(IntegerEntityType.INDIVIDUAL, name, false));
+	}
+
 	private IntegerObjectProperty createNewObjectProperty(IntegerOntologyObjectFactory factory, String name) {
 		return factory.getDataTypeFactory().createObjectProperty(
 				factory.getEntityManager().createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, name, false));
@@ -491,4 +505,210 @@ public class RuleBasedReasonerTest {
 		assertUniqueDirectSubClass(reasoner, d, e);
 	}
 
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 B ,</li>
+	 * <li>B \u2291 C ,</li>
+	 * <li>A(a) ,</li>
+	 * <li>B(b)</li>
+	 * </ol>
+	 * &vDash;
+	 * <ul>
+	 * <li>B(a) ,</li>
+	 * <li>C(a) ,</li>
+	 * <li>C(b)</li>
+	 * </ul>
+	 */
+	@Test
+	public void testInstances() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C");
+		IntegerNamedIndividual indivA = createNewNamedIndividual(factory, "a");
+		IntegerNamedIndividual indivB = createNewNamedIndividual(factory, "b");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a, b, annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(b, c, annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(a, indivA.getId(), annotations));
+
+		// 4
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(b, indivB.getId(), annotations));
+
+		IntegerReasoner reasoner = new RuleBasedReasoner(ontology, factory);
+		reasoner.classify();
+
+		Set<Set<IntegerNamedIndividual>> onlyA = new HashSet<>();
+		onlyA.add(Collections.singleton(indivA));
+		Set<Set<IntegerNamedIndividual>> onlyB = new HashSet<>();
+		onlyB.add(Collections.singleton(indivB));
+		Set<Set<IntegerNamedIndividual>> both = new HashSet<>();
+		both.addAll(onlyA);
+		both.addAll(onlyB);
+
+		Assertions.assertEquals(onlyA, reasoner.getInstances(a, true));
+		Assertions.assertEquals(onlyB, reasoner.getInstances(b, true));
+		Assertions.assertEquals(both, reasoner.getInstances(b, false));
+		Assertions.assertEquals(Collections.emptySet(), reasoner.getInstances(c, true));
+		Assertions.assertEquals(both, reasoner.getInstances(c, false));
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 &exist; r <i>.</i> B ,</li>
+	 * <li>B \u2291 C ,</li>
+	 * <li>r \u2291 s ,</li>
+	 * <li>&exist; s <i>.</i> C \u2291 D ,</li>
+	 * <li>D \u2293 E \u2291 F ,</li>
+	 * <li>G \u2291 H</li>
+	 * </ol>
+	 * &vDash;
+	 * <ul>
+	 * <li>A \u2291 D</li>
+	 * </ul>
+	 * The superclasses computed lazily on the module of each class are the
+	 * same as the ones computed on the whole ontology.
+	 */
+	@Test
+	public void testLazyClassification() {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "A");
+		IntegerClass b = createNewClass(factory, "B");
+		IntegerClass c = createNewClass(factory, "C");
+		IntegerClass d = createNewClass(factory, "D");
+		IntegerClass e = createNewClass(factory, "E");
+		IntegerClass f = createNewClass(factory, "F");
+		IntegerClass g = createNewClass(factory, "G");
+		IntegerClass h = createNewClass(factory, "H");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "r");
+		IntegerObjectProperty s = createNewObjectProperty(factory, "s");
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a,
+				factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(b, c, annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory().createSubObjectPropertyOfAxiom(r, s, annotations));
+
+		// 4
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(
+				factory.getDataTypeFactory().createObjectSomeValuesFrom(s, c), d, annotations));
+
+		// 5
+		Set<IntegerClassExpression> conjunction = new HashSet<>();
+		conjunction.add(d);
+		conjunction.add(e);
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(
+				factory.getDataTypeFactory().createObjectIntersectionOf(conjunction), f, annotations));
+
+		// 6
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(g, h, annotations));
+
+		RuleBasedReasoner eagerReasoner = new RuleBasedReasoner(ontology, factory);
+		RuleBasedReasoner lazyReasoner = new RuleBasedReasoner(ontology, factory, true);
+
+		Set<Set<IntegerClass>> expected = new HashSet<>();
+		expected.add(Collections.singleton(d));
+		Assertions.assertEquals(expected, lazyReasoner.getSuperClasses(a, true));
+
+		Set<IntegerClass> classes = new HashSet<>();
+		Collections.addAll(classes, a, b, c, d, e, f, g, h);
+		classes.forEach(cls -> {
+			Assertions.assertEquals(eagerReasoner.getSuperClasses(cls, true), lazyReasoner.getSuperClasses(cls, true));
+			Assertions.assertEquals(eagerReasoner.getSuperClasses(cls, false),
+					lazyReasoner.getSuperClasses(cls, false));
+			Assertions.assertEquals(eagerReasoner.getEquivalentClasses(cls), lazyReasoner.getEquivalentClasses(cls));
+			Assertions.assertEquals(eagerReasoner.isSatisfiable(cls), lazyReasoner.isSatisfiable(cls));
+		});
+		Assertions.assertFalse(lazyReasoner.isClassified());
+	}
+
+	/**
+	 * <ol>
+	 * <li>A \u2291 &exist; r <i>.</i> B ,</li>
+	 * <li>&exist; r<sup>-</sup> <i>.</i> A \u2291 C ,</li>
+	 * <li>&exist; r <i>.</i> C \u2291 D ,</li>
+	 * <li>A(a)</li>
+	 * </ol>
+	 * &vDash;
+	 * <ul>
+	 * <li>A \u2291 D ,</li>
+	 * <li>D(a)</li>
+	 * </ul>
+	 * The normalized ontology is written and read again, and the restored
+	 * ontology has the same entities and axioms.
+	 * 
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	@Test
+	public void testNormalizedOntologySnapshot() throws IOException {
+		Set<IntegerAnnotation> annotations = new TreeSet<>();
+		IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+
+		Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+		IntegerClass a = createNewClass(factory, "http://example.org/A");
+		IntegerClass b = createNewClass(factory, "http://example.org/B");
+		IntegerClass c = createNewClass(factory, "http://example.org/C");
+		IntegerClass d = createNewClass(factory, "http://example.org/D");
+		IntegerObjectProperty r = createNewObjectProperty(factory, "http://example.org/r");
+		IntegerObjectProperty rMinus = createNewObjectProperty(factory, "http://example.org/r-");
+		IntegerNamedIndividual indivA = createNewNamedIndividual(factory, "http://example.org/a");
+		ontology.add(factory.getComplexAxiomFactory().createInverseObjectPropertiesAxiom(rMinus, r, annotations));
+
+		// 1
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(a,
+				factory.getDataTypeFactory().createObjectSomeValuesFrom(r, b), annotations));
+
+		// 2
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(
+				factory.getDataTypeFactory().createObjectSomeValuesFrom(rMinus, a), c, annotations));
+
+		// 3
+		ontology.add(factory.getComplexAxiomFactory().createSubClassOfAxiom(
+				factory.getDataTypeFactory().createObjectSomeValuesFrom(r, c), d, annotations));
+
+		// 4
+		ontology.add(factory.getComplexAxiomFactory().createClassAssertionAxiom(a, indivA.getId(), annotations));
+
+		NormalizedOntologySnapshot snapshot = IngestionPipeline.createSnapshot(pipeline -> pipeline.addAll(ontology),
+				factory);
+		NormalizedOntologySerializer serializer = new NormalizedOntologySerializer();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		serializer.write(snapshot, Channels.newChannel(output));
+
+		IntegerOntologyObjectFactory restoredFactory = new IntegerOntologyObjectFactoryImpl();
+		NormalizedOntologySnapshot restored = serializer.read(ByteBuffer.wrap(output.toByteArray()),
+				restoredFactory.getNormalizedAxiomFactory(), restoredFactory.getEntityManager());
+
+		Assertions.assertEquals(factory.getEntityManager(), restoredFactory.getEntityManager());
+		Assertions.assertEquals(snapshot.getAxioms(), restored.getAxioms());
+		Assertions.assertEquals(snapshot.getClasses(), restored.getClasses());
+		Assertions.assertEquals(snapshot.getObjectProperties(), restored.getObjectProperties());
+		Assertions.assertEquals(snapshot.getExpressivity().toString(), restored.getExpressivity().toString());
+
+		IntegerReasoner reasoner = new RuleBasedReasoner(restored, restoredFactory, false);
+		reasoner.classify();
+
+		Set<Set<IntegerClass>> expected = new HashSet<>();
+		expected.add(Collections.singleton(d));
+		Assertions.assertEquals(expected, reasoner.getSuperClasses(a, true));
+		Assertions.assertTrue(reasoner.getInstances(d, false).contains(Collections.singleton(indivA)));
+	}
+
 }
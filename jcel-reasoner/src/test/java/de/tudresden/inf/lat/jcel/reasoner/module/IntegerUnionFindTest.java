@@ -0,0 +1,121 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.reasoner.module;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link IntegerUnionFind}.
+ * 
+ * @author Julian Mendez
+ */
+public class IntegerUnionFindTest {
+
+	/**
+	 * Constructs a new test class for the disjoint-set forest.
+	 */
+	public IntegerUnionFindTest() {
+	}
+
+	@Test
+	public void testAddAndContains() {
+		IntegerUnionFind sets = new IntegerUnionFind();
+		Assertions.assertFalse(sets.contains(3));
+		Assertions.assertFalse(sets.contains(-1));
+		sets.add(3);
+		Assertions.assertTrue(sets.contains(3));
+		Assertions.assertEquals(3, sets.find(3));
+		sets.add(1000);
+		Assertions.assertTrue(sets.contains(1000));
+		Assertions.assertFalse(sets.contains(999));
+		Assertions.assertEquals(1000, sets.find(1000));
+	}
+
+	@Test
+	public void testLongChain() {
+		int length = 100000;
+		IntegerUnionFind sets = new IntegerUnionFind();
+		for (int elem = 1; elem < length; elem++) {
+			sets.union(elem - 1, elem);
+		}
+		int root = sets.find(0);
+		for (int elem = length - 1; elem >= 0; elem--) {
+			Assertions.assertEquals(root, sets.find(elem));
+		}
+		for (int elem = 0; elem < length; elem++) {
+			Assertions.assertEquals(root, sets.find(elem));
+		}
+	}
+
+	@Test
+	public void testUnion() {
+		IntegerUnionFind sets = new IntegerUnionFind();
+		int first = sets.union(1, 2);
+		Assertions.assertEquals(first, sets.find(1));
+		Assertions.assertEquals(first, sets.find(2));
+		Assertions.assertTrue(first == 1 || first == 2);
+
+		sets.union(3, 4);
+		sets.union(4, 5);
+		Assertions.assertEquals(sets.find(3), sets.find(5));
+		Assertions.assertTrue(sets.find(1) != sets.find(3));
+
+		int merged = sets.union(2, 5);
+		for (int elem = 1; elem <= 5; elem++) {
+			Assertions.assertEquals(merged, sets.find(elem));
+		}
+		Assertions.assertEquals(merged, sets.union(1, 4));
+
+		// the larger set keeps its representative
+		sets.union(10, 11);
+		Assertions.assertEquals(merged, sets.union(11, 3));
+		Assertions.assertEquals(merged, sets.find(10));
+	}
+
+}
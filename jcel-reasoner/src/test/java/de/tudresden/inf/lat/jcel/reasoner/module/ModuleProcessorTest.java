@@ -0,0 +1,309 @@
+/*
+ *
+ * Copyright (C) 2009-2017 Julian Mendez
+ *
+ *
+ * This file is part of jcel.
+ *
+ *
+ * The contents of this file are subject to the GNU Lesser General Public License
+ * version 3
+ *
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *
+ * Alternatively, the contents of this file may be used under the terms
+ * of the Apache License, Version 2.0, in which case the
+ * provisions of the Apache License, Version 2.0 are applicable instead of those
+ * above.
+ *
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package de.tudresden.inf.lat.jcel.reasoner.module;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import de.tudresden.inf.lat.jcel.core.algorithm.common.Processor;
+import de.tudresden.inf.lat.jcel.core.graph.IntegerHierarchicalGraph;
+import de.tudresden.inf.lat.jcel.coreontology.axiom.IntegerAnnotation;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityManager;
+import de.tudresden.inf.lat.jcel.coreontology.datatype.IntegerEntityType;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiom;
+import de.tudresden.inf.lat.jcel.ontology.axiom.complex.ComplexIntegerAxiomFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactory;
+import de.tudresden.inf.lat.jcel.ontology.axiom.extension.IntegerOntologyObjectFactoryImpl;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClass;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerClassExpression;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerDataTypeFactory;
+import de.tudresden.inf.lat.jcel.ontology.datatype.IntegerObjectProperty;
+import de.tudresden.inf.lat.jcel.reasoner.main.RuleBasedReasoner;
+
+/**
+ * Test class for {@link ModuleProcessor}, {@link ClassModuleProcessor} and
+ * {@link ParallelModuleScheduler}.
+ * 
+ * @author Julian Mendez
+ */
+public class ModuleProcessorTest {
+
+	private static final int numberOfModules = 6;
+	private static final int numberOfThreads = 4;
+
+	private final Set<IntegerAnnotation> annotations = Collections.emptySet();
+	private final Set<Integer> classes = new TreeSet<>();
+	private final IntegerOntologyObjectFactory factory = new IntegerOntologyObjectFactoryImpl();
+	private final Set<ComplexIntegerAxiom> ontology = new HashSet<>();
+
+	/**
+	 * Constructs a new test class for the module processors. The ontology has
+	 * several modules that do not share classes or object properties. For
+	 * each module <i>k</i>:
+	 * <ol>
+	 * <li>A<sub>k</sub> \u2291 B<sub>k</sub> ,</li>
+	 * <li>B<sub>k</sub> \u2291 &exist; r<sub>k</sub> <i>.</i> C<sub>k</sub>
+	 * ,</li>
+	 * <li>&exist; r<sub>k</sub> <i>.</i> C<sub>k</sub> \u2291 D<sub>k</sub>
+	 * ,</li>
+	 * <li>D<sub>k</sub> \u2291 A<sub>k</sub> ,</li>
+	 * <li>s<sub>k</sub> \u2291 r<sub>k</sub> ,</li>
+	 * <li>E<sub>k</sub> \u2291 &exist; s<sub>k</sub> <i>.</i> C<sub>k</sub>
+	 * ,</li>
+	 * <li>F<sub>k</sub> \u2291 C<sub>k</sub></li>
+	 * </ol>
+	 */
+	public ModuleProcessorTest() {
+		ComplexIntegerAxiomFactory axiomFactory = this.factory.getComplexAxiomFactory();
+		IntegerDataTypeFactory dataTypeFactory = this.factory.getDataTypeFactory();
+		for (int k = 0; k < numberOfModules; k++) {
+			IntegerClass a = createNewClass("A" + k);
+			IntegerClass b = createNewClass("B" + k);
+			IntegerClass c = createNewClass("C" + k);
+			IntegerClass d = createNewClass("D" + k);
+			IntegerClass e = createNewClass("E" + k);
+			IntegerClass f = createNewClass("F" + k);
+			IntegerObjectProperty r = createNewObjectProperty("r" + k);
+			IntegerObjectProperty s = createNewObjectProperty("s" + k);
+
+			this.ontology.add(axiomFactory.createSubClassOfAxiom(a, b, this.annotations));
+			this.ontology.add(axiomFactory.createSubClassOfAxiom(b, dataTypeFactory.createObjectSomeValuesFrom(r, c),
+					this.annotations));
+			this.ontology.add(axiomFactory.createSubClassOfAxiom(dataTypeFactory.createObjectSomeValuesFrom(r, c), d,
+					this.annotations));
+			this.ontology.add(axiomFactory.createSubClassOfAxiom(d, a, this.annotations));
+			this.ontology.add(axiomFactory.createSubObjectPropertyOfAxiom(s, r, this.annotations));
+			this.ontology.add(axiomFactory.createSubClassOfAxiom(e, dataTypeFactory.createObjectSomeValuesFrom(s, c),
+					this.annotations));
+			this.ontology.add(axiomFactory.createSubClassOfAxiom(f, c, this.annotations));
+		}
+	}
+
+	private IntegerClass createNewClass(String name) {
+		Integer id = this.factory.getEntityManager().createNamedEntity(IntegerEntityType.CLASS, name, false);
+		this.classes.add(id);
+		return this.factory.getDataTypeFactory().createClass(id);
+	}
+
+	private IntegerObjectProperty createNewObjectProperty(String name) {
+		return this.factory.getDataTypeFactory().createObjectProperty(
+				this.factory.getEntityManager().createNamedEntity(IntegerEntityType.OBJECT_PROPERTY, name, false));
+	}
+
+	private Processor createProcessor(Set<ComplexIntegerAxiom> axioms) {
+		return new RuleBasedReasoner(axioms, this.factory).getProcessor();
+	}
+
+	/**
+	 * Returns the parents and the equivalent classes of each class of the
+	 * ontology.
+	 */
+	private Map<Integer, List<Set<Integer>>> describe(IntegerHierarchicalGraph hierarchy) {
+		Map<Integer, List<Set<Integer>>> ret = new TreeMap<>();
+		this.classes.forEach(cls -> {
+			List<Set<Integer>> description = new ArrayList<>();
+			description.add(new TreeSet<>(hierarchy.getParents(cls)));
+			description.add(new TreeSet<>(hierarchy.getEquivalents(cls)));
+			ret.put(cls, description);
+		});
+		return ret;
+	}
+
+	/**
+	 * Returns the modules computed by a fixpoint over the axioms: an axiom is
+	 * added to a module while it shares a class or an object property with
+	 * the module, not counting the top and bottom entities.
+	 */
+	private Set<Set<ComplexIntegerAxiom>> findModulesByFixpoint(Set<ComplexIntegerAxiom> axiomSet) {
+		Set<Set<ComplexIntegerAxiom>> ret = new HashSet<>();
+		Set<ComplexIntegerAxiom> toBeGrouped = new HashSet<>(axiomSet);
+		while (!toBeGrouped.isEmpty()) {
+			ComplexIntegerAxiom firstAxiom = toBeGrouped.iterator().next();
+			toBeGrouped.remove(firstAxiom);
+			Set<ComplexIntegerAxiom> group = new HashSet<>();
+			group.add(firstAxiom);
+			Set<Integer> entities = getRelevantEntities(firstAxiom);
+			boolean found = true;
+			while (found) {
+				found = false;
+				for (ComplexIntegerAxiom axiom : new ArrayList<>(toBeGrouped)) {
+					Set<Integer> entitiesInSignature = getRelevantEntities(axiom);
+					if (entitiesInSignature.stream().anyMatch(entities::contains)) {
+						toBeGrouped.remove(axiom);
+						group.add(axiom);
+						entities.addAll(entitiesInSignature);
+						found = true;
+					}
+				}
+			}
+			ret.add(group);
+		}
+		return ret;
+	}
+
+	private Set<Integer> getRelevantEntities(ComplexIntegerAxiom axiom) {
+		Set<Integer> ret = new HashSet<>();
+		ret.addAll(axiom.getClassesInSignature());
+		ret.addAll(axiom.getObjectPropertiesInSignature());
+		ret.remove(IntegerEntityManager.bottomClassId);
+		ret.remove(IntegerEntityManager.topClassId);
+		ret.remove(IntegerEntityManager.bottomObjectPropertyId);
+		ret.remove(IntegerEntityManager.topObjectPropertyId);
+		return ret;
+	}
+
+	private IntegerHierarchicalGraph classify(Processor processor) {
+		while (processor.process()) {
+		}
+		return processor.getClassHierarchy();
+	}
+
+	@Test
+	public void testClassModuleProcessorInParallel() {
+		Map<Integer, List<Set<Integer>>> expected = describe(
+				classify(new ClassModuleProcessor(this.ontology, this.factory, this::createProcessor, 1)));
+		Map<Integer, List<Set<Integer>>> actual = describe(classify(
+				new ClassModuleProcessor(this.ontology, this.factory, this::createProcessor, numberOfThreads)));
+		Assertions.assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testFailingModule() {
+		Integer failingClass = this.classes.iterator().next();
+		ModuleProcessorFactory failingFactory = axioms -> {
+			if (axioms.stream().anyMatch(axiom -> axiom.getClassesInSignature().contains(failingClass))) {
+				throw new IllegalStateException("failing module");
+			}
+			return createProcessor(axioms);
+		};
+
+		ModuleProcessor processor = new ModuleProcessor(this.ontology, failingFactory, numberOfThreads);
+		IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+				() -> classify(processor));
+		Assertions.assertEquals("failing module", exception.getMessage());
+		Assertions.assertFalse(processor.isReady());
+	}
+
+	@Test
+	public void testFailingModuleShutsDownScheduler() {
+		List<Set<ComplexIntegerAxiom>> modules = new ArrayList<>();
+		this.ontology.forEach(axiom -> modules.add(Collections.singleton(axiom)));
+		ParallelModuleScheduler scheduler = new ParallelModuleScheduler(modules, axioms -> {
+			throw new IllegalStateException("failing module");
+		}, numberOfThreads);
+		scheduler.start();
+		Assertions.assertTrue(scheduler.hasPendingModules());
+		Assertions.assertFalse(scheduler.isShutdown());
+
+		IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+				() -> scheduler.awaitNextModule());
+		Assertions.assertEquals("failing module", exception.getMessage());
+		Assertions.assertTrue(scheduler.isShutdown());
+	}
+
+	@Test
+	public void testModulePartition() {
+		ComplexIntegerAxiomFactory axiomFactory = this.factory.getComplexAxiomFactory();
+		IntegerDataTypeFactory dataTypeFactory = this.factory.getDataTypeFactory();
+		List<IntegerClass> randomClasses = new ArrayList<>();
+		randomClasses.add(dataTypeFactory.createClass(IntegerEntityManager.bottomClassId));
+		randomClasses.add(dataTypeFactory.createClass(IntegerEntityManager.topClassId));
+		for (int i = 0; i < 30; i++) {
+			randomClasses.add(createNewClass("X" + i));
+		}
+		List<IntegerObjectProperty> randomProperties = new ArrayList<>();
+		randomProperties.add(dataTypeFactory.createObjectProperty(IntegerEntityManager.topObjectPropertyId));
+		for (int i = 0; i < 5; i++) {
+			randomProperties.add(createNewObjectProperty("p" + i));
+		}
+
+		for (int seed = 0; seed < 20; seed++) {
+			Random random = new Random(seed);
+			Set<ComplexIntegerAxiom> axioms = new HashSet<>();
+			int numberOfAxioms = 5 + random.nextInt(25);
+			for (int i = 0; i < numberOfAxioms; i++) {
+				IntegerClass subClass = randomClasses.get(random.nextInt(randomClasses.size()));
+				IntegerClassExpression superClass = randomClasses.get(random.nextInt(randomClasses.size()));
+				if (random.nextBoolean()) {
+					superClass = dataTypeFactory.createObjectSomeValuesFrom(
+							randomProperties.get(random.nextInt(randomProperties.size())), superClass);
+				}
+				axioms.add(axiomFactory.createSubClassOfAxiom(subClass, superClass, this.annotations));
+			}
+
+			Set<Set<ComplexIntegerAxiom>> modules = new HashSet<>();
+			ModuleProcessor processor = new ModuleProcessor(axioms, moduleAxioms -> {
+				modules.add(moduleAxioms);
+				return createProcessor(moduleAxioms);
+			});
+			classify(processor);
+			Assertions.assertEquals(findModulesByFixpoint(axioms), modules);
+		}
+	}
+
+	@Test
+	public void testModuleProcessorInParallel() {
+		ModuleProcessor sequentialProcessor = new ModuleProcessor(this.ontology, this::createProcessor, 1);
+		Map<Integer, List<Set<Integer>>> expected = describe(classify(sequentialProcessor));
+		Map<Integer, List<Set<Integer>>> actual = describe(
+				classify(new ModuleProcessor(this.ontology, this::createProcessor, numberOfThreads)));
+		Assertions.assertEquals(expected, actual);
+		Assertions.assertEquals(expected, describe(classify(createProcessor(this.ontology))));
+	}
+
+}